@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.Criterion;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.setup.DependencyAnalysis;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.execution.reset.ClassReInitializer;
+import org.evosuite.testcase.factories.RandomLengthTestFactory;
+import org.evosuite.utils.Randomness;
+
+/**
+ * Sets up EvoSuite for a benchmark as it is set up before a search, with a
+ * fixed seed so that all runs of a benchmark work on the same tests.
+ */
+public class BenchmarkEnvironment {
+
+	public static final long SEED = 42;
+
+	private BenchmarkEnvironment() {
+	}
+
+	/**
+	 * Resets the properties to the defaults used by the system tests, and
+	 * resets the random seed.
+	 */
+	public static void reset() {
+		Properties.getInstance().resetToDefaults();
+		Properties.SHOW_PROGRESS = false;
+		Properties.SERIALIZE_RESULT = false;
+		Properties.JUNIT_TESTS = false;
+		Properties.PLOT = false;
+		Properties.CLIENT_ON_THREAD = true;
+		Properties.SANDBOX = false;
+		Properties.ERROR_BRANCHES = false;
+		Properties.CRITERION = new Criterion[] { Criterion.BRANCH };
+
+		TestGenerationContext.getInstance().resetContext();
+		ClassReInitializer.resetSingleton();
+		Randomness.setSeed(SEED);
+	}
+
+	/**
+	 * Analyzes a sample SUT of the client tests, which builds its test
+	 * cluster and instruments it.
+	 *
+	 * @param targetClass
+	 */
+	public static void analyzeTargetClass(Class<?> targetClass) {
+		reset();
+		Properties.TARGET_CLASS = targetClass.getCanonicalName();
+
+		ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+		String cp = ClassPathHandler.getInstance().getTargetProjectClasspath();
+		try {
+			DependencyAnalysis.analyzeClass(Properties.TARGET_CLASS, Arrays.asList(cp.split(File.pathSeparator)));
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException("Sample SUT is not on the classpath: " + Properties.TARGET_CLASS, e);
+		}
+		Randomness.setSeed(SEED);
+	}
+
+	/**
+	 * Generates random tests for the analyzed target class.
+	 *
+	 * @param numberOfTests
+	 * @return
+	 */
+	public static List<TestChromosome> generateTests(int numberOfTests) {
+		RandomLengthTestFactory factory = new RandomLengthTestFactory();
+		List<TestChromosome> tests = new ArrayList<>(numberOfTests);
+		for (int i = 0; i < numberOfTests; i++) {
+			tests.add(factory.getChromosome());
+		}
+		return tests;
+	}
+}
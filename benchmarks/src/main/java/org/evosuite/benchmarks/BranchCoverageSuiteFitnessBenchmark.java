@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.evosuite.coverage.branch.BranchCoverageSuiteFitness;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.examples.with.different.packagename.ArrayStack;
+
+/**
+ * Branch coverage fitness of a test suite whose tests have already been
+ * executed, i.e. the computation of the fitness from the execution traces
+ * without the execution of the tests.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BranchCoverageSuiteFitnessBenchmark {
+
+	@Param({ "10", "50" })
+	public int numberOfTests;
+
+	private BranchCoverageSuiteFitness fitness;
+
+	private TestSuiteChromosome suite;
+
+	@Setup
+	public void setUp() {
+		BenchmarkEnvironment.analyzeTargetClass(ArrayStack.class);
+		suite = new TestSuiteChromosome();
+		for (TestChromosome test : BenchmarkEnvironment.generateTests(numberOfTests)) {
+			suite.addTest(test);
+		}
+		fitness = new BranchCoverageSuiteFitness();
+		// executes the tests once, later calls reuse their execution results
+		fitness.getFitness(suite);
+	}
+
+	@Benchmark
+	public double getFitness() {
+		return fitness.getFitness(suite);
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.evosuite.testcase.execution.ExecutionTracer;
+import org.objectweb.asm.Opcodes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The probes called by instrumented code while a test is executed: a method
+ * call of the SUT that passes a number of branches. The trace is cleared for
+ * each call, as it is for each test execution.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutionTracerBenchmark {
+
+	private static final String CLASS_NAME = "com.examples.with.different.packagename.ArrayStack";
+
+	private static final String METHOD_NAME = "push(Ljava/lang/Object;)Ljava/lang/Object;";
+
+	@Param({ "10", "1000" })
+	public int numberOfPassedBranches;
+
+	/** Number of distinct branches the passed branches are spread over */
+	@Param({ "16" })
+	public int numberOfBranches;
+
+	@Setup
+	public void setUp() {
+		BenchmarkEnvironment.reset();
+		ExecutionTracer.enable();
+		ExecutionTracer.setThread(Thread.currentThread());
+	}
+
+	@TearDown
+	public void tearDown() {
+		ExecutionTracer.getExecutionTracer().clear();
+		ExecutionTracer.disable();
+	}
+
+	@Benchmark
+	public Object passedBranch() {
+		ExecutionTracer tracer = ExecutionTracer.getExecutionTracer();
+		tracer.clear();
+		ExecutionTracer.enteredMethod(CLASS_NAME, METHOD_NAME, null);
+		for (int i = 0; i < numberOfPassedBranches; i++) {
+			ExecutionTracer.passedBranch(i, Opcodes.IFEQ, i % numberOfBranches, i);
+		}
+		ExecutionTracer.leftMethod(CLASS_NAME, METHOD_NAME);
+		return tracer.getTrace();
+	}
+}
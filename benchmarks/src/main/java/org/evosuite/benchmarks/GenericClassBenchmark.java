@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.evosuite.ga.ConstructionFailedException;
+import org.evosuite.utils.generic.GenericClass;
+import org.evosuite.utils.generic.GenericClassFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.examples.with.different.packagename.generic.GenericClassTwoParameters;
+
+/**
+ * Type resolution of generic classes, as done when the test factory looks for
+ * generators and instantiates type variables.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenericClassBenchmark {
+
+	// only used for their generic types
+	public Map<String, List<Integer>> map;
+
+	public HashMap<String, ArrayList<Integer>> hashMapOfArrayLists;
+
+	public HashMap<String, List<Integer>> hashMapOfLists;
+
+	private Type mapType;
+
+	private Type hashMapOfArrayListsType;
+
+	private Type hashMapOfListsType;
+
+	@Setup
+	public void setUp() throws NoSuchFieldException {
+		BenchmarkEnvironment.reset();
+		mapType = GenericClassBenchmark.class.getField("map").getGenericType();
+		hashMapOfArrayListsType = GenericClassBenchmark.class.getField("hashMapOfArrayLists").getGenericType();
+		hashMapOfListsType = GenericClassBenchmark.class.getField("hashMapOfLists").getGenericType();
+	}
+
+	@Benchmark
+	public boolean isAssignableFrom() {
+		return GenericClassFactory.get(mapType).isAssignableFrom(hashMapOfListsType);
+	}
+
+	@Benchmark
+	public boolean isNotAssignableFrom() {
+		// Map<String, List<Integer>> = HashMap<String, ArrayList<Integer>> does not compile
+		return GenericClassFactory.get(mapType).isAssignableFrom(hashMapOfArrayListsType);
+	}
+
+	@Benchmark
+	public GenericClass<?> getWithWildcardTypes() {
+		return GenericClassFactory.get(hashMapOfListsType).getWithWildcardTypes();
+	}
+
+	@Benchmark
+	public GenericClass<?> getGenericInstantiation() throws ConstructionFailedException {
+		return GenericClassFactory.get(GenericClassTwoParameters.class).getGenericInstantiation();
+	}
+}
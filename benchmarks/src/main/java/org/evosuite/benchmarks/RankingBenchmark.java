@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.evosuite.Properties;
+import org.evosuite.coverage.method.MethodCoverageTestFitness;
+import org.evosuite.ga.operators.ranking.EfficientNonDominatedSorting;
+import org.evosuite.ga.operators.ranking.FastNonDominatedSorting;
+import org.evosuite.ga.operators.ranking.RankBasedPreferenceSorting;
+import org.evosuite.ga.operators.ranking.RankingFunction;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Ranking of a MOSA population w.r.t. its uncovered goals. The fitness values
+ * are random, with few distinct values per goal to get ties as in a real
+ * search.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RankingBenchmark {
+
+	@Param({ "FAST_NON_DOMINATED_SORTING", "EFFICIENT_NON_DOMINATED_SORTING", "PREFERENCE_SORTING" })
+	public Properties.RankingType rankingType;
+
+	@Param({ "100", "200" })
+	public int populationSize;
+
+	@Param({ "10", "1000" })
+	public int numberOfGoals;
+
+	private List<TestChromosome> population;
+
+	private Set<TestFitnessFunction> goals;
+
+	private RankingFunction<TestChromosome> ranking;
+
+	@Setup
+	public void setUp() {
+		BenchmarkEnvironment.reset();
+		// the population of MOSA has twice the population size after reproduction
+		Properties.POPULATION = populationSize / 2;
+
+		Random random = new Random(BenchmarkEnvironment.SEED);
+		goals = new LinkedHashSet<>();
+		for (int i = 0; i < numberOfGoals; i++) {
+			goals.add(new MethodCoverageTestFitness("Foo", "foo" + i + "()V"));
+		}
+		population = new ArrayList<>(populationSize);
+		for (int i = 0; i < populationSize; i++) {
+			TestChromosome test = new TestChromosome();
+			for (TestFitnessFunction goal : goals) {
+				test.setFitness(goal, random.nextInt(10) / 10.0);
+			}
+			population.add(test);
+		}
+
+		switch (rankingType) {
+		case FAST_NON_DOMINATED_SORTING:
+			ranking = new FastNonDominatedSorting<>();
+			break;
+		case EFFICIENT_NON_DOMINATED_SORTING:
+			ranking = new EfficientNonDominatedSorting<>();
+			break;
+		case PREFERENCE_SORTING:
+		default:
+			ranking = new RankBasedPreferenceSorting<>();
+		}
+	}
+
+	@Benchmark
+	public int computeRankingAssignment() {
+		ranking.computeRankingAssignment(population, goals);
+		return ranking.getNumberOfSubfronts();
+	}
+}
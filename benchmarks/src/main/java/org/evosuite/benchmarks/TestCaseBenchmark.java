@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestCodeVisitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.examples.with.different.packagename.ArrayStack;
+
+/**
+ * Cloning a test case, as done for each offspring, and generating its JUnit
+ * code.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestCaseBenchmark {
+
+	/** Index of the benchmarked test among the generated ones */
+	@Param({ "0", "1", "2" })
+	public int testIndex;
+
+	private TestCase test;
+
+	@Setup
+	public void setUp() {
+		BenchmarkEnvironment.analyzeTargetClass(ArrayStack.class);
+		List<TestChromosome> tests = BenchmarkEnvironment.generateTests(testIndex + 1);
+		test = tests.get(testIndex).getTestCase();
+	}
+
+	@Benchmark
+	public TestCase cloneTestCase() {
+		return test.clone();
+	}
+
+	@Benchmark
+	public String generateCode() {
+		TestCodeVisitor visitor = new TestCodeVisitor();
+		test.accept(visitor);
+		return visitor.getCode();
+	}
+}
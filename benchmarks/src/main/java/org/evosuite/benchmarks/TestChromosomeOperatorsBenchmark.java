@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.evosuite.ga.ConstructionFailedException;
+import org.evosuite.ga.operators.crossover.CrossOverFunction;
+import org.evosuite.ga.operators.crossover.SinglePointCrossOver;
+import org.evosuite.testcase.TestChromosome;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.examples.with.different.packagename.ArrayStack;
+
+/**
+ * Mutation and crossover of test chromosomes. As the operators change their
+ * arguments, each invocation works on clones of the same parents, so the cost
+ * of {@link TestChromosome#clone()} is included (see {@link TestCaseBenchmark}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestChromosomeOperatorsBenchmark {
+
+	private TestChromosome parent1;
+
+	private TestChromosome parent2;
+
+	private final CrossOverFunction<TestChromosome> crossOver = new SinglePointCrossOver<>();
+
+	@Setup
+	public void setUp() {
+		BenchmarkEnvironment.analyzeTargetClass(ArrayStack.class);
+		List<TestChromosome> tests = BenchmarkEnvironment.generateTests(2);
+		parent1 = tests.get(0);
+		parent2 = tests.get(1);
+	}
+
+	@Benchmark
+	public TestChromosome mutate() {
+		TestChromosome offspring = parent1.clone();
+		offspring.mutate();
+		return offspring;
+	}
+
+	@Benchmark
+	public void crossOver(Blackhole blackhole) throws ConstructionFailedException {
+		TestChromosome offspring1 = parent1.clone();
+		TestChromosome offspring2 = parent2.clone();
+		crossOver.crossOver(offspring1, offspring2);
+		blackhole.consume(offspring1);
+		blackhole.consume(offspring2);
+	}
+}
@@ -132,6 +132,7 @@ public class ClientProcess {
 
 	private static void setupRuntimeProperties(){
 		RuntimeSettings.useVFS = Properties.VIRTUAL_FS;
+		RuntimeSettings.maxVirtualFileSystemSize = Properties.MAX_VIRTUAL_FS_SIZE;
 		RuntimeSettings.mockJVMNonDeterminism = Properties.REPLACE_CALLS;
 		RuntimeSettings.mockSystemIn = Properties.REPLACE_SYSTEM_IN;
 		RuntimeSettings.mockGUI = Properties.REPLACE_GUI;
@@ -326,7 +326,9 @@ public class Properties {
 	public enum RankingType {
 		// Preference sorting is the ranking strategy proposed in
 		PREFERENCE_SORTING, 
-		FAST_NON_DOMINATED_SORTING
+		FAST_NON_DOMINATED_SORTING,
+		// same fronts as FAST_NON_DOMINATED_SORTING, computed with the ENS algorithm
+		EFFICIENT_NON_DOMINATED_SORTING
 	}
 
 	@Parameter(key = "ranking_type", group = "Runtime", description = "type of ranking to use in MOSA")
@@ -478,6 +480,15 @@ public class Properties {
 	@Parameter(key = "cvc4_path", group = "DSE", description = "Indicates the path to the CVC4 solver")
 	public static String CVC4_PATH = null;
 
+	@Parameter(key = "dse_solver_session", group = "DSE", description = "Keep one Z3/CVC4 process alive for all queries, and use push/pop to reuse the common prefix of consecutive queries")
+	public static boolean DSE_SOLVER_SESSION = false;
+
+	@Parameter(key = "dse_solver_cache_size", group = "DSE", description = "Maximum number of constraint solver results kept in the solver cache")
+	public static int DSE_SOLVER_CACHE_SIZE = 10000;
+
+	@Parameter(key = "dse_solver_cache_file", group = "DSE", description = "File in which solver results are stored to be reused across classes and runs. If not set, results are only cached in memory")
+	public static String DSE_SOLVER_CACHE_FILE = null;
+
 	public enum DSEStoppingConditionCriterion {
 		TARGETCOVERAGE,
 		MAXTIME, /** In seconds */
@@ -1222,6 +1233,9 @@ public class Properties {
     @Parameter(key = "virtual_fs", group = "Sandbox", description = "Usa a virtual file system for all File I/O operations")
     public static boolean VIRTUAL_FS = true;
 
+    @Parameter(key = "max_virtual_fs_size", group = "Sandbox", description = "Max number of bytes in all the files of the virtual file system. A negative value means no limit.")
+    public static long MAX_VIRTUAL_FS_SIZE = RuntimeSettings.maxVirtualFileSystemSize;
+
 
     @Parameter(key = "virtual_net", group = "Sandbox", description = "Usa a virtual network for all TCP/UDP communications")
     public static boolean VIRTUAL_NET = true;
@@ -1283,6 +1297,12 @@ public class Properties {
 	@Parameter(key = "instrumentation_skip_debug", description = "Skip debug information in bytecode instrumentation (needed for compatibility with classes transformed by Emma code instrumentation due to an ASM bug)")
 	public static boolean INSTRUMENTATION_SKIP_DEBUG = false;
 
+	@Parameter(key = "instrumentation_cache_dir", description = "Directory where instrumented dependency classes are cached, so that later runs on the same classpath do not instrument them again (no cache if not set)")
+	public static String INSTRUMENTATION_CACHE_DIR = null;
+
+	@Parameter(key = "instrumentation_threads", description = "Number of threads used to instrument the dependencies of the target class before they are loaded")
+	public static int INSTRUMENTATION_THREADS = 1;
+
 	@Parameter(key = "instrument_parent", description = "Also count coverage goals in superclasses")
 	public static boolean INSTRUMENT_PARENT = false;
 
@@ -1315,7 +1335,7 @@ public class Properties {
 	public static TestFactory TEST_FACTORY = TestFactory.ARCHIVE;
 
 	public enum ArchiveType {
-		COVERAGE, MIO
+		COVERAGE, COVERAGE_BITSET, MIO
 	}
 
 	/** Constant <code>ARCHIVE_TYPE=COVERAGE</code> */
@@ -1445,6 +1465,15 @@ public class Properties {
     @Parameter(key = "max_loop_iterations", group = "Test Execution", description = "Max number of iterations allowed per loop. A negative value means no check is done.")
     public static long MAX_LOOP_ITERATIONS = RuntimeSettings.maxNumberOfIterationsPerLoop;
 
+	@Parameter(key = "num_parallel_evaluations", group = "Test Execution", description = "Number of worker slots executing the tests of a generation concurrently. Experimental: only used with reset_static_fields, virtual_fs, virtual_net, replace_calls, replace_system_in and replace_gui disabled, max_loop_iterations negative, and a SUT without shared static state. As these are enabled by default, the option has no effect unless they are explicitly disabled")
+	public static int NUM_PARALLEL_EVALUATIONS = 1;
+
+	@Parameter(key = "prefix_checkpoints", group = "Test Execution", description = "Keep the state left by a prefix of an executed test whose following statements cannot change it, and resume from it the execution of tests sharing the prefix. Experimental: requires reset_static_fields=true, and is not used with execution observers (e.g., for output or input coverage)")
+	public static boolean PREFIX_CHECKPOINTS = false;
+
+	@Parameter(key = "prefix_checkpoint_min_length", group = "Test Execution", description = "Minimum number of statements of a prefix for its state to be kept")
+	public static int PREFIX_CHECKPOINT_MIN_LENGTH = 5;
+
     // ---------------------------------------------------------------
 	// Debugging
 
@@ -197,4 +197,18 @@ public abstract class AssertionTraceObserver<T extends OutputTraceEntry> extends
 		return trace.clone();
 	}
 
+	/**
+	 * Determine whether the trace differs from another trace at the given
+	 * statement, without copying the trace
+	 * 
+	 * @param other
+	 *            the reference trace
+	 * @param statement
+	 *            the position of the statement
+	 * @return a boolean.
+	 */
+	public synchronized boolean differsAt(OutputTrace<?> other, int statement) {
+		return other.differs(trace, statement);
+	}
+
 }
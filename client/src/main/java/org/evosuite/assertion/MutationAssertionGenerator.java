@@ -20,6 +20,7 @@
 package org.evosuite.assertion;
 
 import java.text.NumberFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -165,6 +166,29 @@ public abstract class MutationAssertionGenerator extends AssertionGenerator {
 		return result;
 	}
 
+	/**
+	 * Determine the mutants on which a test needs to be executed: a mutant
+	 * that the test reaches but never infects (i.e., whose infection distance
+	 * is positive every time it is reached) leaves the execution unchanged, so
+	 * it cannot be detected by an assertion of the test
+	 * 
+	 * @param origResult
+	 *            the result of the execution of the test on the original unit
+	 * @return the mutants reached and infected by the test
+	 */
+	protected List<Mutation> getInfectedMutants(ExecutionResult origResult) {
+		List<Mutation> infectedMutants = new ArrayList<>();
+		for (Integer mutationId : origResult.getTrace().getInfectedMutants()) {
+			Mutation m = mutants.get(mutationId);
+			if (m != null) {
+				infectedMutants.add(m);
+			}
+		}
+		logger.debug("{} of {} reached mutants are infected", infectedMutants.size(),
+				origResult.getTrace().getTouchedMutants().size());
+		return infectedMutants;
+	}
+
 	protected Criterion[] oldCriterion = Properties.CRITERION;
 
 	/**
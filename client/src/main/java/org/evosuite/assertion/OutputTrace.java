@@ -122,6 +122,29 @@ public class OutputTrace<T extends OutputTraceEntry> implements Cloneable {
 		return false;
 	}
 
+	/**
+	 * Binary decision whether the two traces differ at the given statement
+	 * 
+	 * @param other
+	 *            a {@link org.evosuite.assertion.OutputTrace} object.
+	 * @param statement
+	 *            the position of the statement
+	 * @return a boolean.
+	 */
+	public boolean differs(OutputTrace<?> other, int statement) {
+		Map<Integer, T> entries = trace.get(statement);
+		Map<Integer, ? extends OutputTraceEntry> otherEntries = other.trace.get(statement);
+		if (entries == null || otherEntries == null) {
+			return false;
+		}
+		for (Integer var : entries.keySet()) {
+			if (entries.get(var).differs(otherEntries.get(var)))
+				return true;
+		}
+
+		return false;
+	}
+
 	/**
 	 * Count the number of differences between two traces
 	 * 
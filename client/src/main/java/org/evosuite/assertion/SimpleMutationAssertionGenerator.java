@@ -143,15 +143,7 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
 		}
 
 		Map<Mutation, List<OutputTrace<?>>> mutationTraces = new HashMap<>();
-		List<Mutation> executedMutants = new ArrayList<>();
-
-		for (Integer mutationId : origResult.getTrace().getTouchedMutants()) {
-			if (!mutants.containsKey(mutationId)) {
-				//logger.warn("Mutation ID unknown: " + mutationId);
-				//logger.warn(mutants.keySet().toString());
-			} else
-				executedMutants.add(mutants.get(mutationId));
-		}
+		List<Mutation> executedMutants = getInfectedMutants(origResult);
 
 		Randomness.shuffle(executedMutants);
 		logger.debug("Executed mutants: "+origResult.getTrace().getTouchedMutants());
@@ -22,6 +22,7 @@ package org.evosuite.coverage.branch;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -37,6 +38,8 @@ import org.evosuite.testcase.TestFitnessFunction;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.statements.ConstructorStatement;
 import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testsuite.SuiteFitnessAggregate;
+import org.evosuite.testsuite.SuiteFitnessContribution;
 import org.evosuite.testsuite.TestSuiteChromosome;
 import org.evosuite.testsuite.TestSuiteFitnessFunction;
 import org.objectweb.asm.Type;
@@ -54,6 +57,12 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
 
 	private final static Logger logger = LoggerFactory.getLogger(BranchCoverageSuiteFitness.class);
 
+	// Channels of the contributions of the tests
+	private static final int PREDICATE_COUNT = 0;
+	private static final int CALL_COUNT = 1;
+	private static final int TRUE_DISTANCE = 0;
+	private static final int FALSE_DISTANCE = 1;
+
 	// Coverage targets
 	public int totalGoals;
 	public int totalMethods;
@@ -276,41 +285,38 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
 
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public boolean supportsContributions() {
+		return true;
+	}
+
 	/**
-	 * Iterate over all execution results and summarize statistics
-	 * 
-	 * @param results
-	 * @param predicateCount
-	 * @param callCount
-	 * @param trueDistance
-	 * @param falseDistance
-	 * @return
+	 * Summarize the statistics of the trace of a test. The goals covered since
+	 * are filtered out in {@link #getFitness}
 	 */
-	private boolean analyzeTraces(TestSuiteChromosome suite,
-								  List<ExecutionResult> results,
-								  Map<Integer, Integer> predicateCount, Map<String, Integer> callCount,
-								  Map<Integer, Double> trueDistance, Map<Integer, Double> falseDistance) {
-		boolean hasTimeoutOrTestException = false;
-		for (ExecutionResult result : results) {
-			if (result.hasTimeout() || result.hasTestException()) {
-				hasTimeoutOrTestException = true;
-				continue;
-			}
+	@Override
+	protected SuiteFitnessContribution computeContribution(ExecutionResult result) {
+		Map<Integer, Integer> predicateCount = new LinkedHashMap<>();
+		Map<String, Integer> callCount = new LinkedHashMap<>();
+		Map<Integer, Double> trueDistance = new LinkedHashMap<>();
+		Map<Integer, Double> falseDistance = new LinkedHashMap<>();
 
-			TestChromosome test = new TestChromosome();
-			test.setTestCase(result.test);
-			test.setLastExecutionResult(result);
-			test.setChanged(false);
+		TestChromosome test = new TestChromosome();
+		test.setTestCase(result.test);
+		test.setLastExecutionResult(result);
+		test.setChanged(false);
 
-			handleBranchlessMethods(test, result, callCount);
-			handlePredicateCount(result, predicateCount);
-			handleTrueDistances(test, result, trueDistance);
-			handleFalseDistances(test, result, falseDistance);
+		handleBranchlessMethods(test, result, callCount);
+		handlePredicateCount(result, predicateCount);
+		handleTrueDistances(test, result, trueDistance);
+		handleFalseDistances(test, result, falseDistance);
 
-			// In case there were exceptions in a constructor
-			handleConstructorExceptions(test, result, callCount);
-		}
-		return hasTimeoutOrTestException;
+		// In case there were exceptions in a constructor
+		handleConstructorExceptions(test, result, callCount);
+
+		return new SuiteFitnessContribution(Arrays.asList(predicateCount, callCount),
+				Arrays.asList(trueDistance, falseDistance));
 	}
 
 	@Override
@@ -380,35 +386,39 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
 		double fitness = 0.0;
 
 		List<ExecutionResult> results = runTestSuite(suite);
-		Map<Integer, Double> trueDistance = new LinkedHashMap<>();
-		Map<Integer, Double> falseDistance = new LinkedHashMap<>();
-		Map<Integer, Integer> predicateCount = new LinkedHashMap<>();
-		Map<String, Integer> callCount = new LinkedHashMap<>();
 
 		// Collect stats in the traces 
-		boolean hasTimeoutOrTestException = analyzeTraces(suite, results, predicateCount,
-		                                                  callCount, trueDistance,
-		                                                  falseDistance);
+		SuiteFitnessAggregate aggregate = aggregateContributions(suite, results);
+		boolean hasTimeoutOrTestException = aggregate.hasTimeoutOrTestException();
 
 		// Collect branch distances of covered branches
 		int numCoveredBranches = 0;
+		int numExecutedPredicates = 0;
 
-		for (Integer key : predicateCount.keySet()) {
+		for (Object key : aggregate.getCountGoals(PREDICATE_COUNT)) {
+			boolean isRemovedT = removedBranchesT.contains(key);
+			boolean isRemovedF = removedBranchesF.contains(key);
+			if (isRemovedT && isRemovedF) {
+				continue;
+			}
+			numExecutedPredicates++;
 			
 			double df = 0.0;
 			double dt = 0.0;
-			int numExecuted = predicateCount.get(key);
+			int numExecuted = aggregate.getCount(PREDICATE_COUNT, key);
 			
-			if(removedBranchesT.contains(key))
+			if(isRemovedT)
 				numExecuted++;
-			if(removedBranchesF.contains(key))
+			if(isRemovedF)
 				numExecuted++;
 			
-			if (trueDistance.containsKey(key)) {
-				dt =  trueDistance.get(key);
+			boolean hasTrueDistance = !isRemovedT && aggregate.hasDistance(TRUE_DISTANCE, key);
+			boolean hasFalseDistance = !isRemovedF && aggregate.hasDistance(FALSE_DISTANCE, key);
+			if (hasTrueDistance) {
+				dt = aggregate.getDistance(TRUE_DISTANCE, key);
 			}
-			if(falseDistance.containsKey(key)){
-				df = falseDistance.get(key);
+			if(hasFalseDistance){
+				df = aggregate.getDistance(FALSE_DISTANCE, key);
 			}
 			// If the branch predicate was only executed once, then add 1 
 			if (numExecuted == 1) {
@@ -417,20 +427,20 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
 				fitness += normalize(df) + normalize(dt);
 			}
 
-			if (falseDistance.containsKey(key)&&(Double.compare(df, 0.0) == 0))
+			if (hasFalseDistance&&(Double.compare(df, 0.0) == 0))
 				numCoveredBranches++;
 
-			if (trueDistance.containsKey(key)&&(Double.compare(dt, 0.0) == 0))
+			if (hasTrueDistance&&(Double.compare(dt, 0.0) == 0))
 				numCoveredBranches++;
 		}
 		
 		// +1 for every branch that was not executed
-		fitness += 2 * (totalBranches - predicateCount.size());
+		fitness += 2 * (totalBranches - numExecutedPredicates);
 
 		// Ensure all methods are called
 		int missingMethods = 0;
 		for (String e : methods) {
-			if (!callCount.containsKey(e)) {
+			if (!aggregate.hasCount(CALL_COUNT, e)) {
 				fitness += 1.0;
 				missingMethods += 1;
 			}
@@ -441,7 +451,7 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
 		// Calculate coverage
 		int coverage = numCoveredBranches;
 		for (String e : branchlessMethodCoverageMap.keySet()) {
-			if (callCount.containsKey(e)) {
+			if (aggregate.hasCount(CALL_COUNT, e)) {
 				coverage++;
 			}
 
@@ -19,6 +19,7 @@
  */
 package org.evosuite.coverage.io.output;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -27,9 +28,10 @@ import java.util.Set;
 import org.evosuite.Properties;
 import org.evosuite.ga.archive.Archive;
 import org.evosuite.testcase.TestChromosome;
-import org.evosuite.testcase.TestFitnessFunction;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.testsuite.SuiteFitnessAggregate;
+import org.evosuite.testsuite.SuiteFitnessContribution;
 import org.evosuite.testsuite.TestSuiteChromosome;
 import org.evosuite.testsuite.TestSuiteFitnessFunction;
 
@@ -40,6 +42,9 @@ public class OutputCoverageSuiteFitness extends TestSuiteFitnessFunction {
 
     private static final long serialVersionUID = -8345906214972153096L;
 
+    // Channel of the contributions of the tests
+    private static final int GOAL_DISTANCE = 0;
+
     //public final int numBranchlessMethods;
     public final int totalGoals;
     private final Set<OutputCoverageTestFitness> outputCoverageGoals = new LinkedHashSet<>();
@@ -87,22 +92,24 @@ public class OutputCoverageSuiteFitness extends TestSuiteFitnessFunction {
 
         List<ExecutionResult> results = runTestSuite(suite);
 
-        boolean hasTimeoutOrTestException = false;
-        for (ExecutionResult result : results) {
-            if (result.hasTimeout() || result.hasTestException()) {
-                hasTimeoutOrTestException = true;
-                break;
-            }
-        }
+        SuiteFitnessAggregate aggregate = aggregateContributions(suite, results);
 
-        Set<TestFitnessFunction> setOfCoveredGoals = new LinkedHashSet<>();
-        if (hasTimeoutOrTestException) {
+        int coveredGoals = removedGoals.size();
+        if (aggregate.hasTimeoutOrTestException()) {
             logger.info("Test suite has timed out, setting fitness to max value " + totalGoals);
             fitness = totalGoals;
-        } else
-            fitness = computeDistance(results, setOfCoveredGoals);
-
-        int coveredGoals = setOfCoveredGoals.size() + removedGoals.size();
+        } else {
+            for (OutputCoverageTestFitness testFitness : this.outputCoverageGoals) {
+                Double distance = aggregate.getDistance(GOAL_DISTANCE, testFitness);
+                if (distance == null) {
+                    fitness += 1.0;
+                } else if (distance == 0.0) {
+                    coveredGoals++;
+                } else {
+                    fitness += distance;
+                }
+            }
+        }
 
         if (totalGoals > 0)
             suite.setCoverage(this, (double) coveredGoals / (double) totalGoals);
@@ -144,43 +151,37 @@ public class OutputCoverageSuiteFitness extends TestSuiteFitnessFunction {
         return true;
     }
 
-    public double computeDistance(List<ExecutionResult> results, Set<TestFitnessFunction> setOfCoveredGoals) {
+    /** {@inheritDoc} */
+    @Override
+    public boolean supportsContributions() {
+        return true;
+    }
+
+    /**
+     * Determine the distances of a test to the current output goals. Goals
+     * that are removed afterwards are ignored in {@link #getFitness}
+     */
+    @Override
+    protected SuiteFitnessContribution computeContribution(ExecutionResult result) {
+        TestChromosome test = new TestChromosome();
+        test.setTestCase(result.test);
+        test.setLastExecutionResult(result);
+        test.setChanged(false);
 
         Map<OutputCoverageTestFitness, Double> mapDistances = new LinkedHashMap<>();
-        for (OutputCoverageTestFitness testFitness : this.outputCoverageGoals) {
-          mapDistances.put(testFitness, 1.0);
-        }
+        for (final OutputCoverageTestFitness testFitness : this.outputCoverageGoals) {
+            double distance = testFitness.getFitness(test, result); // archive is updated by the TestFitnessFunction class
 
-        for (ExecutionResult result : results) {
-            if (result.hasTimeout() || result.hasTestException()) {
-                continue;
+            if (distance < 1.0) {
+                mapDistances.put(testFitness, distance);
             }
 
-            TestChromosome test = new TestChromosome();
-            test.setTestCase(result.test);
-            test.setLastExecutionResult(result);
-            test.setChanged(false);
-
-            for (final OutputCoverageTestFitness testFitness : this.outputCoverageGoals) {
-                if (!mapDistances.containsKey(testFitness)) {
-                    continue;
-                }
-
-                double distance = testFitness.getFitness(test, result); // archive is updated by the TestFitnessFunction class
-
-                mapDistances.put(testFitness, Math.min(distance, mapDistances.get(testFitness)));
-
-                if (distance == 0.0) {
-                    mapDistances.remove(testFitness);
-                    setOfCoveredGoals.add(testFitness); // helper to count the number of covered goals
-                    this.toRemoveGoals.add(testFitness); // goal to not be considered by the next iteration of the evolutionary algorithm
-                }
+            if (distance == 0.0) {
+                this.toRemoveGoals.add(testFitness); // goal to not be considered by the next iteration of the evolutionary algorithm
             }
         }
 
-        return mapDistances.values().stream()
-                .mapToDouble(Double::doubleValue)
-                .sum();
+        return new SuiteFitnessContribution(Collections.emptyList(), Collections.singletonList(mapDistances));
     }
 
     /**
@@ -20,7 +20,6 @@
 package org.evosuite.coverage.line;
 
 import java.util.*;
-import java.util.Map.Entry;
 
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
@@ -31,6 +30,8 @@ import org.evosuite.graphs.cfg.ControlDependency;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
 import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testsuite.SuiteFitnessAggregate;
+import org.evosuite.testsuite.SuiteFitnessContribution;
 import org.evosuite.testsuite.TestSuiteChromosome;
 import org.evosuite.testsuite.TestSuiteFitnessFunction;
 import org.slf4j.Logger;
@@ -47,6 +48,12 @@ public class LineCoverageSuiteFitness extends TestSuiteFitnessFunction {
 
 	private final static Logger logger = LoggerFactory.getLogger(LineCoverageSuiteFitness.class);
 
+	// Channels of the contributions of the tests
+	private static final int COVERED_LINES = 0;
+	private static final int PREDICATE_COUNT = 1;
+	private static final int TRUE_DISTANCE = 0;
+	private static final int FALSE_DISTANCE = 1;
+
 	// target goals
 	private final int numLines;
 	private final Map<Integer, TestFitnessFunction> lineGoals = new LinkedHashMap<>();
@@ -106,40 +113,41 @@ public class LineCoverageSuiteFitness extends TestSuiteFitnessFunction {
 		return true;
 	}
 	
+	/** {@inheritDoc} */
+	@Override
+	public boolean supportsContributions() {
+		return true;
+	}
+
 	/**
-	 * Iterate over all execution results and summarize statistics
-	 * 
-	 * @param results
-	 * @param coveredLines
-	 * @return
+	 * Determine the lines covered by a test, and summarize the statistics of
+	 * its trace for the control dependency guidance. The lines covered since
+	 * are filtered out in {@link #getFitness}
 	 */
-	private boolean analyzeTraces(List<ExecutionResult> results, Set<Integer> coveredLines) {
-		boolean hasTimeoutOrTestException = false;
-
-		for (ExecutionResult result : results) {
-			if (result.hasTimeout() || result.hasTestException()) {
-				hasTimeoutOrTestException = true;
-				continue;
-			}
-
-			TestChromosome test = new TestChromosome();
-			test.setTestCase(result.test);
-			test.setLastExecutionResult(result);
-			test.setChanged(false);
+	@Override
+	protected SuiteFitnessContribution computeContribution(ExecutionResult result) {
+		TestChromosome test = new TestChromosome();
+		test.setTestCase(result.test);
+		test.setLastExecutionResult(result);
+		test.setChanged(false);
 
-			for (Integer goalID : this.lineGoals.keySet()) {
-				TestFitnessFunction goal = this.lineGoals.get(goalID);
+		Map<Integer, Integer> coveredLines = new LinkedHashMap<>();
+		for (Integer goalID : this.lineGoals.keySet()) {
+			TestFitnessFunction goal = this.lineGoals.get(goalID);
 
-				double fit = goal.getFitness(test, result); // archive is updated by the TestFitnessFunction class
+			double fit = goal.getFitness(test, result); // archive is updated by the TestFitnessFunction class
 
-				if (fit == 0.0) {
-					coveredLines.add(goalID); // helper to count the number of covered goals
-					this.toRemoveLines.add(goalID); // goal to not be considered by the next iteration of the evolutionary algorithm
-				}
+			if (fit == 0.0) {
+				coveredLines.put(goalID, 1); // helper to count the number of covered goals
+				this.toRemoveLines.add(goalID); // goal to not be considered by the next iteration of the evolutionary algorithm
 			}
 		}
 
-		return hasTimeoutOrTestException;
+		// copies, as a contribution must not change
+		return new SuiteFitnessContribution(
+				Arrays.asList(coveredLines, new LinkedHashMap<>(result.getTrace().getPredicateExecutionCount())),
+				Arrays.asList(new LinkedHashMap<>(result.getTrace().getTrueDistances()),
+						new LinkedHashMap<>(result.getTrace().getFalseDistances())));
 	}
 
 	/**
@@ -153,14 +161,21 @@ public class LineCoverageSuiteFitness extends TestSuiteFitnessFunction {
 		double fitness = 0.0;
 
 		List<ExecutionResult> results = runTestSuite(suite);
-		fitness += getControlDependencyGuidance(results);
+		SuiteFitnessAggregate aggregate = aggregateContributions(suite, results);
+		fitness += getControlDependencyGuidance(aggregate);
 		logger.info("Branch distances: "+fitness);
 
-		Set<Integer> coveredLines = new LinkedHashSet<>();
-		boolean hasTimeoutOrTestException = analyzeTraces(results, coveredLines);
+		boolean hasTimeoutOrTestException = aggregate.hasTimeoutOrTestException();
+
+		int numCoveredLinesNotRemoved = 0;
+		for (Object goalID : aggregate.getCountGoals(COVERED_LINES)) {
+			if (!this.removedLines.contains(goalID)) {
+				numCoveredLinesNotRemoved++;
+			}
+		}
 
 		int totalLines = this.numLines;
-		int numCoveredLines = coveredLines.size() + this.removedLines.size();
+		int numCoveredLines = numCoveredLinesNotRemoved + this.removedLines.size();
 		
 		logger.debug("Covered " + numCoveredLines + " out of " + totalLines + " lines, "+removedLines.size() +" in archive");
 		fitness += normalize(totalLines - numCoveredLines);
@@ -265,70 +280,33 @@ public class LineCoverageSuiteFitness extends TestSuiteFitnessFunction {
 		logger.info("Covering branches both: "+branchesToCoverBoth);
 	}
 
-	private double getControlDependencyGuidance(List<ExecutionResult> results) {
-		Map<Integer, Integer> predicateCount = new LinkedHashMap<>();
-		Map<Integer, Double> trueDistance = new LinkedHashMap<>();
-		Map<Integer, Double> falseDistance = new LinkedHashMap<>();
-
-		for (ExecutionResult result : results) {
-			if (result.hasTimeout() || result.hasTestException()) {
-				continue;
-			}
-			for (Entry<Integer, Integer> entry : result.getTrace().getPredicateExecutionCount().entrySet()) {
-				if (!predicateCount.containsKey(entry.getKey()))
-					predicateCount.put(entry.getKey(), entry.getValue());
-				else {
-					predicateCount.put(entry.getKey(),
-							predicateCount.get(entry.getKey())
-							+ entry.getValue());
-				}
-			}
-			for (Entry<Integer, Double> entry : result.getTrace().getTrueDistances().entrySet()) {
-				if (!trueDistance.containsKey(entry.getKey()))
-					trueDistance.put(entry.getKey(), entry.getValue());
-				else {
-					trueDistance.put(entry.getKey(),
-							Math.min(trueDistance.get(entry.getKey()),
-									entry.getValue()));
-				}
-			}
-			for (Entry<Integer, Double> entry : result.getTrace().getFalseDistances().entrySet()) {
-				if (!falseDistance.containsKey(entry.getKey()))
-					falseDistance.put(entry.getKey(), entry.getValue());
-				else {
-					falseDistance.put(entry.getKey(),
-							Math.min(falseDistance.get(entry.getKey()),
-									entry.getValue()));
-				}
-			}
-		}
-		
+	private double getControlDependencyGuidance(SuiteFitnessAggregate aggregate) {
 		double distance = 0.0;
 
 		for(Integer branchId : branchesToCoverBoth) {
-			if(!predicateCount.containsKey(branchId)) {
+			if(!aggregate.hasCount(PREDICATE_COUNT, branchId)) {
 				distance += 2.0;
-			} else if(predicateCount.get(branchId) == 1) {
+			} else if(aggregate.getCount(PREDICATE_COUNT, branchId) == 1) {
 				distance += 1.0;
 			} else {
-				distance += normalize(trueDistance.get(branchId));
-				distance += normalize(falseDistance.get(branchId));
+				distance += normalize(aggregate.getDistance(TRUE_DISTANCE, branchId));
+				distance += normalize(aggregate.getDistance(FALSE_DISTANCE, branchId));
 			}
 		}
 		
 		for(Integer branchId : branchesToCoverTrue) {
-			if(!trueDistance.containsKey(branchId)) {
+			if(!aggregate.hasDistance(TRUE_DISTANCE, branchId)) {
 				distance += 1;
 			} else {
-				distance += normalize(trueDistance.get(branchId));
+				distance += normalize(aggregate.getDistance(TRUE_DISTANCE, branchId));
 			}
 		}
 
 		for(Integer branchId : branchesToCoverFalse) {
-			if(!falseDistance.containsKey(branchId)) {
+			if(!aggregate.hasDistance(FALSE_DISTANCE, branchId)) {
 				distance += 1;
 			} else {
-				distance += normalize(falseDistance.get(branchId));
+				distance += normalize(aggregate.getDistance(FALSE_DISTANCE, branchId));
 			}
 		}
 		
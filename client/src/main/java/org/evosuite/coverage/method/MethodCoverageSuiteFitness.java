@@ -26,6 +26,8 @@ import org.evosuite.testcase.TestFitnessFunction;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.statements.ConstructorStatement;
 import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testsuite.SuiteFitnessAggregate;
+import org.evosuite.testsuite.SuiteFitnessContribution;
 import org.evosuite.testsuite.TestSuiteChromosome;
 import org.evosuite.testsuite.TestSuiteFitnessFunction;
 import org.objectweb.asm.Type;
@@ -45,6 +47,9 @@ public class MethodCoverageSuiteFitness extends TestSuiteFitnessFunction{
 
 	private final static Logger logger = LoggerFactory.getLogger(MethodCoverageSuiteFitness.class);
 
+	// Channel of the contributions of the tests
+	private static final int CALLED_METHODS = 0;
+
 	// Each test gets a set of distinct covered goals, these are mapped by branch id
 	protected final Map<String, TestFitnessFunction> methodCoverageMap = new LinkedHashMap<>();
 	protected final int totalMethods;
@@ -117,42 +122,43 @@ public class MethodCoverageSuiteFitness extends TestSuiteFitnessFunction{
 
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public boolean supportsContributions() {
+		return true;
+	}
+
 	/**
-	 * Iterate over all execution results and summarize statistics
-	 *
-	 * @param results
-	 * @param calledMethods
-	 * @return
+	 * Determine the methods covered by a test. Methods that are removed from
+	 * the goals afterwards are filtered out in {@link #getFitness}
 	 */
-	protected boolean analyzeTraces(List<ExecutionResult> results, Set<String> calledMethods) {
-		boolean hasTimeoutOrTestException = false;
-
-		for (ExecutionResult result : results) {
-			if (result.hasTimeout() || result.hasTestException()) {
-				hasTimeoutOrTestException = true;
-				continue;
-			}
-
-			TestChromosome test = new TestChromosome();
-			test.setTestCase(result.test);
-			test.setLastExecutionResult(result);
-			test.setChanged(false);
+	@Override
+	protected SuiteFitnessContribution computeContribution(ExecutionResult result) {
+		TestChromosome test = new TestChromosome();
+		test.setTestCase(result.test);
+		test.setLastExecutionResult(result);
+		test.setChanged(false);
 
-			for (String methodName : this.methodCoverageMap.keySet()) {
-				TestFitnessFunction goal = this.methodCoverageMap.get(methodName);
+		Set<String> calledMethods = new LinkedHashSet<>();
+		for (String methodName : this.methodCoverageMap.keySet()) {
+			TestFitnessFunction goal = this.methodCoverageMap.get(methodName);
 
-				double fit = goal.getFitness(test, result); // archive is updated by the TestFitnessFunction class
+			double fit = goal.getFitness(test, result); // archive is updated by the TestFitnessFunction class
 
-				if (fit == 0.0) {
-					calledMethods.add(methodName); // helper to count the number of covered goals
-					this.toRemoveMethods.add(methodName); // goal to not be considered by the next iteration of the evolutionary algorithm
-				}
+			if (fit == 0.0) {
+				calledMethods.add(methodName); // helper to count the number of covered goals
+				this.toRemoveMethods.add(methodName); // goal to not be considered by the next iteration of the evolutionary algorithm
 			}
+		}
 
-			// In case there were exceptions in a constructor
-			handleConstructorExceptions(test, result, calledMethods);
+		// In case there were exceptions in a constructor
+		handleConstructorExceptions(test, result, calledMethods);
+
+		Map<String, Integer> counts = new LinkedHashMap<>();
+		for (String methodName : calledMethods) {
+			counts.put(methodName, 1);
 		}
-		return hasTimeoutOrTestException;
+		return new SuiteFitnessContribution(Collections.singletonList(counts), Collections.emptyList());
 	}
 
 	/**
@@ -168,10 +174,15 @@ public class MethodCoverageSuiteFitness extends TestSuiteFitnessFunction{
 		List<ExecutionResult> results = runTestSuite(suite);
 
 		// Collect stats in the traces
-		Set<String> calledMethods = new LinkedHashSet<>();
-		boolean hasTimeoutOrTestException = analyzeTraces(results, calledMethods);
+		SuiteFitnessAggregate aggregate = aggregateContributions(suite, results);
+		boolean hasTimeoutOrTestException = aggregate.hasTimeoutOrTestException();
 
-		int coveredMethods = calledMethods.size() + this.removedMethods.size();
+		int coveredMethods = this.removedMethods.size();
+		for (Object methodName : aggregate.getCountGoals(CALLED_METHODS)) {
+			if (!this.removedMethods.contains(methodName)) {
+				coveredMethods++;
+			}
+		}
 		int missingMethods = this.totalMethods - coveredMethods;
 		assert (this.totalMethods == coveredMethods + missingMethods);
 		fitness = 1.0 * missingMethods;
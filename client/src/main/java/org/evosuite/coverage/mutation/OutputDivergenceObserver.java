@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.mutation;
+
+import org.evosuite.assertion.AssertionTraceObserver;
+import org.evosuite.assertion.OutputTrace;
+import org.evosuite.testcase.execution.ExecutionObserver;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.Scope;
+import org.evosuite.testcase.statements.Statement;
+
+/**
+ * Stops the execution of a test on a mutant as soon as the output traces
+ * differ from the ones of the execution on the original unit: the mutant is
+ * then known to be killed, and the rest of the test does not matter.
+ * 
+ * The observer has to be added after the trace observers, so that it is
+ * informed after them of each statement.
+ */
+class OutputDivergenceObserver extends ExecutionObserver {
+
+	private final ExecutionResult originalResult;
+
+	private final AssertionTraceObserver<?>[] observers;
+
+	private final Class<?>[] observerClasses;
+
+	private boolean diverged = false;
+
+	/**
+	 * @param originalResult
+	 *            the result of the execution on the original unit, with the
+	 *            output traces
+	 * @param observers
+	 *            the trace observers of the execution on the mutant
+	 * @param observerClasses
+	 *            the classes of the traces of the observers
+	 */
+	OutputDivergenceObserver(ExecutionResult originalResult, AssertionTraceObserver<?>[] observers,
+			Class<?>[] observerClasses) {
+		this.originalResult = originalResult;
+		this.observers = observers;
+		this.observerClasses = observerClasses;
+	}
+
+	@Override
+	public void output(int position, String output) {
+		// do nothing
+	}
+
+	@Override
+	public void beforeStatement(Statement statement, Scope scope) {
+		// do nothing
+	}
+
+	@Override
+	public void afterStatement(Statement statement, Scope scope, Throwable exception) {
+		if (diverged) {
+			return;
+		}
+		int position = statement.getPosition();
+		for (int i = 0; i < observers.length; i++) {
+			OutputTrace<?> originalTrace = originalResult.getTrace(observerClasses[i]);
+			if (originalTrace != null && observers[i].differsAt(originalTrace, position)) {
+				diverged = true;
+				return;
+			}
+		}
+	}
+
+	@Override
+	public boolean canStopExecution() {
+		return diverged;
+	}
+
+	@Override
+	public void testExecutionFinished(ExecutionResult r, Scope s) {
+		// do nothing
+	}
+
+	@Override
+	public void clear() {
+		diverged = false;
+	}
+}
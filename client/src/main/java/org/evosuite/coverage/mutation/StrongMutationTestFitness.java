@@ -117,7 +117,31 @@ public class StrongMutationTestFitness extends MutationTestFitness {
 		return result;
 	}
 
-	private MutationExecutionResult getMutationResult(ExecutionResult originalResult,
+	/**
+	 * Execute a test case on a mutant, stopping the execution as soon as an
+	 * output differs from the execution on the original unit
+	 * 
+	 * @param test
+	 *            The test case that should be executed
+	 * @param mutant
+	 *            The mutant on which the test case shall be executed
+	 * @param originalResult
+	 *            The result of the execution on the original unit, with the
+	 *            output traces
+	 */
+	static ExecutionResult runTestUntilDivergence(TestCase test, Mutation mutant,
+	        ExecutionResult originalResult) {
+		OutputDivergenceObserver divergenceObserver = new OutputDivergenceObserver(originalResult,
+		        observers, observerClasses);
+		TestCaseExecutor.getInstance().addObserver(divergenceObserver);
+		try {
+			return runTest(test, mutant);
+		} finally {
+			TestCaseExecutor.getInstance().removeObserver(divergenceObserver);
+		}
+	}
+
+	MutationExecutionResult getMutationResult(ExecutionResult originalResult,
 	        ExecutionResult mutationResult) {
 
 		MutationExecutionResult result = new MutationExecutionResult();
@@ -345,7 +369,7 @@ public class StrongMutationTestFitness extends MutationTestFitness {
 				MutationExecutionResult mutationResult = individual.getLastExecutionResult(mutation);
 
 				if (mutationResult == null) {
-					ExecutionResult exResult = runTest(individual.getTestCase(), mutation);
+					ExecutionResult exResult = runTestUntilDivergence(individual.getTestCase(), mutation, result);
 					mutationResult = getMutationResult(result, exResult);
 					individual.setLastExecutionResult(mutationResult, mutation);
 				}
@@ -25,6 +25,8 @@ import org.evosuite.ga.archive.Archive;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
 import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testsuite.SuiteFitnessAggregate;
+import org.evosuite.testsuite.SuiteFitnessContribution;
 import org.evosuite.testsuite.TestSuiteChromosome;
 
 import java.util.*;
@@ -41,6 +43,10 @@ public class WeakMutationSuiteFitness extends MutationSuiteFitness {
 
 	private static final long serialVersionUID = -1812256816400338180L;
 
+	// Channels of the contributions of the tests
+	private static final int TOUCHED_MUTANTS = 0;
+	private static final int MUTANT_DISTANCE = 0;
+
 	public WeakMutationSuiteFitness() {
 		super(Properties.Criterion.WEAKMUTATION);
 	}
@@ -74,63 +80,17 @@ public class WeakMutationSuiteFitness extends MutationSuiteFitness {
 		double fitness = branchFitness.getFitness(individual);
 		Properties.TEST_ARCHIVE =  archive;
 
-		Map<Integer, Double> mutant_distance = new LinkedHashMap<>();
-		Set<Integer> touchedMutants = new LinkedHashSet<>();
-
-		for (ExecutionResult result : results) {
-			// Using private reflection can lead to false positives
-			// that represent unrealistic behaviour. Thus, we only
-			// use reflection for basic criteria, not for mutation
-			if (result.hasTimeout() || result.hasTestException() || result.calledReflection()) {
-				continue;
-			}
-
-			touchedMutants.addAll(result.getTrace().getTouchedMutants());
-
-			Map<Integer, Double> touchedMutantsDistances = result.getTrace().getMutationDistances();
-			if (touchedMutantsDistances.isEmpty()) {
-			  // if 'result' does not touch any mutant, no need to continue
-			  continue;
-			}
-
-			TestChromosome test = new TestChromosome();
-			test.setTestCase(result.test);
-			test.setLastExecutionResult(result);
-			test.setChanged(false);
-
-			for (final Entry<Integer, MutationTestFitness> entry : this.mutantMap.entrySet()) {
-				int mutantID = entry.getKey();
-				TestFitnessFunction goal = entry.getValue();
-
-				double fit = 0.0;
-				if (touchedMutantsDistances.containsKey(mutantID)) {
-					fit = touchedMutantsDistances.get(mutantID);
-
-					if (!mutant_distance.containsKey(mutantID)) {
-						mutant_distance.put(mutantID, fit);
-					} else {
-						mutant_distance.put(mutantID, Math.min(mutant_distance.get(mutantID), fit));
-					}
-				} else {
-					fit = goal.getFitness(test, result); // archive is updated by the TestFitnessFunction class
-				}
-
-				if (fit == 0.0) {
-					test.getTestCase().addCoveredGoal(goal); // update list of covered goals
-					this.toRemoveMutants.add(mutantID); // goal to not be considered by the next iteration of the evolutionary algorithm
-				}
-
-				if (Properties.TEST_ARCHIVE) {
-					Archive.getArchiveInstance().updateArchive(goal, test, fit);
-				}
-			}
-		}
+		SuiteFitnessAggregate aggregate = aggregateContributions(individual, results);
 
 		// Second objective: touch all mutants?
-		fitness += MutationPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getMutantCounter() - touchedMutants.size();
+		fitness += MutationPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getMutantCounter() - aggregate.getCountGoals(TOUCHED_MUTANTS).size();
 		int covered = removedMutants.size();
 
-		for (Double distance : mutant_distance.values()) {
+		for (Object mutantID : aggregate.getDistanceGoals(MUTANT_DISTANCE)) {
+			if (!this.mutantMap.containsKey(mutantID)) {
+				continue;
+			}
+			double distance = aggregate.getDistance(MUTANT_DISTANCE, mutantID);
 			if (distance < 0) {
 				logger.warn("Distance is " + distance + " / " + Integer.MAX_VALUE + " / "
 				        + Integer.MIN_VALUE);
@@ -149,4 +109,68 @@ public class WeakMutationSuiteFitness extends MutationSuiteFitness {
 
 		return fitness;
 	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean supportsContributions() {
+		return true;
+	}
+
+	/**
+	 * Determine the mutants touched by a test, and its distances to the
+	 * mutants that are still goals. Mutants that are removed from the goals
+	 * afterwards are filtered out in {@link #getFitness}
+	 */
+	@Override
+	protected SuiteFitnessContribution computeContribution(ExecutionResult result) {
+		// Using private reflection can lead to false positives
+		// that represent unrealistic behaviour. Thus, we only
+		// use reflection for basic criteria, not for mutation
+		if (result.calledReflection()) {
+			return new SuiteFitnessContribution(Collections.emptyList(), Collections.emptyList());
+		}
+
+		Map<Integer, Integer> touchedMutants = new LinkedHashMap<>();
+		for (Integer mutantID : result.getTrace().getTouchedMutants()) {
+			touchedMutants.put(mutantID, 1);
+		}
+		Map<Integer, Double> mutantDistances = new LinkedHashMap<>();
+
+		Map<Integer, Double> touchedMutantsDistances = result.getTrace().getMutationDistances();
+		if (touchedMutantsDistances.isEmpty()) {
+			// if 'result' does not touch any mutant, no need to continue
+			return new SuiteFitnessContribution(Collections.singletonList(touchedMutants),
+					Collections.singletonList(mutantDistances));
+		}
+
+		TestChromosome test = new TestChromosome();
+		test.setTestCase(result.test);
+		test.setLastExecutionResult(result);
+		test.setChanged(false);
+
+		for (final Entry<Integer, MutationTestFitness> entry : this.mutantMap.entrySet()) {
+			int mutantID = entry.getKey();
+			TestFitnessFunction goal = entry.getValue();
+
+			double fit = 0.0;
+			if (touchedMutantsDistances.containsKey(mutantID)) {
+				fit = touchedMutantsDistances.get(mutantID);
+				mutantDistances.put(mutantID, fit);
+			} else {
+				fit = goal.getFitness(test, result); // archive is updated by the TestFitnessFunction class
+			}
+
+			if (fit == 0.0) {
+				test.getTestCase().addCoveredGoal(goal); // update list of covered goals
+				this.toRemoveMutants.add(mutantID); // goal to not be considered by the next iteration of the evolutionary algorithm
+			}
+
+			if (Properties.TEST_ARCHIVE) {
+				Archive.getArchiveInstance().updateArchive(goal, test, fit);
+			}
+		}
+
+		return new SuiteFitnessContribution(Collections.singletonList(touchedMutants),
+				Collections.singletonList(mutantDistances));
+	}
 }
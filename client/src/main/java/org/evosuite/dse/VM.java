@@ -103,6 +103,12 @@ public final class VM {
 	// protected IVM[] listeners = new IVM[] { new InsnLogger() };
 	protected IVM[] listeners = new IVM[0];
 
+	/**
+	 * The listeners that handle each callback, indexed by the ordinal of the
+	 * callback (see {@link VMCallback})
+	 */
+	protected IVM[][] dispatchTable = VMCallback.createDispatchTable(listeners);
+
 	protected List<IVM> prependListeners = new LinkedList<>();
 	protected List<IVM> appendListeners = new LinkedList<>();
 
@@ -118,6 +124,14 @@ public final class VM {
 		list.addAll(paramListeners);
 		list.addAll(appendListeners);
 		this.listeners = list.toArray(new IVM[list.size()]);
+		this.dispatchTable = VMCallback.createDispatchTable(this.listeners);
+	}
+
+	/**
+	 * @return the listeners to call for the given callback, in order
+	 */
+	protected IVM[] getListeners(VMCallback callback) {
+		return dispatchTable[callback.ordinal()];
 	}
 
 	/**
@@ -163,7 +177,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.NEW))
 				listener.NEW(typeName);
 		} catch (Throwable t) {
 			handleException(t);
@@ -187,6 +201,7 @@ public final class VM {
 			// TODO catch StopVMException in Listeners. Enforce no listener
 			// exception reaches the VM.
 			vm.listeners = new IVM[0];
+			vm.dispatchTable = VMCallback.createDispatchTable(vm.listeners);
 			vm.stopped = true;
 		} else if (t instanceof OutOfMemoryError) {
 			// do not wrap memory exceptions
@@ -224,7 +239,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.CALLER_STACK_PARAM))
 				listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -239,7 +254,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.CALLER_STACK_PARAM))
 				listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -254,7 +269,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.CALLER_STACK_PARAM))
 				listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -269,7 +284,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.CALLER_STACK_PARAM))
 				listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -284,7 +299,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.CALLER_STACK_PARAM))
 				listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -299,7 +314,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.CALLER_STACK_PARAM))
 				listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -314,7 +329,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.CALLER_STACK_PARAM))
 				listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -329,7 +344,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.CALLER_STACK_PARAM))
 				listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -344,7 +359,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.CALLER_STACK_PARAM))
 				listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -361,7 +376,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.SRC_LINE_NUMBER))
 				listener.SRC_LINE_NUMBER(lineNr);
 		} catch (Throwable t) {
 			handleException(t);
@@ -379,7 +394,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.METHOD_BEGIN))
 				listener.METHOD_BEGIN(access, className, methName, methDesc);
 		} catch (Throwable t) {
 			handleException(t);
@@ -397,7 +412,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.METHOD_MAXS))
 				listener.METHOD_MAXS(className, methName, methDesc, maxStack,
 						maxLocals);
 		} catch (Throwable t) {
@@ -417,7 +432,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.METHOD_BEGIN_PARAM))
 				listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -432,7 +447,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.METHOD_BEGIN_PARAM))
 				listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -447,7 +462,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.METHOD_BEGIN_PARAM))
 				listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -462,7 +477,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.METHOD_BEGIN_PARAM))
 				listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -477,7 +492,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.METHOD_BEGIN_PARAM))
 				listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -492,7 +507,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.METHOD_BEGIN_PARAM))
 				listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -507,7 +522,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.METHOD_BEGIN_PARAM))
 				listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -522,7 +537,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.METHOD_BEGIN_PARAM))
 				listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -537,7 +552,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.METHOD_BEGIN_PARAM))
 				listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -551,7 +566,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.METHOD_BEGIN_RECEIVER))
 				listener.METHOD_BEGIN_RECEIVER(value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -565,7 +580,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.CALL_RESULT))
 				listener.CALL_RESULT(owner, name, desc);
 		} catch (Throwable t) {
 			handleException(t);
@@ -580,7 +595,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.CALL_RESULT))
 				listener.CALL_RESULT(res, owner, name, desc);
 		} catch (Throwable t) {
 			handleException(t);
@@ -595,7 +610,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.CALL_RESULT))
 				listener.CALL_RESULT(res, owner, name, desc);
 		} catch (Throwable t) {
 			handleException(t);
@@ -610,7 +625,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.CALL_RESULT))
 				listener.CALL_RESULT(res, owner, name, desc);
 		} catch (Throwable t) {
 			handleException(t);
@@ -625,7 +640,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.CALL_RESULT))
 				listener.CALL_RESULT(res, owner, name, desc);
 		} catch (Throwable t) {
 			handleException(t);
@@ -640,7 +655,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.CALL_RESULT))
 				listener.CALL_RESULT(res, owner, name, desc);
 		} catch (Throwable t) {
 			handleException(t);
@@ -655,7 +670,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.CALL_RESULT))
 				listener.CALL_RESULT(res, owner, name, desc);
 		} catch (Throwable t) {
 			handleException(t);
@@ -672,7 +687,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.BB_BEGIN))
 				listener.BB_BEGIN();
 		} catch (Throwable t) {
 			handleException(t);
@@ -690,7 +705,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.HANDLER_BEGIN))
 				listener.HANDLER_BEGIN(access, className, methName, methDesc);
 		} catch (Throwable t) {
 			handleException(t);
@@ -708,7 +723,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.NOP))
 				listener.NOP();
 		} catch (Throwable t) {
 			handleException(t);
@@ -722,7 +737,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ACONST_NULL))
 				listener.ACONST_NULL();
 		} catch (Throwable t) {
 			handleException(t);
@@ -740,7 +755,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ICONST_M1))
 				listener.ICONST_M1();
 		} catch (Throwable t) {
 			handleException(t);
@@ -758,7 +773,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ICONST_0))
 				listener.ICONST_0();
 		} catch (Throwable t) {
 			handleException(t);
@@ -776,7 +791,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ICONST_1))
 				listener.ICONST_1();
 		} catch (Throwable t) {
 			handleException(t);
@@ -794,7 +809,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ICONST_2))
 				listener.ICONST_2();
 		} catch (Throwable t) {
 			handleException(t);
@@ -812,7 +827,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ICONST_3))
 				listener.ICONST_3();
 		} catch (Throwable t) {
 			handleException(t);
@@ -830,7 +845,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ICONST_4))
 				listener.ICONST_4();
 		} catch (Throwable t) {
 			handleException(t);
@@ -848,7 +863,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ICONST_5))
 				listener.ICONST_5();
 		} catch (Throwable t) {
 			handleException(t);
@@ -862,7 +877,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LCONST_0))
 				listener.LCONST_0();
 		} catch (Throwable t) {
 			handleException(t);
@@ -876,7 +891,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LCONST_1))
 				listener.LCONST_1();
 		} catch (Throwable t) {
 			handleException(t);
@@ -890,7 +905,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FCONST_0))
 				listener.FCONST_0();
 		} catch (Throwable t) {
 			handleException(t);
@@ -904,7 +919,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FCONST_1))
 				listener.FCONST_1();
 		} catch (Throwable t) {
 			handleException(t);
@@ -918,7 +933,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FCONST_2))
 				listener.FCONST_2();
 		} catch (Throwable t) {
 			handleException(t);
@@ -932,7 +947,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DCONST_0))
 				listener.DCONST_0();
 		} catch (Throwable t) {
 			handleException(t);
@@ -946,7 +961,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DCONST_1))
 				listener.DCONST_1();
 		} catch (Throwable t) {
 			handleException(t);
@@ -960,7 +975,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.BIPUSH))
 				listener.BIPUSH(value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -974,7 +989,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.SIPUSH))
 				listener.SIPUSH(value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -992,7 +1007,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LDC))
 				listener.LDC(x);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1010,7 +1025,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LDC))
 				listener.LDC(x);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1028,7 +1043,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LDC))
 				listener.LDC(x);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1046,7 +1061,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LDC))
 				listener.LDC(x);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1061,7 +1076,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LDC_W))
 				listener.LDC_W();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1079,7 +1094,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LDC2_W))
 				listener.LDC2_W(x);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1097,7 +1112,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LDC2_W))
 				listener.LDC2_W(x);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1115,7 +1130,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ILOAD))
 				listener.ILOAD(i);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1129,7 +1144,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LLOAD))
 				listener.LLOAD(i);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1143,7 +1158,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FLOAD))
 				listener.FLOAD(i);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1157,7 +1172,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DLOAD))
 				listener.DLOAD(i);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1171,7 +1186,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ALOAD))
 				listener.ALOAD(i);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1189,7 +1204,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ILOAD_0))
 				listener.ILOAD_0();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1203,7 +1218,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ILOAD_1))
 				listener.ILOAD_1();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1217,7 +1232,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ILOAD_2))
 				listener.ILOAD_2();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1231,7 +1246,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ILOAD_3))
 				listener.ILOAD_3();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1249,7 +1264,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LLOAD_0))
 				listener.LLOAD_0();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1263,7 +1278,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LLOAD_1))
 				listener.LLOAD_1();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1277,7 +1292,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LLOAD_2))
 				listener.LLOAD_2();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1291,7 +1306,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LLOAD_3))
 				listener.LLOAD_3();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1309,7 +1324,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FLOAD_0))
 				listener.FLOAD_0();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1323,7 +1338,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FLOAD_1))
 				listener.FLOAD_1();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1337,7 +1352,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FLOAD_2))
 				listener.FLOAD_2();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1351,7 +1366,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FLOAD_3))
 				listener.FLOAD_3();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1369,7 +1384,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DLOAD_0))
 				listener.DLOAD_0();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1383,7 +1398,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DLOAD_1))
 				listener.DLOAD_1();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1397,7 +1412,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DLOAD_2))
 				listener.DLOAD_2();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1411,7 +1426,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DLOAD_3))
 				listener.DLOAD_3();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1429,7 +1444,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ALOAD_0))
 				listener.ALOAD_0();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1443,7 +1458,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ALOAD_1))
 				listener.ALOAD_1();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1457,7 +1472,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ALOAD_2))
 				listener.ALOAD_2();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1471,7 +1486,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ALOAD_3))
 				listener.ALOAD_3();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1485,7 +1500,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IALOAD))
 				listener.IALOAD(receiver, index, className, methodName);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1499,7 +1514,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LALOAD))
 				listener.LALOAD(receiver, index, className, methodName);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1513,7 +1528,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FALOAD))
 				listener.FALOAD(receiver, index, className, methodName);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1527,7 +1542,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DALOAD))
 				listener.DALOAD(receiver, index, className, methodName);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1541,7 +1556,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.AALOAD))
 				listener.AALOAD(receiver, index, className, methodName);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1555,7 +1570,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.BALOAD))
 				listener.BALOAD(receiver, index, className, methodName);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1569,7 +1584,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.CALOAD))
 				listener.CALOAD(receiver, index, className, methodName);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1583,7 +1598,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.SALOAD))
 				listener.SALOAD(receiver, index, className, methodName);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1601,7 +1616,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ISTORE))
 				listener.ISTORE(i);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1615,7 +1630,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LSTORE))
 				listener.LSTORE(i);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1629,7 +1644,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FSTORE))
 				listener.FSTORE(i);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1643,7 +1658,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DSTORE))
 				listener.DSTORE(i);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1657,7 +1672,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ASTORE))
 				listener.ASTORE(i);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1675,7 +1690,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ISTORE_0))
 				listener.ISTORE_0();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1689,7 +1704,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ISTORE_1))
 				listener.ISTORE_1();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1703,7 +1718,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ISTORE_2))
 				listener.ISTORE_2();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1717,7 +1732,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ISTORE_3))
 				listener.ISTORE_3();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1735,7 +1750,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LSTORE_0))
 				listener.LSTORE_0();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1749,7 +1764,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LSTORE_1))
 				listener.LSTORE_1();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1763,7 +1778,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LSTORE_2))
 				listener.LSTORE_2();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1777,7 +1792,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LSTORE_3))
 				listener.LSTORE_3();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1795,7 +1810,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FSTORE_0))
 				listener.FSTORE_0();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1809,7 +1824,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FSTORE_1))
 				listener.FSTORE_1();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1823,7 +1838,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FSTORE_2))
 				listener.FSTORE_2();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1837,7 +1852,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FSTORE_3))
 				listener.FSTORE_3();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1855,7 +1870,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DSTORE_0))
 				listener.DSTORE_0();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1869,7 +1884,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DSTORE_1))
 				listener.DSTORE_1();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1883,7 +1898,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DSTORE_2))
 				listener.DSTORE_2();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1897,7 +1912,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DSTORE_3))
 				listener.DSTORE_3();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1915,7 +1930,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ASTORE_0))
 				listener.ASTORE_0();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1929,7 +1944,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ASTORE_1))
 				listener.ASTORE_1();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1943,7 +1958,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ASTORE_2))
 				listener.ASTORE_2();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1957,7 +1972,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ASTORE_3))
 				listener.ASTORE_3();
 		} catch (Throwable t) {
 			handleException(t);
@@ -1971,7 +1986,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IASTORE))
 				listener.IASTORE(receiver, index, className, methodName);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1985,7 +2000,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LASTORE))
 				listener.LASTORE(receiver, index, className, methodName);
 		} catch (Throwable t) {
 			handleException(t);
@@ -1999,7 +2014,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FASTORE))
 				listener.FASTORE(receiver, index, className, methodName);
 		} catch (Throwable t) {
 			handleException(t);
@@ -2013,7 +2028,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DASTORE))
 				listener.DASTORE(receiver, index, className, methodName);
 		} catch (Throwable t) {
 			handleException(t);
@@ -2033,7 +2048,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.AASTORE))
 				listener.AASTORE(receiver, index, value, className, methodName);
 		} catch (Throwable t) {
 			handleException(t);
@@ -2047,7 +2062,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.BASTORE))
 				listener.BASTORE(receiver, index, className, methodName);
 		} catch (Throwable t) {
 			handleException(t);
@@ -2061,7 +2076,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.CASTORE))
 				listener.CASTORE(receiver, index, className, methodName);
 		} catch (Throwable t) {
 			handleException(t);
@@ -2075,7 +2090,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.SASTORE))
 				listener.SASTORE(receiver, index, className, methodName);
 		} catch (Throwable t) {
 			handleException(t);
@@ -2089,7 +2104,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.POP))
 				listener.POP();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2103,7 +2118,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.POP2))
 				listener.POP2();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2117,7 +2132,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DUP))
 				listener.DUP();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2131,7 +2146,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DUP_X1))
 				listener.DUP_X1();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2145,7 +2160,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DUP_X2))
 				listener.DUP_X2();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2159,7 +2174,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DUP2))
 				listener.DUP2();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2173,7 +2188,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DUP2_X1))
 				listener.DUP2_X1();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2187,7 +2202,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DUP2_X2))
 				listener.DUP2_X2();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2201,7 +2216,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.SWAP))
 				listener.SWAP();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2219,7 +2234,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IADD))
 				listener.IADD();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2233,7 +2248,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LADD))
 				listener.LADD();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2247,7 +2262,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FADD))
 				listener.FADD();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2261,7 +2276,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DADD))
 				listener.DADD();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2275,7 +2290,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ISUB))
 				listener.ISUB();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2289,7 +2304,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LSUB))
 				listener.LSUB();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2303,7 +2318,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FSUB))
 				listener.FSUB();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2317,7 +2332,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DSUB))
 				listener.DSUB();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2335,7 +2350,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IMUL))
 				listener.IMUL();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2349,7 +2364,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LMUL))
 				listener.LMUL();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2363,7 +2378,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FMUL))
 				listener.FMUL();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2377,7 +2392,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DMUL))
 				listener.DMUL();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2391,7 +2406,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IDIV))
 				listener.IDIV(rhs);
 		} catch (Throwable t) {
 			handleException(t);
@@ -2405,7 +2420,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LDIV))
 				listener.LDIV(rhs);
 		} catch (Throwable t) {
 			handleException(t);
@@ -2419,7 +2434,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FDIV))
 				listener.FDIV(rhs);
 		} catch (Throwable t) {
 			handleException(t);
@@ -2433,7 +2448,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DDIV))
 				listener.DDIV(rhs);
 		} catch (Throwable t) {
 			handleException(t);
@@ -2447,7 +2462,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IREM))
 				listener.IREM(rhs);
 		} catch (Throwable t) {
 			handleException(t);
@@ -2461,7 +2476,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LREM))
 				listener.LREM(rhs);
 		} catch (Throwable t) {
 			handleException(t);
@@ -2475,7 +2490,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FREM))
 				listener.FREM(rhs);
 		} catch (Throwable t) {
 			handleException(t);
@@ -2489,7 +2504,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DREM))
 				listener.DREM(rhs);
 		} catch (Throwable t) {
 			handleException(t);
@@ -2503,7 +2518,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.INEG))
 				listener.INEG();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2517,7 +2532,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LNEG))
 				listener.LNEG();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2531,7 +2546,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FNEG))
 				listener.FNEG();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2545,7 +2560,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DNEG))
 				listener.DNEG();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2559,7 +2574,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ISHL))
 				listener.ISHL();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2573,7 +2588,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LSHL))
 				listener.LSHL();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2587,7 +2602,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ISHR))
 				listener.ISHR();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2601,7 +2616,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LSHR))
 				listener.LSHR();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2615,7 +2630,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IUSHR))
 				listener.IUSHR();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2629,7 +2644,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LUSHR))
 				listener.LUSHR();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2643,7 +2658,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IAND))
 				listener.IAND();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2657,7 +2672,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LAND))
 				listener.LAND();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2671,7 +2686,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IOR))
 				listener.IOR();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2685,7 +2700,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LOR))
 				listener.LOR();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2699,7 +2714,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IXOR))
 				listener.IXOR();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2713,7 +2728,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LXOR))
 				listener.LXOR();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2727,7 +2742,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IINC))
 				listener.IINC(i, value);
 		} catch (Throwable t) {
 			handleException(t);
@@ -2741,7 +2756,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.I2L))
 				listener.I2L();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2755,7 +2770,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.I2F))
 				listener.I2F();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2769,7 +2784,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.I2D))
 				listener.I2D();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2783,7 +2798,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.L2I))
 				listener.L2I();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2797,7 +2812,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.L2F))
 				listener.L2F();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2811,7 +2826,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.L2D))
 				listener.L2D();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2825,7 +2840,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.F2I))
 				listener.F2I();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2839,7 +2854,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.F2L))
 				listener.F2L();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2853,7 +2868,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.F2D))
 				listener.F2D();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2867,7 +2882,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.D2I))
 				listener.D2I();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2881,7 +2896,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.D2L))
 				listener.D2L();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2895,7 +2910,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.D2F))
 				listener.D2F();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2909,7 +2924,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.I2B))
 				listener.I2B();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2923,7 +2938,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.I2C))
 				listener.I2C();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2937,7 +2952,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.I2S))
 				listener.I2S();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2951,7 +2966,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LCMP))
 				listener.LCMP();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2965,7 +2980,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FCMPL))
 				listener.FCMPL();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2979,7 +2994,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FCMPG))
 				listener.FCMPG();
 		} catch (Throwable t) {
 			handleException(t);
@@ -2993,7 +3008,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DCMPL))
 				listener.DCMPL();
 		} catch (Throwable t) {
 			handleException(t);
@@ -3007,7 +3022,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DCMPG))
 				listener.DCMPG();
 		} catch (Throwable t) {
 			handleException(t);
@@ -3022,7 +3037,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IFEQ))
 				listener.IFEQ(className, methName, branchIndex, param);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3037,7 +3052,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IFNE))
 				listener.IFNE(className, methName, branchIndex, param);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3052,7 +3067,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IFLT))
 				listener.IFLT(className, methName, branchIndex, param);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3067,7 +3082,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IFGE))
 				listener.IFGE(className, methName, branchIndex, param);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3082,7 +3097,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IFGT))
 				listener.IFGT(className, methName, branchIndex, param);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3097,7 +3112,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IFLE))
 				listener.IFLE(className, methName, branchIndex, param);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3112,7 +3127,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IF_ICMPEQ))
 				listener.IF_ICMPEQ(className, methName, branchIndex, left,
 						right);
 		} catch (Throwable t) {
@@ -3128,7 +3143,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IF_ICMPNE))
 				listener.IF_ICMPNE(className, methName, branchIndex, left,
 						right);
 		} catch (Throwable t) {
@@ -3144,7 +3159,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IF_ICMPLT))
 				listener.IF_ICMPLT(className, methName, branchIndex, left,
 						right);
 		} catch (Throwable t) {
@@ -3160,7 +3175,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IF_ICMPGE))
 				listener.IF_ICMPGE(className, methName, branchIndex, left,
 						right);
 		} catch (Throwable t) {
@@ -3176,7 +3191,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IF_ICMPGT))
 				listener.IF_ICMPGT(className, methName, branchIndex, left,
 						right);
 		} catch (Throwable t) {
@@ -3192,7 +3207,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IF_ICMPLE))
 				listener.IF_ICMPLE(className, methName, branchIndex, left,
 						right);
 		} catch (Throwable t) {
@@ -3208,7 +3223,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IF_ACMPEQ))
 				listener.IF_ACMPEQ(className, methName, branchIndex, left,
 						right);
 		} catch (Throwable t) {
@@ -3224,7 +3239,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IF_ACMPNE))
 				listener.IF_ACMPNE(className, methName, branchIndex, left,
 						right);
 		} catch (Throwable t) {
@@ -3239,7 +3254,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.GOTO))
 				listener.GOTO();
 		} catch (Throwable t) {
 			handleException(t);
@@ -3253,7 +3268,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.JSR))
 				listener.JSR();
 		} catch (Throwable t) {
 			handleException(t);
@@ -3267,7 +3282,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.RET))
 				listener.RET();
 		} catch (Throwable t) {
 			handleException(t);
@@ -3282,7 +3297,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.TABLESWITCH))
 				listener.TABLESWITCH(className, methName, branchIndex, target,
 						min, max);
 		} catch (Throwable t) {
@@ -3298,7 +3313,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LOOKUPSWITCH))
 				listener.LOOKUPSWITCH(className, methName, branchIndex, target,
 						goals);
 		} catch (Throwable t) {
@@ -3313,7 +3328,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IRETURN))
 				listener.IRETURN();
 		} catch (Throwable t) {
 			handleException(t);
@@ -3327,7 +3342,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.LRETURN))
 				listener.LRETURN();
 		} catch (Throwable t) {
 			handleException(t);
@@ -3341,7 +3356,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.FRETURN))
 				listener.FRETURN();
 		} catch (Throwable t) {
 			handleException(t);
@@ -3355,7 +3370,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.DRETURN))
 				listener.DRETURN();
 		} catch (Throwable t) {
 			handleException(t);
@@ -3369,7 +3384,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ARETURN))
 				listener.ARETURN();
 		} catch (Throwable t) {
 			handleException(t);
@@ -3383,7 +3398,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.RETURN))
 				listener.RETURN();
 		} catch (Throwable t) {
 			handleException(t);
@@ -3397,7 +3412,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.GETSTATIC))
 				listener.GETSTATIC(owner, name, desc);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3411,7 +3426,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.PUTSTATIC))
 				listener.PUTSTATIC(owner, name, desc);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3426,7 +3441,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.GETFIELD))
 				listener.GETFIELD(receiver, owner, name, desc);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3441,7 +3456,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.PUTFIELD))
 				listener.PUTFIELD(receiver, owner, name, desc);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3455,7 +3470,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.INVOKESTATIC))
 				listener.INVOKESTATIC(owner, name, desc);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3469,7 +3484,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.INVOKESPECIAL))
 				listener.INVOKESPECIAL(owner, name, desc);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3484,7 +3499,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.INVOKEVIRTUAL))
 				listener.INVOKEVIRTUAL(receiver, owner, name, desc);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3499,7 +3514,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.INVOKESPECIAL))
 				listener.INVOKESPECIAL(receiver, owner, name, desc);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3514,7 +3529,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.INVOKEINTERFACE))
 				listener.INVOKEINTERFACE(receiver, owner, name, desc);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3530,7 +3545,7 @@ public final class VM {
 	 */
 	public static void INVOKEDYNAMIC(Object instance, String ownerClass) {
         if (!ignoreCallback)
-            interpret((IVM ivm) -> ivm.INVOKEDYNAMIC(instance, ownerClass));
+            interpret(VMCallback.INVOKEDYNAMIC, (IVM ivm) -> ivm.INVOKEDYNAMIC(instance, ownerClass));
     }
 
 	/**
@@ -3542,7 +3557,7 @@ public final class VM {
 	 */
     public static void INVOKEDYNAMIC(String concatenationResult, String stringOwnerClass, String stringRecipe) {
         if (!ignoreCallback)
-            interpret((IVM ivm) -> ivm.INVOKEDYNAMIC(concatenationResult, stringOwnerClass, stringRecipe));
+            interpret(VMCallback.INVOKEDYNAMIC, (IVM ivm) -> ivm.INVOKEDYNAMIC(concatenationResult, stringOwnerClass, stringRecipe));
     }
 
 	protected static Class<?> getArrayComponentType(int componentTypeInt) {
@@ -3575,7 +3590,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.NEWARRAY))
 				listener.NEWARRAY(length,
 					getArrayComponentType(componentTypeInt),
 					className,
@@ -3592,7 +3607,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ANEWARRAY))
 				listener.ANEWARRAY(length, componentTypeName, className, methodName);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3606,7 +3621,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ARRAYLENGTH))
 				listener.ARRAYLENGTH(reference);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3620,7 +3635,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.ATHROW))
 				listener.ATHROW((Throwable) throwable);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3634,7 +3649,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.CHECKCAST))
 				listener.CHECKCAST(reference, typeName);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3648,7 +3663,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.INSTANCEOF))
 				listener.INSTANCEOF(reference, typeName);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3662,7 +3677,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.MONITORENTER))
 				listener.MONITORENTER();
 		} catch (Throwable t) {
 			handleException(t);
@@ -3676,7 +3691,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.MONITOREXIT))
 				listener.MONITOREXIT();
 		} catch (Throwable t) {
 			handleException(t);
@@ -3690,7 +3705,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.WIDE))
 				listener.WIDE();
 		} catch (Throwable t) {
 			handleException(t);
@@ -3704,7 +3719,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.MULTIANEWARRAY))
 				listener.MULTIANEWARRAY(arrayTypeDesc, nrDimensions, className, methodName);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3719,7 +3734,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IFNULL))
 				listener.IFNULL(className, methName, branchIndex, param);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3734,7 +3749,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.IFNONNULL))
 				listener.IFNONNULL(className, methName, branchIndex, param);
 		} catch (Throwable t) {
 			handleException(t);
@@ -3748,7 +3763,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.GOTO_W))
 				listener.GOTO_W();
 		} catch (Throwable t) {
 			handleException(t);
@@ -3762,7 +3777,7 @@ public final class VM {
 		ignoreCallback = true;
 		vm.countCallback();
 		try {
-			for (IVM listener : vm.listeners)
+			for (IVM listener : vm.getListeners(VMCallback.JSR_W))
 				listener.JSR_W();
 		} catch (Throwable t) {
 			handleException(t);
@@ -3784,14 +3799,15 @@ public final class VM {
      *
      * TODO: Refactor all calls to use this function in the same way as INVOKEDYNAMIC
      *
+     * @param callback
      * @param lambda
      */
-    private static void interpret(Consumer<IVM> lambda) {
+    private static void interpret(VMCallback callback, Consumer<IVM> lambda) {
   	    disableCallBacks();
 	    vm.countCallback();
 
 	    try {
-	      for (IVM ivm : vm.listeners) lambda.accept(ivm);
+	      for (IVM ivm : vm.getListeners(callback)) lambda.accept(ivm);
 	    } catch (Throwable t) {
 	      t.printStackTrace();
 	    } finally {
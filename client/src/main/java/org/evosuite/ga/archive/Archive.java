@@ -535,6 +535,8 @@ public abstract class Archive implements Serializable {
    */
   public static Archive getArchiveInstance() {
     switch (Properties.ARCHIVE_TYPE) {
+      case COVERAGE_BITSET:
+        return BitSetCoverageArchive.instance;
       case COVERAGE:
       default:
         return CoverageArchive.instance;
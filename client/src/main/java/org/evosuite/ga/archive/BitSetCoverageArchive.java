@@ -0,0 +1,413 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.archive;
+
+import org.evosuite.runtime.util.AtMostOnceLogger;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.evosuite.utils.Randomness;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Coverage archive that assigns each target a dense integer id when it is registered, and keeps
+ * the covered targets in a {@link BitSet} and the covering solutions in an array indexed by id.
+ *
+ * <p>
+ * It behaves as {@link CoverageArchive}, but looking up a target is an identity lookup in the
+ * common case (fitness functions pass the same goal objects they registered), checking whether a
+ * target is covered is a bit test, and the number of (un)covered targets of a given goal type is
+ * kept in counters rather than computed by iterating over all targets.
+ * </p>
+ */
+public class BitSetCoverageArchive extends Archive {
+
+  private static final long serialVersionUID = 8137430287617237071L;
+
+  private static final Logger logger = LoggerFactory.getLogger(BitSetCoverageArchive.class);
+
+  /**
+   * Ids of the registered target objects. Goals are mostly looked up with the very same object they
+   * were registered with, so the identity map is checked first. Equal but distinct objects are
+   * found in {@link #ids} and not cached, so that the map does not grow with each new goal object.
+   */
+  private final Map<TestFitnessFunction, Integer> idsByIdentity = new IdentityHashMap<>();
+
+  private final Map<TestFitnessFunction, Integer> ids = new HashMap<>();
+
+  /**
+   * Registered targets, indexed by id
+   */
+  private final List<TestFitnessFunction> targets = new ArrayList<>();
+
+  /**
+   * Covering solution of each target, indexed by id
+   */
+  private TestChromosome[] solutions = new TestChromosome[64];
+
+  private final BitSet covered = new BitSet();
+
+  /**
+   * Index of the type of each target, indexed by id
+   */
+  private int[] targetTypes = new int[64];
+
+  private final Map<Class<?>, Integer> typeIndices = new HashMap<>();
+
+  private int[] numberOfTargetsOfType = new int[8];
+
+  private int[] numberOfCoveredTargetsOfType = new int[8];
+
+  public static final BitSetCoverageArchive instance = new BitSetCoverageArchive();
+
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void addTarget(TestFitnessFunction target) {
+    super.addTarget(target);
+
+    if (this.getId(target) < 0) {
+      logger.debug("Registering new target '" + target + "'");
+      this.register(target);
+    }
+
+    if (!this.covered.get(this.getId(target))) {
+      this.registerNonCoveredTargetOfAMethod(target);
+    }
+  }
+
+  private int register(TestFitnessFunction target) {
+    int id = this.targets.size();
+    this.targets.add(target);
+    this.ids.put(target, id);
+    this.idsByIdentity.put(target, id);
+
+    if (id == this.solutions.length) {
+      this.solutions = Arrays.copyOf(this.solutions, id * 2);
+      this.targetTypes = Arrays.copyOf(this.targetTypes, id * 2);
+    }
+
+    Integer type = this.typeIndices.get(target.getClass());
+    if (type == null) {
+      type = this.typeIndices.size();
+      this.typeIndices.put(target.getClass(), type);
+      if (type == this.numberOfTargetsOfType.length) {
+        this.numberOfTargetsOfType = Arrays.copyOf(this.numberOfTargetsOfType, type * 2);
+        this.numberOfCoveredTargetsOfType =
+            Arrays.copyOf(this.numberOfCoveredTargetsOfType, type * 2);
+      }
+    }
+    this.targetTypes[id] = type;
+    this.numberOfTargetsOfType[type]++;
+
+    return id;
+  }
+
+  /**
+   * Returns the id assigned to a target when it was registered.
+   *
+   * @param target
+   * @return the id of the target, or -1 if it has not been registered
+   */
+  public int getId(TestFitnessFunction target) {
+    Integer id = this.idsByIdentity.get(target);
+    if (id == null) {
+      id = this.ids.get(target);
+    }
+    return id == null ? -1 : id;
+  }
+
+  /**
+   * Returns the target registered with the given id.
+   *
+   * @param id
+   * @return
+   */
+  public TestFitnessFunction getTarget(int id) {
+    return this.targets.get(id);
+  }
+
+  /**
+   * Returns a copy of the ids of the covered targets, e.g. to compare the coverage of the archive
+   * at different points of the search.
+   *
+   * @return
+   */
+  public BitSet getCoveredIds() {
+    return (BitSet) this.covered.clone();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void updateArchive(TestFitnessFunction target, TestChromosome solution, double fitnessValue) {
+    int id = this.getId(target);
+    if (id < 0) {
+      // the criteria of registered targets have already been checked by addTarget. Targets that
+      // were not registered are registered now, as uncovered targets, so that they are counted
+      super.updateArchive(target, solution, fitnessValue);
+      logger.debug("Registering target '" + target + "' on its first update");
+      id = this.register(target);
+      this.registerNonCoveredTargetOfAMethod(target);
+    }
+
+    if (fitnessValue > 0.0) {
+      // as this type of archive only cares about covered targets, it ignores all
+      // targets with a fitness value greater than 0.0
+      return;
+    }
+
+    TestChromosome currentSolution = this.solutions[id];
+
+    if (currentSolution == null) {
+      logger.debug("Solution for non-covered target '" + target + "'");
+      this.addToArchive(id, solution);
+    } else if (this.isBetterThanCurrent(currentSolution, solution)) {
+      this.addToArchive(id, solution);
+    }
+  }
+
+  private void addToArchive(int id, TestChromosome solution) {
+    TestFitnessFunction target = this.targets.get(id);
+    if (!this.covered.get(id)) {
+      this.covered.set(id);
+      this.numberOfCoveredTargetsOfType[this.targetTypes[id]]++;
+    }
+    this.solutions[id] = solution;
+    this.removeNonCoveredTargetOfAMethod(target);
+    this.hasBeenUpdated = true;
+
+    ExecutionResult result = solution.getLastExecutionResult();
+    if (result != null && (result.hasTimeout() || result.hasTestException())) {
+      AtMostOnceLogger.warn(logger,
+          "A solution with a timeout/exception result has been added to the archive. The covered goal was "
+              + target.toString());
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isArchiveEmpty() {
+    return this.covered.isEmpty();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getNumberOfTargets() {
+    return this.targets.size();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getNumberOfCoveredTargets() {
+    return this.covered.cardinality();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getNumberOfCoveredTargets(Class<?> targetClass) {
+    Integer type = this.typeIndices.get(targetClass);
+    return type == null ? 0 : this.numberOfCoveredTargetsOfType[type];
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Set<TestFitnessFunction> getCoveredTargets() {
+    Set<TestFitnessFunction> coveredTargets = new LinkedHashSet<>();
+    for (int id = this.covered.nextSetBit(0); id >= 0; id = this.covered.nextSetBit(id + 1)) {
+      coveredTargets.add(this.targets.get(id));
+    }
+    return Collections.unmodifiableSet(coveredTargets);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getNumberOfUncoveredTargets() {
+    return this.targets.size() - this.covered.cardinality();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getNumberOfUncoveredTargets(Class<?> targetClass) {
+    Integer type = this.typeIndices.get(targetClass);
+    return type == null ? 0
+        : this.numberOfTargetsOfType[type] - this.numberOfCoveredTargetsOfType[type];
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Set<TestFitnessFunction> getUncoveredTargets() {
+    Set<TestFitnessFunction> uncoveredTargets = new LinkedHashSet<>();
+    for (int id = this.covered.nextClearBit(0); id < this.targets.size();
+        id = this.covered.nextClearBit(id + 1)) {
+      uncoveredTargets.add(this.targets.get(id));
+    }
+    return Collections.unmodifiableSet(uncoveredTargets);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean hasTarget(TestFitnessFunction target) {
+    assert target != null;
+    return this.getId(target) >= 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getNumberOfSolutions() {
+    return this.covered.cardinality();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Set<TestChromosome> getSolutions() {
+    Set<TestChromosome> coveringSolutions = new LinkedHashSet<>();
+    for (int id = this.covered.nextSetBit(0); id >= 0; id = this.covered.nextSetBit(id + 1)) {
+      coveringSolutions.add(this.solutions[id]);
+    }
+    return coveringSolutions;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public TestChromosome getSolution() {
+    return this.getRandomSolution();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public TestChromosome getSolution(TestFitnessFunction target) {
+    assert target != null;
+    int id = this.getId(target);
+    assert id >= 0 && this.covered.get(id);
+    return id < 0 ? null : this.solutions[id];
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean hasSolution(TestFitnessFunction target) {
+    assert target != null;
+    int id = this.getId(target);
+    return id >= 0 && this.covered.get(id);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public TestChromosome getRandomSolution() {
+    TestChromosome randomChoice = Randomness.choice(this.getSolutions());
+    if (randomChoice == null) {
+      return null;
+    }
+    return randomChoice.clone();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected TestSuiteChromosome createMergedSolution(TestSuiteChromosome solution) {
+    // only covered targets can contribute a solution
+    Map<TestFitnessFunction, TestChromosome> coveringSolutions = new LinkedHashMap<>();
+    for (int id = this.covered.nextSetBit(0); id >= 0; id = this.covered.nextSetBit(id + 1)) {
+      coveringSolutions.put(this.targets.get(id), this.solutions[id]);
+    }
+    return CoverageArchive.createMergedSolution(solution, coveringSolutions);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void shrinkSolutions(int size) {
+    // NO-OP
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+    return "NumTargets: " + this.getNumberOfTargets() + ", NumCoveredTargets: "
+        + this.getNumberOfCoveredTargets() + ", NumSolutions: " + this.getNumberOfSolutions();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void reset() {
+    super.reset();
+    this.idsByIdentity.clear();
+    this.ids.clear();
+    this.targets.clear();
+    Arrays.fill(this.solutions, null);
+    this.covered.clear();
+    this.typeIndices.clear();
+    Arrays.fill(this.numberOfTargetsOfType, 0);
+    Arrays.fill(this.numberOfCoveredTargetsOfType, 0);
+  }
+}
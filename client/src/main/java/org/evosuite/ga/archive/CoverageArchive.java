@@ -187,13 +187,6 @@ public class CoverageArchive extends Archive {
     return this.uncovered;
   }
 
-  private Set<TestFitnessFunction> getTargets() {
-    Set<TestFitnessFunction> targets = new LinkedHashSet<>();
-    targets.addAll(this.getCoveredTargets());
-    targets.addAll(this.getUncoveredTargets());
-    return targets;
-  }
-
   /**
    * {@inheritDoc}
    */
@@ -266,6 +259,19 @@ public class CoverageArchive extends Archive {
    */
   @Override
   protected TestSuiteChromosome createMergedSolution(TestSuiteChromosome solution) {
+    return createMergedSolution(solution, this.covered);
+  }
+
+  /**
+   * Adds to a copy of the solution the covering solutions of the targets that none of its tests
+   * covers, and re-evaluates it.
+   *
+   * @param solution
+   * @param coveringSolutions the covered targets and their covering solutions
+   * @return the merged solution
+   */
+  static TestSuiteChromosome createMergedSolution(TestSuiteChromosome solution,
+      Map<TestFitnessFunction, TestChromosome> coveringSolutions) {
     // Deactivate in case a test is executed and would access the archive as this might cause a
     // concurrent access
     Properties.TEST_ARCHIVE = false;
@@ -283,20 +289,20 @@ public class CoverageArchive extends Archive {
     // to avoid adding the same solution to 'mergedSolution' suite
     Set<TestChromosome> solutionsSampledFromArchive = new LinkedHashSet<>();
 
-    for (TestFitnessFunction target : this.getTargets()) {
+    for (Map.Entry<TestFitnessFunction, TestChromosome> entry : coveringSolutions.entrySet()) {
       // has target been covered? to answer it, we perform a local check rather than calling method
       // {@link TestFitnessFunction.isCoveredBy} as it may perform a fitness evaluation to access
       // whether that 'target' is covered or not (and therefore, it could be more expensive)
       boolean isGoalCovered = false;
       for (TestChromosome test : mergedSolution.getTestChromosomes()) {
-        if (test.getTestCase().isGoalCovered(target)) {
+        if (test.getTestCase().isGoalCovered(entry.getKey())) {
           isGoalCovered = true;
           break;
         }
       }
 
       if (!isGoalCovered) {
-        TestChromosome chromosome = this.covered.get(target);
+        TestChromosome chromosome = entry.getValue();
 
         // is there any solution in the archive that covers it, and has that solution not been
         // considered yet?
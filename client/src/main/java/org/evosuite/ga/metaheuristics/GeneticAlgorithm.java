@@ -50,6 +50,7 @@ import org.evosuite.ga.stoppingconditions.MaxGenerationStoppingCondition;
 import org.evosuite.ga.stoppingconditions.StoppingCondition;
 import org.evosuite.symbolic.dse.DSEStatistics;
 import org.evosuite.testcase.execution.ExecutionTracer;
+import org.evosuite.testcase.execution.TestCaseExecutorPool;
 import org.evosuite.testsuite.TestSuiteChromosome;
 import org.evosuite.utils.ArrayUtil;
 import org.evosuite.utils.LoggingUtils;
@@ -571,15 +572,48 @@ public abstract class GeneticAlgorithm<T extends Chromosome<T>> implements Searc
     protected void calculateFitness() {
         logger.debug("Calculating fitness for " + population.size() + " individuals");
 
-        for (T c : this.population) {
+        this.calculateFitness(this.population);
+    }
+
+    /**
+     * Calculate fitness for the given individuals, until the search is
+     * finished. With parallel evaluation the individuals are executed in
+     * batches of one per worker slot, so that the stopping conditions are
+     * checked between batches.
+     *
+     * @param individuals
+     */
+    protected void calculateFitness(List<T> individuals) {
+        final int batchSize = Math.max(1, Properties.NUM_PARALLEL_EVALUATIONS);
+        for (int from = 0; from < individuals.size(); from += batchSize) {
             if (isFinished()) {
                 break;
-            } else {
+            }
+            List<T> batch = individuals.subList(from, Math.min(from + batchSize, individuals.size()));
+            this.executeInParallel(batch);
+            for (T c : batch) {
+                if (isFinished()) {
+                    return;
+                }
                 this.calculateFitness(c);
             }
         }
     }
 
+    /**
+     * Execute the tests of the given individuals on the worker slots of the
+     * {@link TestCaseExecutorPool}, if parallel evaluation is enabled. The
+     * results are cached in the individuals, so that the following fitness
+     * calculation does not need to execute them again.
+     *
+     * @param individuals
+     */
+    protected void executeInParallel(List<T> individuals) {
+        if (TestCaseExecutorPool.isApplicable(fitnessFunctions)) {
+            TestCaseExecutorPool.getInstance().executeChromosomes(individuals);
+        }
+    }
+
     /**
      * Calculate fitness for an individual
      *
@@ -32,6 +32,7 @@ import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.TestCaseExecutorPool;
 import org.evosuite.testcase.secondaryobjectives.TestCaseSecondaryObjective;
 import org.evosuite.testcase.statements.*;
 import org.evosuite.testcase.variable.VariableReference;
@@ -134,6 +135,8 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
 	 */
 	protected List<TestChromosome> breedNextGeneration() {
 		List<TestChromosome> offspringPopulation = new ArrayList<>(Properties.POPULATION);
+		// with parallel evaluation, offspring are evaluated as a batch once bred
+		final boolean batch = TestCaseExecutorPool.isApplicable(this.fitnessFunctions);
 		// we apply only Properties.POPULATION/2 iterations since in each generation
 		// we generate two offsprings
 		for (int i = 0; i < Properties.POPULATION / 2 && !this.isFinished(); i++) {
@@ -167,7 +170,8 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
 			if (offspring1.isChanged()) {
 				this.clearCachedResults(offspring1);
 				offspring1.updateAge(this.currentIteration);
-				this.calculateFitness(offspring1);
+				if (!batch)
+					this.calculateFitness(offspring1);
 				offspringPopulation.add(offspring1);
 			}
 
@@ -176,10 +180,16 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
 			if (offspring2.isChanged()) {
 				this.clearCachedResults(offspring2);
 				offspring2.updateAge(this.currentIteration);
-				this.calculateFitness(offspring2);
+				if (!batch)
+					this.calculateFitness(offspring2);
 				offspringPopulation.add(offspring2);
 			}
 		}
+		if (batch) {
+			this.calculateFitness(offspringPopulation);
+		}
+
+		List<TestChromosome> randomTests = new ArrayList<>();
 		// Add new randomly generate tests
 		for (int i = 0; i < Properties.POPULATION * Properties.P_TEST_INSERTION; i++) {
 			final TestChromosome tch;
@@ -193,10 +203,15 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
 			}
 			if (tch.isChanged()) {
 				tch.updateAge(this.currentIteration);
-				this.calculateFitness(tch);
-				offspringPopulation.add(tch);
+				if (!batch)
+					this.calculateFitness(tch);
+				randomTests.add(tch);
 			}
 		}
+		if (batch) {
+			this.calculateFitness(randomTests);
+		}
+		offspringPopulation.addAll(randomTests);
 		logger.info("Number of offsprings = {}", offspringPopulation.size());
 		return offspringPopulation;
 	}
@@ -196,9 +196,7 @@ public class MOSA extends AbstractMOSA {
 
 				logger.debug(ClientProcess.DEFAULT_CLIENT_NAME + ": Received " + collectedSolutions.size() + " solution sets");
 				for (Set<TestChromosome> solution : collectedSolutions) {
-					for (TestChromosome t : solution) {
-						this.calculateFitness(t);
-					}
+					this.calculateFitness(new ArrayList<>(solution));
 				}
 			} else {
 				//send end result test cases to Client-0
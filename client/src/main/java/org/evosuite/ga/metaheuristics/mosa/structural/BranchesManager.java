@@ -33,6 +33,7 @@ import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.testcase.execution.TestCaseExecutorPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -86,10 +87,15 @@ public class BranchesManager extends StructuralGoalManager {
 
 	public void calculateFitness(TestChromosome c, GeneticAlgorithm<TestChromosome> ga){
 		// run the test
-		TestCase test = c.getTestCase();
-		ExecutionResult result = TestCaseExecutor.runTest(test);
-		c.setLastExecutionResult(result);
-		c.setChanged(false);
+		// (unless it has already been executed on the worker slots)
+		ExecutionResult result = c.getLastExecutionResult();
+		if (result == null || c.isChanged()
+				|| !TestCaseExecutorPool.isApplicable(ga.getFitnessFunctions())) {
+			TestCase test = c.getTestCase();
+			result = TestCaseExecutor.runTest(test);
+			c.setLastExecutionResult(result);
+			c.setChanged(false);
+		}
 		
 		if (result.hasTimeout() || result.hasTestException()){
 			currentGoals.forEach(f -> c.setFitness(f, Double.MAX_VALUE));
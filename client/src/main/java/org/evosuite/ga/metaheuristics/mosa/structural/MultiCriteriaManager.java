@@ -52,6 +52,7 @@ import org.evosuite.testcase.TestFitnessFunction;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.execution.ExecutionTrace;
 import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.testcase.execution.TestCaseExecutorPool;
 import org.evosuite.utils.ArrayUtil;
 import org.evosuite.utils.LoggingUtils;
 import org.slf4j.Logger;
@@ -382,10 +383,15 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
 	@Override
 	public void calculateFitness(TestChromosome c, GeneticAlgorithm<TestChromosome> ga) {
 		// Run the test and record the execution result.
-		TestCase test = c.getTestCase();
-		ExecutionResult result = TestCaseExecutor.runTest(test);
-		c.setLastExecutionResult(result);
-		c.setChanged(false);
+		// (unless it has already been executed on the worker slots)
+		ExecutionResult result = c.getLastExecutionResult();
+		if (result == null || c.isChanged()
+				|| !TestCaseExecutorPool.isApplicable(ga.getFitnessFunctions())) {
+			TestCase test = c.getTestCase();
+			result = TestCaseExecutor.runTest(test);
+			c.setLastExecutionResult(result);
+			c.setChanged(false);
+		}
 
 		// If the test failed to execute properly, or if the test does not cover anything,
     	// it means none of the current gaols could be reached.
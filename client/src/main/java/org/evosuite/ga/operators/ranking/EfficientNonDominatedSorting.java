@@ -0,0 +1,188 @@
+/*
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.operators.ranking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.evosuite.ga.Chromosome;
+import org.evosuite.ga.FitnessFunction;
+
+/**
+ * Non-dominated sorting with the Efficient Non-dominated Sort (ENS) algorithm using binary
+ * search (Zhang et al., "An Efficient Approach to Nondominated Sorting for Evolutionary
+ * Multiobjective Optimization", IEEE TEVC 2015).
+ *
+ * <p>
+ * It computes the same fronts as {@link FastNonDominatedSorting}, but the fitness values are read
+ * once into an array per solution, and the solutions are presorted lexicographically on them. A
+ * solution can then only be dominated by the solutions sorted before it, which have already been
+ * assigned to a front, so each solution is only compared to the members of the fronts visited by
+ * a binary search instead of to every other solution.
+ * </p>
+ */
+public class EfficientNonDominatedSorting<T extends Chromosome<T>> implements RankingFunction<T> {
+
+	private static final long serialVersionUID = 3329462460834406417L;
+
+	/**
+	 * An array containing all the fronts found during the search
+	 */
+	private List<T>[] ranking_;
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void computeRankingAssignment(List<T> solutions,
+										 Set<? extends FitnessFunction<T>> uncovered_goals) {
+		int[] frontIndices = computeFrontIndices(solutions, uncovered_goals);
+
+		int numberOfFronts = 0;
+		for (int frontIndex : frontIndices) {
+			numberOfFronts = Math.max(numberOfFronts, frontIndex + 1);
+		}
+
+		ranking_ = new ArrayList[numberOfFronts];
+		for (int i = 0; i < numberOfFronts; i++) {
+			ranking_[i] = new ArrayList<>();
+		}
+		for (int i = 0; i < solutions.size(); i++) {
+			T solution = solutions.get(i);
+			// same rank and distance as in FastNonDominatedSorting
+			solution.setDistance(Double.MAX_VALUE);
+			solution.setRank(frontIndices[i] + 1);
+			ranking_[frontIndices[i]].add(solution);
+		}
+	}
+
+	/**
+	 * Computes the non-dominated front of each solution w.r.t. the given goals.
+	 *
+	 * @param solutions the solutions to sort
+	 * @param goals the goals to consider
+	 * @return the index of the front of each solution (in the order of <code>solutions</code>),
+	 *         starting from 0 for the non-dominated solutions
+	 */
+	static <T extends Chromosome<T>> int[] computeFrontIndices(List<T> solutions,
+			Set<? extends FitnessFunction<T>> goals) {
+		final int n = solutions.size();
+		final List<FitnessFunction<T>> objectives = new ArrayList<>(goals);
+
+		final double[][] values = new double[n][];
+		int i = 0;
+		for (T solution : solutions) {
+			double[] v = new double[objectives.size()];
+			for (int j = 0; j < v.length; j++) {
+				v[j] = solution.getFitness(objectives.get(j));
+			}
+			values[i++] = v;
+		}
+
+		Integer[] order = new Integer[n];
+		for (i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> {
+			int flag = compareLexicographically(values[a], values[b]);
+			return flag != 0 ? flag : Integer.compare(a, b);
+		});
+
+		int[] frontIndices = new int[n];
+		int[][] fronts = new int[Math.max(n, 1)][];
+		int[] frontSizes = new int[Math.max(n, 1)];
+		int numberOfFronts = 0;
+
+		for (int p : order) {
+			// fronts are ordered: if a front dominates p, so do all fronts before it
+			int low = 0;
+			int high = numberOfFronts;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (isDominatedByFront(values, p, fronts[middle], frontSizes[middle])) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+
+			if (low == numberOfFronts) {
+				fronts[low] = new int[4];
+				numberOfFronts++;
+			} else if (frontSizes[low] == fronts[low].length) {
+				fronts[low] = Arrays.copyOf(fronts[low], frontSizes[low] * 2);
+			}
+			fronts[low][frontSizes[low]++] = p;
+			frontIndices[p] = low;
+		}
+
+		return frontIndices;
+	}
+
+	private static boolean isDominatedByFront(double[][] values, int p, int[] front, int size) {
+		// the last solutions added to a front are the closest to p in the sort order, and thus
+		// the most likely to dominate it
+		for (int k = size - 1; k >= 0; k--) {
+			if (dominates(values[front[k]], values[p])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Same relation as {@link org.evosuite.ga.comparators.DominanceComparator}
+	 */
+	private static boolean dominates(double[] v1, double[] v2) {
+		boolean better = false;
+		for (int j = 0; j < v1.length; j++) {
+			int flag = Double.compare(v1[j], v2[j]);
+			if (flag > 0) {
+				return false;
+			} else if (flag < 0) {
+				better = true;
+			}
+		}
+		return better;
+	}
+
+	private static int compareLexicographically(double[] v1, double[] v2) {
+		for (int j = 0; j < v1.length; j++) {
+			int flag = Double.compare(v1[j], v2[j]);
+			if (flag != 0) {
+				return flag;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<T> getSubfront(int rank) {
+		return ranking_[rank];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getNumberOfSubfronts() {
+		return ranking_.length;
+	}
+}
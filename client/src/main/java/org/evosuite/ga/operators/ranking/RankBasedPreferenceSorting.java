@@ -36,6 +36,7 @@
 package org.evosuite.ga.operators.ranking;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -43,7 +44,6 @@ import java.util.Set;
 import org.evosuite.Properties;
 import org.evosuite.ga.Chromosome;
 import org.evosuite.ga.FitnessFunction;
-import org.evosuite.ga.comparators.DominanceComparator;
 import org.evosuite.ga.comparators.PreferenceSortingComparator;
 import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
@@ -85,26 +85,42 @@ public class RankBasedPreferenceSorting<T extends Chromosome<T>> implements Rank
 		this.fronts.add(zero_front);
 		int frontIndex = 1;
 
+		// hash lookups rather than list scans, as equals() may compare whole test cases
+		Set<T> zeroFrontMembers = new HashSet<>(zero_front);
+		List<T> remaining = new ArrayList<>(solutions.size());
+		for (T t : solutions) {
+			if (!zeroFrontMembers.contains(t)) {
+				remaining.add(t);
+			}
+		}
+
 		if (zero_front.size() < Properties.POPULATION) {
 			int rankedSolutions = zero_front.size();
-			DominanceComparator<T> comparator = new DominanceComparator<>(uncovered_goals);
 
-			List<T> remaining = new ArrayList<>(solutions.size());
-			remaining.addAll(solutions);
-			remaining.removeAll(zero_front);
-			while(rankedSolutions < Properties.POPULATION && remaining.size() > 0) {
-				List<T> new_front = this.getNonDominatedSolutions(remaining, comparator, frontIndex);
+			// the remaining fronts are computed at once, but only assigned until the population
+			// is filled
+			int[] frontIndices = EfficientNonDominatedSorting.computeFrontIndices(remaining, uncovered_goals);
+			List<List<T>> remainingFronts = new ArrayList<>();
+			for (int i = 0; i < remaining.size(); i++) {
+				while (remainingFronts.size() <= frontIndices[i]) {
+					remainingFronts.add(new ArrayList<>());
+				}
+				remainingFronts.get(frontIndices[i]).add(remaining.get(i));
+			}
+
+			for (List<T> new_front : remainingFronts) {
+				if (rankedSolutions >= Properties.POPULATION) {
+					break;
+				}
+				for (T t : new_front) {
+					t.setRank(frontIndex);
+				}
 				this.fronts.add(new_front);
-				remaining.removeAll(new_front);
 				rankedSolutions += new_front.size();
 				frontIndex++;
 			}
 
 		} else {
-			List<T> remaining = new ArrayList<>(solutions.size());
-			remaining.addAll(solutions);
-			remaining.removeAll(zero_front);
-
 			for (T t : remaining) {
 				t.setRank(frontIndex);
 			}
@@ -140,32 +156,6 @@ public class RankBasedPreferenceSorting<T extends Chromosome<T>> implements Rank
 		return new ArrayList<>(zero_front);
 	}
 
-	private List<T> getNonDominatedSolutions(List<T> solutions, DominanceComparator<T> comparator, int frontIndex) {
-		List<T> front = new ArrayList<>(solutions.size());
-		for (T p : solutions) {
-			boolean isDominated = false;
-			List<T> dominatedSolutions = new ArrayList<>(solutions.size());
-			for (T best : front) {
-				int flag = comparator.compare(p, best);
-				if (flag < 0) {
-					dominatedSolutions.add(best);
-				}
-				if (flag > 0) {
-					isDominated = true;
-					break;
-				}
-			}
-			if (isDominated) {
-				continue;
-			}
-
-			p.setRank(frontIndex);
-			front.add(p);
-			front.removeAll(dominatedSolutions);
-		}
-		return front;
-	}
-
 	/**
 	 * {@inheritDoc}
 	 */
@@ -78,7 +78,7 @@ public class MaxStatementsStoppingCondition<T extends Chromosome<T>> extends Sto
 	 * @param num
 	 *            a int.
 	 */
-	public static void statementsExecuted(int num) {
+	public static synchronized void statementsExecuted(int num) {
 		currentStatement += num;
 	}
 
@@ -21,6 +21,8 @@ package org.evosuite.instrumentation;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.evosuite.PackageInfo;
 import org.evosuite.Properties;
@@ -34,6 +36,7 @@ import org.evosuite.instrumentation.testability.ContainerTransformation;
 import org.evosuite.instrumentation.testability.StringTransformation;
 import org.evosuite.junit.writer.TestSuiteWriterUtils;
 import org.evosuite.runtime.RuntimeSettings;
+import org.evosuite.runtime.classhandling.ModifiedTargetStaticFields;
 import org.evosuite.runtime.instrumentation.*;
 import org.evosuite.seeding.PrimitiveClassAdapter;
 import org.evosuite.setup.DependencyAnalysis;
@@ -137,6 +140,161 @@ public class BytecodeInstrumentation {
 		return TestCluster.isTargetClassName(className);
 	}
 
+	/**
+	 * Check if the instrumentation of the given class can be taken from the
+	 * {@link InstrumentedClassCache}. Classes that are analyzed (and thus
+	 * register CFGs, branches, lines and mutants in the pools), classes that
+	 * get testability transformations, and classes instrumented for carving
+	 * are always instrumented again.
+	 *
+	 * @param classNameWithDots
+	 * @return
+	 */
+	private boolean isCacheable(String classNameWithDots) {
+		return !Properties.TEST_CARVING && !DependencyAnalysis.shouldAnalyze(classNameWithDots)
+				&& !isTargetClassName(classNameWithDots) && !shouldTransform(classNameWithDots)
+				&& !(Properties.TT && classNameWithDots.startsWith(Properties.CLASS_PREFIX));
+	}
+
+	/**
+	 * The settings that affect the instrumentation of a cacheable class. Only
+	 * how the class relates to the target is included, so that dependencies
+	 * can be shared between runs on different targets.
+	 *
+	 * @param classNameWithDots
+	 * @return
+	 */
+	private static String getCacheSettings(String classNameWithDots) {
+		String packageName = classNameWithDots.contains(".")
+				? classNameWithDots.substring(0, classNameWithDots.lastIndexOf('.')) : "";
+		boolean transformedAsNode = classNameWithDots.startsWith(Properties.PROJECT_PREFIX)
+				|| (!Properties.TARGET_CLASS_PREFIX.isEmpty()
+						&& classNameWithDots.startsWith(Properties.TARGET_CLASS_PREFIX));
+
+		return "skip_debug=" + Properties.INSTRUMENTATION_SKIP_DEBUG
+				+ ";reset_static_fields=" + Properties.RESET_STATIC_FIELDS
+				+ ";reset_static_final_fields=" + Properties.RESET_STATIC_FINAL_FIELDS
+				+ ";loop_counter=" + (Properties.MAX_LOOP_ITERATIONS >= 0)
+				+ ";make_accessible=" + Properties.MAKE_ACCESSIBLE
+				+ ";target_package=" + packageName.equals(Properties.CLASS_PREFIX)
+				+ ";as_node=" + transformedAsNode
+				+ ";agent=" + TestSuiteWriterUtils.needToUseAgent()
+				+ ";mock_jvm=" + RuntimeSettings.mockJVMNonDeterminism
+				+ ";mock_system_in=" + RuntimeSettings.mockSystemIn
+				+ ";mock_gui=" + RuntimeSettings.mockGUI
+				+ ";vfs=" + RuntimeSettings.useVFS
+				+ ";vnet=" + RuntimeSettings.useVNET
+				+ ";jee=" + RuntimeSettings.useJEE
+				+ ";reset_static_state=" + RuntimeSettings.resetStaticState
+				+ ";uid=" + RuntimeSettings.applyUIDTransformation
+				+ ";max_loop=" + RuntimeSettings.maxNumberOfIterationsPerLoop;
+	}
+
+	/**
+	 * Transforms the given class file, using the {@link InstrumentedClassCache}
+	 * if it is enabled.
+	 *
+	 * @param classLoader
+	 * @param className
+	 *            the name of the class, with slashes
+	 * @param classBytes
+	 *            the original class file
+	 * @return the instrumented class file
+	 */
+	public byte[] transformBytes(ClassLoader classLoader, String className, byte[] classBytes) {
+		String classNameWithDots = ResourceList.getClassNameFromResourcePath(className);
+		if (!InstrumentedClassCache.getInstance().isEnabled() || !canPretransform(classNameWithDots)) {
+			return transformBytes(classLoader, className, new ClassReader(classBytes));
+		}
+		return completeTransformation(className, classBytes, pretransformBytes(classLoader, className, classBytes));
+	}
+
+	/**
+	 * Check if the given class can be instrumented ahead of loading it (or
+	 * taken from the {@link InstrumentedClassCache}) with
+	 * {@link #pretransformBytes}. This may load classes and must therefore be
+	 * called by the thread loading the class.
+	 *
+	 * @param classNameWithDots
+	 * @return
+	 */
+	public boolean canPretransform(String classNameWithDots) {
+		return checkIfCanInstrument(classNameWithDots) && isCacheable(classNameWithDots);
+	}
+
+	/**
+	 * Instruments a class for which {@link #canPretransform} holds, without
+	 * updating the constant pool and the purity analysis. This is thread-safe,
+	 * so that several classes can be instrumented concurrently. The class is
+	 * completed by {@link #completeTransformation} when it is defined.
+	 *
+	 * @param classLoader
+	 * @param className
+	 *            the name of the class, with slashes
+	 * @param classBytes
+	 *            the original class file
+	 * @return the instrumented class
+	 */
+	public InstrumentedClassCache.Entry pretransformBytes(ClassLoader classLoader, String className,
+			byte[] classBytes) {
+		InstrumentedClassCache cache = InstrumentedClassCache.getInstance();
+		String key = null;
+		if (cache.isEnabled()) {
+			key = cache.getKey(className, classBytes,
+					getCacheSettings(ResourceList.getClassNameFromResourcePath(className)));
+			InstrumentedClassCache.Entry entry = cache.get(className, key);
+			if (entry != null) {
+				logger.debug("Using cached instrumentation of {}", className);
+				return entry;
+			}
+		}
+
+		List<String> modifiedStaticFields = new ArrayList<>();
+		byte[] instrumentedBytes = transformBytes(classLoader, className, new ClassReader(classBytes),
+				modifiedStaticFields, true);
+		InstrumentedClassCache.Entry entry = new InstrumentedClassCache.Entry(instrumentedBytes,
+				modifiedStaticFields);
+		if (key != null) {
+			cache.put(className, key, entry);
+		}
+		return entry;
+	}
+
+	/**
+	 * Applies the side effects of instrumenting a class that was instrumented by
+	 * {@link #pretransformBytes}: the constants of the class are added to the
+	 * constant pool, the methods are added to the purity analysis, and the
+	 * static fields that are no longer final are registered. Constants are
+	 * collected from the original class file (as {@link PrimitiveClassAdapter}
+	 * sees it), while the purity analysis visits the instrumented class file,
+	 * which only adds EvoSuite callbacks that the analysis ignores.
+	 *
+	 * @param className
+	 *            the name of the class, with slashes
+	 * @param classBytes
+	 *            the original class file
+	 * @param entry
+	 * @return the instrumented class file
+	 */
+	public byte[] completeTransformation(String className, byte[] classBytes, InstrumentedClassCache.Entry entry) {
+		int readFlags = ClassReader.SKIP_FRAMES;
+		if (Properties.INSTRUMENTATION_SKIP_DEBUG)
+			readFlags |= ClassReader.SKIP_DEBUG;
+
+		new ClassReader(classBytes).accept(new PrimitiveClassAdapter(null, className), readFlags);
+
+		if (Properties.PURE_INSPECTORS) {
+			CheapPurityAnalyzer purityAnalyzer = CheapPurityAnalyzer.getInstance();
+			new ClassReader(entry.getInstrumentedBytes())
+					.accept(new PurityAnalysisClassVisitor(null, className, purityAnalyzer), readFlags);
+		}
+
+		if (!entry.getModifiedStaticFields().isEmpty()) {
+			ModifiedTargetStaticFields.getInstance().addFinalFields(entry.getModifiedStaticFields());
+		}
+		return entry.getInstrumentedBytes();
+	}
+
 	/**
 	 * <p>
 	 * transformBytes
@@ -149,6 +307,19 @@ public class BytecodeInstrumentation {
 	 * @return an array of byte.
 	 */
 	public byte[] transformBytes(ClassLoader classLoader, String className, ClassReader reader) {
+		return transformBytes(classLoader, className, reader, null, false);
+	}
+
+	/**
+	 * @param modifiedStaticFields
+	 *            if not <code>null</code>, receives the static fields whose
+	 *            <code>final</code> modifier was removed
+	 * @param deferAnalysis
+	 *            if the constant pool and purity analysis are updated later by
+	 *            {@link #completeTransformation}
+	 */
+	private byte[] transformBytes(ClassLoader classLoader, String className, ClassReader reader,
+			List<String> modifiedStaticFields, boolean deferAnalysis) {
 
 		int readFlags = ClassReader.SKIP_FRAMES;
 
@@ -162,7 +333,9 @@ public class BytecodeInstrumentation {
 					+ ")! Load by parent (JVM) classloader.");
 		}
 
-		TransformationStatistics.reset();
+		if (!deferAnalysis) {
+			TransformationStatistics.reset();
+		}
 
 		/*
 		 * To use COMPUTE_FRAMES we need to remove JSR commands. Therefore, we
@@ -181,7 +354,7 @@ public class BytecodeInstrumentation {
 			cv = new StaticAccessClassAdapter(cv, className);
 		}
 
-		if (Properties.PURE_INSPECTORS) {
+		if (Properties.PURE_INSPECTORS && !deferAnalysis) {
 			CheapPurityAnalyzer purityAnalyzer = CheapPurityAnalyzer.getInstance();
 			cv = new PurityAnalysisClassVisitor(cv, className, purityAnalyzer);
 		}
@@ -190,6 +363,9 @@ public class BytecodeInstrumentation {
 			cv = new LoopCounterClassAdapter(cv);
 		}
 
+		// The kill switch must not stop a test in a class initializer
+		cv = new ClassInitDepthClassAdapter(cv);
+
 		// Apply transformations to class under test and its owned classes
 		if (DependencyAnalysis.shouldAnalyze(classNameWithDots)) {
 			logger.debug("Applying target transformation to class " + classNameWithDots);
@@ -227,10 +403,16 @@ public class BytecodeInstrumentation {
 		}
 
 		// Collect constant values for the value pool
-		cv = new PrimitiveClassAdapter(cv, className);
+		if (!deferAnalysis) {
+			cv = new PrimitiveClassAdapter(cv, className);
+		}
 
+		CreateClassResetClassAdapter resetClassAdapter = null;
 		if (Properties.RESET_STATIC_FIELDS) {
-			cv = handleStaticReset(className, cv);
+			// Create a __STATIC_RESET() cloning the original <clinit> method or
+			// create one by default
+			resetClassAdapter = new CreateClassResetClassAdapter(cv, className, Properties.RESET_STATIC_FINAL_FIELDS);
+			cv = handleStaticReset(className, resetClassAdapter);
 		}
 
 		// Mock instrumentation (eg File and TCP).
@@ -294,6 +476,10 @@ public class BytecodeInstrumentation {
 			reader.accept(cv, readFlags);
 		}
 
+		if (modifiedStaticFields != null && resetClassAdapter != null) {
+			modifiedStaticFields.addAll(resetClassAdapter.getModifiedStaticFields());
+		}
+
 		return writer.toByteArray();
 	}
 
@@ -321,24 +507,14 @@ public class BytecodeInstrumentation {
 	 * instructions
 	 * 
 	 * @param className
-	 * @param cv
+	 * @param resetClassAdapter
 	 * @return
 	 */
-	private static ClassVisitor handleStaticReset(String className, ClassVisitor cv) {
-		// Create a __STATIC_RESET() cloning the original <clinit> method or
-		// create one by default
-		final CreateClassResetClassAdapter resetClassAdapter;
-		if (Properties.RESET_STATIC_FINAL_FIELDS) {
-			resetClassAdapter= new CreateClassResetClassAdapter(cv, className, true);
-		} else {
-			resetClassAdapter= new CreateClassResetClassAdapter(cv, className, false);
-		}
-		cv = resetClassAdapter;
-
+	private static ClassVisitor handleStaticReset(String className, CreateClassResetClassAdapter resetClassAdapter) {
 		// Adds a callback before leaving the <clinit> method
-		EndOfClassInitializerVisitor exitClassInitAdapter = new EndOfClassInitializerVisitor(cv, className);
-		cv = exitClassInitAdapter;
-		return cv;
+		EndOfClassInitializerVisitor exitClassInitAdapter = new EndOfClassInitializerVisitor(resetClassAdapter,
+				className);
+		return exitClassInitAdapter;
 	}
 
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import org.evosuite.PackageInfo;
+import org.evosuite.testcase.execution.ExecutionTracer;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Instruments a <clinit> method to call ExecutionTracer.enteredClassInit()
+ * when it starts, and ExecutionTracer.leftClassInit() when it returns or
+ * throws, so that the tracer knows whether the test thread is initializing a
+ * class without walking its stack.
+ */
+public class ClassInitDepthMethodAdapter extends MethodVisitor {
+
+	private final Label startLabel = new Label();
+
+	private final Label handlerLabel = new Label();
+
+	public ClassInitDepthMethodAdapter(MethodVisitor mv) {
+		super(Opcodes.ASM9, mv);
+	}
+
+	private void callTracer(String method) {
+		super.visitMethodInsn(Opcodes.INVOKESTATIC, PackageInfo.getNameWithSlash(ExecutionTracer.class),
+				method, "()V", false);
+	}
+
+	@Override
+	public void visitCode() {
+		super.visitCode();
+		callTracer("enteredClassInit");
+		super.visitLabel(startLabel);
+	}
+
+	@Override
+	public void visitInsn(int opcode) {
+		if (opcode == Opcodes.RETURN) {
+			callTracer("leftClassInit");
+		}
+		super.visitInsn(opcode);
+	}
+
+	@Override
+	public void visitMaxs(int maxStack, int maxLocals) {
+		// rethrow anything thrown by the initializer after leaving it
+		super.visitLabel(handlerLabel);
+		callTracer("leftClassInit");
+		super.visitInsn(Opcodes.ATHROW);
+		super.visitTryCatchBlock(startLabel, handlerLabel, handlerLabel, null);
+		super.visitMaxs(Math.max(1, maxStack), maxLocals);
+	}
+}
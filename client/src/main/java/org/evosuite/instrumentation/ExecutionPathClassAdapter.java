@@ -102,9 +102,6 @@ public class ExecutionPathClassAdapter extends ClassVisitor {
 		        || (methodAccess & Opcodes.ACC_BRIDGE) > 0) {
 			return mv;
 		}
-		if (name.equals("<clinit>"))
-			return mv;
-
 		if (name.equals(ClassResetter.STATIC_RESET))
 			return mv;
 
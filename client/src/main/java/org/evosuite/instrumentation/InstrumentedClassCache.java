@@ -0,0 +1,297 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.evosuite.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * On-disk cache of instrumented class files, shared by all the runs that use
+ * the same {@link Properties#INSTRUMENTATION_CACHE_DIR}.
+ *
+ * <p>
+ * Entries are addressed by a hash of the original class file, of the
+ * instrumentation settings that affect the result (see
+ * {@link BytecodeInstrumentation#transformBytes(ClassLoader, String, byte[])})
+ * and of the environment: the Java version, the EvoSuite build and the
+ * classpath, as frames are computed from the class hierarchy. Each entry is
+ * written to a temporary file and then moved in place, so concurrent runs can
+ * share the directory.
+ * </p>
+ */
+public class InstrumentedClassCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(InstrumentedClassCache.class);
+
+	private static final int ENTRY_MAGIC = 0x45564943;
+
+	private static InstrumentedClassCache instance = null;
+
+	/** Classpath the environment fingerprint was computed for */
+	private String fingerprintClasspath = null;
+
+	private String environmentFingerprint = null;
+
+	private InstrumentedClassCache() {
+	}
+
+	public static synchronized InstrumentedClassCache getInstance() {
+		if (instance == null) {
+			instance = new InstrumentedClassCache();
+		}
+		return instance;
+	}
+
+	/**
+	 * An instrumented class file and the side effects of its instrumentation
+	 * that cannot be recomputed from the class file alone
+	 */
+	public static class Entry {
+
+		private final byte[] instrumentedBytes;
+
+		private final List<String> modifiedStaticFields;
+
+		public Entry(byte[] instrumentedBytes, List<String> modifiedStaticFields) {
+			this.instrumentedBytes = instrumentedBytes;
+			this.modifiedStaticFields = Collections.unmodifiableList(new ArrayList<>(modifiedStaticFields));
+		}
+
+		public byte[] getInstrumentedBytes() {
+			return instrumentedBytes;
+		}
+
+		/**
+		 * @return the static fields whose <code>final</code> modifier was removed
+		 */
+		public List<String> getModifiedStaticFields() {
+			return modifiedStaticFields;
+		}
+	}
+
+	/**
+	 * Compute the fingerprint of the classpath again on the next lookup, as
+	 * it is only computed once for a given classpath
+	 */
+	synchronized void resetFingerprint() {
+		fingerprintClasspath = null;
+		environmentFingerprint = null;
+	}
+
+	public boolean isEnabled() {
+		return Properties.INSTRUMENTATION_CACHE_DIR != null && !Properties.INSTRUMENTATION_CACHE_DIR.isEmpty();
+	}
+
+	/**
+	 * Computes the key of an instrumented class
+	 *
+	 * @param className
+	 *            the name of the class, with slashes
+	 * @param classBytes
+	 *            the original class file
+	 * @param settings
+	 *            the instrumentation settings that apply to this class
+	 * @return
+	 */
+	public String getKey(String className, byte[] classBytes, String settings) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		digest.update(getEnvironmentFingerprint().getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		digest.update(settings.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		digest.update(className.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		digest.update(classBytes);
+
+		StringBuilder key = new StringBuilder();
+		for (byte b : digest.digest()) {
+			key.append(String.format("%02x", b));
+		}
+		return key.toString();
+	}
+
+	/**
+	 * @param className
+	 * @param key
+	 * @return the cached entry, or <code>null</code> if there is none or it
+	 *         cannot be read
+	 */
+	public Entry get(String className, String key) {
+		File file = getFile(key);
+		if (!file.exists()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != ENTRY_MAGIC || !in.readUTF().equals(className)) {
+				logger.warn("Ignoring invalid instrumentation cache entry " + file);
+				return null;
+			}
+			byte[] bytes = new byte[in.readInt()];
+			in.readFully(bytes);
+			int numFields = in.readInt();
+			List<String> fields = new ArrayList<>(numFields);
+			for (int i = 0; i < numFields; i++) {
+				fields.add(in.readUTF());
+			}
+			return new Entry(bytes, fields);
+		} catch (IOException | RuntimeException e) {
+			logger.warn("Could not read instrumentation cache entry " + file + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Stores an instrumented class. Failures are logged and otherwise ignored.
+	 *
+	 * @param className
+	 * @param key
+	 * @param entry
+	 */
+	public void put(String className, String key, Entry entry) {
+		File file = getFile(key);
+		File dir = file.getParentFile();
+		if (!dir.exists() && !dir.mkdirs() && !dir.exists()) {
+			logger.warn("Could not create instrumentation cache directory " + dir);
+			return;
+		}
+
+		File tmp = null;
+		try {
+			tmp = File.createTempFile(key, ".tmp", dir);
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+				out.writeInt(ENTRY_MAGIC);
+				out.writeUTF(className);
+				out.writeInt(entry.getInstrumentedBytes().length);
+				out.write(entry.getInstrumentedBytes());
+				out.writeInt(entry.getModifiedStaticFields().size());
+				for (String field : entry.getModifiedStaticFields()) {
+					out.writeUTF(field);
+				}
+			}
+			try {
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			logger.warn("Could not write instrumentation cache entry " + file + ": " + e.getMessage());
+			if (tmp != null) {
+				tmp.delete();
+			}
+		}
+	}
+
+	private File getFile(String key) {
+		File dir = new File(Properties.INSTRUMENTATION_CACHE_DIR, key.substring(0, 2));
+		return new File(dir, key + ".bin");
+	}
+
+	/**
+	 * The Java version, the EvoSuite build and the size and modification time
+	 * of each classpath entry. For a directory, these are the number, total
+	 * size and latest modification time of the class files under it, as the
+	 * frames computed for a class depend on the classes it refers to.
+	 */
+	private synchronized String getEnvironmentFingerprint() {
+		if (environmentFingerprint != null && Properties.CP.equals(fingerprintClasspath)) {
+			return environmentFingerprint;
+		}
+
+		StringBuilder fingerprint = new StringBuilder();
+		fingerprint.append("java=").append(System.getProperty("java.version")).append('\n');
+		URL evosuiteLocation = InstrumentedClassCache.class.getProtectionDomain().getCodeSource() == null ? null
+				: InstrumentedClassCache.class.getProtectionDomain().getCodeSource().getLocation();
+		if (evosuiteLocation != null) {
+			fingerprint.append("evosuite=").append(evosuiteLocation);
+			appendFileStamp(fingerprint, new File(evosuiteLocation.getPath()));
+		}
+		for (String entry : Properties.CP.split(File.pathSeparator)) {
+			if (entry.isEmpty()) {
+				continue;
+			}
+			fingerprint.append("cp=").append(entry);
+			appendFileStamp(fingerprint, new File(entry));
+		}
+
+		fingerprintClasspath = Properties.CP;
+		environmentFingerprint = fingerprint.toString();
+		return environmentFingerprint;
+	}
+
+	private static void appendFileStamp(StringBuilder fingerprint, File file) {
+		if (file.isFile()) {
+			fingerprint.append(':').append(file.length()).append(':').append(file.lastModified());
+		} else if (file.isDirectory()) {
+			appendDirectoryStamp(fingerprint, file.toPath());
+		}
+		fingerprint.append('\n');
+	}
+
+	private static void appendDirectoryStamp(StringBuilder fingerprint, Path directory) {
+		long count = 0;
+		long size = 0;
+		long lastModified = 0;
+		try (Stream<Path> files = Files.walk(directory)) {
+			for (Path path : (Iterable<Path>) files::iterator) {
+				if (!path.toString().endsWith(".class") || !Files.isRegularFile(path)) {
+					continue;
+				}
+				count++;
+				size += Files.size(path);
+				lastModified = Math.max(lastModified, Files.getLastModifiedTime(path).toMillis());
+			}
+		} catch (IOException | UncheckedIOException e) {
+			// an entry that cannot be checked must not match any previous run
+			logger.warn("Could not check classpath directory " + directory + ": " + e.getMessage());
+			fingerprint.append(":unchecked:").append(System.nanoTime());
+			return;
+		}
+		fingerprint.append(':').append(count).append(':').append(size).append(':').append(lastModified);
+	}
+}
@@ -19,21 +19,32 @@
  */
 package org.evosuite.instrumentation;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.FileInputStream;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
 import org.evosuite.classpath.ResourceList;
+import org.evosuite.runtime.instrumentation.MethodCallReplacementCache;
 import org.evosuite.runtime.instrumentation.RuntimeInstrumentation;
+import org.evosuite.testcase.execution.ExecutionTracer;
 import org.objectweb.asm.ClassReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,6 +66,19 @@ public class InstrumentingClassLoader extends ClassLoader {
 	private final ClassLoader classLoader;
 	private final Map<String, Class<?>> classes = new HashMap<>();
 
+	/** Classes instrumented by {@link #preInstrument} that were not loaded yet */
+	private final Map<String, PreInstrumentedClass> preInstrumented = new ConcurrentHashMap<>();
+
+	private static class PreInstrumentedClass {
+		private final byte[] classBytes;
+		private final InstrumentedClassCache.Entry instrumented;
+
+		private PreInstrumentedClass(byte[] classBytes, InstrumentedClassCache.Entry instrumented) {
+			this.classBytes = classBytes;
+			this.instrumented = instrumented;
+		}
+	}
+
 	/**
 	 * <p>
 	 * Constructor for InstrumentingClassLoader.
@@ -108,8 +132,44 @@ public class InstrumentingClassLoader extends ClassLoader {
 		}
 	}
 	
+	/**
+	 * Same as {@link #loadClassFromFile}, but for class bytes that are only in
+	 * memory, e.g., compiled with {@link javax.tools.JavaCompiler} without
+	 * writing anything on disk
+	 */
+	public Class<?> loadClassFromBytes(String fullyQualifiedTargetClass, byte[] classBytes) throws ClassNotFoundException {
+
+		String className = fullyQualifiedTargetClass.replace('.', '/');
+
+		try(InputStream is = new ByteArrayInputStream(classBytes)) {
+
+			byte[] byteBuffer = getTransformedBytes(className, is);
+
+			createPackageDefinition(fullyQualifiedTargetClass);
+			Class<?> result = defineClass(fullyQualifiedTargetClass, byteBuffer, 0, byteBuffer.length);
+
+			classes.put(fullyQualifiedTargetClass, result);
+
+			logger.info("Loaded class " + fullyQualifiedTargetClass + " directly from memory");
+			return result;
+		} catch (Throwable t) {
+			logger.info("Error while loading class " + fullyQualifiedTargetClass + " : " + t);
+			throw new ClassNotFoundException(t.getMessage(), t);
+		}
+	}
+
 	@Override
 	public Class<?> loadClass(String name) throws ClassNotFoundException {
+		// a test must not be stopped while it loads (and instruments) a class
+		ExecutionTracer.enteredClassInit();
+		try {
+			return loadClassWithLock(name);
+		} finally {
+			ExecutionTracer.leftClassInit();
+		}
+	}
+
+	private Class<?> loadClassWithLock(String name) throws ClassNotFoundException {
         synchronized(getClassLoadingLock(name)) {
             if ("<evosuite>".equals(name)) {
                 throw new ClassNotFoundException();
@@ -138,21 +198,121 @@ public class InstrumentingClassLoader extends ClassLoader {
 
 	//This is needed, as it is overridden in subclasses
 	protected byte[] getTransformedBytes(String className, InputStream is) throws IOException {
+		if (InstrumentedClassCache.getInstance().isEnabled()) {
+			// the cache is keyed by the original bytes
+			return instrumentation.transformBytes(this, className, readBytes(is));
+		}
 		return instrumentation.transformBytes(this, className, new ClassReader(is));
 	}
 
+	private static byte[] readBytes(InputStream is) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int read;
+		while ((read = is.read(buffer)) != -1) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Instruments the given classes on several threads before they are loaded.
+	 * Only classes that are not analyzed are instrumented ahead (see
+	 * {@link BytecodeInstrumentation#canPretransform}): classes that get a CFG
+	 * register branches, lines and mutants with consecutive ids, so they are
+	 * still instrumented when they are loaded. The constant pool and purity
+	 * analysis are updated when a class is loaded, so they do not depend on
+	 * the order in which the threads finish.
+	 *
+	 * @param classNames
+	 *            fully qualified names of the classes likely to be loaded
+	 * @param numThreads
+	 */
+	public void preInstrument(Collection<String> classNames, int numThreads) {
+		if (getClass() != InstrumentingClassLoader.class) {
+			// subclasses may transform the bytes differently
+			return;
+		}
+
+		// Deciding what can be instrumented ahead may load classes, and the
+		// classpath is not thread-safe, so this is done on the current thread
+		Map<String, byte[]> toInstrument = new LinkedHashMap<>();
+		ResourceList resourceList = ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT());
+		for (String name : classNames) {
+			synchronized (getClassLoadingLock(name)) {
+				if (classes.containsKey(name) || preInstrumented.containsKey(name)
+						|| !instrumentation.canPretransform(name)) {
+					continue;
+				}
+				try (InputStream is = resourceList.getClassAsStream(name)) {
+					if (is != null) {
+						toInstrument.put(name, readBytes(is));
+					}
+				} catch (IOException e) {
+					logger.debug("Could not read class {}: {}", name, e.getMessage());
+				}
+			}
+		}
+		if (toInstrument.isEmpty()) {
+			return;
+		}
+
+		logger.debug("Instrumenting {} classes on {} threads", toInstrument.size(), numThreads);
+		// initialized once before the workers read it
+		MethodCallReplacementCache.getInstance();
+		final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads, r -> {
+			Thread thread = new Thread(r, "PreInstrumentation");
+			thread.setDaemon(true);
+			// ComputeClassWriter reads the class files of the hierarchy (without
+			// loading them) as resources of the thread's context class loader
+			thread.setContextClassLoader(contextClassLoader);
+			return thread;
+		});
+		try {
+			Map<String, Future<InstrumentedClassCache.Entry>> results = new LinkedHashMap<>();
+			for (Map.Entry<String, byte[]> entry : toInstrument.entrySet()) {
+				final String className = entry.getKey().replace('.', '/');
+				final byte[] classBytes = entry.getValue();
+				results.put(entry.getKey(),
+						executor.submit(() -> instrumentation.pretransformBytes(this, className, classBytes)));
+			}
+			for (Map.Entry<String, Future<InstrumentedClassCache.Entry>> result : results.entrySet()) {
+				try {
+					preInstrumented.put(result.getKey(),
+							new PreInstrumentedClass(toInstrument.get(result.getKey()), result.getValue().get()));
+				} catch (ExecutionException e) {
+					// the class is instrumented again when it is loaded, and fails there
+					logger.debug("Could not instrument class {} ahead: {}", result.getKey(), e.getCause());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	private Class<?> instrumentClass(String fullyQualifiedTargetClass)throws ClassNotFoundException  {
 		String className = fullyQualifiedTargetClass.replace('.', '/');
 		InputStream is = null;
 		try {
-			is = ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getClassAsStream(fullyQualifiedTargetClass);
-			
-			if (is == null) {
-				throw new ClassNotFoundException("Class '" + className + ".class"
-						+ "' should be in target project, but could not be found!");
+			byte[] byteBuffer;
+			PreInstrumentedClass preInstrumentedClass = preInstrumented.remove(fullyQualifiedTargetClass);
+			if (preInstrumentedClass != null && instrumentation.canPretransform(fullyQualifiedTargetClass)) {
+				// still not analyzed (e.g., it did not become a target in the meantime)
+				byteBuffer = instrumentation.completeTransformation(className, preInstrumentedClass.classBytes,
+						preInstrumentedClass.instrumented);
+			} else {
+				is = ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getClassAsStream(fullyQualifiedTargetClass);
+
+				if (is == null) {
+					throw new ClassNotFoundException("Class '" + className + ".class"
+							+ "' should be in target project, but could not be found!");
+				}
+
+				byteBuffer = getTransformedBytes(className,is);
 			}
-			
-			byte[] byteBuffer = getTransformedBytes(className,is);
 			createPackageDefinition(fullyQualifiedTargetClass);
 			Class<?> result = defineClass(fullyQualifiedTargetClass, byteBuffer, 0,byteBuffer.length);
 			classes.put(fullyQualifiedTargetClass, result);
@@ -72,13 +72,11 @@ public class LineNumberMethodAdapter extends MethodVisitor {
 	}
 
 	private void addLineNumberInstrumentation(int line) {
-		LinePool.addLine(className, fullMethodName, line);
-		this.visitLdcInsn(className);
-		this.visitLdcInsn(fullMethodName);
-		this.visitLdcInsn(line);
+		int lineId = LinePool.addLine(className, fullMethodName, line);
+		this.visitLdcInsn(lineId);
 		mv.visitMethodInsn(Opcodes.INVOKESTATIC,
 				PackageInfo.getNameWithSlash(ExecutionTracer.class),
-				"passedLine", "(Ljava/lang/String;Ljava/lang/String;I)V", false);
+				"passedLine", "(I)V", false);
 	}
 
 	/** {@inheritDoc} */
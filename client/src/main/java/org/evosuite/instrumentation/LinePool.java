@@ -20,30 +20,59 @@
 
 package org.evosuite.instrumentation;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * Keep track of the lines of code in a class
  *
+ * Each line is also given an id, which the instrumented code passes to the
+ * {@link org.evosuite.testcase.execution.ExecutionTracer} instead of the names
+ * of its class and method.
+ *
  * @author Gordon Fraser
  */
 public class LinePool {
 
+	private static class Line {
+		private final String className;
+		private final String methodName;
+		private final int lineNo;
+
+		private Line(String className, String methodName, int lineNo) {
+			this.className = className;
+			this.methodName = methodName;
+			this.lineNo = lineNo;
+		}
+	}
+
 	/** Map class names to methods to sets of line numbers */
 	private static Map<String, Map<String, Set<Integer>>> lineMap = new LinkedHashMap<>();
 
+	/** Map class names to methods to line numbers to line ids */
+	private static final Map<String, Map<String, Map<Integer, Integer>>> lineIds = new HashMap<>();
+
+	/**
+	 * The lines by id. Ids are never reused, as classes instrumented before a
+	 * reset might still be executed.
+	 */
+	private static final List<Line> lines = new ArrayList<>();
+
 	/**
 	 * Insert line into map for class
 	 *
 	 * @param className a {@link java.lang.String} object.
 	 * @param methodName a {@link java.lang.String} object.
 	 * @param lineNo a int.
+	 * @return the id of the line
 	 */
-	public static void addLine(String className, String methodName, int lineNo) {
+	public static synchronized int addLine(String className, String methodName, int lineNo) {
 		if (!lineMap.containsKey(className))
 			lineMap.put(className, new LinkedHashMap<>());
 
@@ -51,6 +80,40 @@ public class LinePool {
 			lineMap.get(className).put(methodName, new LinkedHashSet<>());
 
 		lineMap.get(className).get(methodName).add(lineNo);
+
+		Map<Integer, Integer> methodLineIds = lineIds.computeIfAbsent(className, k -> new HashMap<>())
+				.computeIfAbsent(methodName, k -> new HashMap<>());
+		Integer id = methodLineIds.get(lineNo);
+		if (id == null) {
+			id = lines.size();
+			lines.add(new Line(className, methodName, lineNo));
+			methodLineIds.put(lineNo, id);
+		}
+		return id;
+	}
+
+	/**
+	 * @param lineId the id returned by {@link #addLine(String, String, int)}
+	 * @return the name of the class of the line
+	 */
+	public static synchronized String getClassName(int lineId) {
+		return lines.get(lineId).className;
+	}
+
+	/**
+	 * @param lineId the id returned by {@link #addLine(String, String, int)}
+	 * @return the name and descriptor of the method of the line
+	 */
+	public static synchronized String getMethodName(int lineId) {
+		return lines.get(lineId).methodName;
+	}
+
+	/**
+	 * @param lineId the id returned by {@link #addLine(String, String, int)}
+	 * @return the line number
+	 */
+	public static synchronized int getLineNumber(int lineId) {
+		return lines.get(lineId).lineNo;
 	}
 
 	/**
@@ -125,11 +188,13 @@ public class LinePool {
 			return lineMap.get(className).keySet();
 	}
 
-	public static void removeClass(String className) {
+	public static synchronized void removeClass(String className) {
 		lineMap.remove(className);
+		lineIds.remove(className);
 	}
 
-	public static void reset() {
+	public static synchronized void reset() {
 		lineMap.clear();
+		lineIds.clear();
 	}
 }
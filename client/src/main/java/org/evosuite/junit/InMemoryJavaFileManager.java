@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+
+/**
+ * File manager for the Java compiler that keeps the compiled classes in
+ * memory instead of writing them on disk. The classpath is still read
+ * through the standard file manager.
+ */
+class InMemoryJavaFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+	/**
+	 * Compiled classes, indexed by fully qualified name, in the order in
+	 * which the compiler generated them
+	 */
+	private final Map<String, ClassFile> classFiles = new LinkedHashMap<>();
+
+	InMemoryJavaFileManager(StandardJavaFileManager fileManager) {
+		super(fileManager);
+	}
+
+	/**
+	 * Create a compilation unit for the given source code
+	 *
+	 * @param className
+	 *            fully qualified name of the (top-level) class defined in the
+	 *            source code
+	 * @param code
+	 * @return
+	 */
+	static JavaFileObject createSource(String className, String code) {
+		return new SourceFile(className, code);
+	}
+
+	@Override
+	public JavaFileObject getJavaFileForOutput(Location location, String className, Kind kind,
+			FileObject sibling) {
+		if (location != StandardLocation.CLASS_OUTPUT || kind != Kind.CLASS) {
+			throw new IllegalArgumentException("Unexpected output " + className + " of kind " + kind
+					+ " in " + location);
+		}
+		ClassFile classFile = new ClassFile(className);
+		classFiles.put(className, classFile);
+		return classFile;
+	}
+
+	/**
+	 * @return the bytes of all the compiled classes (including the inner and
+	 *         anonymous ones), indexed by fully qualified name
+	 */
+	Map<String, byte[]> getCompiledClasses() {
+		Map<String, byte[]> classes = new LinkedHashMap<>();
+		for (Map.Entry<String, ClassFile> entry : classFiles.entrySet()) {
+			classes.put(entry.getKey(), entry.getValue().bytes.toByteArray());
+		}
+		return classes;
+	}
+
+	private static URI uriOf(String className, Kind kind) {
+		return URI.create("string:///" + className.replace('.', '/') + kind.extension);
+	}
+
+	private static class SourceFile extends SimpleJavaFileObject {
+
+		private final String code;
+
+		private SourceFile(String className, String code) {
+			super(uriOf(className, Kind.SOURCE), Kind.SOURCE);
+			this.code = code;
+		}
+
+		@Override
+		public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+			return code;
+		}
+	}
+
+	private static class ClassFile extends SimpleJavaFileObject {
+
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		private ClassFile(String className) {
+			super(uriOf(className, Kind.CLASS), Kind.CLASS);
+		}
+
+		@Override
+		public OutputStream openOutputStream() {
+			return bytes;
+		}
+	}
+}
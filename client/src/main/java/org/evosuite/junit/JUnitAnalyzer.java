@@ -33,7 +33,6 @@ import javax.tools.JavaFileObject;
 import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
@@ -72,11 +71,6 @@ public abstract class JUnitAnalyzer {
 
 	private static final Logger logger = LoggerFactory.getLogger(JUnitAnalyzer.class);
 
-	private static int dirCounter = 0;
-
-	private static final String JAVA = ".java";
-	private static final String CLASS = ".class";
-
 	private static NonInstrumentingClassLoader loader = new NonInstrumentingClassLoader();
 
 	private static VersionDependentAnalyzing versionDependentAnalyzer;
@@ -86,8 +80,14 @@ public abstract class JUnitAnalyzer {
 	}
 	
 	/**
-	 * Try to compile each test separately, and remove the ones that cannot be
-	 * compiled
+	 * Try to compile the tests, and remove the ones that cannot be compiled.
+	 * 
+	 * <p>
+	 * Each test is written in its own class, and all the classes are compiled
+	 * in memory in a single compilation task: the tests to remove are the ones
+	 * in the classes the compiler reports errors for. If an error cannot be
+	 * mapped to a single test (eg, it is in the scaffolding), then each test is
+	 * compiled separately
 	 * 
 	 * @param tests
 	 */
@@ -99,43 +99,98 @@ public abstract class JUnitAnalyzer {
 			return;
 		}
 
-		Iterator<TestCase> iter = tests.iterator();
-
-		while (iter.hasNext()) {
+		/*
+		 * the compiler might stop before reporting the errors in all the classes
+		 * (eg, after parsing errors), so we compile again what is left until
+		 * there is no error
+		 */
+		while (!tests.isEmpty()) {
 			if(!TimeController.getInstance().hasTimeToExecuteATestCase()) {
 				break;
 			}
 
-			TestCase test = iter.next();
+			String name = getNewTestClassName();
+			TestSuiteWriter suite = new TestSuiteWriter();
+			suite.insertAllTests(tests);
+			Map<String, String> sources = suite.getTestSuiteSources(name, Collections.emptyList(), true);
+			Map<String, JavaFileObject> compilationUnits = createCompilationUnits(sources);
 
-			File dir = createNewTmpDir();
-			if (dir == null) {
-				logger.warn("Failed to create tmp dir");
+			DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+			if (compileInMemory(compilationUnits.values(), diagnostics) != null) {
+				return; //all tests compile
+			}
+
+			Map<JavaFileObject, List<Diagnostic<? extends JavaFileObject>>> errors = new HashMap<>();
+			boolean onlyInTests = true;
+			for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+				if (diagnostic.getKind() != Diagnostic.Kind.ERROR) {
+					continue;
+				}
+				JavaFileObject source = diagnostic.getSource();
+				if (source == null || isScaffolding(source.getName())) {
+					onlyInTests = false;
+				}
+				errors.computeIfAbsent(source, k -> new ArrayList<>()).add(diagnostic);
+			}
+
+			if (!onlyInTests || errors.isEmpty()) {
+				logCompilationFailure(compilationUnits.keySet(), sources, diagnostics);
+				removeTestsThatDoNotCompileOneByOne(tests);
 				return;
 			}
-			logger.debug("Created tmp folder: " + dir.getAbsolutePath());
 
-			try {
-				List<TestCase> singleList = new ArrayList<>();
-				singleList.add(test);
-				List<File> generated = compileTests(singleList, dir);
-				if (generated == null) {
+			boolean removed = false;
+			Iterator<TestCase> iter = tests.iterator();
+			for (int i = 0; iter.hasNext(); i++) {
+				TestCase test = iter.next();
+				List<Diagnostic<? extends JavaFileObject>> testErrors = errors.get(compilationUnits.get(name + "_" + i));
+				if (testErrors != null) {
 					iter.remove();
-					String code = test.toCode();
-					logger.error("Failed to compile test case:\n" + code);
-				}
-			} finally {
-				//let's be sure we clean up all what we wrote on disk
-				if (dir != null) {
-					try {
-						FileUtils.deleteDirectory(dir);
-						logger.debug("Deleted tmp folder: " + dir.getAbsolutePath());
-					} catch (Exception e) {
-						logger.error("Cannot delete tmp dir: " + dir.getAbsolutePath(), e);
+					removed = true;
+					StringBuilder sb = new StringBuilder();
+					sb.append("Failed to compile test case:\n").append(test.toCode());
+					for (Diagnostic<? extends JavaFileObject> diagnostic : testErrors) {
+						sb.append("\nDiagnostic: ").append(diagnostic.getMessage(null)).append(": ")
+								.append(diagnostic.getLineNumber());
 					}
+					logger.error(sb.toString());
 				}
 			}
 
+			if (!removed) {
+				// the errors are in units that are not tests, compiling again would not change them
+				logCompilationFailure(compilationUnits.keySet(), sources, diagnostics);
+				removeTestsThatDoNotCompileOneByOne(tests);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Compile each test separately, and remove the ones that cannot be
+	 * compiled
+	 * 
+	 * @param tests
+	 */
+	private static void removeTestsThatDoNotCompileOneByOne(List<TestCase> tests) {
+
+		Iterator<TestCase> iter = tests.iterator();
+
+		while (iter.hasNext()) {
+			if(!TimeController.getInstance().hasTimeToExecuteATestCase()) {
+				break;
+			}
+
+			TestCase test = iter.next();
+
+			List<TestCase> singleList = new ArrayList<>();
+			singleList.add(test);
+			Map<String, byte[]> compiled = compileTests(singleList);
+			if (compiled == null) {
+				iter.remove();
+				String code = test.toCode();
+				logger.error("Failed to compile test case:\n" + code);
+			}
 		} // end of while
 	}
 
@@ -159,16 +214,9 @@ public abstract class JUnitAnalyzer {
 			return numUnstable;
 		}
 
-		File dir = createNewTmpDir();
-		if (dir == null) {
-			logger.error("Failed to create tmp dir");
-			return numUnstable;
-		}
-		logger.debug("Created tmp folder: " + dir.getAbsolutePath());
-
 		try {
-			List<File> generated = compileTests(tests, dir);
-			if (generated == null) {
+			Map<String, byte[]> compiled = compileTests(tests);
+			if (compiled == null) {
 				/*
 				 * Note: in theory this shouldn't really happen, as check for compilation
 				 * is done before calling this method
@@ -184,14 +232,14 @@ public abstract class JUnitAnalyzer {
 
             // Create a new classloader so that each test gets freshly loaded classes
 			loader = new NonInstrumentingClassLoader();
-            Class<?>[] testClasses = loadTests(generated);
+            Class<?>[] testClasses = loadTests(compiled);
 
-			if (testClasses == null) {
+			if (testClasses.length == 0) {
 				logger.error("Found no classes for compiled tests");
 				return numUnstable;
 			}
 
-			JUnitResult result = runTests(testClasses, dir);
+			JUnitResult result = runTests(testClasses);
 
 			if (result.wasSuccessful()) {
 				return numUnstable; //everything is OK
@@ -270,24 +318,13 @@ public abstract class JUnitAnalyzer {
 		} catch (Exception e) {
 			logger.error("" + e, e);
 			return numUnstable;
-		} finally {
-			//let's be sure we clean up all what we wrote on disk
-
-			if (dir != null) {
-				try {
-					FileUtils.deleteDirectory(dir);
-				} catch (Exception e) {
-					logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
-				}
-			}
-
 		}
 
 		//if we arrive here, then it means at least one test was unstable
 		return numUnstable;
 	}
 
-	private static JUnitResult runTests(Class<?>[] testClasses, File testClassDir)
+	private static JUnitResult runTests(Class<?>[] testClasses)
 	        throws JUnitExecutionException {
 		return runJUnitOnCurrentProcess(testClasses);
 	}
@@ -312,122 +349,130 @@ public abstract class JUnitAnalyzer {
 	// EvoSuite classloader, and thus cannot easily be re-loaded
 	private static int NUM = 0;
 
-	private static List<File> compileTests(List<TestCase> tests, File dir) {
-
-		TestSuiteWriter suite = new TestSuiteWriter();
-		suite.insertAllTests(tests);
-
+	private static String getNewTestClassName() {
         //to get name, remove all package before last '.'
         int beginIndex = Properties.TARGET_CLASS.lastIndexOf(".") + 1;
 		String name = Properties.TARGET_CLASS.substring(beginIndex);
 		name += "_" +(NUM++) + "_tmp_" + Properties.JUNIT_SUFFIX ; //postfix
+		return name;
+	}
 
-		try {
-			//now generate the JUnit test case
-			List<File> generated = suite.writeTestSuite(name, dir.getAbsolutePath(), Collections.EMPTY_LIST);
-			for (File file : generated) {
-				if (!file.exists()) {
-					logger.error("Supposed to generate " + file
-					        + " but it does not exist");
-					return null;
-				}
-			}
-
-			//try to compile the test cases
-			JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-			if (compiler == null) {
-				logger.error("No Java compiler is available");
-				return null;
-			}
-
-			DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
-			Locale locale = Locale.getDefault();
-			Charset charset = Charset.forName("UTF-8");
-			StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics,
-			                                                                      locale,
-			                                                                      charset);
-
-			Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(generated);
-
-			String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
-			if(JarPathing.containsAPathingJar(evosuiteCP)){
-				evosuiteCP = JarPathing.expandPathingJars(evosuiteCP);
-			}
+	/**
+	 * Compile the given tests in memory
+	 * 
+	 * @param tests
+	 * @return the compiled classes indexed by fully qualified name, or
+	 *         {@code null} if the tests could not be compiled
+	 */
+	private static Map<String, byte[]> compileTests(List<TestCase> tests) {
 
-			String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
-			if(JarPathing.containsAPathingJar(targetProjectCP)){
-				targetProjectCP = JarPathing.expandPathingJars(targetProjectCP);
-			}
+		TestSuiteWriter suite = new TestSuiteWriter();
+		suite.insertAllTests(tests);
 
-			String classpath = targetProjectCP + File.pathSeparator + evosuiteCP;
+		String name = getNewTestClassName();
 
-			List<String> optionList = new ArrayList<>(Arrays.asList("-classpath", classpath));
+		//now generate the JUnit test case
+		Map<String, String> sources = suite.getTestSuiteSources(name, Collections.emptyList(),
+				Properties.OUTPUT_GRANULARITY == Properties.OutputGranularity.TESTCASE);
+		Map<String, JavaFileObject> compilationUnits = createCompilationUnits(sources);
 
-			CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
-			                                        optionList, null, compilationUnits);
-			boolean compiled = task.call();
-			fileManager.close();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		Map<String, byte[]> compiled = compileInMemory(compilationUnits.values(), diagnostics);
+		if (compiled == null) {
+			logCompilationFailure(compilationUnits.keySet(), sources, diagnostics);
+		}
+		return compiled;
+	}
 
-			if (!compiled) {
-				logger.error("Compilation failed on compilation units: "+ compilationUnits);
-				logger.error("Classpath: "+classpath);
-				//TODO remove
-				logger.error("evosuiteCP: "+evosuiteCP);
+	private static Map<String, JavaFileObject> createCompilationUnits(Map<String, String> sources) {
+		String packagePrefix = getPackagePrefix();
+		Map<String, JavaFileObject> compilationUnits = new LinkedHashMap<>();
+		for (Map.Entry<String, String> source : sources.entrySet()) {
+			compilationUnits.put(source.getKey(),
+					InMemoryJavaFileManager.createSource(packagePrefix + source.getKey(), source.getValue()));
+		}
+		return compilationUnits;
+	}
 
+	/**
+	 * Compile the given classes in a single compilation task, without writing
+	 * anything on disk
+	 * 
+	 * @param compilationUnits
+	 * @param diagnostics
+	 *            collects the messages of the compiler
+	 * @return the compiled classes indexed by fully qualified name, or
+	 *         {@code null} if the compilation failed
+	 */
+	private static Map<String, byte[]> compileInMemory(Collection<JavaFileObject> compilationUnits,
+			DiagnosticCollector<JavaFileObject> diagnostics) {
 
-				for (Diagnostic<?> diagnostic : diagnostics.getDiagnostics()) {
-					if (diagnostic.getMessage(null).startsWith("error while writing")) {
-						logger.error("Error is due to file permissions, ignoring...");
-						return generated;
-					}
-					logger.error("Diagnostic: " + diagnostic.getMessage(null) + ": "
-					        + diagnostic.getLineNumber());
-				}
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		if (compiler == null) {
+			logger.error("No Java compiler is available");
+			return null;
+		}
 
-				StringBuffer buffer = new StringBuffer();
-				for (JavaFileObject sourceFile : compilationUnits) {
-					List<String> lines = FileUtils.readLines(new File(sourceFile.toUri().getPath()));
+		Locale locale = Locale.getDefault();
+		Charset charset = Charset.forName("UTF-8");
+		StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(diagnostics,
+		                                                                              locale,
+		                                                                              charset);
 
-					buffer.append(compilationUnits.iterator().next().toString()+"\n");
+		// report the errors of all the classes, not only of the first ones
+		List<String> optionList = new ArrayList<>(Arrays.asList("-classpath", getCompilationClasspath(),
+				"-Xmaxerrs", String.valueOf(Integer.MAX_VALUE)));
 
-					for (int i = 0; i < lines.size(); i++) {
-						buffer.append((i + 1) + ": " + lines.get(i) +"\n");
-					}
-				}
-				logger.error(buffer.toString());
+		try (InMemoryJavaFileManager fileManager = new InMemoryJavaFileManager(standardFileManager)) {
+			CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+			                                        optionList, null, compilationUnits);
+			if (!task.call()) {
 				return null;
 			}
-
-			return generated;
-
+			return fileManager.getCompiledClasses();
 		} catch (IOException e) {
 			logger.error("" + e, e);
 			return null;
 		}
 	}
 
-	protected static File createNewTmpDir() {
-		File dir = null;
-		String dirName = FileUtils.getTempDirectoryPath() + File.separator + "EvoSuite_"
-		        + (dirCounter++) + "_" + +System.currentTimeMillis();
+	private static String getCompilationClasspath() {
+		String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
+		if(JarPathing.containsAPathingJar(evosuiteCP)){
+			evosuiteCP = JarPathing.expandPathingJars(evosuiteCP);
+		}
 
-		//first create a tmp folder
-		dir = new File(dirName);
-		if (!dir.mkdirs()) {
-			logger.error("Cannot create tmp dir: " + dirName);
-			return null;
+		String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
+		if(JarPathing.containsAPathingJar(targetProjectCP)){
+			targetProjectCP = JarPathing.expandPathingJars(targetProjectCP);
 		}
 
-		if (!dir.exists()) {
-			logger.error("Weird behavior: we created folder, but Java cannot determine if it exists? Folder: "
-			        + dirName);
-			return null;
+		return targetProjectCP + File.pathSeparator + evosuiteCP;
+	}
+
+	private static void logCompilationFailure(Collection<String> classNames, Map<String, String> sources,
+			DiagnosticCollector<JavaFileObject> diagnostics) {
+		logger.error("Compilation failed on compilation units: " + classNames);
+		logger.error("Classpath: " + getCompilationClasspath());
+
+		for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+			logger.error("Diagnostic: " + diagnostic.getMessage(null) + ": "
+			        + diagnostic.getLineNumber());
 		}
 
-		return dir;
+		StringBuilder buffer = new StringBuilder();
+		for (Map.Entry<String, String> source : sources.entrySet()) {
+			buffer.append(source.getKey() + "\n");
+
+			String[] lines = source.getValue().split("\n");
+			for (int i = 0; i < lines.length; i++) {
+				buffer.append((i + 1) + ": " + lines[i] + "\n");
+			}
+		}
+		logger.error(buffer.toString());
 	}
 
-	private static Class<?>[] loadTests(List<File> tests) {
+	private static Class<?>[] loadTests(Map<String, byte[]> compiled) {
 
 		/*
 		 * Ideally, when we run a generated test case, it
@@ -441,67 +486,42 @@ public abstract class JUnitAnalyzer {
 		 * non-instrumenting classloader to re-load the CUT, and so see
 		 * if the JavaAgent works properly.
 		 */
-		Class<?>[] testClasses = getClassesFromFiles(tests);
-		List<File> otherClasses = listOnlyFiles(tests);
+
 		/*
-		 * this is important to force the loading of all files generated
-		 * in the target folder.
-		 * If we do not do that, then we will miss all the anonymous classes 
+		 * first load only the scaffolding files
 		 */
-		getClassesFromFiles(otherClasses);
-
-		return testClasses;
-	}
-
-	private static List<File> listOnlyFiles(List<File> tests) throws IllegalArgumentException{
-		if(tests==null || tests.isEmpty()){
-			return null;
-		}
-
-		Set<String> classNames = new LinkedHashSet<>();
-		
-		File parentFolder = tests.get(0).getParentFile();
-		for(File file : tests){
-			if(!file.getParentFile().equals(parentFolder)){
-				throw new IllegalArgumentException("Tests file are not in the same folder");
+		for (Map.Entry<String, byte[]> entry : compiled.entrySet()) {
+			if (isScaffolding(entry.getKey())) {
+				loadClass(entry.getKey(), entry.getValue());
 			}
-			classNames.add(removeFileExtension(file.getName()));
 		}
-		
+
 		/*
-		 * if we already loaded a CUT due to its .java, do not want
-		 * to re-loaded it for a .class file that is in the same folder
+		 * once the scaffoldings are loaded, we can load the tests that
+		 * depend on them 
 		 */
-		
-		List<File> otherClasses = new LinkedList<>();
-		
-		for(File file : parentFolder.listFiles()){
-			String  name = removeFileExtension(file.getName());
-
-			if(classNames.contains(name)){
+		List<Class<?>> testClasses = new ArrayList<>();
+		for (Map.Entry<String, byte[]> entry : compiled.entrySet()) {
+			if (isScaffolding(entry.getKey()) || entry.getKey().contains("$")) {
 				continue;
 			}
-			
-			classNames.add(name);
-			otherClasses.add(file);
-		}
-		
-		return otherClasses;
-	}
-	
-
-	private static String removeFileExtension(String str) {
-		if (str == null) {
-			return null;
+			Class<?> clazz = loadClass(entry.getKey(), entry.getValue());
+			if (clazz != null) {
+				testClasses.add(clazz);
+			}
 		}
 
-		int pos = str.lastIndexOf(".");
-
-		if (pos == -1) {
-			return str;
+		/*
+		 * this is important to force the loading of all the generated classes.
+		 * If we do not do that, then we will miss all the anonymous classes 
+		 */
+		for (Map.Entry<String, byte[]> entry : compiled.entrySet()) {
+			if (entry.getKey().contains("$")) {
+				loadClass(entry.getKey(), entry.getValue());
+			}
 		}
 
-		return str.substring(0, pos);
+		return testClasses.toArray(new Class<?>[testClasses.size()]);
 	}
 
 	/**
@@ -514,8 +534,7 @@ public abstract class JUnitAnalyzer {
 	 * </p>
 	 * 
 	 * <p>
-	 * Here we compile to a tmp folder, load and execute the test cases, and
-	 * then clean up (ie delete all generated files).
+	 * Here we compile the test cases in memory, load and execute them.
 	 * </p>
 	 * 
 	 * @param tests
@@ -529,29 +548,23 @@ public abstract class JUnitAnalyzer {
 			return true;
 		}
 
-		File dir = createNewTmpDir();
-		if (dir == null) {
-			logger.warn("Failed to create tmp dir");
-			return false;
-		}
-
 		try {
-			List<File> generated = compileTests(tests, dir);
-			if (generated == null) {
+			Map<String, byte[]> compiled = compileTests(tests);
+			if (compiled == null) {
 				logger.warn("Failed to compile the test cases ");
 				return false;
 			}
 
 			//as last step, execute the generated/compiled test cases
 
-			Class<?>[] testClasses = loadTests(generated);
+			Class<?>[] testClasses = loadTests(compiled);
 
-			if (testClasses == null) {
+			if (testClasses.length == 0) {
 				logger.error("Found no classes for compiled tests");
 				return false;
 			}
 
-			JUnitResult result = runTests(testClasses, dir);
+			JUnitResult result = runTests(testClasses);
 
 			if (!result.wasSuccessful()) {
 				logger.error("" + result.getFailureCount() + " test cases failed");
@@ -575,15 +588,6 @@ public abstract class JUnitAnalyzer {
 		} catch (Exception e) {
 			logger.error("" + e, e);
 			return false;
-		} finally {
-			//let's be sure we clean up all what we wrote on disk
-			if (dir != null) {
-				try {
-					FileUtils.deleteDirectory(dir);
-				} catch (IOException e) {
-					logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
-				}
-			}
 		}
 
 		logger.debug("Successfully compiled and run test cases generated for "
@@ -591,89 +595,26 @@ public abstract class JUnitAnalyzer {
 		return true;
 	}
 
-	/**
-	 * Given a list of files representing .java/.class classes, load them (it
-	 * assumes the classpath to be correctly set)
-	 * 
-	 * @param files
-	 * @return
-	 */
-	private static Class<?>[] getClassesFromFiles(Collection<File> files) {
-		/*
-		 * first load only the scaffolding files
-		 */
-		for (File file : files) {
-			if(!isScaffolding(file)){
-				continue;
-			}
-			loadClass(file);			
-		}
-		
-		List<Class<?>> classes = new ArrayList<>();
-		
-		/*
-		 * once the scaffoldings are loaded, we can load the tests that
-		 * depend on them 
-		 */
-		for (File file : files) {
-			if(isScaffolding(file)){
-				continue;
-			}
-			Class<?> clazz = loadClass(file);
-			if(clazz != null){
-				classes.add(clazz);
-			}
-		}
-		
-		return classes.toArray(new Class<?>[classes.size()]);
-	}
-
-	private static boolean isScaffolding(File file){
-		String name = file.getName();
-		return name.endsWith("_"+Properties.SCAFFOLDING_SUFFIX+JAVA) || 
-				name.endsWith("_"+Properties.SCAFFOLDING_SUFFIX+CLASS);
-	}
-	
-	private static Class<?> loadClass(File file){
-		if (!file.isFile()) {
-			return null;
-		}
-
+	private static String getPackagePrefix() {
 		String packagePrefix = Properties.CLASS_PREFIX;
 		if (!packagePrefix.isEmpty() && !packagePrefix.endsWith(".")) {
 			packagePrefix += ".";
 		}
+		return packagePrefix;
+	}
 
-		String name = file.getName();
-
-		if (!name.endsWith(JAVA) && !name.endsWith(CLASS)) {
-			/*
-			 * this could happen when we scan a folder for all src/compiled
-			 * files
-			 */
-			return null;
-		}
-
-		String fileName = file.getAbsolutePath();
-
-		if (name.endsWith(JAVA)) {
-			name = name.substring(0, name.length() - JAVA.length());
-			fileName = fileName.substring(0, fileName.length() - JAVA.length()) + ".class";
-		} else {
-			assert name.endsWith(CLASS);
-			name = name.substring(0, name.length() - CLASS.length());
-		}
-
-		String className = packagePrefix + name;
-
+	private static boolean isScaffolding(String name){
+		return name.endsWith("_"+Properties.SCAFFOLDING_SUFFIX) ||
+				name.endsWith("_"+Properties.SCAFFOLDING_SUFFIX+JavaFileObject.Kind.SOURCE.extension);
+	}
+	
+	private static Class<?> loadClass(String className, byte[] classBytes){
 		Class<?> testClass = null;
 		try {
 			logger.info("Loading class " + className);
-			//testClass = ((InstrumentingClassLoader) TestGenerationContext.getInstance().getClassLoaderForSUT()).loadClassFromFile(className,
-			testClass = loader.loadClassFromFile(className,fileName);
+			testClass = loader.loadClassFromBytes(className, classBytes);
 		} catch (ClassNotFoundException e) {
-			logger.error("Failed to load test case " + className + " from file "
-			        + file.getAbsolutePath() + " , error " + e, e);
+			logger.error("Failed to load test case " + className + " , error " + e, e);
 		}
 		return testClass;
 	}
@@ -690,6 +690,11 @@ public class Scaffolding {
 		bd.append(BLOCK_SPACE);
 		bd.append(RuntimeSettings.class.getName()).append(".maxNumberOfIterationsPerLoop = ").append(Properties.MAX_LOOP_ITERATIONS).append("; \n");
 
+		if (Properties.VIRTUAL_FS) {
+			bd.append(BLOCK_SPACE);
+			bd.append(RuntimeSettings.class.getName()).append(".maxVirtualFileSystemSize = ").append(Properties.MAX_VIRTUAL_FS_SIZE).append("L; \n");
+		}
+
 		if (Properties.REPLACE_SYSTEM_IN) {
 			bd.append(BLOCK_SPACE);
 			bd.append(RuntimeSettings.class.getName()).append(".mockSystemIn = true; \n");
@@ -26,7 +26,9 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
@@ -345,12 +347,11 @@ public class ClientNodeImpl<T extends Chromosome<T>>
 			statisticsThread.interrupt();
 			List<OutputVariable> vars = new ArrayList<>();
 			outputVariableQueue.drainTo(vars);
-			for(OutputVariable ov : vars) {
+			if(!vars.isEmpty()) {
 				try {
-					masterNode.evosuite_collectStatistics(clientRmiIdentifier, ov.variable, ov.value);
+					sendOutputVariables(vars);
 				} catch (RemoteException e) {
-					logger.error("Error when exporting statistics: "+ov.variable+"="+ov.value, e);
-					break;
+					logger.error("Error when exporting statistics: "+vars.size()+" output variables", e);
 				}
 			}
 
@@ -365,6 +366,20 @@ public class ClientNodeImpl<T extends Chromosome<T>>
 		changeState(ClientState.FINISHED);
 	}
 
+	private void sendOutputVariables(List<OutputVariable> vars) throws RemoteException {
+		if(vars.size() == 1) {
+			OutputVariable ov = vars.get(0);
+			masterNode.evosuite_collectStatistics(clientRmiIdentifier, ov.variable, ov.value);
+			return;
+		}
+		// only the latest value of a variable matters
+		Map<RuntimeVariable, Object> values = new LinkedHashMap<>();
+		for(OutputVariable ov : vars) {
+			values.put(ov.variable, ov.value);
+		}
+		masterNode.evosuite_collectStatistics(clientRmiIdentifier, values);
+	}
+
 	@Override
 	public boolean init() {
 		try {
@@ -377,14 +392,19 @@ public class ClientNodeImpl<T extends Chromosome<T>>
 				@Override
 				public void run() {
 					while (!this.isInterrupted()) {
-						OutputVariable ov = null;
+						List<OutputVariable> vars = new ArrayList<>();
 						try {
-							ov = outputVariableQueue.take(); //this is blocking
-							masterNode.evosuite_collectStatistics(clientRmiIdentifier, ov.variable, ov.value);
+							vars.add(outputVariableQueue.take()); //this is blocking
+							/*
+							 * the variables tracked while the previous ones were being sent
+							 * are sent together, rather than with one remote call each
+							 */
+							outputVariableQueue.drainTo(vars);
+							sendOutputVariables(vars);
 						} catch (InterruptedException e) {
 							break;
 						} catch (RemoteException e) {
-							logger.error("Error when exporting statistics: "+ov.variable+"="+ov.value, e);
+							logger.error("Error when exporting statistics: "+vars.size()+" output variables", e);
 							break;
 						}
 					}
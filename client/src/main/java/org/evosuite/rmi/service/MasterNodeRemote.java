@@ -22,6 +22,7 @@ package org.evosuite.rmi.service;
 import java.rmi.Remote;
 import java.rmi.RemoteException;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.evosuite.Properties.NoSuchParameterException;
@@ -51,6 +52,11 @@ public interface MasterNodeRemote extends Remote {
 
 	void evosuite_collectStatistics(String clientRmiIdentifier, RuntimeVariable variable, Object value) throws RemoteException;
 
+	/**
+	 * Collect several output variables with a single remote call
+	 */
+	void evosuite_collectStatistics(String clientRmiIdentifier, Map<RuntimeVariable, Object> values) throws RemoteException;
+
 	void evosuite_collectTestGenerationResult(String clientRmiIdentifier, List<TestGenerationResult> results) throws RemoteException;
 
 	void evosuite_flushStatisticsForClassChange(String clientRmiIdentifier) throws RemoteException;
@@ -109,6 +109,9 @@ public class DependencyAnalysis {
 		}
 
 		CallGraph callGraph = callGraphs.get(className);
+		if (Properties.INSTRUMENTATION_THREADS > 1) {
+			preInstrumentDependencies(callGraph);
+		}
 		loadCallTreeClasses(callGraph);
 
 		logger.debug("Create test cluster");
@@ -157,6 +160,18 @@ public class DependencyAnalysis {
 		return targetClasses;
 	}
 
+	/**
+	 * Instruments the dependencies of the target class (the superclasses of the
+	 * target and the classes in its call graph) on several threads, before the
+	 * test cluster loads them one by one.
+	 */
+	private static void preInstrumentDependencies(CallGraph callGraph) {
+		Set<String> classes = new LinkedHashSet<>(inheritanceTree.getSuperclasses(Properties.TARGET_CLASS));
+		classes.addAll(callGraph.getClasses());
+		TestGenerationContext.getInstance().getClassLoaderForSUT().preInstrument(classes,
+				Properties.INSTRUMENTATION_THREADS);
+	}
+
 	private static void loadCallTreeClasses(CallGraph callGraph) {
 		for (String className : callGraph.getClasses()) {
 			if (className.startsWith(Properties.TARGET_CLASS + "$")) {
@@ -268,7 +268,7 @@ public class TestCluster {
 		generatorCache.keySet().removeIf(clazz -> clazz.isAssignableFrom(klass));
 	}
 
-	public void handleRuntimeAccesses(TestCase test) {
+	public synchronized void handleRuntimeAccesses(TestCase test) {
 		environmentAugmenter.handleRuntimeAccesses(test);
 	}
 
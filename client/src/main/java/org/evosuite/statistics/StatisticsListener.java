@@ -74,6 +74,14 @@ public class StatisticsListener<T extends Chromosome<T>> implements SearchListen
 				T individual;
 				try {
 					individual = individuals.take();
+					/*
+					 * If more individuals were queued while the previous one was
+					 * being sent, only the latest is still current
+					 */
+					T latest;
+					while((latest = individuals.poll()) != null) {
+						individual = latest;
+					}
 					StatisticsSender.sendIndividualToMaster(individual);
 				} catch (InterruptedException e) {
 					done = true;
@@ -33,6 +33,7 @@ import org.evosuite.symbolic.dse.algorithm.strategies.PathExtensionStrategy;
 import org.evosuite.symbolic.dse.algorithm.strategies.TestCaseBuildingStrategy;
 import org.evosuite.symbolic.dse.algorithm.strategies.TestCaseSelectionStrategy;
 import org.evosuite.symbolic.dse.algorithm.strategies.implementations.CachingStrategies.CacheQueryResult;
+import org.evosuite.symbolic.dse.algorithm.strategies.implementations.CachingStrategies.QueryCache;
 import org.evosuite.symbolic.expr.Constraint;
 import org.evosuite.symbolic.solver.Solver;
 import org.evosuite.symbolic.solver.SolverEmptyQueryException;
@@ -55,7 +56,6 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -121,7 +121,7 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
     /**
      * A cache of previous results from the constraint solver
      **/
-    protected final transient Map<Set<Constraint<?>>, SolverResult> queryCache = new HashMap<>();
+    protected final transient QueryCache queryCache = new QueryCache();
 
     /**
      * Exploration strategies
@@ -20,10 +20,9 @@
 package org.evosuite.symbolic.dse.algorithm.strategies;
 
 import org.evosuite.symbolic.dse.algorithm.strategies.implementations.CachingStrategies.CacheQueryResult;
+import org.evosuite.symbolic.dse.algorithm.strategies.implementations.CachingStrategies.QueryCache;
 import org.evosuite.symbolic.expr.Constraint;
-import org.evosuite.symbolic.solver.SolverResult;
 
-import java.util.Map;
 import java.util.Set;
 
 /**
@@ -32,5 +31,5 @@ import java.util.Set;
  * @author ignacio lebrero
  */
 public interface CachingStrategy {
-    CacheQueryResult checkCache(Set<Constraint<?>> constraintSet, Map<Set<Constraint<?>>, SolverResult> queryCache);
+    CacheQueryResult checkCache(Set<Constraint<?>> constraintSet, QueryCache queryCache);
 }
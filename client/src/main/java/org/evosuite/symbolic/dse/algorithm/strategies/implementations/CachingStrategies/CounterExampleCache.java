@@ -19,27 +19,34 @@
  */
 package org.evosuite.symbolic.dse.algorithm.strategies.implementations.CachingStrategies;
 
-import org.evosuite.symbolic.PathConditionUtils;
 import org.evosuite.symbolic.dse.DSEStatistics;
 import org.evosuite.symbolic.dse.algorithm.strategies.CachingStrategy;
 import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.Variable;
 import org.evosuite.symbolic.solver.SolverResult;
+import org.evosuite.symbolic.solver.SolverUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 /**
- * Resembles checks (a) and (b) of a counter-example cache strategy.
- *     (b) Is performed only if exactly the same constraint set is found.
- *     TODO: Implement the solution for supersets.
+ * Resembles checks (a), (b) and (c) of a counter-example cache strategy.
+ *     (b) Only the values of the variables of the current query are taken from the supra set solution.
+ *     (c) Solutions of sub sets are evaluated against the current query before being used.
  *
  * Counter-example cache strategy: Maps sets of constraints to counter-examples and performs three optimizations:
  *    (a)  When a subset of a constraint set has no solution, then neither does the original set. i.e. as the query x>10 ∧ x<5 has no solution, neither does the original query x>10 ∧ x<5 ∧ y=0
  *    (b)  When a superset of a constraint set has a solution, that solution also satisfies the original set.  i.e. x=14 is the solution for the query x>0 ∧ x<5, thus it satisfies either x>0 or x<5 individually
  *    (c)  When a subset of a constraint set has a solution, it is likely that this is also a solution for the original set
  *
+ * Sub sets and supra sets are looked up through the index of the {@link QueryCache}.
+ *
  * @author Ignacio Lebrero
  */
 public class CounterExampleCache implements CachingStrategy {
@@ -47,64 +54,127 @@ public class CounterExampleCache implements CachingStrategy {
     private static final Logger logger = LoggerFactory.getLogger(CounterExampleCache.class);
     private static final DSEStatistics statisticsLogger = DSEStatistics.getInstance();
 
+    /** Maximum number of sub set solutions evaluated against a query */
+    public static final int MAX_REUSED_SUB_SET_SOLUTIONS = 10;
+
     @Override
-    public CacheQueryResult checkCache(Set<Constraint<?>> query, Map<Set<Constraint<?>>, SolverResult> queryCache) {
+    public CacheQueryResult checkCache(Set<Constraint<?>> query, QueryCache queryCache) {
       statisticsLogger.reportNewQueryCacheCall();
 
       // Cache hit of an exact set solution
-      if (queryCache.keySet().contains(query)) {
-        SolverResult cachedResult = queryCache.get(query);
-
-        if (cachedResult.isSAT()) {
+      SolverResult exactResult = queryCache.get(query);
+      if (exactResult != null) {
+        if (exactResult.isSAT()) {
           statisticsLogger.reportNewQueryCacheHit();
           logger.debug("skipping solving of current query since it is in the query cache");
-          return new CacheQueryResult(cachedResult.getModel(), CacheQueryStatus.HIT_SAT);
+          return new CacheQueryResult(exactResult.getModel(), CacheQueryStatus.HIT_SAT);
 
-        } else if (cachedResult.isUNSAT()) {
+        } else if (exactResult.isUNSAT()) {
           statisticsLogger.reportNewQueryCacheHit();
           logger.debug("skipping current query since it is in the query cache and it unsatisfiable");
           return new CacheQueryResult(CacheQueryStatus.HIT_UNSAT);
         }
       }
 
-      // Cache hit of a sub set solution
-      if (PathConditionUtils.isConstraintSetSupraSetOf(query, queryCache.keySet())) {
-        Set<Constraint<?>> subSetSolution = PathConditionUtils.getConstraintSetSupraSetOf(query, queryCache.keySet());
-        SolverResult cachedResult = queryCache.get(subSetSolution);
+      List<Set<Constraint<?>>> subSets = queryCache.getSubSetsOf(query);
+      boolean hasSatSubSet = false;
+      for (Set<Constraint<?>> subSet : subSets) {
+        SolverResult cachedResult = queryCache.get(subSet);
 
-        // Case (a) for sub sets: the query is a supra set of a sat solution. Heuristics can be implemented here
-        if (cachedResult.isSAT()) {
-          // TODO: implement me!
-          return new CacheQueryResult(CacheQueryStatus.MISS);
-
-        // Case (b) for sub sets: the query is a supra set of an unsat solution
-        } else if (cachedResult.isUNSAT()) {
+        // Case (a) for sub sets: the query is a supra set of an unsat solution
+        if (cachedResult.isUNSAT()) {
           statisticsLogger.reportNewQueryCacheHit();
-          logger.debug("skipping current query since it is in the query cache and it unsatisfiable");
+          logger.debug("skipping current query since a sub set of it is in the query cache and it unsatisfiable");
           return new CacheQueryResult(CacheQueryStatus.HIT_UNSAT);
+        } else if (cachedResult.isSAT()) {
+          hasSatSubSet = true;
         }
-
       }
 
-      // Cache hit of a supra set solution
-      if (PathConditionUtils.isConstraintSetSubSetOf(query, queryCache.keySet())) {
-        Set<Constraint<?>> supraSetSolution = PathConditionUtils.getConstraintSetSubSetOf(query, queryCache.keySet());
-        SolverResult cachedResult = queryCache.get(supraSetSolution);
+      // Case (b) for supra sets: The query is sat as there was a bigger query that was SAT
+      for (Set<Constraint<?>> supraSet : queryCache.getSupraSetsOf(query)) {
+        SolverResult cachedResult = queryCache.get(supraSet);
 
-        // Case (c) of Counter-example cache: Heuristics can be implemented here
-        if (cachedResult.isUNSAT()) {
-          // TODO: implement me!
-          return new CacheQueryResult(CacheQueryStatus.MISS);
+        if (cachedResult.isSAT()) {
+          // The rest of the solution may differ with other elements of this path, only the values of the query
+          // variables are reused.
+          statisticsLogger.reportNewQueryCacheHit();
+          logger.debug("skipping solving of current query since a supra set of it is in the query cache");
+          return new CacheQueryResult(getModelForQuery(query, cachedResult.getModel()), CacheQueryStatus.HIT_SAT);
+        }
+      }
 
-        // Case (b) for for supra sets: The query is sat as there was a bigger query that was SAT
-        } else if (cachedResult.isSAT()) {
-          // TODO: Implement me!
-          // We cannot use all the solution model from the superset as it may differ with other elements of this path.
-          // Implementation idea: reuse only the necessary elements of the model.
-          return new CacheQueryResult(CacheQueryStatus.MISS);
+      // Case (c) for sub sets: the query is a supra set of a sat solution, the biggest sub sets are tried first
+      if (hasSatSubSet) {
+        Map<String, Object> reusedModel = reuseSubSetSolution(query, subSets, queryCache);
+        if (reusedModel != null) {
+          statisticsLogger.reportNewQueryCacheHit();
+          logger.debug("skipping solving of current query since a solution of a sub set of it also satisfies it");
+          return new CacheQueryResult(reusedModel, CacheQueryStatus.HIT_SAT);
         }
       }
 
       return new CacheQueryResult(CacheQueryStatus.MISS);
     }
-}
\ No newline at end of file
+
+    /**
+     * Evaluates the solutions of the biggest satisfiable sub sets against the query (including the bounds of its
+     * variables).
+     *
+     * @param query
+     * @param subSets
+     * @param queryCache
+     * @return the first solution that satisfies the query, null if there is none.
+     */
+    private Map<String, Object> reuseSubSetSolution(Set<Constraint<?>> query, List<Set<Constraint<?>>> subSets, QueryCache queryCache) {
+      List<Set<Constraint<?>>> candidates = new ArrayList<>(subSets);
+      candidates.sort((s1, s2) -> Integer.compare(s2.size(), s1.size()));
+
+      List<Constraint<?>> boundedQuery = new ArrayList<>(query);
+      boundedQuery.addAll(SolverUtils.createBoundsForQueryVariables(boundedQuery));
+
+      int tried = 0;
+      for (Set<Constraint<?>> candidate : candidates) {
+        if (tried >= MAX_REUSED_SUB_SET_SOLUTIONS) break;
+
+        SolverResult cachedResult = queryCache.get(candidate);
+        if (!cachedResult.isSAT()) continue;
+
+        tried++;
+        Map<String, Object> model = getModelForQuery(query, cachedResult.getModel());
+        try {
+          if (SolverUtils.isSolution(boundedQuery, model)) {
+            return model;
+          }
+        } catch (RuntimeException e) {
+          logger.debug("unable to evaluate a cached solution against the current query: {}", e.getMessage());
+        }
+      }
+
+      return null;
+    }
+
+    /**
+     * Keeps only the values of the variables that appear in the query.
+     *
+     * @param query
+     * @param model
+     * @return
+     */
+    private static Map<String, Object> getModelForQuery(Set<Constraint<?>> query, Map<String, Object> model) {
+      Set<String> variableNames = new HashSet<>();
+      for (Constraint<?> constraint : query) {
+        for (Variable<?> variable : constraint.getVariables()) {
+          variableNames.add(variable.getName());
+        }
+      }
+
+      Map<String, Object> queryModel = new HashMap<>();
+      for (Map.Entry<String, Object> entry : model.entrySet()) {
+        if (variableNames.contains(entry.getKey())) {
+          queryModel.put(entry.getKey(), entry.getValue());
+        }
+      }
+      return queryModel;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.dse.algorithm.strategies.implementations.CachingStrategies;
+
+import org.evosuite.symbolic.PathConditionUtils;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.solver.SolverResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache of previous results from the constraint solver, indexed by the constraints of the cached queries.
+ *
+ * Every cached query is registered in an inverted index that maps each constraint to the queries containing it,
+ * so that looking up the cached sub sets or supra sets of a query only visits the queries sharing constraints
+ * with it, instead of every cached query.
+ *
+ * NOTE: Cached queries are used as keys and must not be modified after being added.
+ *
+ * @author Ignacio Lebrero
+ */
+public class QueryCache {
+
+    public static final String SOLVER_RESULT_CANNOT_BE_NULL = "Solver result cannot be null.";
+
+    private final Map<Set<Constraint<?>>, SolverResult> results = new HashMap<>();
+
+    /** Constraint -> cached queries that contain it */
+    private final Map<Constraint<?>, List<Set<Constraint<?>>>> queriesByConstraint = new HashMap<>();
+
+    /** The empty query is a sub set of every other query, it has no entries in the index */
+    private Set<Constraint<?>> emptyQuery = null;
+
+    public int size() {
+        return results.size();
+    }
+
+    public boolean containsKey(Set<Constraint<?>> query) {
+        return results.containsKey(query);
+    }
+
+    public SolverResult get(Set<Constraint<?>> query) {
+        return results.get(query);
+    }
+
+    public void put(Set<Constraint<?>> query, SolverResult result) {
+        if (query == null) throw new IllegalArgumentException(PathConditionUtils.QUERY_CANNOT_BE_NULL_EXCEPTION_MESSAGE);
+        if (result == null) throw new IllegalArgumentException(SOLVER_RESULT_CANNOT_BE_NULL);
+
+        if (results.put(query, result) != null) {
+            // Already indexed
+            return;
+        }
+
+        if (query.isEmpty()) {
+            emptyQuery = query;
+            return;
+        }
+
+        for (Constraint<?> constraint : query) {
+            queriesByConstraint.computeIfAbsent(constraint, c -> new ArrayList<>()).add(query);
+        }
+    }
+
+    /**
+     * Returns the cached queries that contain all the constraints of the given query (including the query itself if
+     * it is cached).
+     *
+     * Only the cached queries containing the least frequent constraint of the query are checked.
+     *
+     * @param query
+     * @return
+     */
+    public List<Set<Constraint<?>>> getSupraSetsOf(Set<Constraint<?>> query) {
+        if (query == null) throw new IllegalArgumentException(PathConditionUtils.QUERY_CANNOT_BE_NULL_EXCEPTION_MESSAGE);
+
+        if (query.isEmpty()) {
+            return new ArrayList<>(results.keySet());
+        }
+
+        List<Set<Constraint<?>>> candidates = null;
+        for (Constraint<?> constraint : query) {
+            List<Set<Constraint<?>>> queries = queriesByConstraint.get(constraint);
+            if (queries == null) {
+                // No cached query contains this constraint
+                return Collections.emptyList();
+            }
+            if (candidates == null || queries.size() < candidates.size()) {
+                candidates = queries;
+            }
+        }
+
+        List<Set<Constraint<?>>> supraSets = new ArrayList<>();
+        for (Set<Constraint<?>> candidate : candidates) {
+            if (candidate.size() >= query.size() && candidate.containsAll(query)) {
+                supraSets.add(candidate);
+            }
+        }
+        return supraSets;
+    }
+
+    /**
+     * Returns the cached queries whose constraints are all contained in the given query (including the query itself
+     * if it is cached).
+     *
+     * Cached queries are found by counting how many of their constraints appear in the query, so only the cached
+     * queries sharing at least one constraint with it are visited.
+     *
+     * @param query
+     * @return
+     */
+    public List<Set<Constraint<?>>> getSubSetsOf(Set<Constraint<?>> query) {
+        if (query == null) throw new IllegalArgumentException(PathConditionUtils.QUERY_CANNOT_BE_NULL_EXCEPTION_MESSAGE);
+
+        List<Set<Constraint<?>>> subSets = new ArrayList<>();
+        if (emptyQuery != null) {
+            subSets.add(emptyQuery);
+        }
+
+        Map<Set<Constraint<?>>, Integer> sharedConstraints = new IdentityHashMap<>();
+        for (Constraint<?> constraint : query) {
+            List<Set<Constraint<?>>> queries = queriesByConstraint.get(constraint);
+            if (queries == null) continue;
+
+            for (Set<Constraint<?>> cachedQuery : queries) {
+                int shared = sharedConstraints.merge(cachedQuery, 1, Integer::sum);
+                if (shared == cachedQuery.size()) {
+                    subSets.add(cachedQuery);
+                }
+            }
+        }
+        return subSets;
+    }
+}
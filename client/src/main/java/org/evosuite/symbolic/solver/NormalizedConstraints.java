@@ -0,0 +1,304 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.solver.smt.ExprToSmtVisitor;
+import org.evosuite.symbolic.solver.smt.SmtArrayConstant;
+import org.evosuite.symbolic.solver.smt.SmtArrayVariable;
+import org.evosuite.symbolic.solver.smt.SmtBooleanConstant;
+import org.evosuite.symbolic.solver.smt.SmtExpr;
+import org.evosuite.symbolic.solver.smt.SmtExprPrinter;
+import org.evosuite.symbolic.solver.smt.SmtExprVisitor;
+import org.evosuite.symbolic.solver.smt.SmtIntConstant;
+import org.evosuite.symbolic.solver.smt.SmtIntVariable;
+import org.evosuite.symbolic.solver.smt.SmtOperation;
+import org.evosuite.symbolic.solver.smt.SmtRealConstant;
+import org.evosuite.symbolic.solver.smt.SmtRealVariable;
+import org.evosuite.symbolic.solver.smt.SmtStringConstant;
+import org.evosuite.symbolic.solver.smt.SmtStringVariable;
+import org.evosuite.symbolic.solver.smt.SmtVariable;
+
+/**
+ * Canonical form of a query, used as a key by the {@link SolverCache}.
+ *
+ * <p>
+ * Each constraint is translated to SMT, which folds all sub-expressions that do
+ * not depend on a symbolic variable into constants. Constraints are then
+ * de-duplicated and sorted by their shape (their printed form with all the
+ * variables replaced by their sort), and variables are renamed in order of
+ * first occurrence. Queries that only differ in the names of their variables
+ * or in the order of their constraints therefore share the same key.
+ * </p>
+ *
+ * <p>
+ * Models are stored in terms of the canonical variable names and translated
+ * back to the names of the query they are returned for.
+ * </p>
+ */
+final class NormalizedConstraints {
+
+	private final String key;
+
+	/** Canonical variable name -> variable name in the query */
+	private final Map<String, String> queryNames;
+
+	/** Variable name in the query -> canonical variable name */
+	private final Map<String, String> canonicalNames;
+
+	private NormalizedConstraints(String key, Map<String, String> canonicalNames) {
+		this.key = key;
+		this.canonicalNames = canonicalNames;
+		this.queryNames = new HashMap<>();
+		for (Map.Entry<String, String> entry : canonicalNames.entrySet()) {
+			queryNames.put(entry.getValue(), entry.getKey());
+		}
+	}
+
+	/**
+	 * Computes the canonical form of the given constraints
+	 *
+	 * @param constraints
+	 * @return the canonical form, or <code>null</code> if the constraints cannot
+	 *         be translated to SMT
+	 */
+	public static NormalizedConstraints normalize(Collection<Constraint<?>> constraints) {
+		List<NormalizedConstraint> normalized = new ArrayList<>(constraints.size());
+		Set<String> seen = new HashSet<>();
+		try {
+			ExprToSmtVisitor exprVisitor = new ExprToSmtVisitor();
+			ShapePrinter shapePrinter = new ShapePrinter(null, false);
+			ShapePrinter namePrinter = new ShapePrinter(null, true);
+			for (Constraint<?> constraint : constraints) {
+				SmtExpr left = constraint.getLeftOperand().accept(exprVisitor, null);
+				SmtExpr right = constraint.getRightOperand().accept(exprVisitor, null);
+				if (left == null || right == null) {
+					return null;
+				}
+				String comparator = constraint.getComparator().name();
+				String text = print(comparator, left, right, namePrinter);
+				if (!seen.add(text)) {
+					continue;
+				}
+				String shape = print(comparator, left, right, shapePrinter);
+				normalized.add(new NormalizedConstraint(comparator, left, right, shape, text));
+			}
+		} catch (UnsupportedOperationException e) {
+			return null;
+		}
+
+		normalized.sort((c1, c2) -> {
+			int cmp = c1.shape.compareTo(c2.shape);
+			return cmp != 0 ? cmp : c1.text.compareTo(c2.text);
+		});
+
+		Map<String, String> canonicalNames = new HashMap<>();
+		ShapePrinter renamingPrinter = new ShapePrinter(canonicalNames, false);
+		StringBuilder key = new StringBuilder();
+		for (NormalizedConstraint c : normalized) {
+			key.append(print(c.comparator, c.left, c.right, renamingPrinter));
+			key.append('\n');
+		}
+		return new NormalizedConstraints(key.toString(), canonicalNames);
+	}
+
+	private static String print(String comparator, SmtExpr left, SmtExpr right, ShapePrinter printer) {
+		return "(" + comparator + " " + left.accept(printer, null) + " " + right.accept(printer, null) + ")";
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * Translates a model of the query to the canonical variable names. Values of
+	 * variables that do not occur in the constraints are dropped.
+	 *
+	 * @param model
+	 * @return
+	 */
+	public Map<String, Object> toCanonicalModel(Map<String, Object> model) {
+		return rename(model, canonicalNames);
+	}
+
+	/**
+	 * Translates a model over the canonical variable names back to the variable
+	 * names of the query
+	 *
+	 * @param canonicalModel
+	 * @return
+	 */
+	public Map<String, Object> toQueryModel(Map<String, Object> canonicalModel) {
+		return rename(canonicalModel, queryNames);
+	}
+
+	private static Map<String, Object> rename(Map<String, Object> model, Map<String, String> names) {
+		Map<String, Object> renamed = new HashMap<>();
+		for (Map.Entry<String, Object> entry : model.entrySet()) {
+			String name = names.get(entry.getKey());
+			if (name != null) {
+				renamed.put(name, entry.getValue());
+			}
+		}
+		return renamed;
+	}
+
+	private static final class NormalizedConstraint {
+		private final String comparator;
+		private final SmtExpr left;
+		private final SmtExpr right;
+		private final String shape;
+		private final String text;
+
+		private NormalizedConstraint(String comparator, SmtExpr left, SmtExpr right, String shape, String text) {
+			this.comparator = comparator;
+			this.left = left;
+			this.right = right;
+			this.shape = shape;
+			this.text = text;
+		}
+	}
+
+	/**
+	 * Prints an SMT expression. Variables keep their name, are replaced by their
+	 * sort, or are renamed in order of first occurrence if a renaming is given.
+	 */
+	private static final class ShapePrinter implements SmtExprVisitor<String, Void> {
+
+		private final SmtExprPrinter constantPrinter = new SmtExprPrinter();
+
+		private final Map<String, String> renaming;
+
+		private final boolean keepNames;
+
+		private ShapePrinter(Map<String, String> renaming, boolean keepNames) {
+			this.renaming = renaming;
+			this.keepNames = keepNames;
+		}
+
+		private String variable(SmtVariable v, String sort) {
+			if (renaming != null) {
+				return renaming.computeIfAbsent(v.getName(), name -> "v" + renaming.size()) + ":" + sort;
+			}
+			if (keepNames) {
+				return v.getName() + ":" + sort;
+			}
+			return "?" + sort;
+		}
+
+		@Override
+		public String visit(SmtBooleanConstant n, Void arg) {
+			return n.accept(constantPrinter, null);
+		}
+
+		@Override
+		public String visit(SmtIntConstant n, Void arg) {
+			return n.accept(constantPrinter, null);
+		}
+
+		@Override
+		public String visit(SmtRealConstant n, Void arg) {
+			return n.accept(constantPrinter, null);
+		}
+
+		@Override
+		public String visit(SmtStringConstant n, Void arg) {
+			// quotes are escaped so that constants cannot be confused with the rest of the key
+			String value = n.getConstantValue().replace("\\", "\\\\").replace("\"", "\\\"");
+			return "\"" + value + "\"";
+		}
+
+		@Override
+		public String visit(SmtIntVariable n, Void arg) {
+			return variable(n, "Int");
+		}
+
+		@Override
+		public String visit(SmtRealVariable n, Void arg) {
+			return variable(n, "Real");
+		}
+
+		@Override
+		public String visit(SmtStringVariable n, Void arg) {
+			return variable(n, "String");
+		}
+
+		@Override
+		public String visit(SmtOperation n, Void arg) {
+			StringBuilder result = new StringBuilder();
+			result.append("(");
+			result.append(n.getOperator().toString());
+			for (SmtExpr argument : n.getArguments()) {
+				result.append(" ");
+				result.append(argument.accept(this, null));
+			}
+			result.append(")");
+			return result.toString();
+		}
+
+		@Override
+		public String visit(SmtArrayVariable.SmtIntegerArrayVariable n, Void arg) {
+			return variable(n, "IntArray");
+		}
+
+		@Override
+		public String visit(SmtArrayVariable.SmtRealArrayVariable n, Void arg) {
+			return variable(n, "RealArray");
+		}
+
+		@Override
+		public String visit(SmtArrayVariable.SmtStringArrayVariable n, Void arg) {
+			return variable(n, "StringArray");
+		}
+
+		@Override
+		public String visit(SmtArrayVariable.SmtReferenceArrayVariable n, Void arg) {
+			return variable(n, "ReferenceArray");
+		}
+
+		@Override
+		public String visit(SmtArrayConstant.SmtIntegerArrayConstant n, Void arg) {
+			return n.accept(constantPrinter, null);
+		}
+
+		@Override
+		public String visit(SmtArrayConstant.SmtRealArrayConstant n, Void arg) {
+			return n.accept(constantPrinter, null);
+		}
+
+		@Override
+		public String visit(SmtArrayConstant.SmtStringArrayConstant n, Void arg) {
+			return n.accept(constantPrinter, null);
+		}
+
+		@Override
+		public String visit(SmtArrayConstant.SmtReferenceArrayConstant n, Void arg) {
+			return n.accept(constantPrinter, null);
+		}
+	}
+}
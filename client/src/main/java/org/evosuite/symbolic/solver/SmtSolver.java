@@ -22,13 +22,23 @@ package org.evosuite.symbolic.solver;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.exec.ExecuteException;
+import org.evosuite.symbolic.expr.Variable;
 import org.evosuite.utils.ProcessLauncher;
 import org.evosuite.utils.ProcessTimeoutException;
 
 public abstract class SmtSolver extends Solver {
 
+	/** Long-lived solver processes, by solver command */
+	private static final Map<String, SmtSolverSession> sessions = new HashMap<>();
+
+	private static boolean shutdownHookAdded = false;
+
 	public SmtSolver(boolean addMissingVariables) {
 		super(addMissingVariables);
 	}
@@ -82,4 +92,50 @@ public abstract class SmtSolver extends Solver {
 
 	}
 
+	/**
+	 * Returns the long-lived solver process for the given command, which is
+	 * killed when the JVM exits
+	 *
+	 * @param solverCmd
+	 * @return
+	 */
+	protected static synchronized SmtSolverSession getSolverSession(String solverCmd) {
+		if (!shutdownHookAdded) {
+			Runtime.getRuntime().addShutdownHook(new Thread(SmtSolver::closeSolverSessions));
+			shutdownHookAdded = true;
+		}
+		return sessions.computeIfAbsent(solverCmd, SmtSolverSession::new);
+	}
+
+	/**
+	 * Kills all the long-lived solver processes
+	 */
+	public static synchronized void closeSolverSessions() {
+		for (SmtSolverSession session : sessions.values()) {
+			session.close();
+		}
+		sessions.clear();
+	}
+
+	/**
+	 * The model of a solver session contains all the constants declared so far,
+	 * only the values of the variables of the query are kept.
+	 *
+	 * @param result
+	 * @param variables
+	 * @return
+	 */
+	protected static SolverResult retainQueryVariables(SolverResult result, Set<Variable<?>> variables) {
+		if (!result.isSAT()) {
+			return result;
+		}
+		Set<String> variableNames = new HashSet<>();
+		for (Variable<?> variable : variables) {
+			variableNames.add(variable.getName());
+		}
+		Map<String, Object> model = result.getModel();
+		model.keySet().retainAll(variableNames);
+		return SolverResult.newSAT(model);
+	}
+
 }
@@ -0,0 +1,307 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.exec.CommandLine;
+import org.evosuite.symbolic.solver.smt.SmtAssertion;
+import org.evosuite.symbolic.solver.smt.SmtConstantDeclaration;
+import org.evosuite.symbolic.solver.smt.SmtFunctionDeclaration;
+import org.evosuite.symbolic.solver.smt.SmtFunctionDefinition;
+import org.evosuite.symbolic.solver.smt.SmtQuery;
+import org.evosuite.symbolic.solver.smt.SmtQueryPrinter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A long-lived SMT solver process that answers several queries.
+ *
+ * <p>
+ * Declarations and function definitions are sent once and kept at the base
+ * assertion level. Each assertion is asserted in its own <code>(push 1)</code>
+ * level, so a new query only pops the assertions that are not a prefix of it
+ * and pushes the remaining ones. Sibling path conditions, which share all but
+ * their last constraints, thus only cost a few commands instead of a new
+ * process.
+ * </p>
+ *
+ * <p>
+ * The answer to a query is delimited by an <code>(echo ...)</code> marker. If
+ * the solver does not answer in time, or the logic, options or the sort of an
+ * already declared name change, the process is killed and a new one is started
+ * for the next query.
+ * </p>
+ */
+public class SmtSolverSession {
+
+	static Logger logger = LoggerFactory.getLogger(SmtSolverSession.class);
+
+	/** Extra time given to the solver to report its own timeout */
+	private static final long RESPONSE_GRACE_MILLIS = 1000;
+
+	private static final String END_OF_RESPONSE = "end-of-response-";
+
+	private static final String END_OF_STREAM = new String("end-of-stream");
+
+	private final String solverCmd;
+
+	private final SmtQueryPrinter printer = new SmtQueryPrinter();
+
+	private Process process = null;
+
+	private Writer stdin = null;
+
+	private BlockingQueue<String> stdout = null;
+
+	/** Logic and options the process was started with */
+	private String header = null;
+
+	/** Declared name -> printed declaration */
+	private final Map<String, String> declarations = new HashMap<>();
+
+	private final Set<String> definitions = new HashSet<>();
+
+	/** Assertions currently asserted, one push level each */
+	private final List<String> assertionStack = new ArrayList<>();
+
+	private int numberOfResponses = 0;
+
+	public SmtSolverSession(String solverCmd) {
+		this.solverCmd = solverCmd;
+	}
+
+	/**
+	 * Checks the query and returns the output of <code>(check-sat)</code> and
+	 * <code>(get-model)</code>. Note that the model may contain the values of
+	 * constants declared by previous queries.
+	 *
+	 * @param query
+	 * @param timeoutMillis
+	 * @return the output of the solver for this query
+	 * @throws IOException
+	 * @throws SolverTimeoutException
+	 * @throws SolverErrorException
+	 */
+	public synchronized String solve(SmtQuery query, long timeoutMillis)
+			throws IOException, SolverTimeoutException, SolverErrorException {
+
+		String queryHeader = printer.printHeader(query);
+		if (!isAlive() || !queryHeader.equals(header)) {
+			restart(queryHeader);
+		}
+
+		Map<String, String> queryDeclarations = new HashMap<>();
+		for (SmtConstantDeclaration decl : query.getConstantDeclarations()) {
+			queryDeclarations.put(decl.getConstantName(), printer.print(decl));
+		}
+		for (SmtFunctionDeclaration decl : query.getFunctionDeclarations()) {
+			queryDeclarations.put(decl.getFunctionName(), printer.print(decl));
+		}
+		for (Map.Entry<String, String> entry : queryDeclarations.entrySet()) {
+			String declared = declarations.get(entry.getKey());
+			if (declared != null && !declared.equals(entry.getValue())) {
+				logger.debug("Restarting solver session as {} is declared with a new sort", entry.getKey());
+				restart(queryHeader);
+				break;
+			}
+		}
+		Map<String, String> newDeclarations = new HashMap<>(queryDeclarations);
+		newDeclarations.keySet().removeAll(declarations.keySet());
+
+		List<String> newDefinitions = new ArrayList<>();
+		for (SmtFunctionDefinition def : query.getFunctionDefinitions()) {
+			String str = printer.print(def);
+			if (!definitions.contains(str)) {
+				newDefinitions.add(str);
+			}
+		}
+
+		List<String> assertions = new ArrayList<>();
+		for (SmtAssertion assertion : query.getAssertions()) {
+			assertions.add(printer.print(assertion));
+		}
+
+		int commonPrefix = 0;
+		while (commonPrefix < assertionStack.size() && commonPrefix < assertions.size()
+				&& assertionStack.get(commonPrefix).equals(assertions.get(commonPrefix))) {
+			commonPrefix++;
+		}
+		if (!newDeclarations.isEmpty() || !newDefinitions.isEmpty()) {
+			// declarations must survive the pops of later queries
+			commonPrefix = 0;
+		}
+
+		StringBuilder commands = new StringBuilder();
+		int levelsToPop = assertionStack.size() - commonPrefix;
+		if (levelsToPop > 0) {
+			commands.append("(pop ").append(levelsToPop).append(")\n");
+			assertionStack.subList(commonPrefix, assertionStack.size()).clear();
+		}
+		for (Map.Entry<String, String> entry : newDeclarations.entrySet()) {
+			commands.append(entry.getValue()).append("\n");
+			declarations.put(entry.getKey(), entry.getValue());
+		}
+		for (String def : newDefinitions) {
+			commands.append(def).append("\n");
+			definitions.add(def);
+		}
+		for (int i = commonPrefix; i < assertions.size(); i++) {
+			commands.append("(push 1)\n");
+			commands.append(assertions.get(i)).append("\n");
+			assertionStack.add(assertions.get(i));
+		}
+
+		String marker = END_OF_RESPONSE + (numberOfResponses++);
+		commands.append("(check-sat)\n");
+		commands.append("(get-model)\n");
+		commands.append("(echo \"").append(marker).append("\")\n");
+
+		logger.debug("Solver session commands (reusing {} assertions):", commonPrefix);
+		logger.debug(commands.toString());
+
+		try {
+			stdin.write(commands.toString());
+			stdin.flush();
+		} catch (IOException e) {
+			close();
+			throw new SolverErrorException("Solver session process failed: " + e.getMessage());
+		}
+
+		return readResponse(marker, timeoutMillis + RESPONSE_GRACE_MILLIS);
+	}
+
+	private String readResponse(String marker, long timeoutMillis) throws SolverTimeoutException, SolverErrorException {
+		StringBuilder response = new StringBuilder();
+		long deadline = System.currentTimeMillis() + timeoutMillis;
+		while (true) {
+			long remaining = deadline - System.currentTimeMillis();
+			String line;
+			try {
+				line = remaining > 0 ? stdout.poll(remaining, TimeUnit.MILLISECONDS) : null;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				close();
+				throw new SolverErrorException("Interrupted while waiting for the solver");
+			}
+
+			if (line == null) {
+				logger.debug("Solver session stopped due to solver timeout");
+				close();
+				throw new SolverTimeoutException();
+			}
+
+			if (line == END_OF_STREAM) {
+				// the process died, possibly after answering (e.g. on the error
+				// some solvers report for (get-model) after unsat)
+				close();
+				if (response.length() == 0) {
+					throw new SolverErrorException("Solver session process terminated unexpectedly");
+				}
+				return response.toString();
+			}
+
+			String trimmed = line.trim();
+			if (trimmed.equals(marker) || trimmed.equals("\"" + marker + "\"")) {
+				return response.toString();
+			}
+			response.append(line).append("\n");
+		}
+	}
+
+	private boolean isAlive() {
+		return process != null && process.isAlive();
+	}
+
+	private void restart(String queryHeader) throws IOException {
+		close();
+
+		CommandLine cmdLine = CommandLine.parse(solverCmd);
+		List<String> command = new ArrayList<>();
+		command.add(cmdLine.getExecutable());
+		for (String argument : cmdLine.getArguments()) {
+			command.add(argument);
+		}
+
+		logger.debug("Starting solver session: {}", solverCmd);
+		ProcessBuilder builder = new ProcessBuilder(command);
+		builder.redirectErrorStream(true);
+		process = builder.start();
+		stdin = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+
+		final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+		final BufferedReader reader = new BufferedReader(
+				new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+		Thread readerThread = new Thread(() -> {
+			try {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					lines.add(line);
+				}
+			} catch (IOException e) {
+				// stream closed
+			} finally {
+				lines.add(END_OF_STREAM);
+			}
+		}, "SmtSolverSessionReader");
+		readerThread.setDaemon(true);
+		readerThread.start();
+		stdout = lines;
+
+		header = queryHeader;
+		stdin.write(queryHeader);
+		stdin.flush();
+	}
+
+	/**
+	 * Kills the solver process. A new one is started by the next query.
+	 */
+	public synchronized void close() {
+		if (process != null) {
+			try {
+				stdin.close();
+			} catch (IOException e) {
+				// ignore, the process is destroyed anyway
+			}
+			process.destroy();
+		}
+		process = null;
+		stdin = null;
+		stdout = null;
+		header = null;
+		declarations.clear();
+		definitions.clear();
+		assertionStack.clear();
+	}
+}
@@ -19,11 +19,30 @@
  */
 package org.evosuite.symbolic.solver;
 
+import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+import org.evosuite.Properties;
 import org.evosuite.symbolic.expr.Constraint;
 
+/**
+ * Caches the results of the constraint solver.
+ *
+ * <p>
+ * Queries are cached by their canonical form (see
+ * {@link NormalizedConstraints}), so that queries that only differ in the names
+ * of their variables or the order of their constraints share their result. SAT
+ * models are translated to the variables of the query and checked against its
+ * constraints before they are returned. The cache keeps at most
+ * {@link Properties#DSE_SOLVER_CACHE_SIZE} results and evicts the least
+ * recently used ones. If {@link Properties#DSE_SOLVER_CACHE_FILE} is set,
+ * results are also appended to that file and reloaded by later runs.
+ * </p>
+ */
 public final class SolverCache {
 
 	private static final SolverCache instance = new SolverCache();
@@ -36,9 +55,20 @@ public final class SolverCache {
 	private int cached_unsat_result_count = 0;
 	private boolean valid_cached_solution = false;
 
-	private HashMap<Collection<Constraint<?>>, SolverResult> cached_solver_results = new HashMap<>();
+	/** Results by canonical key, SAT models use the canonical variable names */
+	private final Map<String, SolverResult> cached_solver_results = new LruMap<>();
+
+	/** Results of queries that cannot be normalized */
+	private final Map<Collection<Constraint<?>>, SolverResult> cached_unnormalized_results = new LruMap<>();
+
 	private SolverResult cached_solution = null;
 
+	/** Last normalized query, as results are saved right after the lookup */
+	private List<Constraint<?>> last_constraints = null;
+	private NormalizedConstraints last_normalized_constraints = null;
+
+	private SolverCacheFile cache_file = null;
+
 	public int getNumberOfUNSATs() {
 		return cached_unsat_result_count;
 	}
@@ -55,21 +85,95 @@ public final class SolverCache {
 	}
 
 	private void addUNSAT(Collection<Constraint<?>> unsat_constraints, SolverResult unsatResult) {
-		cached_solver_results.put(unsat_constraints, unsatResult);
+		put(unsat_constraints, unsatResult);
 		cached_unsat_result_count++;
 	}
 
 	private void addSAT(Collection<Constraint<?>> sat_constraints, SolverResult satResult) {
-		cached_solver_results.put(sat_constraints, satResult);
+		put(sat_constraints, satResult);
 		cached_sat_result_count++;
 	}
 
+	private void put(Collection<Constraint<?>> constraints, SolverResult result) {
+		NormalizedConstraints normalized = normalize(constraints);
+		if (normalized == null) {
+			cached_unnormalized_results.put(constraints, result);
+			return;
+		}
+
+		SolverResult canonicalResult = result;
+		if (result.isSAT()) {
+			canonicalResult = SolverResult.newSAT(normalized.toCanonicalModel(result.getModel()));
+		}
+		cached_solver_results.put(normalized.getKey(), canonicalResult);
+		if (cache_file != null) {
+			cache_file.append(normalized.getKey(), canonicalResult);
+		}
+	}
+
+	private SolverResult get(Collection<Constraint<?>> constraints) {
+		NormalizedConstraints normalized = normalize(constraints);
+		if (normalized == null) {
+			return cached_unnormalized_results.get(constraints);
+		}
+
+		SolverResult canonicalResult = cached_solver_results.get(normalized.getKey());
+		if (canonicalResult == null || !canonicalResult.isSAT()) {
+			return canonicalResult;
+		}
+
+		SolverResult result = SolverResult.newSAT(normalized.toQueryModel(canonicalResult.getModel()));
+		try {
+			if (Solver.checkSAT(constraints, result)) {
+				return result;
+			}
+		} catch (RuntimeException e) {
+			// the model does not fit the variables of the query
+		}
+		return null;
+	}
+
+	private NormalizedConstraints normalize(Collection<Constraint<?>> constraints) {
+		openCacheFile();
+		List<Constraint<?>> query = new ArrayList<>(constraints);
+		if (!query.equals(last_constraints)) {
+			last_constraints = query;
+			last_normalized_constraints = NormalizedConstraints.normalize(constraints);
+		}
+		return last_normalized_constraints;
+	}
+
+	/**
+	 * Loads the cache file if one is configured and it has not been loaded yet.
+	 * Files with many more records than the cache can hold are compacted.
+	 */
+	private void openCacheFile() {
+		String path = Properties.DSE_SOLVER_CACHE_FILE;
+		if (cache_file != null && cache_file.getFile().getPath().equals(path)) {
+			return;
+		}
+		if (cache_file != null) {
+			cache_file.close();
+			cache_file = null;
+		}
+		if (path == null || path.isEmpty()) {
+			return;
+		}
+
+		cache_file = new SolverCacheFile(new File(path));
+		cache_file.load(cached_solver_results::put);
+		if (cache_file.getNumberOfRecords() > 2 * Math.max(1, Properties.DSE_SOLVER_CACHE_SIZE)) {
+			cache_file.rewrite(cached_solver_results);
+		}
+	}
+
 	public boolean hasCachedResult(Collection<Constraint<?>> constraints) {
 		number_of_accesses++;
 
-		if (this.cached_solver_results.containsKey(constraints)) {
+		SolverResult result = get(constraints);
+		if (result != null) {
 			valid_cached_solution = true;
-			cached_solution = this.cached_solver_results.get(constraints);
+			cached_solution = result;
 			number_of_hits++;
 			return true;
 		} else {
@@ -115,4 +219,42 @@ public final class SolverCache {
 		}
 	}
 
+	/**
+	 * Drops all cached results and statistics. The cache file is left untouched
+	 * and loaded again on the next access.
+	 */
+	public void clear() {
+		cached_solver_results.clear();
+		cached_unnormalized_results.clear();
+		number_of_hits = 0;
+		number_of_accesses = 0;
+		cached_sat_result_count = 0;
+		cached_unsat_result_count = 0;
+		valid_cached_solution = false;
+		cached_solution = null;
+		last_constraints = null;
+		last_normalized_constraints = null;
+		if (cache_file != null) {
+			cache_file.close();
+			cache_file = null;
+		}
+	}
+
+	/**
+	 * Access ordered map that evicts the least recently used entries
+	 */
+	private static final class LruMap<K, V> extends LinkedHashMap<K, V> {
+
+		private static final long serialVersionUID = -2393185236396178633L;
+
+		private LruMap() {
+			super(16, 0.75f, true);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+			return size() > Properties.DSE_SOLVER_CACHE_SIZE;
+		}
+	}
+
 }
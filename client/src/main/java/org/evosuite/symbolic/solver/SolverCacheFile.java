@@ -0,0 +1,306 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only file holding the results of the {@link SolverCache}, so that they
+ * can be reused by later runs and by other clients working on the same
+ * project.
+ *
+ * <p>
+ * Each result is appended as a single length-prefixed record containing the
+ * canonical key (see {@link NormalizedConstraints}) and either UNSAT or a SAT
+ * model over the canonical variable names. Records are written with a single
+ * write to a file opened in append mode, so several processes can share the
+ * file. When the file is loaded, later records win over earlier ones and a
+ * truncated last record is ignored. Models with values other than integers,
+ * reals and strings (i.e. arrays) are only kept in memory.
+ * </p>
+ */
+final class SolverCacheFile {
+
+	private static final Logger logger = LoggerFactory.getLogger(SolverCacheFile.class);
+
+	private static final int RECORD_MAGIC = 0x45564f53;
+
+	/** Upper bound on the size of a single record, to detect corrupt files */
+	private static final int MAX_RECORD_LENGTH = 64 * 1024 * 1024;
+
+	private static final byte UNSAT = 0;
+	private static final byte SAT = 1;
+
+	private static final byte LONG_VALUE = 'J';
+	private static final byte DOUBLE_VALUE = 'D';
+	private static final byte STRING_VALUE = 'S';
+
+	private final File file;
+
+	private OutputStream out = null;
+
+	private int numberOfRecords = 0;
+
+	SolverCacheFile(File file) {
+		this.file = file;
+	}
+
+	File getFile() {
+		return file;
+	}
+
+	/**
+	 * @return number of records read by the last {@link #load} plus the number
+	 *         of records appended since then
+	 */
+	int getNumberOfRecords() {
+		return numberOfRecords;
+	}
+
+	/**
+	 * Reads all the records of the file, in the order in which they were
+	 * appended
+	 *
+	 * @param consumer
+	 *            receives the canonical key and the cached result of each record
+	 */
+	void load(BiConsumer<String, SolverResult> consumer) {
+		numberOfRecords = 0;
+		if (!file.exists()) {
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			while (true) {
+				int magic;
+				try {
+					magic = in.readInt();
+				} catch (EOFException e) {
+					break;
+				}
+				int length = in.readInt();
+				if (magic != RECORD_MAGIC || length <= 0 || length > MAX_RECORD_LENGTH) {
+					logger.warn("Solver cache file " + file + " is corrupt, ignoring remaining records");
+					break;
+				}
+				byte[] record = new byte[length];
+				in.readFully(record);
+				readRecord(record, consumer);
+				numberOfRecords++;
+			}
+		} catch (EOFException e) {
+			logger.debug("Ignoring truncated record at the end of solver cache file {}", file);
+		} catch (IOException e) {
+			logger.warn("Could not read solver cache file " + file + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Appends a result to the file
+	 *
+	 * @param key
+	 *            canonical key of the constraints
+	 * @param result
+	 *            UNSAT or SAT result with a model over the canonical names
+	 */
+	void append(String key, SolverResult result) {
+		byte[] record = writeRecord(key, result);
+		if (record == null) {
+			return;
+		}
+		try {
+			if (out == null) {
+				File parent = file.getAbsoluteFile().getParentFile();
+				if (parent != null && !parent.exists()) {
+					parent.mkdirs();
+				}
+				out = new FileOutputStream(file, true);
+			}
+			out.write(record);
+			out.flush();
+			numberOfRecords++;
+		} catch (IOException e) {
+			logger.warn("Could not write to solver cache file " + file + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Replaces the content of the file by the given results. The new file is
+	 * written to a uniquely named file next to the old one, so that processes
+	 * sharing the cache do not write to the same temporary file, and then
+	 * moved over it.
+	 *
+	 * @param results
+	 */
+	void rewrite(Map<String, SolverResult> results) {
+		close();
+		File tmp;
+		try {
+			// the prefix of a temporary file needs at least three characters
+			tmp = File.createTempFile(file.getName() + "-", ".tmp", file.getAbsoluteFile().getParentFile());
+		} catch (IOException e) {
+			logger.warn("Could not compact solver cache file " + file + ": " + e.getMessage());
+			return;
+		}
+		int records = 0;
+		try (OutputStream tmpOut = new FileOutputStream(tmp)) {
+			for (Map.Entry<String, SolverResult> entry : results.entrySet()) {
+				byte[] record = writeRecord(entry.getKey(), entry.getValue());
+				if (record != null) {
+					tmpOut.write(record);
+					records++;
+				}
+			}
+		} catch (IOException e) {
+			logger.warn("Could not compact solver cache file " + file + ": " + e.getMessage());
+			tmp.delete();
+			return;
+		}
+		try {
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			numberOfRecords = records;
+		} catch (IOException e) {
+			logger.warn("Could not replace solver cache file " + file + ": " + e.getMessage());
+			tmp.delete();
+		}
+	}
+
+	void close() {
+		if (out != null) {
+			try {
+				out.close();
+			} catch (IOException e) {
+				logger.debug("Could not close solver cache file {}", file);
+			}
+			out = null;
+		}
+	}
+
+	private static byte[] writeRecord(String key, SolverResult result) {
+		ByteArrayOutputStream payload = new ByteArrayOutputStream();
+		try (DataOutputStream data = new DataOutputStream(payload)) {
+			writeString(data, key);
+			if (result.isUNSAT()) {
+				data.writeByte(UNSAT);
+			} else {
+				Map<String, Object> model = result.getModel();
+				data.writeByte(SAT);
+				data.writeInt(model.size());
+				for (Map.Entry<String, Object> entry : model.entrySet()) {
+					writeString(data, entry.getKey());
+					Object value = entry.getValue();
+					if (value instanceof Long) {
+						data.writeByte(LONG_VALUE);
+						data.writeLong((Long) value);
+					} else if (value instanceof Double) {
+						data.writeByte(DOUBLE_VALUE);
+						data.writeDouble((Double) value);
+					} else if (value instanceof String) {
+						data.writeByte(STRING_VALUE);
+						writeString(data, (String) value);
+					} else {
+						return null;
+					}
+				}
+			}
+		} catch (IOException e) {
+			// cannot happen on a byte array
+			throw new IllegalStateException(e);
+		}
+
+		ByteArrayOutputStream record = new ByteArrayOutputStream(payload.size() + 8);
+		try (DataOutputStream data = new DataOutputStream(record)) {
+			data.writeInt(RECORD_MAGIC);
+			data.writeInt(payload.size());
+			payload.writeTo(data);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return record.toByteArray();
+	}
+
+	private static void readRecord(byte[] record, BiConsumer<String, SolverResult> consumer) throws IOException {
+		DataInputStream data = new DataInputStream(new ByteArrayInputStream(record));
+		String key = readString(data);
+		byte type = data.readByte();
+		if (type == UNSAT) {
+			consumer.accept(key, SolverResult.newUNSAT());
+			return;
+		}
+		if (type != SAT) {
+			throw new IOException("Unknown result type " + type);
+		}
+		int size = data.readInt();
+		Map<String, Object> model = new HashMap<>();
+		for (int i = 0; i < size; i++) {
+			String name = readString(data);
+			byte valueType = data.readByte();
+			switch (valueType) {
+			case LONG_VALUE:
+				model.put(name, data.readLong());
+				break;
+			case DOUBLE_VALUE:
+				model.put(name, data.readDouble());
+				break;
+			case STRING_VALUE:
+				model.put(name, readString(data));
+				break;
+			default:
+				throw new IOException("Unknown value type " + valueType);
+			}
+		}
+		consumer.accept(key, SolverResult.newSAT(model));
+	}
+
+	private static void writeString(DataOutputStream data, String str) throws IOException {
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		data.writeInt(bytes.length);
+		data.write(bytes);
+	}
+
+	private static String readString(DataInputStream data) throws IOException {
+		int length = data.readInt();
+		if (length < 0 || length > MAX_RECORD_LENGTH) {
+			throw new IOException("Invalid string length " + length);
+		}
+		byte[] bytes = new byte[length];
+		data.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
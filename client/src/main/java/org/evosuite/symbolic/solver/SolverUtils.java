@@ -39,6 +39,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -69,6 +70,18 @@ public abstract class SolverUtils {
 		return solverResult;
 	}
 
+	/**
+	 * Checks whether a model satisfies all the constraints of a query, by evaluating them with the values of the
+	 * model. Variables without a value in the model are evaluated with their current concrete value.
+	 *
+	 * @param query
+	 * @param model
+	 * @return
+	 */
+	public static boolean isSolution(Collection<Constraint<?>> query, Map<String, Object> model) {
+		return Solver.checkSAT(query, SolverResult.newSAT(model));
+	}
+
 	/**
 	 * Creates boundaries for the SMT query variables.
 	 *
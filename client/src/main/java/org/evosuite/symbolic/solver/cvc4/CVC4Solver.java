@@ -118,23 +118,28 @@ public final class CVC4Solver extends SmtSolver {
 			return emptySAT;
 		}
 
-		SmtQueryPrinter printer = new SmtQueryPrinter();
-		String smtQueryStr = printer.print(query);
+		String cmd = buildCVC4cmd(cvcTimeout, Properties.DSE_SOLVER_SESSION);
 
-		if (smtQueryStr == null) {
-			logger.debug("No variables found during constraint solving.");
-			throw new SolverEmptyQueryException("No variables found during constraint solving.");
-		}
+		try {
+			String output;
+			if (Properties.DSE_SOLVER_SESSION) {
+				output = getSolverSession(cmd).solve(query, cvcTimeout);
+			} else {
+				SmtQueryPrinter printer = new SmtQueryPrinter();
+				String smtQueryStr = printer.print(query);
 
-		logger.debug("CVC4 Query:");
-		logger.debug(smtQueryStr);
+				if (smtQueryStr == null) {
+					logger.debug("No variables found during constraint solving.");
+					throw new SolverEmptyQueryException("No variables found during constraint solving.");
+				}
 
-		String cmd = buildCVC4cmd(cvcTimeout);
+				logger.debug("CVC4 Query:");
+				logger.debug(smtQueryStr);
 
-		ByteArrayOutputStream stdout = new ByteArrayOutputStream();
-		try {
-			launchNewSolvingProcess(cmd, smtQueryStr, (int) cvcTimeout, stdout);
-			String output = stdout.toString("UTF-8");
+				ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+				launchNewSolvingProcess(cmd, smtQueryStr, (int) cvcTimeout, stdout);
+				output = stdout.toString("UTF-8");
+			}
 
 			if (output.startsWith("unknown")) {
 				logger.debug("timeout reached when using cvc4");
@@ -163,6 +168,9 @@ public final class CVC4Solver extends SmtSolver {
 				resultParser = new SmtModelParser();
 			}
 			SolverResult solverResult = resultParser.parse(output);
+			if (Properties.DSE_SOLVER_SESSION) {
+				solverResult = retainQueryVariables(solverResult, variables);
+			}
 
 			if (solverResult.isSAT()) {
 				// check if the found solution is useful
@@ -264,7 +272,7 @@ public final class CVC4Solver extends SmtSolver {
 
 	}
 
-	private static String buildCVC4cmd(long cvcTimeout) {
+	private static String buildCVC4cmd(long cvcTimeout, boolean incremental) {
 		String cmd = Properties.CVC4_PATH;
 		cmd += "  --rewrite-divk"; // rewrite-divk rewrites division (or
 									// modulus) by a constant value
@@ -287,7 +295,13 @@ public final class CVC4Solver extends SmtSolver {
 		 * More details on both of these points can be found in Sections 5.2 - 5.4 of
 		 * http://homepage.cs.uiowa.edu/~ajreynol/thesis.pdf.
 		 */
-		cmd += " --tlimit=" + cvcTimeout; // set timeout to cvcTimeout
+		if (incremental) {
+			// push/pop and several (check-sat) commands in a single process
+			cmd += " --incremental";
+			cmd += " --tlimit-per=" + cvcTimeout; // set timeout of each query to cvcTimeout
+		} else {
+			cmd += " --tlimit=" + cvcTimeout; // set timeout to cvcTimeout
+		}
 		return cmd;
 	}
 
@@ -93,12 +93,6 @@ public class Z3Solver extends SmtSolver {
 			return emptySAT;
 		}
 
-		SmtQueryPrinter printer = new SmtQueryPrinter();
-		String queryStr = printer.print(query);
-
-		logger.debug("Z3 Query:");
-		logger.debug(queryStr);
-
 		if (Properties.Z3_PATH == null) {
 			String errMsg = "Property Z3_PATH should be setted in order to use the Z3 Solver!";
 			logger.error(errMsg);
@@ -107,15 +101,25 @@ public class Z3Solver extends SmtSolver {
 
 		String z3Cmd = Properties.Z3_PATH + " -smt2 -in ";
 
-		ByteArrayOutputStream stdout = new ByteArrayOutputStream();
 		String output;
-		try {
-			launchNewSolvingProcess(z3Cmd, queryStr, (int) hard_timeout, stdout);
-			output = stdout.toString("UTF-8");
-		} catch (SolverErrorException ex) {
-			output = stdout.toString("UTF-8");
-			if (!output.startsWith("unsat")) {
-				throw ex;
+		if (Properties.DSE_SOLVER_SESSION) {
+			output = getSolverSession(z3Cmd).solve(query, hard_timeout);
+		} else {
+			SmtQueryPrinter printer = new SmtQueryPrinter();
+			String queryStr = printer.print(query);
+
+			logger.debug("Z3 Query:");
+			logger.debug(queryStr);
+
+			ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+			try {
+				launchNewSolvingProcess(z3Cmd, queryStr, (int) hard_timeout, stdout);
+				output = stdout.toString("UTF-8");
+			} catch (SolverErrorException ex) {
+				output = stdout.toString("UTF-8");
+				if (!output.startsWith("unsat")) {
+					throw ex;
+				}
 			}
 		}
 
@@ -128,6 +132,9 @@ public class Z3Solver extends SmtSolver {
 		}
 
 		SolverResult result = parser.parse(output);
+		if (Properties.DSE_SOLVER_SESSION) {
+			result = retainQueryVariables(result, variables);
+		}
 
 		if (result.isSAT()) {
 			// check if solution is correct, otherwise return UNSAT
@@ -22,6 +22,7 @@ package org.evosuite.testcase;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.lang.ref.SoftReference;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
@@ -47,6 +48,7 @@ import org.evosuite.setup.TestClusterUtils;
 import org.evosuite.testcase.statements.*;
 import org.evosuite.testcase.statements.environment.AccessedEnvironment;
 import org.evosuite.testcase.execution.CodeUnderTestException;
+import org.evosuite.testcase.execution.PrefixCheckpoint;
 import org.evosuite.testcase.execution.Scope;
 import org.evosuite.testcase.variable.*;
 import org.evosuite.utils.generic.*;
@@ -81,6 +83,14 @@ public class DefaultTestCase implements TestCase, Serializable {
 	/** Violations revealed by this test */
 	private transient Set<ContractViolation> contractViolations = new LinkedHashSet<>();
 
+	/**
+	 * State after a prefix of this test, shared with the clones of the test.
+	 * It holds the objects created by the prefix, so it is softly referenced
+	 * to not keep these alive in all the copies of the test in the population
+	 * and the archive.
+	 */
+	private transient SoftReference<PrefixCheckpoint> prefixCheckpoint = null;
+
 	private boolean isFailing = false;
 
 	private boolean unstable = false;
@@ -95,6 +105,15 @@ public class DefaultTestCase implements TestCase, Serializable {
 		id = idGenerator.getAndIncrement();
 	}
 
+	/**
+	 * Constructs an empty test case with room for the given number of
+	 * statements
+	 */
+	private DefaultTestCase(int numStatements) {
+		statements = new ListenableList<>(new ArrayList<>(numStatements));
+		id = idGenerator.getAndIncrement();
+	}
+
 	public int getID(){
 		return id;
 	}
@@ -259,6 +278,7 @@ public class DefaultTestCase implements TestCase, Serializable {
 	 */
 	public void changeClassLoader(ClassLoader loader) {
 		changedClassLoader  = loader;
+		prefixCheckpoint = null;
 		for (Statement s : statements) {
 			s.changeClassLoader(loader);
 		}
@@ -340,7 +360,7 @@ public class DefaultTestCase implements TestCase, Serializable {
 	@Override
 	public DefaultTestCase clone() {
 		DefaultTestCase t = null;
-		t = new DefaultTestCase(); //Note: cannot use super.clone() due to final fields :( 
+		t = new DefaultTestCase(statements.size()); //Note: cannot use super.clone() due to final fields :( 
 		/*
 		try {
 			t = (DefaultTestCase) super.clone();
@@ -355,10 +375,13 @@ public class DefaultTestCase implements TestCase, Serializable {
 			Statement copy = s.clone(t);
 			t.statements.add(copy);
 			copy.setRetval(s.getReturnValue().clone(t));
-			copy.setAssertions(s.copyAssertions(t, 0));
+			if (s.hasAssertions()) {
+				copy.setAssertions(s.copyAssertions(t, 0));
+			}
 		}
 		t.coveredGoals.addAll(coveredGoals);
 		t.accessedEnvironment.copyFrom(accessedEnvironment);
+		t.prefixCheckpoint = prefixCheckpoint;
 		t.isFailing = isFailing;
 		t.id = idGenerator.getAndIncrement(); //always create new ID when making a clone
 		//t.exception_statement = exception_statement;
@@ -1105,6 +1128,18 @@ public class DefaultTestCase implements TestCase, Serializable {
 		contractViolations = new LinkedHashSet<>();
 	}
 
+	/**
+	 * @return the state after a prefix of this test (or of a test it was
+	 *         cloned from), if any
+	 */
+	public PrefixCheckpoint getPrefixCheckpoint() {
+		return prefixCheckpoint == null ? null : prefixCheckpoint.get();
+	}
+
+	public void setPrefixCheckpoint(PrefixCheckpoint prefixCheckpoint) {
+		this.prefixCheckpoint = prefixCheckpoint == null ? null : new SoftReference<>(prefixCheckpoint);
+	}
+
 	public void setFailing(boolean failing) {
 		isFailing = failing;
 	}
@@ -0,0 +1,296 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.evosuite.TestGenerationContext;
+import org.evosuite.coverage.branch.BranchPool;
+
+/**
+ * Executions and distances of the branches passed during an execution, by
+ * branch id (see {@link BranchPool}). They are kept in arrays of primitives
+ * indexed by branch id, so that passing a branch neither hashes nor boxes.
+ * The arrays are sized for all the branches in the pool when the first branch
+ * is passed. The maps of the {@link ExecutionTrace} interface are only created
+ * when they are asked for.
+ */
+final class BranchCounter {
+
+	/** Branch ids, in order of their first pass */
+	private int[] branchIds = new int[8];
+
+	private int size = 0;
+
+	// by branch id, null until the first branch is passed
+	private boolean[] passed;
+
+	private int[] predicateCounts;
+
+	private int[] trueCounts;
+
+	private int[] falseCounts;
+
+	private double[] trueDistances;
+
+	private double[] falseDistances;
+
+	private double[] trueDistanceSums;
+
+	private double[] falseDistanceSums;
+
+	// created on demand, and dropped on the next change
+	private Map<Integer, Integer> predicateCountMap;
+
+	private Map<Integer, Double> trueDistanceMap;
+
+	private Map<Integer, Double> falseDistanceMap;
+
+	private Map<Integer, Double> trueDistanceSumMap;
+
+	private Map<Integer, Double> falseDistanceSumMap;
+
+	BranchCounter() {
+	}
+
+	private BranchCounter(BranchCounter other) {
+		branchIds = other.branchIds.clone();
+		size = other.size;
+		if (other.passed != null) {
+			passed = other.passed.clone();
+			predicateCounts = other.predicateCounts.clone();
+			trueCounts = other.trueCounts.clone();
+			falseCounts = other.falseCounts.clone();
+			trueDistances = other.trueDistances.clone();
+			falseDistances = other.falseDistances.clone();
+			trueDistanceSums = other.trueDistanceSums.clone();
+			falseDistanceSums = other.falseDistanceSums.clone();
+		}
+	}
+
+	private void ensureCapacity(int branchId) {
+		if (passed != null && branchId < passed.length) {
+			return;
+		}
+		int capacity;
+		if (passed == null) {
+			int numBranches = BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT())
+					.getBranchCounter();
+			capacity = Math.max(branchId, numBranches) + 1;
+		} else {
+			// branches registered after the first pass
+			capacity = Math.max(branchId + 1, passed.length * 2);
+		}
+		passed = passed == null ? new boolean[capacity] : Arrays.copyOf(passed, capacity);
+		predicateCounts = predicateCounts == null ? new int[capacity] : Arrays.copyOf(predicateCounts, capacity);
+		trueCounts = trueCounts == null ? new int[capacity] : Arrays.copyOf(trueCounts, capacity);
+		falseCounts = falseCounts == null ? new int[capacity] : Arrays.copyOf(falseCounts, capacity);
+		trueDistances = trueDistances == null ? new double[capacity] : Arrays.copyOf(trueDistances, capacity);
+		falseDistances = falseDistances == null ? new double[capacity] : Arrays.copyOf(falseDistances, capacity);
+		trueDistanceSums = trueDistanceSums == null ? new double[capacity]
+				: Arrays.copyOf(trueDistanceSums, capacity);
+		falseDistanceSums = falseDistanceSums == null ? new double[capacity]
+				: Arrays.copyOf(falseDistanceSums, capacity);
+	}
+
+	/**
+	 * Record a pass of the branch: the distances are kept as minimum and sum
+	 * over all passes
+	 *
+	 * @param countCoverage
+	 *            if the execution of the branch and of its outcome are counted
+	 */
+	void passed(int branchId, double trueDistance, double falseDistance, boolean countCoverage) {
+		if (branchId < 0) {
+			throw new IllegalArgumentException("Invalid branch id: " + branchId);
+		}
+		ensureCapacity(branchId);
+		dropMaps();
+
+		if (countCoverage) {
+			predicateCounts[branchId]++;
+			if (trueDistance == 0.0) {
+				trueCounts[branchId]++;
+			}
+			if (falseDistance == 0.0) {
+				falseCounts[branchId]++;
+			}
+		}
+
+		if (!passed[branchId]) {
+			passed[branchId] = true;
+			if (size == branchIds.length) {
+				branchIds = Arrays.copyOf(branchIds, size * 2);
+			}
+			branchIds[size++] = branchId;
+			trueDistances[branchId] = trueDistance;
+			falseDistances[branchId] = falseDistance;
+			trueDistanceSums[branchId] = trueDistance;
+			falseDistanceSums[branchId] = falseDistance;
+		} else {
+			trueDistances[branchId] = Math.min(trueDistances[branchId], trueDistance);
+			falseDistances[branchId] = Math.min(falseDistances[branchId], falseDistance);
+			trueDistanceSums[branchId] += trueDistance;
+			falseDistanceSums[branchId] += falseDistance;
+		}
+	}
+
+	/**
+	 * @return whether the branch was passed, i.e., it has distances
+	 */
+	boolean wasPassed(int branchId) {
+		return passed != null && branchId >= 0 && branchId < passed.length && passed[branchId];
+	}
+
+	/**
+	 * @return whether a counted pass of the branch took its true outcome
+	 */
+	boolean isCoveredTrue(int branchId) {
+		return wasPassed(branchId) && trueCounts[branchId] > 0;
+	}
+
+	/**
+	 * @return whether a counted pass of the branch took its false outcome
+	 */
+	boolean isCoveredFalse(int branchId) {
+		return wasPassed(branchId) && falseCounts[branchId] > 0;
+	}
+
+	double getTrueDistance(int branchId) {
+		if (!wasPassed(branchId)) {
+			throw new IllegalArgumentException("Branch " + branchId + " was not passed");
+		}
+		return trueDistances[branchId];
+	}
+
+	double getFalseDistance(int branchId) {
+		if (!wasPassed(branchId)) {
+			throw new IllegalArgumentException("Branch " + branchId + " was not passed");
+		}
+		return falseDistances[branchId];
+	}
+
+	/**
+	 * @return the branches passed with a true distance of 0
+	 */
+	Set<Integer> getCoveredTrueBranches() {
+		Set<Integer> covered = new HashSet<>();
+		for (int i = 0; i < size; i++) {
+			if (trueDistances[branchIds[i]] == 0.0) {
+				covered.add(branchIds[i]);
+			}
+		}
+		return covered;
+	}
+
+	/**
+	 * @return the branches passed with a false distance of 0
+	 */
+	Set<Integer> getCoveredFalseBranches() {
+		Set<Integer> covered = new HashSet<>();
+		for (int i = 0; i < size; i++) {
+			if (falseDistances[branchIds[i]] == 0.0) {
+				covered.add(branchIds[i]);
+			}
+		}
+		return covered;
+	}
+
+	/**
+	 * @return the number of counted passes, by branch
+	 */
+	Map<Integer, Integer> getPredicateCounts() {
+		if (predicateCountMap == null) {
+			Map<Integer, Integer> map = new HashMap<>(size * 2);
+			for (int i = 0; i < size; i++) {
+				if (predicateCounts[branchIds[i]] > 0) {
+					map.put(branchIds[i], predicateCounts[branchIds[i]]);
+				}
+			}
+			predicateCountMap = Collections.unmodifiableMap(map);
+		}
+		return predicateCountMap;
+	}
+
+	Map<Integer, Double> getTrueDistances() {
+		if (trueDistanceMap == null) {
+			trueDistanceMap = toMap(trueDistances);
+		}
+		return trueDistanceMap;
+	}
+
+	Map<Integer, Double> getFalseDistances() {
+		if (falseDistanceMap == null) {
+			falseDistanceMap = toMap(falseDistances);
+		}
+		return falseDistanceMap;
+	}
+
+	Map<Integer, Double> getTrueDistanceSums() {
+		if (trueDistanceSumMap == null) {
+			trueDistanceSumMap = toMap(trueDistanceSums);
+		}
+		return trueDistanceSumMap;
+	}
+
+	Map<Integer, Double> getFalseDistanceSums() {
+		if (falseDistanceSumMap == null) {
+			falseDistanceSumMap = toMap(falseDistanceSums);
+		}
+		return falseDistanceSumMap;
+	}
+
+	private Map<Integer, Double> toMap(double[] values) {
+		Map<Integer, Double> map = new HashMap<>(size * 2);
+		for (int i = 0; i < size; i++) {
+			map.put(branchIds[i], values[branchIds[i]]);
+		}
+		return Collections.unmodifiableMap(map);
+	}
+
+	private void dropMaps() {
+		predicateCountMap = null;
+		trueDistanceMap = null;
+		falseDistanceMap = null;
+		trueDistanceSumMap = null;
+		falseDistanceSumMap = null;
+	}
+
+	void clear() {
+		for (int i = 0; i < size; i++) {
+			int branchId = branchIds[i];
+			passed[branchId] = false;
+			predicateCounts[branchId] = 0;
+			trueCounts[branchId] = 0;
+			falseCounts[branchId] = 0;
+		}
+		size = 0;
+		dropMaps();
+	}
+
+	BranchCounter copy() {
+		return new BranchCounter(this);
+	}
+}
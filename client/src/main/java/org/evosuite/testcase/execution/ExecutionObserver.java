@@ -106,6 +106,17 @@ public abstract class ExecutionObserver {
 	public abstract void afterStatement(Statement statement, Scope scope,
 	        Throwable exception);
 
+	/**
+	 * Called after all observers have been informed of the execution of a
+	 * statement: an observer that already knows all it needs about the
+	 * execution can stop it before the next statement
+	 * 
+	 * @return whether the remaining statements need not be executed
+	 */
+	public boolean canStopExecution() {
+		return false;
+	}
+
 	/**
 	 * Allow observers to update the execution result at the end the execution of a test.
 	 */
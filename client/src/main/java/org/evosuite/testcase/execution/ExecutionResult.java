@@ -26,6 +26,8 @@ import org.evosuite.coverage.mutation.Mutation;
 import org.evosuite.ga.metaheuristics.mapelites.FeatureVector;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testsuite.SuiteFitnessContribution;
+import org.evosuite.testsuite.TestSuiteFitnessFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -71,6 +73,12 @@ public class ExecutionResult implements Cloneable {
 
 	private List<FeatureVector> featureVectors = new ArrayList<>(1);
 
+	/**
+	 * What this result contributes to each suite fitness function. Computed
+	 * lazily, and copied to the clones of this result
+	 */
+	private Map<TestSuiteFitnessFunction, SuiteFitnessContribution> suiteFitnessContributions = null;
+
 	/**
 	 * @return the executedStatements
 	 */
@@ -118,6 +126,7 @@ public class ExecutionResult implements Cloneable {
 	 *            sequence position toward thrown exception
 	 */
 	public void setThrownExceptions(Map<Integer, Throwable> data) {
+		suiteFitnessContributions = null;
 		exceptions.clear();
 		data.forEach(this::reportNewThrownException);
 	}
@@ -272,6 +281,7 @@ public class ExecutionResult implements Cloneable {
 			throw new IllegalArgumentException("Trace cannot be null");
 		}
 		this.trace = trace;
+		suiteFitnessContributions = null;
 	}
 
 	/**
@@ -417,6 +427,9 @@ public class ExecutionResult implements Cloneable {
 		}
 		copy.wasAnyPropertyWritten = wasAnyPropertyWritten;
 		copy.featureVectors = new ArrayList<>(this.featureVectors);
+		if (suiteFitnessContributions != null) {
+			copy.suiteFitnessContributions = new IdentityHashMap<>(suiteFitnessContributions);
+		}
 
 		return copy;
 	}
@@ -478,4 +491,19 @@ public class ExecutionResult implements Cloneable {
     public List<FeatureVector> getFeatureVectors() {
       return Collections.unmodifiableList(this.featureVectors);
     }
+
+    /**
+     * @return what this result contributes to the given suite fitness function,
+     *         or {@code null} if it was not computed yet
+     */
+    public SuiteFitnessContribution getSuiteFitnessContribution(TestSuiteFitnessFunction fitness) {
+      return suiteFitnessContributions == null ? null : suiteFitnessContributions.get(fitness);
+    }
+
+    public void setSuiteFitnessContribution(TestSuiteFitnessFunction fitness, SuiteFitnessContribution contribution) {
+      if (suiteFitnessContributions == null) {
+        suiteFitnessContributions = new IdentityHashMap<>();
+      }
+      suiteFitnessContributions.put(fitness, contribution);
+    }
 }
@@ -430,14 +430,10 @@ public interface ExecutionTrace {
 	/**
 	 * Add line to currently active method call
 	 * 
-	 * @param line
-	 *            a int.
-	 * @param className
-	 *            a {@link java.lang.String} object.
-	 * @param methodName
-	 *            a {@link java.lang.String} object.
+	 * @param lineId
+	 *            the id of the line in the {@link org.evosuite.instrumentation.LinePool}
 	 */
-    void linePassed(String className, String methodName, int line);
+    void linePassed(int lineId);
 
 	/**
 	 * Record a mutant execution
@@ -39,6 +39,7 @@ import org.evosuite.coverage.dataflow.DefUse;
 import org.evosuite.coverage.dataflow.DefUsePool;
 import org.evosuite.coverage.dataflow.Definition;
 import org.evosuite.coverage.dataflow.Use;
+import org.evosuite.instrumentation.LinePool;
 import org.evosuite.setup.CallContext;
 import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.utils.ArrayUtil;
@@ -195,19 +196,18 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	private List<BranchEval> branchesTrace = new ArrayList<>();
 
 	// Coverage information
-	public Map<String, Map<String, Map<Integer, Integer>>> coverage = Collections
-			.synchronizedMap(new HashMap<>());
+	private LineCounter lineCounts = new LineCounter();
+
+	/** Line counts by class, method and line number, created on demand */
+	private Map<String, Map<String, Map<Integer, Integer>>> coverage = null;
 
-	public Map<Integer, Integer> coveredFalse = Collections.synchronizedMap(new HashMap<>());
+	/** Executions and distances of branches */
+	private BranchCounter branchCounts = new BranchCounter();
 
 	public Map<String, Integer> coveredMethods = Collections.synchronizedMap(new HashMap<>());
 
 	public Map<String, Integer> coveredBranchlessMethods = Collections.synchronizedMap(new HashMap<>());
 
-	public Map<Integer, Integer> coveredPredicates = Collections.synchronizedMap(new HashMap<>());
-
-	public Map<Integer, Integer> coveredTrue = Collections.synchronizedMap(new HashMap<>());
-
 	public Map<Integer, Integer> coveredDefs = Collections.synchronizedMap(new HashMap<>());
 
 	public Map<Integer, Map<CallContext, Double>> coveredTrueContext = Collections
@@ -227,8 +227,6 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	// The last explicitly thrown exception is kept here
 	private Throwable explicitException = null;
 
-	public Map<Integer, Double> falseDistances = Collections.synchronizedMap(new HashMap<>());
-	private final Map<Integer, Double> falseDistancesSum = Collections.synchronizedMap(new HashMap<>());
 	// finished_calls;
 	public List<MethodCall> finishedCalls = Collections.synchronizedList(new ArrayList<>());
 	public Map<Integer, Object> knownCallerObjects = Collections.synchronizedMap(new HashMap<>());
@@ -260,10 +258,6 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 
 	public Set<Integer> touchedMutants = Collections.synchronizedSet(new HashSet<>());
 
-	public Map<Integer, Double> trueDistances = Collections.synchronizedMap(new HashMap<>());
-
-	private final Map<Integer, Double> trueDistancesSum = Collections.synchronizedMap(new HashMap<>());
-
 	public static Set<Integer> gradientBranches = Collections.synchronizedSet(new HashSet<>());
 
 	public static Set<Integer> gradientBranchesCoveredTrue = Collections.synchronizedSet(new HashSet<>());
@@ -324,33 +318,13 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 				gradientBranches.add(branch);
 		}
 
-		if (traceCoverage) {
-			if (!coveredPredicates.containsKey(branch))
-				coveredPredicates.put(branch, 1);
-			else
-				coveredPredicates.put(branch, coveredPredicates.get(branch) + 1);
-
-			if (true_distance == 0.0) {
-				if (!coveredTrue.containsKey(branch))
-					coveredTrue.put(branch, 1);
-				else
-					coveredTrue.put(branch, coveredTrue.get(branch) + 1);
-
-			}
-
-			if (false_distance == 0.0) {
-				if (!coveredFalse.containsKey(branch))
-					coveredFalse.put(branch, 1);
-				else
-					coveredFalse.put(branch, coveredFalse.get(branch) + 1);
-			}
-		}
+		branchCounts.passed(branch, true_distance, false_distance, traceCoverage);
 
 		if (Properties.TRACK_COVERED_GRADIENT_BRANCHES) {
 			if (gradientBranches.contains(branch)) {
-				if ((coveredTrue.containsKey(branch)))
+				if (branchCounts.isCoveredTrue(branch))
 					gradientBranchesCoveredTrue.add(branch);
-				if ((coveredFalse.containsKey(branch)))
+				if (branchCounts.isCoveredFalse(branch))
 					gradientBranchesCoveredFalse.add(branch);
 			}
 		}
@@ -363,8 +337,8 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 					.getInstruction().getASMNode().getPrevious() != null)
 				previousOpcode = BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT())
 						.getBranch(branch).getInstruction().getASMNode().getPrevious().getOpcode();
-			boolean cTrue = coveredTrue.containsKey(branch);
-			boolean cFalse = coveredFalse.containsKey(branch);
+			boolean cTrue = branchCounts.isCoveredTrue(branch);
+			boolean cFalse = branchCounts.isCoveredFalse(branch);
 			switch (previousOpcode) {
 			case Opcodes.LCMP:
 				trackBranchOpcode(bytecodeInstructionReached, RuntimeVariable.Reached_lcmp, branch);
@@ -451,26 +425,6 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 			}
 		}
 
-		if (!trueDistances.containsKey(branch))
-			trueDistances.put(branch, true_distance);
-		else
-			trueDistances.put(branch, Math.min(trueDistances.get(branch), true_distance));
-
-		if (!falseDistances.containsKey(branch))
-			falseDistances.put(branch, false_distance);
-		else
-			falseDistances.put(branch, Math.min(falseDistances.get(branch), false_distance));
-
-		if (!trueDistancesSum.containsKey(branch))
-			trueDistancesSum.put(branch, true_distance);
-		else
-			trueDistancesSum.put(branch, trueDistancesSum.get(branch) + true_distance);
-
-		if (!falseDistancesSum.containsKey(branch))
-			falseDistancesSum.put(branch, false_distance);
-		else
-			falseDistancesSum.put(branch, falseDistancesSum.get(branch) + false_distance);
-
 		if (!disableContext && (Properties.INSTRUMENT_CONTEXT || Properties.INSTRUMENT_METHOD_CALLS
 				|| ArrayUtil.contains(Properties.CRITERION, Criterion.IBRANCH)
 				|| ArrayUtil.contains(Properties.CRITERION, Criterion.CBRANCH))) {
@@ -543,22 +497,19 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		// stack.clear();
 		// finished_calls.clear();
 		stack.add(new MethodCall("", "", 0, 0, 0)); // Main method
-		coverage = new HashMap<>();
+		lineCounts.clear();
+		coverage = null;
 		returnData = new HashMap<>();
 
 		methodId = 0;
 		duCounter = 0;
 		objectCounter = 0;
 		knownCallerObjects = new HashMap<>();
-		trueDistances = new HashMap<>();
-		falseDistances = new HashMap<>();
+		branchCounts.clear();
 		mutantDistances = new HashMap<>();
 		touchedMutants = new HashSet<>();
 		coveredMethods = new HashMap<>();
 		coveredBranchlessMethods = new HashMap<>();
-		coveredPredicates = new HashMap<>();
-		coveredTrue = new HashMap<>();
-		coveredFalse = new HashMap<>();
 		coveredDefs = new HashMap<>();
 		passedDefinitions = new HashMap<>();
 		passedUses = new HashMap<>();
@@ -587,10 +538,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 			copy.finishedCalls.add(call.clone());
 		}
 		// copy.finished_calls.addAll(finished_calls);
-		copy.coverage = new HashMap<>();
-		if (coverage != null) {
-			copy.coverage.putAll(coverage);
-		}
+		copy.lineCounts = lineCounts.copy();
 		copy.returnData = new HashMap<>();
 		copy.returnData.putAll(returnData);
 		/*
@@ -598,13 +546,9 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		 * null && stack.peek().method_name.equals("")) { logger.info(
 		 * "Copying main method"); copy.finished_calls.add(stack.peek()); }
 		 */
-		copy.trueDistances.putAll(trueDistances);
-		copy.falseDistances.putAll(falseDistances);
+		copy.branchCounts = branchCounts.copy();
 		copy.coveredMethods.putAll(coveredMethods);
 		copy.coveredBranchlessMethods.putAll(coveredBranchlessMethods);
-		copy.coveredPredicates.putAll(coveredPredicates);
-		copy.coveredTrue.putAll(coveredTrue);
-		copy.coveredFalse.putAll(coveredFalse);
 		copy.coveredDefs.putAll(coveredDefs);
 		copy.touchedMutants.addAll(touchedMutants);
 		copy.mutantDistances.putAll(mutantDistances);
@@ -768,11 +712,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 			return false;
 		}
 		ExecutionTraceImpl other = (ExecutionTraceImpl) obj;
-		if (coverage == null) {
-			if (other.coverage != null) {
-				return false;
-			}
-		} else if (!coverage.equals(other.coverage)) {
+		if (!getCoverageData().equals(other.getCoverageData())) {
 			return false;
 		}
 		if (finishedCalls == null) {
@@ -848,6 +788,15 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	/** {@inheritDoc} */
 	@Override
 	public Map<String, Map<String, Map<Integer, Integer>>> getCoverageData() {
+		if (coverage == null) {
+			coverage = new HashMap<>();
+			for (int i = 0; i < lineCounts.size(); i++) {
+				int lineId = lineCounts.getLineId(i);
+				coverage.computeIfAbsent(LinePool.getClassName(lineId), k -> new HashMap<>())
+						.computeIfAbsent(LinePool.getMethodName(lineId), k -> new HashMap<>())
+						.put(LinePool.getLineNumber(lineId), lineCounts.getCount(i));
+			}
+		}
 		return coverage;
 	}
 
@@ -859,13 +808,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	/** {@inheritDoc} */
 	@Override
 	public Set<Integer> getCoveredFalseBranches() {
-		Set<Integer> covered = new HashSet<>();
-		for (Entry<Integer, Double> entry : falseDistances.entrySet()) {
-			if (entry.getValue() == 0.0)
-				covered.add(entry.getKey());
-		}
-
-		return covered;
+		return branchCounts.getCoveredFalseBranches();
 	}
 
 	/*
@@ -877,7 +820,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	@Override
 	public Set<Integer> getCoveredLines(String className) {
 		Set<Integer> coveredLines = new HashSet<>();
-		for (Entry<String, Map<String, Map<Integer, Integer>>> entry : coverage.entrySet()) {
+		for (Entry<String, Map<String, Map<Integer, Integer>>> entry : getCoverageData().entrySet()) {
 			if ((entry.getKey().equals(className)) ||
 			// is it a internal class of 'className' ?
 					(entry.getKey().startsWith(className + "$"))) {
@@ -897,7 +840,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	@Override
 	public Set<Integer> getAllCoveredLines() {
 		Set<Integer> coveredLines = new HashSet<>();
-		for (Entry<String, Map<String, Map<Integer, Integer>>> entry : coverage.entrySet()) {
+		for (Entry<String, Map<String, Map<Integer, Integer>>> entry : getCoverageData().entrySet()) {
 			for (Map<Integer, Integer> methodentry : entry.getValue().values()) {
 				coveredLines.addAll(methodentry.keySet());
 			}
@@ -929,7 +872,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	/** {@inheritDoc} */
 	@Override
 	public Set<Integer> getCoveredPredicates() {
-		return coveredPredicates.keySet();
+		return branchCounts.getPredicateCounts().keySet();
 	}
 
 	/*
@@ -940,13 +883,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	/** {@inheritDoc} */
 	@Override
 	public Set<Integer> getCoveredTrueBranches() {
-		Set<Integer> covered = new HashSet<>();
-		for (Entry<Integer, Double> entry : trueDistances.entrySet()) {
-			if (entry.getValue() == 0.0)
-				covered.add(entry.getKey());
-		}
-
-		return covered;
+		return branchCounts.getCoveredTrueBranches();
 	}
 
 	/*
@@ -998,7 +935,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	/** {@inheritDoc} */
 	@Override
 	public double getFalseDistance(int branchId) {
-		return falseDistances.get(branchId);
+		return branchCounts.getFalseDistance(branchId);
 	}
 
 	/*
@@ -1009,7 +946,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	/** {@inheritDoc} */
 	@Override
 	public Map<Integer, Double> getFalseDistances() {
-		return falseDistances;
+		return branchCounts.getFalseDistances();
 	}
 
 	/*
@@ -1087,7 +1024,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	/** {@inheritDoc} */
 	@Override
 	public Map<Integer, Integer> getPredicateExecutionCount() {
-		return coveredPredicates;
+		return branchCounts.getPredicateCounts();
 	}
 
 	/**
@@ -1266,7 +1203,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	/** {@inheritDoc} */
 	@Override
 	public double getTrueDistance(int branchId) {
-		return trueDistances.get(branchId);
+		return branchCounts.getTrueDistance(branchId);
 	}
 
 	/*
@@ -1277,7 +1214,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	/** {@inheritDoc} */
 	@Override
 	public Map<Integer, Double> getTrueDistances() {
-		return trueDistances;
+		return branchCounts.getTrueDistances();
 	}
 
 	/*
@@ -1303,7 +1240,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	/** {@inheritDoc} */
 	@Override
 	public boolean hasFalseDistance(int predicateId) {
-		return falseDistances.containsKey(predicateId);
+		return branchCounts.wasPassed(predicateId);
 	}
 
 	/** {@inheritDoc} */
@@ -1311,7 +1248,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + ((coverage == null) ? 0 : coverage.hashCode());
+		result = prime * result + getCoverageData().hashCode();
 		result = prime * result + ((finishedCalls == null) ? 0 : finishedCalls.hashCode());
 		result = prime * result + ((returnData == null) ? 0 : returnData.hashCode());
 		result = prime * result + ((stack == null) ? 0 : stack.hashCode());
@@ -1326,7 +1263,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	/** {@inheritDoc} */
 	@Override
 	public boolean hasTrueDistance(int predicateId) {
-		return trueDistances.containsKey(predicateId);
+		return branchCounts.wasPassed(predicateId);
 	}
 
 	/*
@@ -1356,8 +1293,11 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	 * Add line to currently active method call
 	 */
 	@Override
-	public void linePassed(String className, String methodName, int line) {
+	public void linePassed(int lineId) {
 		if (traceCalls) {
+			String className = LinePool.getClassName(lineId);
+			String methodName = LinePool.getMethodName(lineId);
+			int line = LinePool.getLineNumber(lineId);
 			if (stack.isEmpty()) {
 				logger.info("Method stack is empty: " + className + "." + methodName + " - l" + line); // TODO
 																										// switch
@@ -1396,20 +1336,8 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 			}
 		}
 		if (traceCoverage) {
-			if (!coverage.containsKey(className)) {
-				coverage.put(className, new HashMap<>());
-			}
-
-			if (!coverage.get(className).containsKey(methodName)) {
-				coverage.get(className).put(methodName, new HashMap<>());
-			}
-
-			if (!coverage.get(className).get(methodName).containsKey(line)) {
-				coverage.get(className).get(methodName).put(line, 1);
-			} else {
-				coverage.get(className).get(methodName).put(line,
-						coverage.get(className).get(methodName).get(line) + 1);
-			}
+			lineCounts.increment(lineId);
+			coverage = null;
 		}
 	}
 
@@ -1579,15 +1507,15 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 			ret.append(entry.getKey() + ": " + entry.getValue() + ", ");
 		}
 		ret.append("\nCovered predicates: ");
-		for (Entry<Integer, Integer> entry : coveredPredicates.entrySet()) {
+		for (Entry<Integer, Integer> entry : getPredicateExecutionCount().entrySet()) {
 			ret.append(entry.getKey() + ": " + entry.getValue() + ", ");
 		}
 		ret.append("\nTrue distances: ");
-		for (Entry<Integer, Double> entry : trueDistances.entrySet()) {
+		for (Entry<Integer, Double> entry : getTrueDistances().entrySet()) {
 			ret.append(entry.getKey() + ": " + entry.getValue() + ", ");
 		}
 		ret.append("\nFalse distances: ");
-		for (Entry<Integer, Double> entry : falseDistances.entrySet()) {
+		for (Entry<Integer, Double> entry : getFalseDistances().entrySet()) {
 			ret.append(entry.getKey() + ": " + entry.getValue() + ", ");
 		}
 		return ret.toString();
@@ -1674,13 +1602,13 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	/** {@inheritDoc} */
 	@Override
 	public Map<Integer, Double> getFalseDistancesSum() {
-		return falseDistancesSum;
+		return branchCounts.getFalseDistanceSums();
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public Map<Integer, Double> getTrueDistancesSum() {
-		return trueDistancesSum;
+		return branchCounts.getTrueDistanceSums();
 	}
 
 	/** {@inheritDoc} */
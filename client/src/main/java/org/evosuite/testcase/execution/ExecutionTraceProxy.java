@@ -508,14 +508,13 @@ public class ExecutionTraceProxy implements ExecutionTrace, Cloneable {
 	/*
 	 * (non-Javadoc)
 	 * 
-	 * @see org.evosuite.testcase.IExecutionTrace#linePassed(java.lang.String,
-	 * java.lang.String, int)
+	 * @see org.evosuite.testcase.IExecutionTrace#linePassed(int)
 	 */
 	/** {@inheritDoc} */
 	@Override
-	public void linePassed(String className, String methodName, int line) {
+	public void linePassed(int lineId) {
 		copyOnWrite();
-		trace.linePassed(className, methodName, line);
+		trace.linePassed(lineId);
 	}
 
 	/*
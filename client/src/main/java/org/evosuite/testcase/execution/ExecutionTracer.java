@@ -19,6 +19,7 @@
  */
 package org.evosuite.testcase.execution;
 
+import java.util.Collections;
 import java.util.Map;
 
 import org.evosuite.coverage.dataflow.DefUsePool;
@@ -42,6 +43,16 @@ public class ExecutionTracer {
 
 	private static ExecutionTracer instance = null;
 
+	/**
+	 * Tracers of the worker slots used for parallel test execution. The binding
+	 * is inherited by the test execution thread and by the threads the SUT
+	 * spawns from it.
+	 */
+	private static final InheritableThreadLocal<ExecutionTracer> workerTracer = new InheritableThreadLocal<>();
+
+	/** Set once the first worker tracer is created, to keep the common case cheap */
+	private static volatile boolean hasWorkerTracers = false;
+
 	/**
 	 * We need to disable the execution tracer sometimes, e.g. when calling
 	 * equals in the branch distance function
@@ -62,7 +73,13 @@ public class ExecutionTracer {
 	 * If a thread of a test case survives for some reason (e.g. long call to
 	 * external library), then we don't want its data in the current trace
 	 */
-	private static volatile Thread currentThread = null;
+	private volatile Thread currentThread = null;
+
+	/**
+	 * Number of class initializers the current thread is running, maintained
+	 * by the instrumented code
+	 */
+	private volatile int classInitDepth = 0;
 
 	/**
 	 * <p>
@@ -73,7 +90,10 @@ public class ExecutionTracer {
 	 *            a {@link java.lang.Thread} object.
 	 */
 	public static void setThread(Thread thread) {
-		currentThread = thread;
+		ExecutionTracer tracer = getExecutionTracer();
+		tracer.currentThread = thread;
+		// a thread stopped in a class initializer does not leave it
+		tracer.classInitDepth = 0;
 	}
 
 	/**
@@ -183,12 +203,39 @@ public class ExecutionTracer {
 	 * @return a {@link org.evosuite.testcase.execution.ExecutionTracer} object.
 	 */
 	public static ExecutionTracer getExecutionTracer() {
+		if (hasWorkerTracers) {
+			ExecutionTracer tracer = workerTracer.get();
+			if (tracer != null)
+				return tracer;
+		}
 		if (instance == null) {
 			instance = new ExecutionTracer();
 		}
 		return instance;
 	}
 
+	/**
+	 * Bind a new tracer to the calling thread and to all threads it creates
+	 * from now on. Used by the worker slots of {@link TestCaseExecutorPool},
+	 * each of which needs its own trace.
+	 * 
+	 * @return the tracer bound to the calling thread
+	 */
+	public static ExecutionTracer bindWorkerTracer() {
+		ExecutionTracer tracer = new ExecutionTracer();
+		tracer.disabled = getExecutionTracer().disabled;
+		workerTracer.set(tracer);
+		hasWorkerTracers = true;
+		return tracer;
+	}
+
+	/**
+	 * Remove the tracer bound to the calling thread, if any
+	 */
+	public static void unbindWorkerTracer() {
+		workerTracer.remove();
+	}
+
 	/**
 	 * Reset for new execution
 	 */
@@ -198,6 +245,29 @@ public class ExecutionTracer {
 		num_statements = 0;
 	}
 
+	/**
+	 * Copy the trace of the current execution, e.g., to resume from it later
+	 * with {@link #restore(ExecutionTrace, int)}. Unlike {@link #getTrace()},
+	 * this does not finish the pending method calls
+	 */
+	ExecutionTrace copyTrace() {
+		return trace.lazyClone();
+	}
+
+	/**
+	 * Continue an execution from a copy of its trace
+	 * 
+	 * @param trace
+	 *            the trace of the execution so far, which is not modified
+	 * @param numStatements
+	 *            the number of statements executed so far
+	 */
+	void restore(ExecutionTrace trace, int numStatements) {
+		this.trace = trace.lazyClone();
+		BooleanHelper.clearStack();
+		num_statements = numStatements;
+	}
+
 	/**
 	 * Obviously more than one thread is executing during the creation of
 	 * concurrent TestCases. #TODO steenbuck we should test if
@@ -209,19 +279,21 @@ public class ExecutionTracer {
 		if (!checkCallerThread) {
 			return false;
 		}
-		if (currentThread == null) {
+		ExecutionTracer tracer = getExecutionTracer();
+		if (tracer.currentThread == null) {
 			logger.error("CurrentThread has not been set!");
-			Map<Thread, StackTraceElement[]> map = Thread.getAllStackTraces();
+			Map<Thread, StackTraceElement[]> map = logger.isDebugEnabled() ? Thread.getAllStackTraces()
+					: Collections.emptyMap();
 			for (Thread t : map.keySet()) {
 				String msg = "Thread: " + t+"\n";
 				for (StackTraceElement e : map.get(t)) {
 					msg += " -> " + e + "\n";
 				}
-				logger.error(msg);
+				logger.debug(msg);
 			}
-			currentThread = Thread.currentThread();
+			tracer.currentThread = Thread.currentThread();
 		}
-		return Thread.currentThread() != currentThread;
+		return Thread.currentThread() != tracer.currentThread;
 	}
 
 	/**
@@ -388,25 +460,54 @@ public class ExecutionTracer {
 		}
 	}
 	
-	private static boolean isInStaticInit() {
-		for(StackTraceElement elem : Thread.currentThread().getStackTrace()) {
-			if(elem.getMethodName().equals("<clinit>"))
-				return true;
-		}
-		return false;
+	/**
+	 * @return whether the current thread of the test is running a class
+	 *         initializer, or loading a class with the
+	 *         {@link org.evosuite.instrumentation.InstrumentingClassLoader}
+	 */
+	public static boolean isInStaticInit() {
+		return getExecutionTracer().classInitDepth > 0;
+	}
+
+	/**
+	 * Unlike {@link #isThreadNeqCurrentThread()}, this does not adopt the
+	 * calling thread if the thread of the test is not set, as classes are also
+	 * loaded and initialized outside of tests
+	 */
+	private static boolean isTestThread(ExecutionTracer tracer) {
+		return !checkCallerThread || tracer.currentThread == Thread.currentThread();
+	}
+
+	/**
+	 * Called by the instrumented code when a class initializer starts, and by
+	 * the {@link org.evosuite.instrumentation.InstrumentingClassLoader} when
+	 * it starts loading a class
+	 */
+	public static void enteredClassInit() {
+		ExecutionTracer tracer = getExecutionTracer();
+		if (isTestThread(tracer))
+			tracer.classInitDepth++;
+	}
+
+	/**
+	 * Called by the instrumented code when a class initializer returns or
+	 * throws, and by the
+	 * {@link org.evosuite.instrumentation.InstrumentingClassLoader} when it
+	 * is done loading a class
+	 */
+	public static void leftClassInit() {
+		ExecutionTracer tracer = getExecutionTracer();
+		if (isTestThread(tracer) && tracer.classInitDepth > 0)
+			tracer.classInitDepth--;
 	}
 
 	/**
 	 * Called by the instrumented code each time a new source line is executed
 	 * 
-	 * @param line
-	 *            a int.
-	 * @param className
-	 *            a {@link java.lang.String} object.
-	 * @param methodName
-	 *            a {@link java.lang.String} object.
+	 * @param lineId
+	 *            the id of the line in the {@link org.evosuite.instrumentation.LinePool}
 	 */
-	public static void passedLine(String className, String methodName, int line) {
+	public static void passedLine(int lineId) {
 		ExecutionTracer tracer = getExecutionTracer();
 		if (tracer.disabled)
 			return;
@@ -416,7 +517,7 @@ public class ExecutionTracer {
 
 		checkTimeout();
 
-		tracer.trace.linePassed(className, methodName, line);
+		tracer.trace.linePassed(lineId);
 	}
 
 	/**
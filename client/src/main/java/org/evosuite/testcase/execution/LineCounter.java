@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.Arrays;
+
+/**
+ * Number of times each line was passed during an execution, by line id (see
+ * {@link org.evosuite.instrumentation.LinePool}). The counts are kept in an
+ * open addressing table of primitive ints, so that passing a line neither
+ * hashes strings nor boxes integers, and the table only grows with the number
+ * of lines actually passed.
+ */
+final class LineCounter {
+
+	/** Line ids, in order of their first pass */
+	private int[] lineIds;
+
+	private int[] counts;
+
+	private int size = 0;
+
+	/** Index in {@link #lineIds} plus one, by hash of the line id; 0 if empty */
+	private int[] slots;
+
+	LineCounter() {
+		lineIds = new int[8];
+		counts = new int[8];
+		slots = new int[16];
+	}
+
+	private LineCounter(LineCounter other) {
+		lineIds = other.lineIds.clone();
+		counts = other.counts.clone();
+		slots = other.slots.clone();
+		size = other.size;
+	}
+
+	private static int hash(int lineId) {
+		// spread consecutive ids
+		return lineId * 0x9E3779B9;
+	}
+
+	/**
+	 * Count one more pass of the line
+	 */
+	void increment(int lineId) {
+		int mask = slots.length - 1;
+		int slot = hash(lineId) & mask;
+		while (slots[slot] != 0) {
+			int index = slots[slot] - 1;
+			if (lineIds[index] == lineId) {
+				counts[index]++;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		if (size == lineIds.length) {
+			lineIds = Arrays.copyOf(lineIds, size * 2);
+			counts = Arrays.copyOf(counts, size * 2);
+		}
+		lineIds[size] = lineId;
+		counts[size] = 1;
+		size++;
+		slots[slot] = size;
+		if (size * 2 > slots.length) {
+			rehash(slots.length * 2);
+		}
+	}
+
+	private void rehash(int numSlots) {
+		slots = new int[numSlots];
+		int mask = numSlots - 1;
+		for (int index = 0; index < size; index++) {
+			int slot = hash(lineIds[index]) & mask;
+			while (slots[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			slots[slot] = index + 1;
+		}
+	}
+
+	/**
+	 * @return the number of different lines passed
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @return the id of the {@code index}-th line passed
+	 */
+	int getLineId(int index) {
+		return lineIds[index];
+	}
+
+	/**
+	 * @return the number of passes of the {@code index}-th line passed
+	 */
+	int getCount(int index) {
+		return counts[index];
+	}
+
+	void clear() {
+		if (size > 0) {
+			Arrays.fill(slots, 0);
+			size = 0;
+		}
+	}
+
+	LineCounter copy() {
+		return new LineCounter(this);
+	}
+}
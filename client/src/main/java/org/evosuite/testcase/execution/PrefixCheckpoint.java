@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.evosuite.assertion.CheapPurityAnalyzer;
+import org.evosuite.runtime.Random;
+import org.evosuite.runtime.util.JOptionPaneInputs;
+import org.evosuite.runtime.util.JOptionPaneInputs.GUIAction;
+import org.evosuite.runtime.util.SystemInUtil;
+import org.evosuite.runtime.vfs.VirtualFileSystem;
+import org.evosuite.runtime.vnet.VirtualNetwork;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.execution.reset.ClassReInitializer;
+import org.evosuite.testcase.statements.ArrayStatement;
+import org.evosuite.testcase.statements.FieldStatement;
+import org.evosuite.testcase.statements.MethodStatement;
+import org.evosuite.testcase.statements.PrimitiveStatement;
+import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testcase.variable.VariableReference;
+
+/**
+ * The state left by the execution of the first statements of a test, from
+ * which the execution of the tests starting with the same statements can
+ * resume instead of starting from scratch (see
+ * {@link org.evosuite.Properties#PREFIX_CHECKPOINTS}).
+ *
+ * <p>
+ * A checkpoint holds the objects created by the prefix, so it is only used
+ * while these objects are in the state the prefix left them in:
+ * <ul>
+ * <li>it is only created if the statements after the prefix cannot change
+ * existing objects (see {@link #getSideEffectFreeSuffixStart(TestCase)}), and
+ * if the execution did not write static fields, initialize classes, use the
+ * mocked environment (time, randomness, system properties, files, network,
+ * input, dialogs) or leave threads running;</li>
+ * <li>the first execution resuming from it with statements that can change
+ * existing objects consumes it;</li>
+ * <li>it becomes invalid when a class whose static fields were read is
+ * reset.</li>
+ * </ul>
+ * </p>
+ */
+public class PrefixCheckpoint {
+
+	/** Copy of the statements of the prefix */
+	private final TestCase prefix;
+
+	/** The values of the variables defined by the prefix, by position */
+	private final Map<Integer, Object> values;
+
+	private final ExecutionTrace trace;
+
+	/** Whether an execution resumed from the checkpoint and changed its objects */
+	private boolean consumed = false;
+
+	private final Set<String> classesWithStaticReads;
+
+	/** Number of class resets when the execution of the prefix started */
+	private final long numResets;
+
+	private PrefixCheckpoint(TestCase prefix, Map<Integer, Object> values, ExecutionTrace trace,
+			Set<String> classesWithStaticReads, long numResets) {
+		this.prefix = prefix;
+		this.values = values;
+		this.trace = trace;
+		this.classesWithStaticReads = classesWithStaticReads;
+		this.numResets = numResets;
+	}
+
+	/**
+	 * @return the number of statements of the prefix
+	 */
+	public int getPosition() {
+		return prefix.size();
+	}
+
+	/**
+	 * Determine the position from which the statements of the test cannot
+	 * change the objects created before: they only create primitive values
+	 * and arrays, read fields and call pure methods
+	 */
+	static int getSideEffectFreeSuffixStart(TestCase test) {
+		int position = test.size();
+		while (position > 0 && isSideEffectFree(test.getStatement(position - 1))) {
+			position--;
+		}
+		return position;
+	}
+
+	private static boolean isSideEffectFree(Statement statement) {
+		if (statement instanceof PrimitiveStatement || statement instanceof ArrayStatement
+				|| statement instanceof FieldStatement) {
+			return true;
+		}
+		if (statement instanceof MethodStatement) {
+			return CheapPurityAnalyzer.getInstance().isPure(((MethodStatement) statement).getMethod().getMethod());
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether the last execution left no state besides the objects of
+	 * the test, in the mocked environment
+	 */
+	static boolean isEnvironmentUnused() {
+		if (org.evosuite.runtime.System.wasTimeAccessed() || Random.wasAccessed()
+				|| org.evosuite.runtime.System.wasAnyPropertyWritten()
+				|| !org.evosuite.runtime.System.getAllPropertiesReadSoFar().isEmpty()
+				|| SystemInUtil.getInstance().hasBeenUsed()
+				|| !VirtualFileSystem.getInstance().getAccessedFiles().isEmpty()
+				|| !VirtualNetwork.getInstance().getViewOfRemoteAccessedFiles().isEmpty()
+				|| !VirtualNetwork.getInstance().getViewOfLocalListeningPorts().isEmpty()
+				|| !VirtualNetwork.getInstance().getViewOfRemoteContactedPorts().isEmpty()) {
+			return false;
+		}
+		for (GUIAction action : GUIAction.values()) {
+			if (JOptionPaneInputs.getInstance().hasDialog(action)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Create a checkpoint after the first statements of an executed test. The
+	 * caller checks that the rest of the test is side-effect free, and that
+	 * the execution of the first statements did not throw exceptions.
+	 *
+	 * @param test
+	 *            the executed test
+	 * @param position
+	 *            the number of statements of the prefix
+	 * @param scope
+	 *            the scope of the execution
+	 * @param prefixTrace
+	 *            the trace after the execution of the prefix
+	 * @param trace
+	 *            the trace of the whole execution
+	 * @param resumed
+	 *            the checkpoint the execution resumed from, if any
+	 * @param numResets
+	 *            the number of class resets when the execution started
+	 * @return the checkpoint, or {@code null} if the execution changed state
+	 *         outside the objects of the test
+	 */
+	static PrefixCheckpoint create(TestCase test, int position, Scope scope, ExecutionTrace prefixTrace,
+			ExecutionTrace trace, PrefixCheckpoint resumed, long numResets) {
+		if (!trace.getClassesWithStaticWrites().isEmpty() || !trace.getInitializedClasses().isEmpty()
+				|| !isEnvironmentUnused()) {
+			return null;
+		}
+
+		TestCase prefix = test.clone();
+		prefix.chop(position);
+		if (prefix instanceof DefaultTestCase) {
+			// do not keep the previous checkpoints alive
+			((DefaultTestCase) prefix).setPrefixCheckpoint(null);
+		}
+
+		Set<VariableReference> variables = new LinkedHashSet<>(scope.getVariables());
+		Map<Integer, Object> values = new LinkedHashMap<>();
+		for (int i = 0; i < position; i++) {
+			VariableReference variable = test.getStatement(i).getReturnValue();
+			if (variables.contains(variable)) {
+				values.put(i, scope.getObject(variable));
+			}
+		}
+
+		if (resumed != null) {
+			// some objects are older than this execution
+			numResets = resumed.numResets;
+		}
+		return new PrefixCheckpoint(prefix, values, prefixTrace,
+				new LinkedHashSet<>(trace.getClassesWithStaticReads()), numResets);
+	}
+
+	/**
+	 * Checks whether the test starts with the statements of the checkpoint,
+	 * and whether the state of the checkpoint is still valid
+	 */
+	boolean canResume(TestCase test) {
+		synchronized (this) {
+			if (consumed) {
+				return false;
+			}
+		}
+		if (test.size() < prefix.size()) {
+			return false;
+		}
+		for (int i = 0; i < prefix.size(); i++) {
+			if (!prefix.getStatement(i).same(test.getStatement(i))) {
+				return false;
+			}
+		}
+		return !ClassReInitializer.getInstance().wasAnyClassResetSince(classesWithStaticReads, numResets);
+	}
+
+	/**
+	 * Prepare the execution of the rest of the test: put the values of the
+	 * prefix in the scope, and restore the trace
+	 *
+	 * @param test
+	 *            a test that the checkpoint {@link #canResume(TestCase)}
+	 * @param scope
+	 *            the (empty) scope of the execution
+	 * @param consume
+	 *            whether the rest of the test might change the objects of the
+	 *            checkpoint
+	 * @return {@code false} if the checkpoint was consumed in the meantime
+	 */
+	boolean resume(TestCase test, Scope scope, boolean consume) {
+		synchronized (this) {
+			if (consumed) {
+				return false;
+			}
+			consumed = consume;
+		}
+		for (Map.Entry<Integer, Object> entry : values.entrySet()) {
+			scope.setObject(test.getStatement(entry.getKey()).getReturnValue(), entry.getValue());
+		}
+		ExecutionTracer.getExecutionTracer().restore(trace, getPosition());
+		return true;
+	}
+}
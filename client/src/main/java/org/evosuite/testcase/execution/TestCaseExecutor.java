@@ -32,6 +32,7 @@ import java.util.concurrent.TimeoutException;
 
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
+import org.evosuite.coverage.mutation.MutationObserver;
 import org.evosuite.ga.stoppingconditions.MaxStatementsStoppingCondition;
 import org.evosuite.ga.stoppingconditions.MaxTestsStoppingCondition;
 import org.evosuite.runtime.LoopCounter;
@@ -41,6 +42,7 @@ import org.evosuite.runtime.sandbox.Sandbox;
 import org.evosuite.runtime.util.JOptionPaneInputs;
 import org.evosuite.runtime.util.SystemInUtil;
 import org.evosuite.setup.TestCluster;
+import org.evosuite.testcase.DefaultTestCase;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.execution.reset.ClassReInitializer;
 import org.slf4j.Logger;
@@ -102,6 +104,21 @@ public class TestCaseExecutor implements ThreadFactory {
 	 */
 	public volatile int threadCounter;
 
+	/**
+	 * Number of executors currently running SUT code. The sandbox is shared, so
+	 * with several worker executors it must only be switched on by the first
+	 * and off by the last one.
+	 */
+	private static int activeSUTExecutions = 0;
+
+	/**
+	 * Whether this executor runs on a worker slot of the
+	 * {@link TestCaseExecutorPool}, concurrently with other executors. It then
+	 * leaves the global state of the runtime alone, as the pool resets it
+	 * before each batch.
+	 */
+	private final boolean workerSlot;
+
 	static {
 		PermissionStatistics.getInstance().setThreadGroupToMonitor(TEST_EXECUTION_THREAD_GROUP);
 	}
@@ -148,10 +165,60 @@ public class TestCaseExecutor implements ThreadFactory {
 	}
 
 	private TestCaseExecutor() {
+		this(false);
+	}
+
+	private TestCaseExecutor(boolean workerSlot) {
+		this.workerSlot = workerSlot;
 		executor = Executors.newSingleThreadExecutor(this);
 		newObservers();
 	}
 
+	/**
+	 * Create an executor that is independent of the singleton instance, with
+	 * its own execution thread and thread group. It is meant to be used from a
+	 * thread that has its own {@link ExecutionTracer} bound, see
+	 * {@link ExecutionTracer#bindWorkerTracer()}.
+	 * 
+	 * @return a new {@link TestCaseExecutor} without observers
+	 */
+	static TestCaseExecutor newWorkerExecutor() {
+		return new TestCaseExecutor(true);
+	}
+
+	/**
+	 * Stop the execution thread of this executor
+	 */
+	void shutdown() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	private static synchronized void enterSUTCode() {
+		if (activeSUTExecutions == 0) {
+			Sandbox.goingToExecuteSUTCode();
+		}
+		activeSUTExecutions++;
+	}
+
+	private static synchronized void leaveSUTCode() {
+		activeSUTExecutions--;
+		if (activeSUTExecutions == 0) {
+			Sandbox.doneWithExecutingSUTCode();
+		}
+	}
+
+	private static synchronized boolean isAnyExecutorInSUTCode() {
+		return activeSUTExecutions > 0;
+	}
+
+	private static synchronized void testFinished(long time) {
+		timeExecuted += time;
+		testsExecuted++;
+	}
+
 	public static class TimeoutExceeded extends RuntimeException {
 		private static final long serialVersionUID = -5314228165430676893L;
 	}
@@ -171,6 +238,7 @@ public class TestCaseExecutor implements ThreadFactory {
 	 * </p>
 	 */
 	public static void pullDown() {
+		TestCaseExecutorPool.pullDown();
 		if (instance != null) {
 			if (instance.executor != null) {
 				instance.executor.shutdownNow();
@@ -296,9 +364,11 @@ public class TestCaseExecutor implements ThreadFactory {
 
 		// TODO: Re-insert!
 		resetObservers();
-		ExecutionObserver.setCurrentTest(tc);
 		MaxTestsStoppingCondition.testExecuted();
-		Runtime.getInstance().resetRuntime();
+		if (!workerSlot) {
+			ExecutionObserver.setCurrentTest(tc);
+			Runtime.getInstance().resetRuntime();
+		}
 
 		long startTime = System.currentTimeMillis();
 
@@ -308,6 +378,31 @@ public class TestCaseExecutor implements ThreadFactory {
 		TestRunnable callable = new TestRunnable(tc, scope, observers);
 		callable.storeCurrentThreads();
 
+		PrefixCheckpoint resumedCheckpoint = null;
+		int checkpointPosition = -1;
+		long numResets = 0;
+		if (usePrefixCheckpoints(tc)) {
+			numResets = ClassReInitializer.getInstance().getNumResets();
+			DefaultTestCase test = (DefaultTestCase) tc;
+			int suffixStart = PrefixCheckpoint.getSideEffectFreeSuffixStart(tc);
+			PrefixCheckpoint checkpoint = test.getPrefixCheckpoint();
+			if (checkpoint != null && checkpoint.canResume(tc)) {
+				// the checkpoint can only be used again if the rest of the test does not change its objects
+				boolean consume = suffixStart > checkpoint.getPosition();
+				if (checkpoint.resume(tc, scope, consume)) {
+					callable.setFirstPosition(checkpoint.getPosition());
+					resumedCheckpoint = checkpoint;
+				}
+			}
+			if (resumedCheckpoint == null || resumedCheckpoint.getPosition() < suffixStart) {
+				test.setPrefixCheckpoint(null);
+				if (suffixStart >= Properties.PREFIX_CHECKPOINT_MIN_LENGTH) {
+					checkpointPosition = suffixStart;
+					callable.setCheckpointPosition(checkpointPosition);
+				}
+			}
+		}
+
 		/*
 		 * FIXME: the sequence of "catch" with calls to "result.set" should be
 		 * re-factored, as these things should be (already) handled in
@@ -323,20 +418,27 @@ public class TestCaseExecutor implements ThreadFactory {
 			ExecutionResult result = null;
 
 			// important to call it before setting up the sandbox
-			SystemInUtil.getInstance().initForTestCase();
-			JOptionPaneInputs.getInstance().initForTestCase();
+			if (!workerSlot) {
+				SystemInUtil.getInstance().initForTestCase();
+				JOptionPaneInputs.getInstance().initForTestCase();
+			}
 
-			Sandbox.goingToExecuteSUTCode();
+			enterSUTCode();
 			TestGenerationContext.getInstance().goingToExecuteSUTCode();
 			try {
 				result = handler.execute(callable, executor, timeout, Properties.CPU_TIMEOUT);
 			} finally {
-				Sandbox.doneWithExecutingSUTCode();
+				leaveSUTCode();
 				TestGenerationContext.getInstance().doneWithExecutingSUTCode();
 			}
 
 			PermissionStatistics.getInstance().countThreads(threadGroup.activeCount());
 			result.setSecurityException(PermissionStatistics.getInstance().getAndResetExceptionInfo());
+
+			if (callable.getCheckpointTrace() != null) {
+				createPrefixCheckpoint(tc, scope, result, checkpointPosition, callable.getCheckpointTrace(),
+						resumedCheckpoint, numResets);
+			}
 			/*
 			 * TODO: this will need proper care when we ll start to handle
 			 * threads in the search.
@@ -349,8 +451,7 @@ public class TestCaseExecutor implements ThreadFactory {
 			 */
 
 			long endTime = System.currentTimeMillis();
-			timeExecuted += endTime - startTime;
-			testsExecuted++;
+			testFinished(endTime - startTime);
 			return result;
 		} catch (ThreadDeath t) {
 			logger.warn("Caught ThreadDeath during test execution");
@@ -407,16 +508,20 @@ public class TestCaseExecutor implements ThreadFactory {
 			// task.cancel(true);
 
 			if (!callable.isRunFinished()) {
-				logger.info("Cancelling thread:");
-				for (StackTraceElement elem : currentThread.getStackTrace()) {
-					logger.info(elem.toString());
+				if (logger.isInfoEnabled()) {
+					logger.info("Cancelling thread:");
+					for (StackTraceElement elem : currentThread.getStackTrace()) {
+						logger.info(elem.toString());
+					}
+					logger.info(tc.toCode());
 				}
-				logger.info(tc.toCode());
 				boolean loopCounter = LoopCounter.getInstance().isActivated();
-				while (isInStaticInit()) {
-					// LoopCounter and killswitch check the stacktrace often
+				// the instrumented code and class loader keep track of class
+				// initializers and class loading on the thread of the test
+				while (ExecutionTracer.isInStaticInit()) {
+					// LoopCounter checks the stacktrace often
 					// and that is costly - to speed things up we deactivate it
-					// until we're outside the static constructor
+					// and the killswitch until we're outside the static constructor
 					LoopCounter.getInstance().setActive(false);
 					ExecutionTracer.setKillSwitch(false);
 					logger.info("Run still not finished, but awaiting for static initializer to finish.");
@@ -448,12 +553,11 @@ public class TestCaseExecutor implements ThreadFactory {
 						executor.shutdownNow();
 						if (currentThread.isAlive()) {
 							logger.info("Thread survived - unsafe operation.");
-							for (StackTraceElement element : currentThread.getStackTrace()) {
-								logger.info(element.toString());
-							}
-							logger.info("Killing thread:");
-							for (StackTraceElement elem : currentThread.getStackTrace()) {
-								logger.info(elem.toString());
+							if (logger.isInfoEnabled()) {
+								logger.info("Killing thread:");
+								for (StackTraceElement elem : currentThread.getStackTrace()) {
+									logger.info(elem.toString());
+								}
 							}
 							currentThread.stop();
 						}
@@ -472,7 +576,7 @@ public class TestCaseExecutor implements ThreadFactory {
 			ExecutionTracer.disable();
 
 			// TODO: If this is true, is this problematic?
-			if (Sandbox.isOnAndExecutingSUTCode()) {
+			if (Sandbox.isOnAndExecutingSUTCode() && !isAnyExecutorInSUTCode()) {
 				Sandbox.doneWithExecutingSUTCode();
 				TestGenerationContext.getInstance().doneWithExecutingSUTCode();
 			}
@@ -495,19 +599,34 @@ public class TestCaseExecutor implements ThreadFactory {
 		}
 	}
 
-	private boolean isInStaticInit() {
-		for (StackTraceElement elem : currentThread.getStackTrace()) {
-			if (elem.getMethodName().equals("<clinit>"))
-				return true;
-			if (elem.getMethodName().equals("loadClass") && elem.getClassName()
-					.equals(org.evosuite.instrumentation.InstrumentingClassLoader.class.getCanonicalName()))
-				return true;
-			// CFontManager is responsible for loading fonts
-			// which can take seconds
-			if (elem.getClassName().equals("sun.font.CFontManager"))
-				return true;
+	private boolean usePrefixCheckpoints(TestCase tc) {
+		// the state left by a prefix is not known to the observers, and
+		// depends on whether a mutant is active
+		return Properties.PREFIX_CHECKPOINTS && Properties.RESET_STATIC_FIELDS && observers.isEmpty()
+				&& MutationObserver.activeMutation == -1 && tc instanceof DefaultTestCase;
+	}
+
+	/**
+	 * Keep the state after the first statements of an executed test, if the
+	 * rest of the test did not change it
+	 */
+	private void createPrefixCheckpoint(TestCase tc, Scope scope, ExecutionResult result, int position,
+			ExecutionTrace prefixTrace, PrefixCheckpoint resumedCheckpoint, long numResets) {
+		// the SUT threads are stopped after the execution
+		if (result.hasTimeout() || threadGroup.activeCount() > 1) {
+			return;
+		}
+		for (Integer exceptionPosition : result.getPositionsWhereExceptionsWereThrown()) {
+			if (exceptionPosition < position) {
+				return;
+			}
+		}
+		PrefixCheckpoint checkpoint = PrefixCheckpoint.create(tc, position, scope, prefixTrace, result.getTrace(),
+				resumedCheckpoint, numResets);
+		if (checkpoint != null) {
+			logger.debug("Keeping the state after {} statements", position);
+			((DefaultTestCase) tc).setPrefixCheckpoint(checkpoint);
 		}
-		return false;
 	}
 
 	/**
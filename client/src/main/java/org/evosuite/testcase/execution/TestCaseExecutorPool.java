@@ -0,0 +1,295 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.evosuite.Properties;
+import org.evosuite.ga.Chromosome;
+import org.evosuite.ga.FitnessFunction;
+import org.evosuite.ga.stoppingconditions.MaxStatementsStoppingCondition;
+import org.evosuite.runtime.Runtime;
+import org.evosuite.runtime.sandbox.Sandbox;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.evosuite.testsuite.TestSuiteFitnessFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Executes independent test cases concurrently on a fixed number of worker
+ * slots. Each slot is a thread with its own {@link ExecutionTracer} and its own
+ * {@link TestCaseExecutor} (and thus its own execution thread and thread
+ * group), so the traces of concurrently running tests do not mix.
+ * </p>
+ *
+ * <p>
+ * The pool only executes the tests and stores the results in the chromosomes,
+ * exactly as the fitness functions would do. Fitness values are still computed
+ * sequentially afterwards on the cached results, so that archive and goal
+ * bookkeeping is unchanged.
+ * </p>
+ *
+ * <p>
+ * Classes under test share their static state between slots, and so do the
+ * mocked environment (file system, network, time, randomness, input) and the
+ * loop counters of the runtime. The pool is thus only used if static fields
+ * are not reset between executions, none of these is enabled, and no
+ * execution observers are registered. The slots do not reset the runtime
+ * themselves: it is reset once before each batch.
+ * </p>
+ *
+ * <p>
+ * As static field resetting, the mocked environment and the loop check are all
+ * enabled by default, parallel evaluation is limited to configurations that
+ * explicitly disable them; otherwise the tests are executed sequentially, as
+ * without the pool.
+ * </p>
+ */
+public class TestCaseExecutorPool {
+
+	private static final Logger logger = LoggerFactory.getLogger(TestCaseExecutorPool.class);
+
+	/**
+	 * Name used to define the threads of the worker slots
+	 */
+	public static final String WORKER_SLOT_THREAD = "TEST_EXECUTION_WORKER_SLOT";
+
+	private static TestCaseExecutorPool instance = null;
+
+	/** The executor owned by the worker slot running on the current thread */
+	private static final ThreadLocal<TestCaseExecutor> slotExecutor = new ThreadLocal<>();
+
+	/** Whether a fitness function class relies on the default test execution */
+	private static final Map<Class<?>, Boolean> defaultExecution = new ConcurrentHashMap<>();
+
+	/** Whether the user was told that the configuration rules out the pool */
+	private static volatile boolean configurationWarned = false;
+
+	private final ExecutorService slots;
+
+	private final List<TestCaseExecutor> slotExecutors = new ArrayList<>();
+
+	private int slotCounter = 0;
+
+	private TestCaseExecutorPool(int numSlots) {
+		slots = Executors.newFixedThreadPool(numSlots, new WorkerSlotFactory());
+	}
+
+	/**
+	 * <p>
+	 * Getter for the field <code>instance</code>.
+	 * </p>
+	 *
+	 * @return a {@link TestCaseExecutorPool} with
+	 *         {@link Properties#NUM_PARALLEL_EVALUATIONS} slots
+	 */
+	public static synchronized TestCaseExecutorPool getInstance() {
+		if (instance == null)
+			instance = new TestCaseExecutorPool(Properties.NUM_PARALLEL_EVALUATIONS);
+		return instance;
+	}
+
+	/**
+	 * Stop all worker slots
+	 */
+	public static synchronized void pullDown() {
+		if (instance != null) {
+			instance.slots.shutdownNow();
+			synchronized (instance.slotExecutors) {
+				instance.slotExecutors.forEach(TestCaseExecutor::shutdown);
+				instance.slotExecutors.clear();
+			}
+			instance = null;
+		}
+	}
+
+	/**
+	 * Check whether tests evaluated by the given fitness functions can be
+	 * executed on the worker slots
+	 *
+	 * @param fitnessFunctions
+	 * @return true if parallel execution is enabled and safe to use
+	 */
+	public static boolean isApplicable(Collection<? extends FitnessFunction<?>> fitnessFunctions) {
+		if (Properties.NUM_PARALLEL_EVALUATIONS <= 1)
+			return false;
+		if (Properties.RESET_STATIC_FIELDS) {
+			notApplicable("static fields are reset after each test (reset_static_fields)");
+			return false;
+		}
+		if (Properties.VIRTUAL_FS || Properties.VIRTUAL_NET || Properties.REPLACE_CALLS
+				|| Properties.REPLACE_SYSTEM_IN || Properties.REPLACE_GUI) {
+			notApplicable("the mocked environment is shared by all executions (virtual_fs, virtual_net, replace_calls, replace_system_in, replace_gui)");
+			return false;
+		}
+		if (Properties.MAX_LOOP_ITERATIONS >= 0) {
+			notApplicable("loop iterations are counted for all executions together (max_loop_iterations)");
+			return false;
+		}
+		if (!TestCaseExecutor.getInstance().getExecutionObservers().isEmpty()) {
+			logger.debug("Not executing tests in parallel as execution observers are registered");
+			return false;
+		}
+		for (FitnessFunction<?> ff : fitnessFunctions) {
+			if (!usesDefaultExecution(ff)) {
+				logger.debug("Not executing tests in parallel as {} has its own execution", ff.getClass());
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The configuration rules out the pool for the whole search: tell the user
+	 * once, as the option silently has no effect otherwise
+	 */
+	private static void notApplicable(String reason) {
+		if (!configurationWarned) {
+			configurationWarned = true;
+			logger.warn("Ignoring num_parallel_evaluations, tests are executed sequentially as " + reason);
+		} else {
+			logger.debug("Not executing tests in parallel as " + reason);
+		}
+	}
+
+	/**
+	 * Fitness functions that override <code>runTest</code> (e.g. mutation) need
+	 * their own execution and cannot reuse results produced by the pool
+	 */
+	private static boolean usesDefaultExecution(FitnessFunction<?> ff) {
+		return defaultExecution.computeIfAbsent(ff.getClass(), clazz -> {
+			try {
+				Class<?> declaringClass = clazz.getMethod("runTest", TestCase.class).getDeclaringClass();
+				return declaringClass.equals(TestFitnessFunction.class)
+						|| declaringClass.equals(TestSuiteFitnessFunction.class);
+			} catch (NoSuchMethodException e) {
+				return false;
+			}
+		});
+	}
+
+	/**
+	 * Execute all tests contained in the given chromosomes that have changed
+	 * since their last execution, and store the results in the chromosomes.
+	 * Chromosomes that are neither {@link TestChromosome} nor
+	 * {@link TestSuiteChromosome} are ignored.
+	 *
+	 * @param chromosomes
+	 */
+	public void executeChromosomes(Collection<? extends Chromosome<?>> chromosomes) {
+		List<TestChromosome> tests = new ArrayList<>();
+		for (Chromosome<?> c : chromosomes) {
+			if (c instanceof TestChromosome) {
+				tests.add((TestChromosome) c);
+			} else if (c instanceof TestSuiteChromosome) {
+				tests.addAll(((TestSuiteChromosome) c).getTestChromosomes());
+			}
+		}
+		execute(tests);
+	}
+
+	/**
+	 * Execute the given tests that have changed since their last execution, and
+	 * store the results in the chromosomes
+	 *
+	 * @param tests
+	 */
+	public void execute(List<TestChromosome> tests) {
+		Runtime.getInstance().resetRuntime();
+		List<TestChromosome> pending = new ArrayList<>();
+		Set<TestChromosome> submitted = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<Future<ExecutionResult>> futures = new ArrayList<>();
+		for (TestChromosome test : tests) {
+			if (test.getLastExecutionResult() != null && !test.isChanged())
+				continue;
+			if (!submitted.add(test))
+				continue;
+			final TestCase tc = test.getTestCase();
+			pending.add(test);
+			futures.add(slots.submit(() -> slotExecutor.get().execute(tc)));
+		}
+		logger.debug("Executing {} tests on worker slots", pending.size());
+
+		for (int i = 0; i < pending.size(); i++) {
+			TestChromosome test = pending.get(i);
+			try {
+				ExecutionResult result = futures.get(i).get();
+				MaxStatementsStoppingCondition.statementsExecuted(result.getExecutedStatements());
+				test.setLastExecutionResult(result);
+				test.setChanged(false);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				futures.subList(i, futures.size()).forEach(f -> f.cancel(true));
+				return;
+			} catch (ExecutionException e) {
+				// The test stays marked as changed and is executed again
+				// sequentially by the fitness function
+				logger.warn("Execution on worker slot failed: " + e.getCause(), e.getCause());
+			}
+		}
+	}
+
+	/**
+	 * Creates the threads of the worker slots. The slot thread binds its own
+	 * tracer before running anything, and is privileged as it needs to create
+	 * the test execution threads while other slots execute SUT code.
+	 */
+	private class WorkerSlotFactory implements ThreadFactory {
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(() -> {
+				ExecutionTracer.bindWorkerTracer();
+				TestCaseExecutor executor = TestCaseExecutor.newWorkerExecutor();
+				synchronized (slotExecutors) {
+					slotExecutors.add(executor);
+				}
+				slotExecutor.set(executor);
+				try {
+					r.run();
+				} finally {
+					slotExecutor.remove();
+					ExecutionTracer.unbindWorkerTracer();
+				}
+			});
+			thread.setName(WORKER_SLOT_THREAD + "_" + slotCounter++);
+			thread.setDaemon(true);
+			thread.setContextClassLoader(Thread.currentThread().getContextClassLoader());
+			Sandbox.addPrivilegedThread(thread);
+			return thread;
+		}
+	}
+}
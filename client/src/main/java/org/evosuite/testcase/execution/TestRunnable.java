@@ -72,6 +72,20 @@ public class TestRunnable implements InterfaceTestRunnable {
 	protected Set<ExecutionObserver> observers;
 
 	protected final ThreadStopper threadStopper;
+
+	/**
+	 * Position of the first statement to execute, when the execution resumes
+	 * from a {@link PrefixCheckpoint}
+	 */
+	private int firstPosition = 0;
+
+	/**
+	 * Position of the statement before which the trace is copied for a new
+	 * {@link PrefixCheckpoint}, or -1
+	 */
+	private int checkpointPosition = -1;
+
+	private ExecutionTrace checkpointTrace = null;
 	
 	/**
 	 * <p>
@@ -124,6 +138,30 @@ public class TestRunnable implements InterfaceTestRunnable {
 		threadStopper.killAndJoinClientThreads();
 	}
 
+	/**
+	 * Start the execution at the given statement, the previous ones having
+	 * been executed already
+	 */
+	void setFirstPosition(int position) {
+		firstPosition = position;
+	}
+
+	/**
+	 * Copy the trace before executing the statement at the given position (or
+	 * after executing all the statements, if it is the size of the test)
+	 */
+	void setCheckpointPosition(int position) {
+		checkpointPosition = position;
+	}
+
+	/**
+	 * @return the trace copied at the checkpoint position, or {@code null} if
+	 *         the execution did not get there
+	 */
+	ExecutionTrace getCheckpointTrace() {
+		return checkpointTrace;
+	}
+
 	/**
 	 * Inform all observers that we are going to execute the input statement
 	 * 
@@ -157,6 +195,15 @@ public class TestRunnable implements InterfaceTestRunnable {
 		}
 	}
 
+	protected boolean canObserversStopExecution() {
+		for (ExecutionObserver observer : observers) {
+			if (observer.canStopExecution()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	protected void informObservers_finished(ExecutionResult result) {
 		ExecutionTracer.disable();
 		try {
@@ -191,7 +238,7 @@ public class TestRunnable implements InterfaceTestRunnable {
 		 *  need AtomicInteger as we want to get latest updated value even if exception is thrown in the 'try' block.
 		 *  we practically use it as wrapper for int, which we can then pass by reference
 		 */
-		AtomicInteger num = new AtomicInteger(0);
+		AtomicInteger num = new AtomicInteger(firstPosition);
 
 		try {
 			if(Properties.REPLACE_CALLS){
@@ -275,7 +322,12 @@ public class TestRunnable implements InterfaceTestRunnable {
 			InvocationTargetException, IllegalAccessException,
 			InstantiationException, VMError, EvosuiteError {
 		
-		for (Statement s : test) {
+		for (int position = firstPosition; position < test.size(); position++) {
+			Statement s = test.getStatement(position);
+
+			if (position == checkpointPosition) {
+				checkpointTrace = ExecutionTracer.getExecutionTracer().copyTrace();
+			}
 
 			if (Thread.currentThread().isInterrupted() || Thread.interrupted()) {
 				logger.info("Thread interrupted at statement " + num + ": " + s.getCode());
@@ -350,7 +402,15 @@ public class TestRunnable implements InterfaceTestRunnable {
 			informObservers_after(s, exceptionThrown);
 
 			num.incrementAndGet();
+
+			if (canObserversStopExecution()) {
+				logger.debug("Observers stopped the execution after statement {}", s.getCode());
+				break;
+			}
 		} // end of loop
+		if (checkpointPosition == test.size() && num.get() == test.size()) {
+			checkpointTrace = ExecutionTracer.getExecutionTracer().copyTrace();
+		}
 		informObservers_finished(result);
 		//TODO
 	}
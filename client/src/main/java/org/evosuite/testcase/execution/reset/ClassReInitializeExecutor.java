@@ -20,7 +20,10 @@
 package org.evosuite.testcase.execution.reset;
 
 import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
@@ -45,6 +48,16 @@ class ClassReInitializeExecutor {
 
 	private static final ClassReInitializeExecutor instance = new ClassReInitializeExecutor();
 
+	/**
+	 * Number of class resets so far
+	 */
+	private long numResets = 0;
+
+	/**
+	 * Value of {@link #numResets} after the last reset of each class
+	 */
+	private final Map<String, Long> lastResets = new HashMap<>();
+
 	private ClassReInitializeExecutor() {
 	}
 
@@ -90,10 +103,36 @@ class ClassReInitializeExecutor {
 		}
 	}
 
-	private void resetClass(String className) {
+	/**
+	 * @return the number of class resets so far
+	 */
+	public synchronized long getNumResets() {
+		return numResets;
+	}
+
+	/**
+	 * Checks whether any of the given classes was reset after the given number
+	 * of class resets
+	 * 
+	 * @param classNames
+	 * @param numResets
+	 *            a value previously returned by {@link #getNumResets()}
+	 */
+	public synchronized boolean wasAnyResetSince(Collection<String> classNames, long numResets) {
+		for (String className : classNames) {
+			Long lastReset = lastResets.get(className);
+			if (lastReset != null && lastReset > numResets) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private synchronized void resetClass(String className) {
 
 		// className.__STATIC_RESET() exists
 		logger.debug("Resetting class " + className);
+		lastResets.put(className, ++numResets);
 
 		int mutationActive = MutationObserver.activeMutation;
 		MutationObserver.deactivateMutation();
@@ -19,6 +19,7 @@
  */
 package org.evosuite.testcase.execution.reset;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -184,6 +185,28 @@ public class ClassReInitializer {
 		}
 	}
 
+	/**
+	 * Returns a value that increases whenever a class is reset, to check later
+	 * with {@link #wasAnyClassResetSince(Collection, long)} whether classes
+	 * were reset in between
+	 * 
+	 * @return the number of class resets so far
+	 */
+	public long getNumResets() {
+		return ClassReInitializeExecutor.getInstance().getNumResets();
+	}
+
+	/**
+	 * Checks whether any of the given classes was reset since
+	 * {@link #getNumResets()} returned the given value
+	 * 
+	 * @param classNamesWithDots
+	 * @param numResets
+	 */
+	public boolean wasAnyClassResetSince(Collection<String> classNamesWithDots, long numResets) {
+		return ClassReInitializeExecutor.getInstance().wasAnyResetSince(classNamesWithDots, numResets);
+	}
+
 	private boolean reset_all_observed_classes = false;
 
 	/**
@@ -29,7 +29,6 @@ import org.evosuite.testcase.execution.Scope;
 import org.evosuite.utils.generic.GenericClass;
 import org.evosuite.utils.generic.GenericClassFactory;
 import org.evosuite.utils.generic.GenericClassImpl;
-import org.evosuite.utils.PassiveChangeListener;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.commons.GeneratorAdapter;
 import org.slf4j.Logger;
@@ -52,7 +51,6 @@ public class VariableReferenceImpl implements VariableReference {
 	 * The testCase in which this VariableReference is valid
 	 */
 	protected TestCase testCase;
-	protected final PassiveChangeListener<Void> changeListener = new PassiveChangeListener<>();
 	protected Integer stPosition;
 	private String originalCode;
 
@@ -67,7 +65,6 @@ public class VariableReferenceImpl implements VariableReference {
 	public VariableReferenceImpl(TestCase testCase, GenericClass<?> type) {
 		this.testCase = testCase;
 		this.type = type;
-		testCase.addListener(changeListener);
 	}
 
 	/**
@@ -89,13 +86,12 @@ public class VariableReferenceImpl implements VariableReference {
 	 * 
 	 * The position of the statement, defining this VariableReference, in the
 	 * testcase.
-	 *
-	 * TODO: Notify change listener also when return value changes
-	 *
 	 */
 	@Override
 	public synchronized int getStPosition() {
-		if (stPosition == null || changeListener.hasChanged()) {
+		// the cached position is checked rather than invalidated on changes of
+		// the test, as the return value of a statement can change silently
+		if (stPosition == null || !isDefinedAt(stPosition)) {
 			stPosition = null;
 			for (int i = 0; i < testCase.size(); i++) {
 				Statement stmt = testCase.getStatement(i);
@@ -115,15 +111,18 @@ public class VariableReferenceImpl implements VariableReference {
 				throw new AssertionError(
 				        msg + "A VariableReferences position is only defined if the VariableReference is defined by a statement in the testCase");
 			}
-		} else {
-			int position = stPosition; //somehow this could be null, leading to NPE. Synchronization issue?
-			stPosition = null;
-			stPosition = getStPosition();
-			assert (stPosition == position);
 		}
 		return stPosition;
 	}
 	
+	/**
+	 * Whether the statement at the given position of the test case defines
+	 * this variable
+	 */
+	private boolean isDefinedAt(int position) {
+		return position < testCase.size() && testCase.getStatement(position).getReturnValue().equals(this);
+	}
+
 	@Override
 	public TestCase getTestCase() {
 		return testCase;
@@ -0,0 +1,343 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testsuite;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The contributions of the tests of a suite to a suite fitness function,
+ * aggregated goal by goal: counts are summed, and distances are minimized.
+ *
+ * <p>
+ * The aggregate remembers the contributions it was computed from, so that it
+ * can be updated with only the contributions that were added or removed since
+ * (i.e., the tests that changed). A distance only needs to be computed again
+ * from all the tests when the last test with the minimal distance is removed.
+ * </p>
+ *
+ * <p>
+ * Aggregates are shared by the clones of a suite, and copied by a suite before
+ * it updates one that it does not own.
+ * </p>
+ */
+public class SuiteFitnessAggregate {
+
+	private static class Count {
+		private int sum;
+		/** Number of contributions with the count */
+		private int numContributions;
+
+		private Count(int sum, int numContributions) {
+			this.sum = sum;
+			this.numContributions = numContributions;
+		}
+	}
+
+	private static class Distance {
+		private double min;
+		/** Number of contributions with the distance */
+		private int numContributions;
+		/** Number of contributions with the minimal distance */
+		private int numMin;
+
+		private Distance(double min, int numContributions, int numMin) {
+			this.min = min;
+			this.numContributions = numContributions;
+			this.numMin = numMin;
+		}
+	}
+
+	/** The contributions of the tests, in the order of the tests */
+	private List<SuiteFitnessContribution> contributions = new ArrayList<>();
+
+	/** How many times each contribution is in {@link #contributions} */
+	private Map<SuiteFitnessContribution, Integer> multiplicities = new IdentityHashMap<>();
+
+	private final List<Map<Object, Count>> counts = new ArrayList<>();
+
+	private final List<Map<Object, Distance>> distances = new ArrayList<>();
+
+	private int numTimeoutsOrTestExceptions = 0;
+
+	private final Object owner;
+
+	/**
+	 * @param owner
+	 *            the suite that can update the aggregate
+	 */
+	public SuiteFitnessAggregate(Object owner) {
+		this.owner = owner;
+	}
+
+	/**
+	 * Create a copy of the aggregate that can be updated by the given suite
+	 */
+	public SuiteFitnessAggregate copy(Object owner) {
+		SuiteFitnessAggregate copy = new SuiteFitnessAggregate(owner);
+		copy.contributions = new ArrayList<>(contributions);
+		copy.multiplicities = new IdentityHashMap<>(multiplicities);
+		for (Map<Object, Count> channel : counts) {
+			Map<Object, Count> channelCopy = new LinkedHashMap<>(channel.size() * 2);
+			channel.forEach((k, v) -> channelCopy.put(k, new Count(v.sum, v.numContributions)));
+			copy.counts.add(channelCopy);
+		}
+		for (Map<Object, Distance> channel : distances) {
+			Map<Object, Distance> channelCopy = new LinkedHashMap<>(channel.size() * 2);
+			channel.forEach((k, v) -> channelCopy.put(k, new Distance(v.min, v.numContributions, v.numMin)));
+			copy.distances.add(channelCopy);
+		}
+		copy.numTimeoutsOrTestExceptions = numTimeoutsOrTestExceptions;
+		return copy;
+	}
+
+	public Object getOwner() {
+		return owner;
+	}
+
+	/**
+	 * Update the aggregate to the given contributions
+	 *
+	 * @param current
+	 *            the contributions of the tests of the suite, in the order of
+	 *            the tests
+	 */
+	public void update(List<SuiteFitnessContribution> current) {
+		Map<SuiteFitnessContribution, Integer> currentMultiplicities = new IdentityHashMap<>(current.size() * 2);
+		for (SuiteFitnessContribution contribution : current) {
+			currentMultiplicities.merge(contribution, 1, Integer::sum);
+		}
+
+		List<SuiteFitnessContribution> added = new ArrayList<>();
+		for (SuiteFitnessContribution contribution : current) {
+			// if a contribution is there several times, the first ones are the old ones
+			int remaining = multiplicities.getOrDefault(contribution, 0);
+			if (remaining > 0) {
+				multiplicities.put(contribution, remaining - 1);
+			} else {
+				added.add(contribution);
+			}
+		}
+		List<SuiteFitnessContribution> removed = new ArrayList<>();
+		for (SuiteFitnessContribution contribution : contributions) {
+			int remaining = multiplicities.getOrDefault(contribution, 0);
+			if (remaining > 0) {
+				multiplicities.put(contribution, remaining - 1);
+				removed.add(contribution);
+			}
+		}
+
+		contributions = new ArrayList<>(current);
+		multiplicities = currentMultiplicities;
+
+		if (added.size() + removed.size() >= current.size()) {
+			// cheaper to start over
+			clear();
+			current.forEach(this::add);
+			return;
+		}
+
+		List<Set<Object>> invalidDistances = new ArrayList<>();
+		for (SuiteFitnessContribution contribution : removed) {
+			remove(contribution, invalidDistances);
+		}
+		for (SuiteFitnessContribution contribution : added) {
+			add(contribution);
+		}
+		for (int channel = 0; channel < invalidDistances.size(); channel++) {
+			for (Object goal : invalidDistances.get(channel)) {
+				recomputeDistance(channel, goal);
+			}
+		}
+	}
+
+	private void clear() {
+		counts.forEach(Map::clear);
+		distances.forEach(Map::clear);
+		numTimeoutsOrTestExceptions = 0;
+	}
+
+	private void add(SuiteFitnessContribution contribution) {
+		if (contribution.isTimeoutOrTestException()) {
+			numTimeoutsOrTestExceptions++;
+			return;
+		}
+		for (int channel = 0; channel < contribution.getNumberOfCountChannels(); channel++) {
+			Map<Object, Count> sums = getCountChannel(channel);
+			for (Map.Entry<?, Integer> entry : contribution.getCounts(channel).entrySet()) {
+				Count count = sums.get(entry.getKey());
+				if (count == null) {
+					sums.put(entry.getKey(), new Count(entry.getValue(), 1));
+				} else {
+					count.sum += entry.getValue();
+					count.numContributions++;
+				}
+			}
+		}
+		for (int channel = 0; channel < contribution.getNumberOfDistanceChannels(); channel++) {
+			Map<Object, Distance> minima = getDistanceChannel(channel);
+			for (Map.Entry<?, Double> entry : contribution.getDistances(channel).entrySet()) {
+				double value = entry.getValue();
+				Distance distance = minima.get(entry.getKey());
+				if (distance == null) {
+					minima.put(entry.getKey(), new Distance(value, 1, 1));
+				} else {
+					distance.numContributions++;
+					int flag = Double.compare(value, distance.min);
+					if (flag < 0) {
+						distance.min = value;
+						distance.numMin = 1;
+					} else if (flag == 0) {
+						distance.numMin++;
+					}
+				}
+			}
+		}
+	}
+
+	private void remove(SuiteFitnessContribution contribution, List<Set<Object>> invalidDistances) {
+		if (contribution.isTimeoutOrTestException()) {
+			numTimeoutsOrTestExceptions--;
+			return;
+		}
+		for (int channel = 0; channel < contribution.getNumberOfCountChannels(); channel++) {
+			Map<Object, Count> sums = getCountChannel(channel);
+			for (Map.Entry<?, Integer> entry : contribution.getCounts(channel).entrySet()) {
+				Count count = sums.get(entry.getKey());
+				count.sum -= entry.getValue();
+				count.numContributions--;
+				if (count.numContributions == 0) {
+					sums.remove(entry.getKey());
+				}
+			}
+		}
+		for (int channel = 0; channel < contribution.getNumberOfDistanceChannels(); channel++) {
+			Map<Object, Distance> minima = getDistanceChannel(channel);
+			for (Map.Entry<?, Double> entry : contribution.getDistances(channel).entrySet()) {
+				Distance distance = minima.get(entry.getKey());
+				distance.numContributions--;
+				if (distance.numContributions == 0) {
+					minima.remove(entry.getKey());
+				} else if (Double.compare(entry.getValue(), distance.min) == 0) {
+					distance.numMin--;
+					if (distance.numMin == 0) {
+						while (invalidDistances.size() <= channel) {
+							invalidDistances.add(new LinkedHashSet<>());
+						}
+						invalidDistances.get(channel).add(entry.getKey());
+					}
+				}
+			}
+		}
+	}
+
+	private void recomputeDistance(int channel, Object goal) {
+		Distance distance = getDistanceChannel(channel).get(goal);
+		if (distance == null) {
+			// all the contributions with the goal were removed
+			return;
+		}
+		distance.min = Double.MAX_VALUE;
+		distance.numMin = 0;
+		for (SuiteFitnessContribution contribution : contributions) {
+			if (contribution.isTimeoutOrTestException()
+					|| contribution.getNumberOfDistanceChannels() <= channel) {
+				continue;
+			}
+			Double value = contribution.getDistances(channel).get(goal);
+			if (value == null) {
+				continue;
+			}
+			int flag = Double.compare(value, distance.min);
+			if (flag < 0 || distance.numMin == 0) {
+				distance.min = value;
+				distance.numMin = 1;
+			} else if (flag == 0) {
+				distance.numMin++;
+			}
+		}
+	}
+
+	private Map<Object, Count> getCountChannel(int channel) {
+		while (counts.size() <= channel) {
+			counts.add(new LinkedHashMap<>());
+		}
+		return counts.get(channel);
+	}
+
+	private Map<Object, Distance> getDistanceChannel(int channel) {
+		while (distances.size() <= channel) {
+			distances.add(new LinkedHashMap<>());
+		}
+		return distances.get(channel);
+	}
+
+	/**
+	 * @return whether any test of the suite timed out or threw a test exception
+	 */
+	public boolean hasTimeoutOrTestException() {
+		return numTimeoutsOrTestExceptions > 0;
+	}
+
+	/**
+	 * @return the goals with a count in the given channel
+	 */
+	public Set<Object> getCountGoals(int channel) {
+		return getCountChannel(channel).keySet();
+	}
+
+	/**
+	 * @return the sum of the counts of the goal, or 0 if no test has a count
+	 *         for it
+	 */
+	public int getCount(int channel, Object goal) {
+		Count count = getCountChannel(channel).get(goal);
+		return count == null ? 0 : count.sum;
+	}
+
+	public boolean hasCount(int channel, Object goal) {
+		return getCountChannel(channel).containsKey(goal);
+	}
+
+	/**
+	 * @return the goals with a distance in the given channel
+	 */
+	public Set<Object> getDistanceGoals(int channel) {
+		return getDistanceChannel(channel).keySet();
+	}
+
+	/**
+	 * @return the minimal distance to the goal, or {@code null} if no test has
+	 *         a distance to it
+	 */
+	public Double getDistance(int channel, Object goal) {
+		Distance distance = getDistanceChannel(channel).get(goal);
+		return distance == null ? null : distance.min;
+	}
+
+	public boolean hasDistance(int channel, Object goal) {
+		return getDistanceChannel(channel).containsKey(goal);
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testsuite;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What the execution of a single test contributes to a suite fitness
+ * function, e.g., how many times it executed each predicate and its minimal
+ * distance to each branch. The values are grouped in numbered channels of
+ * counts, which are summed over the tests of a suite, and of distances, which
+ * are minimized over the tests of a suite (see {@link SuiteFitnessAggregate}).
+ *
+ * <p>
+ * A contribution is cached in the {@link org.evosuite.testcase.execution.ExecutionResult}
+ * it was computed from, and must not be modified once created.
+ * </p>
+ */
+public final class SuiteFitnessContribution {
+
+	/**
+	 * Contribution of a test that timed out or threw a test exception: such a
+	 * test does not contribute any value
+	 */
+	public static final SuiteFitnessContribution TIMEOUT_OR_TEST_EXCEPTION = new SuiteFitnessContribution(
+			true, Collections.emptyList(), Collections.emptyList());
+
+	private final boolean timeoutOrTestException;
+
+	private final List<? extends Map<?, Integer>> counts;
+
+	private final List<? extends Map<?, Double>> distances;
+
+	private SuiteFitnessContribution(boolean timeoutOrTestException,
+			List<? extends Map<?, Integer>> counts, List<? extends Map<?, Double>> distances) {
+		this.timeoutOrTestException = timeoutOrTestException;
+		this.counts = counts;
+		this.distances = distances;
+	}
+
+	/**
+	 * @param counts
+	 *            the counts of each channel, indexed by goal
+	 * @param distances
+	 *            the distances of each channel, indexed by goal
+	 */
+	public SuiteFitnessContribution(List<? extends Map<?, Integer>> counts,
+			List<? extends Map<?, Double>> distances) {
+		this(false, counts, distances);
+	}
+
+	public boolean isTimeoutOrTestException() {
+		return timeoutOrTestException;
+	}
+
+	public int getNumberOfCountChannels() {
+		return counts.size();
+	}
+
+	public int getNumberOfDistanceChannels() {
+		return distances.size();
+	}
+
+	public Map<?, Integer> getCounts(int channel) {
+		return counts.get(channel);
+	}
+
+	public Map<?, Double> getDistances(int channel) {
+		return distances.get(channel);
+	}
+}
@@ -21,8 +21,10 @@ package org.evosuite.testsuite;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.evosuite.Properties;
@@ -54,6 +56,12 @@ public final class TestSuiteChromosome
 	private static int secondaryObjIndex = 0;
 	private static final long serialVersionUID = 88380759969800800L;
 
+	/**
+	 * Aggregated contributions of the tests, by suite fitness function. They
+	 * are shared with the clones of this suite
+	 */
+	private transient Map<TestSuiteFitnessFunction, SuiteFitnessAggregate> fitnessAggregates;
+
 	/**
 	 * Add an additional secondary objective to the end of the list of
 	 * objectives
@@ -141,6 +149,20 @@ public final class TestSuiteChromosome
 	 */
 	protected TestSuiteChromosome(TestSuiteChromosome source) {
 		super(source);
+		if (source.fitnessAggregates != null) {
+			fitnessAggregates = new IdentityHashMap<>(source.fitnessAggregates);
+		}
+	}
+
+	SuiteFitnessAggregate getFitnessAggregate(TestSuiteFitnessFunction fitness) {
+		return fitnessAggregates == null ? null : fitnessAggregates.get(fitness);
+	}
+
+	void setFitnessAggregate(TestSuiteFitnessFunction fitness, SuiteFitnessAggregate aggregate) {
+		if (fitnessAggregates == null) {
+			fitnessAggregates = new IdentityHashMap<>();
+		}
+		fitnessAggregates.put(fitness, aggregate);
 	}
 
 	/**
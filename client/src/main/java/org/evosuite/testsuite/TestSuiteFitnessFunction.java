@@ -110,6 +110,79 @@ public abstract class TestSuiteFitnessFunction extends FitnessFunction<TestSuite
 
 
 
+	/**
+	 * Whether this fitness function computes what single tests contribute to
+	 * it (see {@link #computeContribution}). Only then can the contributions
+	 * be aggregated with {@link #aggregateContributions}.
+	 *
+	 * @return true if {@link #computeContribution} is implemented
+	 */
+	public boolean supportsContributions() {
+		return false;
+	}
+
+	/**
+	 * Aggregate what the tests of the suite contribute to this fitness
+	 * function, which has to {@link #supportsContributions support} it. The
+	 * contribution of a test is only computed once per
+	 * execution (see {@link #computeContribution}), and the aggregate is kept
+	 * with the suite, so that evaluating a suite again only costs as much as
+	 * the tests that changed since its last evaluation (or the one of the
+	 * suite it was cloned from).
+	 *
+	 * @param suite
+	 * @param results
+	 *            the results of the tests of the suite, see
+	 *            {@link #runTestSuite}
+	 * @return the aggregate, which is only valid until the suite is
+	 *         evaluated again
+	 */
+	protected SuiteFitnessAggregate aggregateContributions(TestSuiteChromosome suite,
+			List<ExecutionResult> results) {
+		if (!supportsContributions())
+			throw new IllegalStateException(getClass().getName() + " does not aggregate contributions of tests");
+
+		List<SuiteFitnessContribution> contributions = new ArrayList<>(results.size());
+		for (ExecutionResult result : results) {
+			SuiteFitnessContribution contribution = result.getSuiteFitnessContribution(this);
+			if (contribution == null) {
+				if (result.hasTimeout() || result.hasTestException()) {
+					contribution = SuiteFitnessContribution.TIMEOUT_OR_TEST_EXCEPTION;
+				} else {
+					contribution = computeContribution(result);
+				}
+				result.setSuiteFitnessContribution(this, contribution);
+			}
+			contributions.add(contribution);
+		}
+
+		SuiteFitnessAggregate aggregate = suite.getFitnessAggregate(this);
+		if (aggregate == null) {
+			aggregate = new SuiteFitnessAggregate(suite);
+		} else if (aggregate.getOwner() != suite) {
+			// shared with the suite it was cloned from
+			aggregate = aggregate.copy(suite);
+		}
+		suite.setFitnessAggregate(this, aggregate);
+		aggregate.update(contributions);
+		return aggregate;
+	}
+
+	/**
+	 * Compute what a test contributes to this fitness function. As this is
+	 * only done once per execution of the test, this is also where the goals
+	 * covered by the test are added to it and to the archive. Fitness
+	 * functions that implement it also override {@link #supportsContributions}.
+	 *
+	 * @param result
+	 *            the result of a test that neither timed out nor threw a test
+	 *            exception
+	 * @return the contribution of the test
+	 */
+	protected SuiteFitnessContribution computeContribution(ExecutionResult result) {
+		throw new UnsupportedOperationException(getClass().getName() + " does not aggregate contributions of tests");
+	}
+
 	/* (non-Javadoc)
 	 * @see org.evosuite.ga.FitnessFunction#isMaximizationFunction()
 	 */
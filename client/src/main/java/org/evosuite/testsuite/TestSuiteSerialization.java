@@ -30,49 +30,62 @@ import org.slf4j.LoggerFactory;
 import java.io.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Created by Andrea Arcuri on 08/06/15.
+ *
+ * <p>
+ * Tests are saved in a versioned format: a header with {@link #MAGIC} and
+ * {@link #FORMAT_VERSION}, followed by the compressed serialized tests. Files
+ * written before the header was introduced (plain serialized tests) can still
+ * be loaded.
+ * </p>
  */
 public class TestSuiteSerialization {
 
     private static final Logger logger = LoggerFactory.getLogger(TestSuiteSerialization.class);
 
+    /** "EVOT", distinct from the header of a plain serialization stream */
+    private static final int MAGIC = 0x45564F54;
 
-    public static boolean saveTests(List<TestSuiteChromosome> list, File target) throws IllegalArgumentException{
-        Inputs.checkNull(list,target);
+    /** Increase when the format following the header changes */
+    private static final int FORMAT_VERSION = 1;
 
-        File parent = target.getParentFile();
-        if(!parent.exists()){
-            parent.mkdirs();
-        }
+    private static final int BUFFER_SIZE = 64 * 1024;
 
-        try(ObjectOutputStream out = new DebuggingObjectOutputStream(new FileOutputStream(target));){
-            for(TestSuiteChromosome ts : list) {
-                for (TestChromosome tc : ts.getTestChromosomes()) {
-                    out.writeObject(tc);
-                }
-            }
 
-            out.flush();
-            out.close();
-        }catch (IOException e){
-            logger.error("Failed to open/handle "+target.getAbsolutePath()+" for writing: "+e.getMessage());
-            return false;
-        }
+    public static boolean saveTests(List<TestSuiteChromosome> list, File target) throws IllegalArgumentException{
+        Inputs.checkNull(list,target);
 
-        return true;
+        List<TestChromosome> tests = new ArrayList<>();
+        for(TestSuiteChromosome ts : list) {
+            tests.addAll(ts.getTestChromosomes());
+        }
+        return writeTests(tests, target);
     }
     
     public static boolean saveTests(TestSuiteChromosome ts, File target) throws IllegalArgumentException{
+        return writeTests(ts.getTestChromosomes(), target);
+    }
+
+    private static boolean writeTests(List<TestChromosome> tests, File target) {
         File parent = target.getParentFile();
         if(!parent.exists()){
             parent.mkdirs();
         }
 
-        try(ObjectOutputStream out = new DebuggingObjectOutputStream(new FileOutputStream(target));){
-        	for (TestChromosome tc : ts.getTestChromosomes()) {
-        		out.writeObject(tc);
+        try(OutputStream file = new BufferedOutputStream(new FileOutputStream(target), BUFFER_SIZE)){
+            DataOutputStream header = new DataOutputStream(file);
+            header.writeInt(MAGIC);
+            header.writeInt(FORMAT_VERSION);
+            header.flush();
+
+            ObjectOutputStream out = new DebuggingObjectOutputStream(
+                    new BufferedOutputStream(new GZIPOutputStream(file, BUFFER_SIZE), BUFFER_SIZE));
+            for (TestChromosome tc : tests) {
+                out.writeObject(tc);
             }
 
             out.flush();
@@ -107,12 +120,41 @@ public class TestSuiteSerialization {
         return loadTests(new File(target));
     }
 
+    /**
+     * Open the serialized tests in the file, skipping the header if there is
+     * one
+     *
+     * @return {@code null} if the file was written in an unknown version of
+     *         the format
+     */
+    private static ObjectInputStream openTests(InputStream file) throws IOException {
+        file.mark(Integer.BYTES);
+        DataInputStream header = new DataInputStream(file);
+        if (header.readInt() != MAGIC) {
+            // plain serialized tests
+            file.reset();
+            return new ObjectInputStream(file);
+        }
+
+        int version = header.readInt();
+        if (version != FORMAT_VERSION) {
+            return null;
+        }
+        return new ObjectInputStream(new BufferedInputStream(new GZIPInputStream(file, BUFFER_SIZE), BUFFER_SIZE));
+    }
+
     public static List<TestChromosome> loadTests(File target) throws IllegalArgumentException{
         Inputs.checkNull(target);
 
         List<TestChromosome> list = new ArrayList<>();
 
-        try(ObjectInputStream in = new ObjectInputStream(new FileInputStream(target)) ){
+        try(InputStream file = new BufferedInputStream(new FileInputStream(target), BUFFER_SIZE);
+            ObjectInputStream in = openTests(file)){
+
+            if (in == null) {
+                logger.warn("Cannot load tests from " + target.getAbsolutePath() + " because it was written by another version of EvoSuite");
+                return list;
+            }
 
             try {
                 Object obj = in.readObject();
@@ -133,8 +175,6 @@ public class TestSuiteSerialization {
             }catch (Exception e) {
                 logger.warn("Problems when reading a serialized test from " + target.getAbsolutePath() + " : " + e.getMessage());
             }
-
-            in.close();
         } catch (FileNotFoundException e) {
             logger.warn("Cannot load tests because file does not exist: "+target.getAbsolutePath());
         } catch (IOException e) {
@@ -335,7 +335,8 @@ public class GenericConstructor extends GenericExecutable<GenericConstructor, Co
 		oos.defaultWriteObject();
 		// Write/save additional fields
 		oos.writeObject(constructor.getDeclaringClass().getName());
-		oos.writeObject(org.objectweb.asm.Type.getConstructorDescriptor(constructor));
+		// interned, so that the stream refers back to the first occurrence
+		oos.writeObject(org.objectweb.asm.Type.getConstructorDescriptor(constructor).intern());
 	}
 
 	@Override
@@ -388,7 +388,8 @@ public class GenericMethod extends GenericExecutable<GenericMethod, Method> {
 		// Write/save additional fields
 		oos.writeObject(method.getDeclaringClass().getName());
 		oos.writeObject(method.getName());
-		oos.writeObject(org.objectweb.asm.Type.getMethodDescriptor(method));
+		// interned, so that the stream refers back to the first occurrence
+		oos.writeObject(org.objectweb.asm.Type.getMethodDescriptor(method).intern());
 	}
 
 	// assumes "static java.util.Date aDate;" declared
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.examples.with.different.packagename.mock.java.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+public class CreateFileOnce {
+
+	public static final String FILE_NAME = "CreateFileOnce_foo.txt";
+
+	public void create() throws IOException {
+		File file = new File(FILE_NAME);
+		if (file.exists()) {
+			throw new IllegalStateException("File created by another test");
+		}
+		try (FileOutputStream out = new FileOutputStream(file)) {
+			out.write(42);
+		}
+		try (FileInputStream in = new FileInputStream(file)) {
+			if (in.read() != 42) {
+				throw new IllegalStateException("File changed by another test");
+			}
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.assertion;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.coverage.mutation.Mutation;
+import org.evosuite.graphs.cfg.BytecodeInstruction;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTraceImpl;
+import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.objectweb.asm.tree.InsnList;
+
+public class MutationAssertionGeneratorTest {
+
+	private SimpleMutationAssertionGenerator generator;
+
+	@Before
+	public void setUp() {
+		Properties.getInstance().resetToDefaults();
+		TestGenerationContext.getInstance().resetContext();
+		generator = new SimpleMutationAssertionGenerator();
+	}
+
+	@After
+	public void tearDown() {
+		TestCaseExecutor.getInstance().newObservers();
+	}
+
+	private Mutation addMutant(int id) {
+		Mutation mutation = new Mutation("Foo", "bar()V", "Mutant" + id, id, mock(BytecodeInstruction.class),
+				new InsnList(), new InsnList());
+		generator.mutants.put(id, mutation);
+		return mutation;
+	}
+
+	@Test
+	public void testOnlyInfectedMutantsAreUsed() {
+		Mutation notInfected = addMutant(1);
+		Mutation infected = addMutant(2);
+		addMutant(3); // not reached by the test
+
+		ExecutionTraceImpl trace = new ExecutionTraceImpl();
+		trace.mutationPassed(notInfected.getId(), 0.5);
+		trace.mutationPassed(infected.getId(), 1.0);
+		trace.mutationPassed(infected.getId(), 0.0);
+		ExecutionResult result = new ExecutionResult(new DefaultTestCase());
+		result.setTrace(trace);
+
+		List<Mutation> mutants = generator.getInfectedMutants(result);
+		assertEquals(Arrays.asList(infected), mutants);
+	}
+
+	@Test
+	public void testMutantsNotInThePoolAreIgnored() {
+		Mutation infected = addMutant(1);
+
+		ExecutionTraceImpl trace = new ExecutionTraceImpl();
+		trace.mutationPassed(infected.getId(), 0.0);
+		trace.mutationPassed(42, 0.0);
+		ExecutionResult result = new ExecutionResult(new DefaultTestCase());
+		result.setTrace(trace);
+
+		assertEquals(Arrays.asList(infected), generator.getInfectedMutants(result));
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.mutation;
+
+import java.lang.reflect.Method;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.Criterion;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.instrumentation.InstrumentingClassLoader;
+import org.evosuite.instrumentation.mutation.ReplaceArithmeticOperator;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.testcase.variable.VariableReference;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.examples.with.different.packagename.SimpleInteger;
+
+public class StrongMutationTestFitnessTest {
+
+	private static final String TARGET_CLASS = SimpleInteger.class.getCanonicalName();
+
+	private Class<?> clazz;
+
+	private Mutation mutation;
+
+	@BeforeClass
+	public static void init() {
+		String cp = System.getProperty("user.dir") + "/target/test-classes";
+		ClassPathHandler.getInstance().addElementToTargetProjectClassPath(cp);
+	}
+
+	@Before
+	public void setUp() throws ClassNotFoundException {
+		Properties.CRITERION = new Properties.Criterion[] { Criterion.STRONGMUTATION };
+		Properties.TARGET_CLASS = TARGET_CLASS;
+		TestGenerationContext.getInstance().resetContext();
+		InstrumentingClassLoader cl = TestGenerationContext.getInstance().getClassLoaderForSUT();
+		clazz = cl.loadClass(TARGET_CLASS);
+
+		for (Mutation m : MutationPool.getInstance(cl).getMutants()) {
+			if (m.getMethodName().startsWith("testInt(")
+					&& m.getMutationName().startsWith(ReplaceArithmeticOperator.NAME + " + -> - ")) {
+				mutation = m;
+			}
+		}
+		Assert.assertNotNull(mutation);
+	}
+
+	@After
+	public void tearDown() {
+		MutationObserver.deactivateMutation();
+		TestCaseExecutor.getInstance().newObservers();
+		TestGenerationContext.getInstance().resetContext();
+	}
+
+	/**
+	 * new SimpleInteger() and three calls of testInt(1, 2): the mutant
+	 * computes 1 - 2 in the first one already
+	 */
+	private DefaultTestCase buildTest() throws NoSuchMethodException {
+		TestCaseBuilder builder = new TestCaseBuilder();
+		VariableReference sut = builder.appendConstructor(clazz.getConstructor());
+		VariableReference x = builder.appendIntPrimitive(1);
+		VariableReference y = builder.appendIntPrimitive(2);
+		Method testInt = clazz.getMethod("testInt", int.class, int.class);
+		builder.appendMethod(sut, testInt, x, y);
+		builder.appendMethod(sut, testInt, x, y);
+		builder.appendMethod(sut, testInt, x, y);
+		return builder.getDefaultTestCase();
+	}
+
+	@Test
+	public void testExecutionStopsWhenOutputsDiverge() throws Exception {
+		StrongMutationTestFitness fitness = new StrongMutationTestFitness(mutation);
+		DefaultTestCase test = buildTest();
+		ExecutionResult originalResult = fitness.runTest(test);
+		Assert.assertEquals(test.size(), originalResult.getExecutedStatements());
+
+		ExecutionResult stoppedResult = StrongMutationTestFitness.runTestUntilDivergence(test, mutation,
+				originalResult);
+		ExecutionResult fullResult = StrongMutationTestFitness.runTest(test, mutation);
+
+		// the outputs differ after the first call of testInt
+		Assert.assertEquals(4, stoppedResult.getExecutedStatements());
+		Assert.assertEquals(test.size(), fullResult.getExecutedStatements());
+
+		MutationExecutionResult stopped = fitness.getMutationResult(originalResult, stoppedResult);
+		MutationExecutionResult full = fitness.getMutationResult(originalResult, fullResult);
+		Assert.assertTrue(stopped.getNumAssertions() > 0);
+		Assert.assertTrue(full.getNumAssertions() > 0);
+		Assert.assertEquals(full.hasTimeout(), stopped.hasTimeout());
+		Assert.assertEquals(full.hasException(), stopped.hasException());
+	}
+
+	@Test
+	public void testMutantIsKilled() throws Exception {
+		StrongMutationTestFitness fitness = new StrongMutationTestFitness(mutation);
+		TestChromosome individual = new TestChromosome();
+		individual.setTestCase(buildTest());
+		ExecutionResult originalResult = fitness.runTest(individual.getTestCase());
+		individual.setLastExecutionResult(originalResult);
+
+		Assert.assertEquals(0.0, fitness.getFitness(individual, originalResult), 0.0);
+		MutationExecutionResult result = individual.getLastExecutionResult(mutation);
+		Assert.assertNotNull(result);
+		Assert.assertTrue(result.getNumAssertions() > 0);
+	}
+}
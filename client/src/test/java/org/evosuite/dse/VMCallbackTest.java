@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.dse;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class VMCallbackTest {
+
+	private static class AddListener extends AbstractVM {
+		@Override
+		public void IADD() { }
+	}
+
+	private static class NewListener extends AbstractVM {
+		@Override
+		public void NEW(String typeName) { }
+	}
+
+	@Test
+	public void testOnlyListenersHandlingACallbackAreDispatched() {
+		IVM add = new AddListener();
+		IVM allocation = new NewListener();
+		IVM[][] table = VMCallback.createDispatchTable(new IVM[] { add, allocation });
+
+		Assert.assertArrayEquals(new IVM[] { add }, table[VMCallback.IADD.ordinal()]);
+		Assert.assertArrayEquals(new IVM[] { allocation }, table[VMCallback.NEW.ordinal()]);
+		Assert.assertEquals(0, table[VMCallback.ISUB.ordinal()].length);
+	}
+
+	@Test
+	public void testListenersKeepTheirOrder() {
+		IVM first = new AddListener();
+		IVM second = new AddListener();
+		IVM[][] table = VMCallback.createDispatchTable(new IVM[] { first, second });
+
+		Assert.assertArrayEquals(new IVM[] { first, second }, table[VMCallback.IADD.ordinal()]);
+	}
+}
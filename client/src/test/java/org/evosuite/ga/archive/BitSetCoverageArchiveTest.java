@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.archive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.Criterion;
+import org.evosuite.coverage.method.MethodCoverageTestFitness;
+import org.evosuite.coverage.method.MethodNoExceptionCoverageTestFitness;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BitSetCoverageArchiveTest {
+
+  private final BitSetCoverageArchive archive = BitSetCoverageArchive.instance;
+
+  private final TestFitnessFunction foo = new MethodCoverageTestFitness("Foo", "foo()V");
+
+  private final TestFitnessFunction bar = new MethodCoverageTestFitness("Foo", "bar()V");
+
+  private final TestFitnessFunction fooNoException =
+      new MethodNoExceptionCoverageTestFitness("Foo", "foo()V");
+
+  @Before
+  public void setUp() {
+    Properties.getInstance().resetToDefaults();
+    Properties.CRITERION = new Criterion[] {Criterion.METHOD, Criterion.METHODNOEXCEPTION};
+    this.archive.reset();
+    this.archive.addTargets(Arrays.asList(this.foo, this.bar, this.fooNoException));
+  }
+
+  @After
+  public void tearDown() {
+    this.archive.reset();
+    Properties.getInstance().resetToDefaults();
+  }
+
+  private static TestChromosome createSolution() {
+    TestChromosome solution = new TestChromosome();
+    solution.setTestCase(new DefaultTestCase());
+    return solution;
+  }
+
+  @Test
+  public void testTargetsGetDenseIds() {
+    assertEquals(3, this.archive.getNumberOfTargets());
+    assertEquals(0, this.archive.getId(this.foo));
+    assertEquals(1, this.archive.getId(this.bar));
+    assertEquals(2, this.archive.getId(this.fooNoException));
+    assertSame(this.bar, this.archive.getTarget(1));
+
+    // an equal goal is found even if it is not the registered object
+    assertEquals(1, this.archive.getId(new MethodCoverageTestFitness("Foo", "bar()V")));
+    assertEquals(-1, this.archive.getId(new MethodCoverageTestFitness("Foo", "baz()V")));
+
+    // registering a target twice does not assign a new id
+    this.archive.addTarget(new MethodCoverageTestFitness("Foo", "foo()V"));
+    assertEquals(3, this.archive.getNumberOfTargets());
+  }
+
+  @Test
+  public void testUnknownTargetIsRegisteredOnUpdate() {
+    TestFitnessFunction baz = new MethodCoverageTestFitness("Foo", "baz()V");
+    this.archive.updateArchive(baz, createSolution(), 1.0);
+
+    assertEquals(3, this.archive.getId(baz));
+    assertEquals(4, this.archive.getNumberOfTargets());
+    assertTrue(this.archive.getUncoveredTargets().contains(baz));
+
+    this.archive.updateArchive(new MethodCoverageTestFitness("Foo", "baz()V"), createSolution(), 0.0);
+    assertEquals(4, this.archive.getNumberOfTargets());
+    assertTrue(this.archive.hasSolution(baz));
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testUnknownTargetOfDisabledCriterionIsRejected() {
+    Properties.CRITERION = new Criterion[] {Criterion.METHOD};
+    this.archive.updateArchive(new MethodNoExceptionCoverageTestFitness("Foo", "baz()V"),
+        createSolution(), 0.0);
+  }
+
+  @Test
+  public void testNonCoveringSolutionIsIgnored() {
+    this.archive.updateArchive(this.foo, createSolution(), 1.0);
+
+    assertTrue(this.archive.isArchiveEmpty());
+    assertFalse(this.archive.hasSolution(this.foo));
+    assertEquals(3, this.archive.getNumberOfUncoveredTargets());
+  }
+
+  @Test
+  public void testCoveredTargetsAreCountedPerType() {
+    TestChromosome solution = createSolution();
+    this.archive.updateArchive(this.foo, solution, 0.0);
+
+    assertFalse(this.archive.isArchiveEmpty());
+    assertTrue(this.archive.hasSolution(this.foo));
+    assertTrue(this.archive.hasSolution(new MethodCoverageTestFitness("Foo", "foo()V")));
+    assertFalse(this.archive.hasSolution(this.bar));
+    assertSame(solution, this.archive.getSolution(this.foo));
+
+    assertEquals(1, this.archive.getNumberOfCoveredTargets());
+    assertEquals(2, this.archive.getNumberOfUncoveredTargets());
+    assertEquals(1, this.archive.getNumberOfCoveredTargets(MethodCoverageTestFitness.class));
+    assertEquals(1, this.archive.getNumberOfUncoveredTargets(MethodCoverageTestFitness.class));
+    assertEquals(0,
+        this.archive.getNumberOfCoveredTargets(MethodNoExceptionCoverageTestFitness.class));
+    assertEquals(1,
+        this.archive.getNumberOfUncoveredTargets(MethodNoExceptionCoverageTestFitness.class));
+
+    assertEquals(1, this.archive.getCoveredTargets().size());
+    assertTrue(this.archive.getCoveredTargets().contains(this.foo));
+    assertEquals(2, this.archive.getUncoveredTargets().size());
+    assertFalse(this.archive.getUncoveredTargets().contains(this.foo));
+  }
+
+  @Test
+  public void testCoveredIdsAreASnapshot() {
+    this.archive.updateArchive(this.bar, createSolution(), 0.0);
+    BitSet snapshot = this.archive.getCoveredIds();
+
+    this.archive.updateArchive(this.fooNoException, createSolution(), 0.0);
+
+    assertEquals(1, snapshot.cardinality());
+    assertTrue(snapshot.get(this.archive.getId(this.bar)));
+    assertEquals(2, this.archive.getCoveredIds().cardinality());
+  }
+
+  @Test
+  public void testSolutionsAreDistinct() {
+    TestChromosome solution = createSolution();
+    this.archive.updateArchive(this.bar, solution, 0.0);
+    this.archive.updateArchive(this.fooNoException, solution, 0.0);
+
+    assertEquals(2, this.archive.getNumberOfCoveredTargets());
+    assertEquals(1, this.archive.getSolutions().size());
+  }
+
+  @Test
+  public void testReset() {
+    this.archive.updateArchive(this.bar, createSolution(), 0.0);
+    this.archive.reset();
+
+    assertEquals(0, this.archive.getNumberOfTargets());
+    assertTrue(this.archive.isArchiveEmpty());
+    assertEquals(-1, this.archive.getId(this.bar));
+    assertEquals(0, this.archive.getNumberOfUncoveredTargets(MethodCoverageTestFitness.class));
+  }
+}
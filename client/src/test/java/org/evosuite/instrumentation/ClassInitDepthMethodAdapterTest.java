@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.evosuite.testcase.execution.ExecutionTracer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+public class ClassInitDepthMethodAdapterTest {
+
+	private static volatile boolean inStaticInit;
+
+	/**
+	 * Called from the generated class initializers
+	 */
+	public static void record() {
+		inStaticInit = ExecutionTracer.isInStaticInit();
+	}
+
+	@Before
+	public void setUp() {
+		inStaticInit = false;
+		ExecutionTracer.setThread(Thread.currentThread());
+	}
+
+	@After
+	public void tearDown() {
+		ExecutionTracer.setThread(null);
+	}
+
+	private static class ByteClassLoader extends ClassLoader {
+		ByteClassLoader() {
+			super(ClassInitDepthMethodAdapterTest.class.getClassLoader());
+		}
+
+		Class<?> define(String name, byte[] bytes) {
+			return defineClass(name, bytes, 0, bytes.length);
+		}
+	}
+
+	private static Class<?> createClass(String name, boolean throwing) {
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		ClassVisitor cv = new ClassInitDepthClassAdapter(cw);
+		cv.visit(Opcodes.V1_5, Opcodes.ACC_PUBLIC, name, null, "java/lang/Object", null);
+		MethodVisitor mv = cv.visitMethod(Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
+		mv.visitCode();
+		mv.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(ClassInitDepthMethodAdapterTest.class),
+				"record", "()V", false);
+		if (throwing) {
+			mv.visitTypeInsn(Opcodes.NEW, "java/lang/IllegalStateException");
+			mv.visitInsn(Opcodes.DUP);
+			mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/IllegalStateException", "<init>", "()V", false);
+			mv.visitInsn(Opcodes.ATHROW);
+		} else {
+			mv.visitInsn(Opcodes.RETURN);
+		}
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+		cv.visitEnd();
+		return new ByteClassLoader().define(name, cw.toByteArray());
+	}
+
+	@Test
+	public void testDepthOnNormalExit() throws Exception {
+		Class<?> clazz = createClass("ClassInitReturns", false);
+		assertFalse(ExecutionTracer.isInStaticInit());
+
+		Class.forName(clazz.getName(), true, clazz.getClassLoader());
+
+		assertTrue(inStaticInit);
+		assertFalse(ExecutionTracer.isInStaticInit());
+	}
+
+	@Test
+	public void testDepthOnExceptionalExit() throws Exception {
+		Class<?> clazz = createClass("ClassInitThrows", true);
+		assertFalse(ExecutionTracer.isInStaticInit());
+
+		try {
+			Class.forName(clazz.getName(), true, clazz.getClassLoader());
+			fail("Expected the class initializer to throw");
+		} catch (ExceptionInInitializerError e) {
+			assertEquals(IllegalStateException.class, e.getCause().getClass());
+		}
+
+		assertTrue(inStaticInit);
+		assertFalse(ExecutionTracer.isInStaticInit());
+	}
+
+	@Test
+	public void testOtherThreadDoesNotCount() throws Exception {
+		Class<?> clazz = createClass("ClassInitOtherThread", false);
+		Thread thread = new Thread(() -> {
+			try {
+				Class.forName(clazz.getName(), true, clazz.getClassLoader());
+			} catch (ClassNotFoundException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		thread.start();
+		thread.join();
+
+		assertFalse(inStaticInit);
+		assertFalse(ExecutionTracer.isInStaticInit());
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.evosuite.Properties;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class InstrumentedClassCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final InstrumentedClassCache cache = InstrumentedClassCache.getInstance();
+
+	private static final byte[] ORIGINAL = { (byte) 0xca, (byte) 0xfe, (byte) 0xba, (byte) 0xbe, 1 };
+
+	private static final byte[] INSTRUMENTED = { (byte) 0xca, (byte) 0xfe, (byte) 0xba, (byte) 0xbe, 2, 3 };
+
+	@Before
+	public void setUp() {
+		Properties.getInstance().resetToDefaults();
+		Properties.INSTRUMENTATION_CACHE_DIR = folder.getRoot().getAbsolutePath();
+		cache.resetFingerprint();
+	}
+
+	@After
+	public void tearDown() {
+		Properties.getInstance().resetToDefaults();
+	}
+
+	@Test
+	public void testDisabledByDefault() {
+		Properties.getInstance().resetToDefaults();
+		assertFalse(cache.isEnabled());
+	}
+
+	@Test
+	public void testStoredEntryIsFound() {
+		assertTrue(cache.isEnabled());
+		String key = cache.getKey("foo/Bar", ORIGINAL, "settings");
+		assertNull(cache.get("foo/Bar", key));
+
+		cache.put("foo/Bar", key, new InstrumentedClassCache.Entry(INSTRUMENTED, Arrays.asList("x", "y")));
+
+		InstrumentedClassCache.Entry entry = cache.get("foo/Bar", key);
+		assertNotNull(entry);
+		assertArrayEquals(INSTRUMENTED, entry.getInstrumentedBytes());
+		assertEquals(Arrays.asList("x", "y"), entry.getModifiedStaticFields());
+	}
+
+	@Test
+	public void testKeyDependsOnClassSettingsAndClasspath() {
+		String key = cache.getKey("foo/Bar", ORIGINAL, "settings");
+		assertEquals(key, cache.getKey("foo/Bar", ORIGINAL, "settings"));
+
+		assertNotEquals(key, cache.getKey("foo/Baz", ORIGINAL, "settings"));
+		assertNotEquals(key, cache.getKey("foo/Bar", INSTRUMENTED, "settings"));
+		assertNotEquals(key, cache.getKey("foo/Bar", ORIGINAL, "other settings"));
+
+		Properties.CP = folder.getRoot().getAbsolutePath();
+		assertNotEquals(key, cache.getKey("foo/Bar", ORIGINAL, "settings"));
+	}
+
+	@Test
+	public void testEntryOfOtherClassIsIgnored() {
+		String key = cache.getKey("foo/Bar", ORIGINAL, "settings");
+		cache.put("foo/Bar", key, new InstrumentedClassCache.Entry(INSTRUMENTED, Collections.<String>emptyList()));
+		assertNull(cache.get("foo/Other", key));
+	}
+
+	@Test
+	public void testKeyDependsOnClassFilesOfClasspathDirectory() throws Exception {
+		File classes = folder.newFolder("classes");
+		File classFile = new File(classes, "Dep.class");
+		Files.write(classFile.toPath(), ORIGINAL);
+		Properties.CP = classes.getAbsolutePath();
+
+		String key = cache.getKey("foo/Bar", ORIGINAL, "settings");
+		cache.resetFingerprint();
+		assertEquals(key, cache.getKey("foo/Bar", ORIGINAL, "settings"));
+
+		// recompiling a class the instrumented class depends on
+		Files.write(classFile.toPath(), INSTRUMENTED);
+		cache.resetFingerprint();
+		assertNotEquals(key, cache.getKey("foo/Bar", ORIGINAL, "settings"));
+	}
+}
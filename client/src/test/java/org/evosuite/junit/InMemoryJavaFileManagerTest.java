@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.evosuite.instrumentation.NonInstrumentingClassLoader;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+public class InMemoryJavaFileManagerTest {
+
+	private JavaCompiler compiler;
+
+	@Before
+	public void init() {
+		compiler = ToolProvider.getSystemJavaCompiler();
+		Assume.assumeNotNull(compiler);
+	}
+
+	@Test
+	public void testCompileAndLoadFromMemory() throws Exception {
+		JavaFileObject base = InMemoryJavaFileManager.createSource("foo.Base",
+				"package foo; public class Base { }");
+		JavaFileObject sub = InMemoryJavaFileManager.createSource("foo.Sub",
+				"package foo; public class Sub extends Base { public Runnable r = new Runnable() { public void run() { } }; }");
+
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		Map<String, byte[]> compiled;
+		try (InMemoryJavaFileManager fileManager = new InMemoryJavaFileManager(
+				compiler.getStandardFileManager(diagnostics, null, null))) {
+			Assert.assertTrue(compiler.getTask(null, fileManager, diagnostics, null, null,
+					Arrays.asList(base, sub)).call());
+			compiled = fileManager.getCompiledClasses();
+		}
+
+		Assert.assertEquals(3, compiled.size());
+		Assert.assertTrue(compiled.containsKey("foo.Base"));
+		Assert.assertTrue(compiled.containsKey("foo.Sub"));
+		Assert.assertTrue(compiled.containsKey("foo.Sub$1"));
+
+		NonInstrumentingClassLoader loader = new NonInstrumentingClassLoader();
+		loader.loadClassFromBytes("foo.Base", compiled.get("foo.Base"));
+		loader.loadClassFromBytes("foo.Sub$1", compiled.get("foo.Sub$1"));
+		Class<?> clazz = loader.loadClassFromBytes("foo.Sub", compiled.get("foo.Sub"));
+		Assert.assertEquals("foo.Base", clazz.getSuperclass().getName());
+		Assert.assertNotNull(clazz.newInstance());
+	}
+
+	@Test
+	public void testErrorsAreReportedForEachSource() throws Exception {
+		JavaFileObject ok = InMemoryJavaFileManager.createSource("foo.Ok",
+				"package foo; public class Ok { }");
+		JavaFileObject wrongType = InMemoryJavaFileManager.createSource("foo.WrongType",
+				"package foo; public class WrongType { int x = \"x\"; }");
+		JavaFileObject undefined = InMemoryJavaFileManager.createSource("foo.Undefined",
+				"package foo; public class Undefined { void f() { undefined(); } }");
+
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		try (InMemoryJavaFileManager fileManager = new InMemoryJavaFileManager(
+				compiler.getStandardFileManager(diagnostics, null, null))) {
+			Assert.assertFalse(compiler.getTask(null, fileManager, diagnostics, null, null,
+					Arrays.asList(ok, wrongType, undefined)).call());
+		}
+
+		List<Diagnostic<? extends JavaFileObject>> errors = diagnostics.getDiagnostics();
+		Assert.assertEquals(2, errors.size());
+		Assert.assertSame(wrongType, errors.get(0).getSource());
+		Assert.assertSame(undefined, errors.get(1).getSource());
+	}
+}
@@ -20,12 +20,10 @@
 package org.evosuite.junit;
 
 import java.io.File;
-import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.apache.commons.io.FileUtils;
 import org.evosuite.Properties;
 import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.runtime.sandbox.Sandbox;
@@ -151,16 +149,5 @@ public class JUnitAnalyzerTest {
 		Assert.assertFalse(file.exists()); 			
 	}
 	
-	@Test
-	public void testCreationOfTmpDir() throws IOException{
-		
-		File dir = JUnitAnalyzer.createNewTmpDir();
-		Assert.assertNotNull(dir);
-		Assert.assertTrue(dir.exists());
-		
-		FileUtils.deleteDirectory(dir);
-		Assert.assertFalse(dir.exists());
-	}
-	
 	
 }
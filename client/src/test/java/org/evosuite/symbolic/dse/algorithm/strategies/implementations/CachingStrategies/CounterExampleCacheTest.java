@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.dse.algorithm.strategies.implementations.CachingStrategies;
+
+import org.evosuite.symbolic.expr.Comparator;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.expr.constraint.IntegerConstraint;
+import org.evosuite.symbolic.solver.SolverResult;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class CounterExampleCacheTest {
+
+    private static final IntegerVariable X = new IntegerVariable("x", 0, Long.MIN_VALUE, Long.MAX_VALUE);
+    private static final IntegerVariable Y = new IntegerVariable("y", 0, Long.MIN_VALUE, Long.MAX_VALUE);
+
+    private static final Constraint<?> X_GT_0 = new IntegerConstraint(X, Comparator.GT, new IntegerConstant(0));
+    private static final Constraint<?> X_LT_10 = new IntegerConstraint(X, Comparator.LT, new IntegerConstant(10));
+    private static final Constraint<?> X_LT_5 = new IntegerConstraint(X, Comparator.LT, new IntegerConstant(5));
+    private static final Constraint<?> X_GT_20 = new IntegerConstraint(X, Comparator.GT, new IntegerConstant(20));
+    private static final Constraint<?> Y_EQ_3 = new IntegerConstraint(Y, Comparator.EQ, new IntegerConstant(3));
+
+    private static Set<Constraint<?>> query(Constraint<?>... constraints) {
+        return new HashSet<>(Arrays.asList(constraints));
+    }
+
+    private static SolverResult sat(long x, long y) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("x", x);
+        model.put("y", y);
+        return SolverResult.newSAT(model);
+    }
+
+    @Test
+    public void indexFindsSubAndSupraSets() {
+        QueryCache cache = new QueryCache();
+        Set<Constraint<?>> small = query(X_GT_0);
+        Set<Constraint<?>> medium = query(X_GT_0, X_LT_10);
+        Set<Constraint<?>> other = query(Y_EQ_3);
+        cache.put(small, SolverResult.newUNSAT());
+        cache.put(medium, SolverResult.newUNSAT());
+        cache.put(other, SolverResult.newUNSAT());
+
+        List<Set<Constraint<?>>> subSets = cache.getSubSetsOf(query(X_GT_0, X_LT_10, X_LT_5));
+        assertEquals(2, subSets.size());
+        assertTrue(subSets.contains(small));
+        assertTrue(subSets.contains(medium));
+
+        List<Set<Constraint<?>>> supraSets = cache.getSupraSetsOf(query(X_LT_10));
+        assertEquals(1, supraSets.size());
+        assertTrue(supraSets.contains(medium));
+
+        assertTrue(cache.getSupraSetsOf(query(X_GT_20)).isEmpty());
+        assertTrue(cache.getSubSetsOf(query(X_GT_20)).isEmpty());
+    }
+
+    @Test
+    public void unsatSubSetIsUnsat() {
+        QueryCache cache = new QueryCache();
+        cache.put(query(X_GT_20, X_LT_10), SolverResult.newUNSAT());
+
+        CacheQueryResult result = new CounterExampleCache().checkCache(query(X_GT_20, X_LT_10, Y_EQ_3), cache);
+        assertTrue(result.hitUnSat());
+    }
+
+    @Test
+    public void satSupraSetSolutionIsRestrictedToTheQueryVariables() {
+        QueryCache cache = new QueryCache();
+        cache.put(query(X_GT_0, X_LT_10, Y_EQ_3), sat(4, 3));
+
+        CacheQueryResult result = new CounterExampleCache().checkCache(query(X_GT_0, X_LT_10), cache);
+        assertTrue(result.hitSat());
+        assertEquals(4L, result.getSmtSolution().get("x"));
+        assertFalse(result.getSmtSolution().containsKey("y"));
+    }
+
+    @Test
+    public void satSubSetSolutionIsReusedIfItSatisfiesTheQuery() {
+        QueryCache cache = new QueryCache();
+        cache.put(query(X_GT_0), sat(4, 0));
+
+        CacheQueryResult result = new CounterExampleCache().checkCache(query(X_GT_0, X_LT_5), cache);
+        assertTrue(result.hitSat());
+        assertEquals(4L, result.getSmtSolution().get("x"));
+    }
+
+    @Test
+    public void satSubSetSolutionIsNotReusedIfItDoesNotSatisfyTheQuery() {
+        QueryCache cache = new QueryCache();
+        cache.put(query(X_GT_0), sat(7, 0));
+
+        CacheQueryResult result = new CounterExampleCache().checkCache(query(X_GT_0, X_LT_5), cache);
+        assertTrue(result.missed());
+    }
+}
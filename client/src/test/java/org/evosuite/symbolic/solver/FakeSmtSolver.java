@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+/**
+ * Minimal stand-in for an SMT solver process, used to test
+ * {@link SmtSolverSession}. It answers every <code>(check-sat)</code> with
+ * <code>sat</code> and reports the current push depth and the number of push
+ * and declaration commands received so far as its model.
+ */
+public class FakeSmtSolver {
+
+	public static void main(String[] args) throws IOException {
+		BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
+		int depth = 0;
+		int pushes = 0;
+		int declarations = 0;
+		String line;
+		while ((line = in.readLine()) != null) {
+			line = line.trim();
+			if (line.startsWith("(push")) {
+				depth++;
+				pushes++;
+			} else if (line.startsWith("(pop ")) {
+				depth -= Integer.parseInt(line.substring("(pop ".length(), line.length() - 1));
+			} else if (line.startsWith("(declare-")) {
+				declarations++;
+			} else if (line.equals("(check-sat)")) {
+				System.out.println("sat");
+			} else if (line.equals("(get-model)")) {
+				System.out.println("(model");
+				System.out.println("  (define-fun depth () Int " + depth + ")");
+				System.out.println("  (define-fun pushes () Int " + pushes + ")");
+				System.out.println("  (define-fun declarations () Int " + declarations + ")");
+				System.out.println(")");
+			} else if (line.startsWith("(echo \"")) {
+				System.out.println(line.substring("(echo \"".length(), line.length() - 2));
+			} else if (line.equals("(exit)")) {
+				break;
+			}
+			System.out.flush();
+		}
+	}
+}
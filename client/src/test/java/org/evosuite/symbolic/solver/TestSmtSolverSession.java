@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import org.evosuite.symbolic.solver.smt.SmtAssertion;
+import org.evosuite.symbolic.solver.smt.SmtModelParser;
+import org.evosuite.symbolic.solver.smt.SmtQuery;
+import org.junit.After;
+import org.junit.Test;
+
+public class TestSmtSolverSession {
+
+	private static final long TIMEOUT = 10000;
+
+	private final SmtSolverSession session = new SmtSolverSession(
+			System.getProperty("java.home") + File.separator + "bin" + File.separator + "java" + " -cp "
+					+ System.getProperty("java.class.path") + " " + FakeSmtSolver.class.getName());
+
+	@After
+	public void tearDown() {
+		session.close();
+	}
+
+	private static SmtQuery query(List<String> variables, long... bounds) {
+		SmtQuery query = new SmtQuery();
+		query.addOption(":timeout", String.valueOf(TIMEOUT));
+		for (String variable : variables) {
+			query.addConstantDeclaration(SmtExprBuilder.mkIntConstantDeclaration(variable));
+		}
+		for (long bound : bounds) {
+			query.addAssertion(new SmtAssertion(SmtExprBuilder.mkGt(SmtExprBuilder.mkIntVariable(variables.get(0)),
+					SmtExprBuilder.mkIntConstant(bound))));
+		}
+		return query;
+	}
+
+	private static SolverResult solve(SmtSolverSession session, SmtQuery query) throws Exception {
+		String output = session.solve(query, TIMEOUT);
+		SolverResult result = new SmtModelParser().parse(output);
+		assertTrue(result.isSAT());
+		return result;
+	}
+
+	@Test
+	public void testSiblingQueriesShareTheirPrefix() throws Exception {
+		SolverResult first = solve(session, query(Arrays.asList("x"), 1, 2, 3));
+		assertEquals(3L, first.getValue("depth"));
+		assertEquals(3L, first.getValue("pushes"));
+		assertEquals(1L, first.getValue("declarations"));
+
+		// only the last assertion differs
+		SolverResult sibling = solve(session, query(Arrays.asList("x"), 1, 2, 4));
+		assertEquals(3L, sibling.getValue("depth"));
+		assertEquals(4L, sibling.getValue("pushes"));
+		assertEquals(1L, sibling.getValue("declarations"));
+
+		// a shorter prefix only pops
+		SolverResult prefix = solve(session, query(Arrays.asList("x"), 1));
+		assertEquals(1L, prefix.getValue("depth"));
+		assertEquals(4L, prefix.getValue("pushes"));
+	}
+
+	@Test
+	public void testNewDeclarationsAreMadeAtTheBaseLevel() throws Exception {
+		solve(session, query(Arrays.asList("x"), 1, 2));
+
+		SolverResult result = solve(session, query(Arrays.asList("x", "y"), 1, 2));
+		assertEquals(2L, result.getValue("depth"));
+		assertEquals(4L, result.getValue("pushes"));
+		assertEquals(2L, result.getValue("declarations"));
+	}
+
+	@Test
+	public void testSessionIsRestartedAfterClose() throws Exception {
+		solve(session, query(Arrays.asList("x"), 1, 2));
+		session.close();
+
+		SolverResult result = solve(session, query(Arrays.asList("x"), 1, 2));
+		assertEquals(2L, result.getValue("pushes"));
+		assertEquals(1L, result.getValue("declarations"));
+	}
+}
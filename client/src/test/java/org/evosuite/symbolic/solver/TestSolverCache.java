@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.evosuite.Properties;
+import org.evosuite.symbolic.expr.Comparator;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.Operator;
+import org.evosuite.symbolic.expr.bv.IntegerBinaryExpression;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.expr.constraint.IntegerConstraint;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestSolverCache {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final SolverCache cache = SolverCache.getInstance();
+
+	@Before
+	public void setUp() {
+		Properties.getInstance().resetToDefaults();
+		cache.clear();
+	}
+
+	@After
+	public void tearDown() {
+		Properties.getInstance().resetToDefaults();
+		cache.clear();
+	}
+
+	private static IntegerVariable var(String name) {
+		return new IntegerVariable(name, 0, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	/** x > 5, y == x + 1 */
+	private static List<Constraint<?>> query(String x, String y) {
+		IntegerVariable varX = var(x);
+		IntegerVariable varY = var(y);
+		List<Constraint<?>> constraints = new ArrayList<>();
+		constraints.add(new IntegerConstraint(varX, Comparator.GT, new IntegerConstant(5)));
+		constraints.add(new IntegerConstraint(varY, Comparator.EQ,
+				new IntegerBinaryExpression(varX, Operator.PLUS, new IntegerConstant(1), 1L)));
+		return constraints;
+	}
+
+	private static SolverResult model(String x, long xValue, String y, long yValue) {
+		Map<String, Object> model = new HashMap<>();
+		model.put(x, xValue);
+		model.put(y, yValue);
+		return SolverResult.newSAT(model);
+	}
+
+	@Test
+	public void testRenamedVariablesHit() {
+		cache.saveSolverResult(query("x", "y"), model("x", 6L, "y", 7L));
+
+		assertTrue(cache.hasCachedResult(query("a", "b")));
+		SolverResult result = cache.getCachedResult();
+		assertTrue(result.isSAT());
+		assertEquals(6L, result.getValue("a"));
+		assertEquals(7L, result.getValue("b"));
+	}
+
+	@Test
+	public void testReorderedConstraintsHit() {
+		cache.saveSolverResult(query("x", "y"), model("x", 6L, "y", 7L));
+
+		List<Constraint<?>> reordered = query("x", "y");
+		reordered.add(reordered.remove(0));
+		assertTrue(cache.hasCachedResult(reordered));
+		assertEquals(7L, cache.getCachedResult().getValue("y"));
+	}
+
+	@Test
+	public void testConstantFolding() {
+		IntegerVariable x = var("x");
+		List<Constraint<?>> folded = new ArrayList<>();
+		folded.add(new IntegerConstraint(x, Comparator.LT, new IntegerConstant(5)));
+		folded.add(new IntegerConstraint(x, Comparator.GT, new IntegerConstant(10)));
+		cache.saveSolverResult(folded, SolverResult.newUNSAT());
+
+		IntegerVariable z = var("z");
+		List<Constraint<?>> unfolded = new ArrayList<>();
+		unfolded.add(new IntegerConstraint(z, Comparator.LT,
+				new IntegerBinaryExpression(new IntegerConstant(2), Operator.PLUS, new IntegerConstant(3), 5L)));
+		unfolded.add(new IntegerConstraint(z, Comparator.GT, new IntegerConstant(10)));
+		assertTrue(cache.hasCachedResult(unfolded));
+		assertTrue(cache.getCachedResult().isUNSAT());
+	}
+
+	@Test
+	public void testInvalidModelIsNotReturned() {
+		// y == x + 1 does not hold for this model
+		cache.saveSolverResult(query("x", "y"), model("x", 6L, "y", 0L));
+		assertFalse(cache.hasCachedResult(query("a", "b")));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEviction() {
+		Properties.DSE_SOLVER_CACHE_SIZE = 1;
+		List<Constraint<?>> first = new ArrayList<>();
+		first.add(new IntegerConstraint(var("x"), Comparator.LT, new IntegerConstant(1)));
+		List<Constraint<?>> second = new ArrayList<>();
+		second.add(new IntegerConstraint(var("x"), Comparator.LT, new IntegerConstant(2)));
+
+		cache.saveSolverResult(first, SolverResult.newUNSAT());
+		cache.saveSolverResult(second, SolverResult.newUNSAT());
+
+		assertFalse(cache.hasCachedResult(first));
+		assertTrue(cache.hasCachedResult(second));
+	}
+
+	@Test
+	public void testResultsArePersisted() throws IOException {
+		File file = new File(folder.getRoot(), "solver.cache");
+		Properties.DSE_SOLVER_CACHE_FILE = file.getAbsolutePath();
+		cache.saveSolverResult(query("x", "y"), model("x", 6L, "y", 7L));
+		assertTrue(file.length() > 0);
+
+		// a new run only sees the file
+		cache.clear();
+		assertTrue(cache.hasCachedResult(query("a", "b")));
+		assertEquals(7L, cache.getCachedResult().getValue("b"));
+	}
+}
@@ -19,6 +19,8 @@
  */
 package org.evosuite.testcase;
 
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.variable.VariableReference;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -31,4 +33,38 @@ public class DefaultTestCaseTest {
 		DefaultTestCase clone = tc.clone();
 		Assert.assertTrue(tc.statements != clone.statements);
 	}
+
+	@Test
+	public void testPositionsAfterChanges() {
+		DefaultTestCase tc = new DefaultTestCase();
+		VariableReference a = tc.addStatement(new IntPrimitiveStatement(tc, 0));
+		VariableReference b = tc.addStatement(new IntPrimitiveStatement(tc, 1));
+		Assert.assertEquals(0, a.getStPosition());
+		Assert.assertEquals(1, b.getStPosition());
+
+		VariableReference c = tc.addStatement(new IntPrimitiveStatement(tc, 2), 0);
+		Assert.assertEquals(0, c.getStPosition());
+		Assert.assertEquals(1, a.getStPosition());
+		Assert.assertEquals(2, b.getStPosition());
+
+		tc.remove(1);
+		Assert.assertEquals(0, c.getStPosition());
+		Assert.assertEquals(1, b.getStPosition());
+	}
+
+	@Test
+	public void testCloneKeepsPositions() {
+		DefaultTestCase tc = new DefaultTestCase();
+		for (int i = 0; i < 10; i++) {
+			tc.addStatement(new IntPrimitiveStatement(tc, i));
+		}
+		DefaultTestCase clone = tc.clone();
+		Assert.assertEquals(tc.size(), clone.size());
+		for (int i = 0; i < clone.size(); i++) {
+			VariableReference var = clone.getStatement(i).getReturnValue();
+			Assert.assertNotSame(tc.getStatement(i).getReturnValue(), var);
+			Assert.assertSame(clone, var.getTestCase());
+			Assert.assertEquals(i, var.getStPosition());
+		}
+	}
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+public class BranchCounterTest {
+
+	@Test
+	public void testMinimaSumsAndCounts() {
+		BranchCounter counter = new BranchCounter();
+		counter.passed(3, 2.0, 0.0, true);
+		counter.passed(3, 0.0, 1.0, true);
+		counter.passed(3, 4.0, 0.0, false);
+
+		assertTrue(counter.wasPassed(3));
+		assertFalse(counter.wasPassed(2));
+		assertEquals(0.0, counter.getTrueDistance(3), 0.0);
+		assertEquals(0.0, counter.getFalseDistance(3), 0.0);
+		assertEquals(6.0, counter.getTrueDistanceSums().get(3), 0.0);
+		assertEquals(1.0, counter.getFalseDistanceSums().get(3), 0.0);
+		// the last pass is not counted
+		assertEquals(Integer.valueOf(2), counter.getPredicateCounts().get(3));
+		assertTrue(counter.isCoveredTrue(3));
+		assertTrue(counter.isCoveredFalse(3));
+	}
+
+	@Test
+	public void testBranchesBeyondTheFirstCapacity() {
+		BranchCounter counter = new BranchCounter();
+		counter.passed(1, 0.0, 1.0, true);
+		counter.passed(1000, 1.0, 0.0, true);
+
+		assertEquals(new HashSet<>(Arrays.asList(1)), counter.getCoveredTrueBranches());
+		assertEquals(new HashSet<>(Arrays.asList(1000)), counter.getCoveredFalseBranches());
+		assertEquals(2, counter.getTrueDistances().size());
+		assertEquals(1.0, counter.getTrueDistances().get(1000), 0.0);
+	}
+
+	@Test
+	public void testCopyIsIndependent() {
+		BranchCounter counter = new BranchCounter();
+		counter.passed(1, 1.0, 0.0, true);
+		BranchCounter copy = counter.copy();
+		copy.passed(1, 0.0, 1.0, true);
+		copy.passed(2, 0.0, 1.0, true);
+		counter.clear();
+
+		assertFalse(counter.wasPassed(1));
+		assertEquals(Collections.emptyMap(), counter.getPredicateCounts());
+		assertEquals(Integer.valueOf(2), copy.getPredicateCounts().get(1));
+		assertEquals(0.0, copy.getTrueDistance(1), 0.0);
+
+		counter.passed(1, 3.0, 0.0, true);
+		assertEquals(3.0, counter.getTrueDistance(1), 0.0);
+		assertEquals(Integer.valueOf(1), counter.getPredicateCounts().get(1));
+		assertFalse(counter.isCoveredTrue(1));
+	}
+
+	@Test
+	public void testTraceBranchData() {
+		ExecutionTraceImpl trace = new ExecutionTraceImpl();
+		trace.branchPassed(1, 0, 0.0, 2.0);
+		trace.branchPassed(1, 0, 1.0, 0.0);
+		trace.branchPassed(2, 0, 5.0, 0.0);
+
+		assertEquals(new HashSet<>(Arrays.asList(1, 2)), trace.getCoveredPredicates());
+		assertEquals(Integer.valueOf(2), trace.getPredicateExecutionCount().get(1));
+		assertEquals(new HashSet<>(Arrays.asList(1)), trace.getCoveredTrueBranches());
+		assertEquals(new HashSet<>(Arrays.asList(1, 2)), trace.getCoveredFalseBranches());
+		assertTrue(trace.hasTrueDistance(2));
+		assertEquals(5.0, trace.getTrueDistance(2), 0.0);
+		assertEquals(2.0, trace.getFalseDistancesSum().get(1), 0.0);
+
+		ExecutionTraceImpl copy = trace.clone();
+		trace.clear();
+		assertFalse(trace.hasTrueDistance(1));
+		assertTrue(trace.getTrueDistances().isEmpty());
+		assertEquals(0.0, copy.getFalseDistance(2), 0.0);
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.evosuite.instrumentation.LinePool;
+import org.junit.After;
+import org.junit.Test;
+
+public class LineCounterTest {
+
+	@After
+	public void tearDown() {
+		LinePool.reset();
+	}
+
+	@Test
+	public void testCountsInOrderOfFirstPass() {
+		LineCounter counter = new LineCounter();
+		for (int i = 0; i < 100; i++) {
+			counter.increment(99 - i);
+			counter.increment(5);
+		}
+
+		assertEquals(100, counter.size());
+		assertEquals(99, counter.getLineId(0));
+		assertEquals(1, counter.getCount(0));
+		assertEquals(5, counter.getLineId(1));
+		assertEquals(101, counter.getCount(1));
+	}
+
+	@Test
+	public void testCopyIsIndependent() {
+		LineCounter counter = new LineCounter();
+		counter.increment(1);
+		LineCounter copy = counter.copy();
+		copy.increment(1);
+		copy.increment(2);
+		counter.clear();
+
+		assertEquals(0, counter.size());
+		assertEquals(2, copy.size());
+		assertEquals(2, copy.getCount(0));
+
+		counter.increment(2);
+		assertEquals(1, counter.size());
+		assertEquals(2, counter.getLineId(0));
+	}
+
+	@Test
+	public void testTraceCoverageData() {
+		int first = LinePool.addLine("foo.Bar", "baz()V", 10);
+		int second = LinePool.addLine("foo.Bar", "baz()V", 11);
+		int inner = LinePool.addLine("foo.Bar$1", "run()V", 20);
+		assertEquals(first, LinePool.addLine("foo.Bar", "baz()V", 10));
+
+		ExecutionTraceImpl trace = new ExecutionTraceImpl();
+		trace.linePassed(first);
+		trace.linePassed(second);
+		trace.linePassed(first);
+		trace.linePassed(inner);
+
+		Map<String, Map<String, Map<Integer, Integer>>> coverage = trace.getCoverageData();
+		assertEquals(2, (int) coverage.get("foo.Bar").get("baz()V").get(10));
+		assertEquals(1, (int) coverage.get("foo.Bar").get("baz()V").get(11));
+		assertEquals(3, trace.getCoveredLines("foo.Bar").size());
+		assertEquals(trace.getCoverageData(), trace.clone().getCoverageData());
+
+		trace.clear();
+		assertTrue(trace.getCoverageData().isEmpty());
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.lang.reflect.Method;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.Criterion;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.coverage.mutation.MutationObserver;
+import org.evosuite.instrumentation.InstrumentingClassLoader;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.variable.VariableReference;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.examples.with.different.packagename.CounterWithLimit;
+
+public class PrefixCheckpointTest {
+
+	private static final String TARGET_CLASS = CounterWithLimit.class.getCanonicalName();
+
+	private static final boolean DEFAULT_PREFIX_CHECKPOINTS = Properties.PREFIX_CHECKPOINTS;
+	private static final boolean DEFAULT_RESET_STATIC_FIELDS = Properties.RESET_STATIC_FIELDS;
+
+	private Class<?> clazz;
+
+	@BeforeClass
+	public static void init() {
+		String cp = System.getProperty("user.dir") + "/target/test-classes";
+		ClassPathHandler.getInstance().addElementToTargetProjectClassPath(cp);
+	}
+
+	@Before
+	public void setUp() throws ClassNotFoundException {
+		Properties.CRITERION = new Properties.Criterion[] { Criterion.BRANCH };
+		Properties.TARGET_CLASS = TARGET_CLASS;
+		Properties.TIMEOUT = Integer.MAX_VALUE;
+		Properties.PREFIX_CHECKPOINTS = true;
+		Properties.RESET_STATIC_FIELDS = true;
+		TestGenerationContext.getInstance().resetContext();
+		InstrumentingClassLoader cl = TestGenerationContext.getInstance().getClassLoaderForSUT();
+		clazz = cl.loadClass(TARGET_CLASS);
+	}
+
+	@After
+	public void tearDown() {
+		MutationObserver.deactivateMutation();
+		Properties.PREFIX_CHECKPOINTS = DEFAULT_PREFIX_CHECKPOINTS;
+		Properties.RESET_STATIC_FIELDS = DEFAULT_RESET_STATIC_FIELDS;
+		TestGenerationContext.getInstance().resetContext();
+	}
+
+	/**
+	 * new CounterWithLimit(), increment(1), increment(2), and an int that is
+	 * not used yet: the state is kept after the increments
+	 */
+	private DefaultTestCase buildPrefix() throws NoSuchMethodException {
+		TestCaseBuilder builder = new TestCaseBuilder();
+		VariableReference counter = builder.appendConstructor(clazz.getConstructor());
+		Method increment = clazz.getMethod("increment", int.class);
+		builder.appendMethod(counter, increment, builder.appendIntPrimitive(1));
+		builder.appendMethod(counter, increment, builder.appendIntPrimitive(2));
+		builder.appendIntPrimitive(0);
+		return builder.getDefaultTestCase();
+	}
+
+	/**
+	 * Append increment(0) and check(0), which throws
+	 */
+	private void appendSuffix(DefaultTestCase test) throws NoSuchMethodException {
+		VariableReference counter = test.getStatement(0).getReturnValue();
+		VariableReference zero = test.getStatement(5).getReturnValue();
+		TestCaseBuilder builder = new TestCaseBuilder(test, test.size());
+		builder.appendMethod(counter, clazz.getMethod("increment", int.class), zero);
+		builder.appendMethod(counter, clazz.getMethod("check", int.class), zero);
+	}
+
+	@Test
+	public void testResumedExecutionIsSameAsFullExecution() throws Exception {
+		DefaultTestCase prefix = buildPrefix();
+		// no state is kept by an execution that initializes classes
+		TestCaseExecutor.runTest(prefix);
+		TestCaseExecutor.runTest(prefix);
+		PrefixCheckpoint checkpoint = prefix.getPrefixCheckpoint();
+		Assert.assertNotNull(checkpoint);
+		Assert.assertEquals(5, checkpoint.getPosition());
+
+		DefaultTestCase resumed = (DefaultTestCase) prefix.clone();
+		appendSuffix(resumed);
+		Assert.assertSame(checkpoint, resumed.getPrefixCheckpoint());
+		DefaultTestCase full = (DefaultTestCase) resumed.clone();
+		full.setPrefixCheckpoint(null);
+
+		ExecutionResult resumedResult = TestCaseExecutor.runTest(resumed);
+		// the suffix changes the objects of the checkpoint
+		Assert.assertFalse(checkpoint.canResume(prefix));
+		ExecutionResult fullResult = TestCaseExecutor.runTest(full);
+
+		ExecutionTrace resumedTrace = resumedResult.getTrace();
+		ExecutionTrace fullTrace = fullResult.getTrace();
+		Assert.assertEquals(fullTrace.getPredicateExecutionCount(), resumedTrace.getPredicateExecutionCount());
+		Assert.assertEquals(fullTrace.getTrueDistances(), resumedTrace.getTrueDistances());
+		Assert.assertEquals(fullTrace.getFalseDistances(), resumedTrace.getFalseDistances());
+		Assert.assertEquals(fullTrace.getCoveredMethods(), resumedTrace.getCoveredMethods());
+		Assert.assertEquals(fullTrace.getCoveredLines(), resumedTrace.getCoveredLines());
+
+		Assert.assertEquals(fullResult.getPositionsWhereExceptionsWereThrown(),
+				resumedResult.getPositionsWhereExceptionsWereThrown());
+		Assert.assertEquals(IllegalStateException.class, resumedResult.getExceptionThrownAtPosition(7).getClass());
+		Assert.assertEquals(IllegalStateException.class, fullResult.getExceptionThrownAtPosition(7).getClass());
+	}
+
+	@Test
+	public void testNoCheckpointWhileMutantIsActive() throws Exception {
+		DefaultTestCase prefix = buildPrefix();
+		MutationObserver.activateMutation(0);
+		TestCaseExecutor.runTest(prefix);
+		Assert.assertNull(prefix.getPrefixCheckpoint());
+
+		MutationObserver.deactivateMutation();
+		TestCaseExecutor.runTest(prefix);
+		PrefixCheckpoint checkpoint = prefix.getPrefixCheckpoint();
+		Assert.assertNotNull(checkpoint);
+
+		// a checkpoint of the original program is not used for a mutant
+		MutationObserver.activateMutation(0);
+		TestCaseExecutor.runTest(prefix);
+		Assert.assertTrue(checkpoint.canResume(prefix));
+	}
+}
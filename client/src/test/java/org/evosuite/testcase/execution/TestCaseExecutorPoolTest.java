@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.Criterion;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.instrumentation.InstrumentingClassLoader;
+import org.evosuite.runtime.RuntimeSettings;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.variable.VariableReference;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.examples.with.different.packagename.mock.java.io.CreateFileOnce;
+
+public class TestCaseExecutorPoolTest {
+
+	private static final String TARGET_CLASS = CreateFileOnce.class.getCanonicalName();
+
+	private static final int DEFAULT_NUM_PARALLEL_EVALUATIONS = Properties.NUM_PARALLEL_EVALUATIONS;
+	private static final boolean DEFAULT_VIRTUAL_FS = Properties.VIRTUAL_FS;
+	private static final boolean DEFAULT_USE_VFS = RuntimeSettings.useVFS;
+
+	@BeforeClass
+	public static void init() {
+		String cp = System.getProperty("user.dir") + "/target/test-classes";
+		ClassPathHandler.getInstance().addElementToTargetProjectClassPath(cp);
+	}
+
+	@Before
+	public void setUp() {
+		Properties.CRITERION = new Properties.Criterion[] { Criterion.BRANCH };
+		Properties.TARGET_CLASS = TARGET_CLASS;
+		Properties.TIMEOUT = Integer.MAX_VALUE;
+		Properties.NUM_PARALLEL_EVALUATIONS = 2;
+		Properties.VIRTUAL_FS = true;
+		RuntimeSettings.useVFS = true;
+		TestGenerationContext.getInstance().resetContext();
+	}
+
+	@After
+	public void tearDown() {
+		TestCaseExecutorPool.pullDown();
+		Properties.NUM_PARALLEL_EVALUATIONS = DEFAULT_NUM_PARALLEL_EVALUATIONS;
+		Properties.VIRTUAL_FS = DEFAULT_VIRTUAL_FS;
+		RuntimeSettings.useVFS = DEFAULT_USE_VFS;
+		TestGenerationContext.getInstance().resetContext();
+	}
+
+	@Test
+	public void testNotApplicableWithVirtualFileSystem() {
+		Assert.assertFalse(TestCaseExecutorPool.isApplicable(Collections.emptyList()));
+	}
+
+	@Test
+	public void testTwoSlotsWithVirtualFileSystem() throws Exception {
+		InstrumentingClassLoader cl = TestGenerationContext.getInstance().getClassLoaderForSUT();
+		List<TestChromosome> tests = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			TestChromosome test = new TestChromosome();
+			test.setTestCase(buildTestCase(cl));
+			tests.add(test);
+		}
+
+		// what a search does: execute on the slots if possible, and then
+		// execute sequentially the tests that were not
+		if (TestCaseExecutorPool.isApplicable(Collections.emptyList())) {
+			TestCaseExecutorPool.getInstance().execute(tests);
+		}
+		for (TestChromosome test : tests) {
+			if (test.getLastExecutionResult() == null || test.isChanged()) {
+				test.setLastExecutionResult(TestCaseExecutor.runTest(test.getTestCase()));
+				test.setChanged(false);
+			}
+		}
+
+		// each test starts from an empty file system
+		for (TestChromosome test : tests) {
+			Assert.assertTrue(test.getLastExecutionResult().noThrownExceptions());
+		}
+	}
+
+	private static TestCase buildTestCase(InstrumentingClassLoader cl) throws Exception {
+		TestCaseBuilder builder = new TestCaseBuilder();
+		Class<?> clazz = cl.loadClass(TARGET_CLASS);
+		VariableReference instance = builder.appendConstructor(clazz.getConstructor());
+		builder.appendMethod(instance, clazz.getMethod("create"));
+		return builder.getDefaultTestCase();
+	}
+}
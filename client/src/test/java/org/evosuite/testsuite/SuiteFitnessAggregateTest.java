@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testsuite;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SuiteFitnessAggregateTest {
+
+	private static SuiteFitnessContribution contribution(String goal, int count, double distance) {
+		Map<String, Integer> counts = new LinkedHashMap<>();
+		counts.put(goal, count);
+		Map<String, Double> distances = new LinkedHashMap<>();
+		distances.put(goal, distance);
+		return new SuiteFitnessContribution(Collections.singletonList(counts),
+				Collections.singletonList(distances));
+	}
+
+	@Test
+	public void testSumsAndMinima() {
+		SuiteFitnessContribution a = contribution("x", 1, 0.5);
+		SuiteFitnessContribution b = contribution("x", 2, 0.25);
+		SuiteFitnessContribution c = contribution("y", 3, 0.75);
+
+		SuiteFitnessAggregate aggregate = new SuiteFitnessAggregate(this);
+		aggregate.update(Arrays.asList(a, b, c));
+
+		Assert.assertEquals(3, aggregate.getCount(0, "x"));
+		Assert.assertEquals(3, aggregate.getCount(0, "y"));
+		Assert.assertEquals(0, aggregate.getCount(0, "z"));
+		Assert.assertEquals(0.25, aggregate.getDistance(0, "x"), 0.0);
+		Assert.assertEquals(0.75, aggregate.getDistance(0, "y"), 0.0);
+		Assert.assertNull(aggregate.getDistance(0, "z"));
+		Assert.assertFalse(aggregate.hasTimeoutOrTestException());
+	}
+
+	@Test
+	public void testRemovingTheMinimum() {
+		SuiteFitnessContribution a = contribution("x", 1, 0.5);
+		SuiteFitnessContribution b = contribution("x", 2, 0.25);
+		SuiteFitnessContribution c = contribution("y", 3, 0.75);
+		SuiteFitnessContribution d = contribution("y", 1, 0.75);
+
+		SuiteFitnessAggregate aggregate = new SuiteFitnessAggregate(this);
+		aggregate.update(Arrays.asList(a, b, c, d));
+		aggregate.update(Arrays.asList(a, c, d));
+
+		Assert.assertEquals(1, aggregate.getCount(0, "x"));
+		Assert.assertEquals(0.5, aggregate.getDistance(0, "x"), 0.0);
+
+		aggregate.update(Arrays.asList(a, d));
+		Assert.assertEquals(1, aggregate.getCount(0, "y"));
+		Assert.assertEquals(0.75, aggregate.getDistance(0, "y"), 0.0);
+
+		aggregate.update(Arrays.asList(a, a, d));
+		Assert.assertEquals(2, aggregate.getCount(0, "x"));
+
+		aggregate.update(Arrays.asList(a, a));
+		Assert.assertFalse(aggregate.hasCount(0, "y"));
+		Assert.assertFalse(aggregate.hasDistance(0, "y"));
+	}
+
+	@Test
+	public void testTimeout() {
+		SuiteFitnessContribution a = contribution("x", 1, 0.5);
+		SuiteFitnessContribution b = contribution("x", 2, 0.25);
+
+		SuiteFitnessAggregate aggregate = new SuiteFitnessAggregate(this);
+		aggregate.update(Arrays.asList(a, b, SuiteFitnessContribution.TIMEOUT_OR_TEST_EXCEPTION));
+		Assert.assertTrue(aggregate.hasTimeoutOrTestException());
+		Assert.assertEquals(3, aggregate.getCount(0, "x"));
+
+		aggregate.update(Arrays.asList(a, b));
+		Assert.assertFalse(aggregate.hasTimeoutOrTestException());
+	}
+
+	@Test
+	public void testCopyIsIndependent() {
+		SuiteFitnessContribution a = contribution("x", 1, 0.5);
+		SuiteFitnessContribution b = contribution("x", 2, 0.25);
+		SuiteFitnessContribution c = contribution("x", 4, 0.75);
+
+		SuiteFitnessAggregate aggregate = new SuiteFitnessAggregate(this);
+		aggregate.update(Arrays.asList(a, b, c));
+
+		Object other = new Object();
+		SuiteFitnessAggregate copy = aggregate.copy(other);
+		Assert.assertSame(other, copy.getOwner());
+		copy.update(Arrays.asList(a, c));
+
+		Assert.assertEquals(5, copy.getCount(0, "x"));
+		Assert.assertEquals(0.5, copy.getDistance(0, "x"), 0.0);
+		Assert.assertEquals(7, aggregate.getCount(0, "x"));
+		Assert.assertEquals(0.25, aggregate.getDistance(0, "x"), 0.0);
+	}
+
+	@Test
+	public void testFitnessWithoutContributionsIsNotAggregated() {
+		TestSuiteFitnessFunction fitness = new TestSuiteFitnessFunction() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public double getFitness(TestSuiteChromosome suite) {
+				return 0.0;
+			}
+		};
+		Assert.assertFalse(fitness.supportsContributions());
+
+		TestSuiteChromosome suite = new TestSuiteChromosome();
+		try {
+			fitness.aggregateContributions(suite, Collections.emptyList());
+			Assert.fail("Expected the aggregation to be refused");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		Assert.assertNull(suite.getFitnessAggregate(fitness));
+	}
+}
@@ -21,19 +21,38 @@ package org.evosuite.testsuite;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.util.List;
 
 import org.evosuite.testcase.DefaultTestCase;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.statements.PrimitiveStatement;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class TestSerialization {
 
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static TestChromosome createTest(int numStatements) {
+		TestCase test = new DefaultTestCase();
+		for (int i = 0; i < numStatements; i++) {
+			test.addStatement(PrimitiveStatement.getPrimitiveStatement(test, int.class));
+		}
+		TestChromosome testChromosome = new TestChromosome();
+		testChromosome.setTestCase(test);
+		return testChromosome;
+	}
+
 	@Test
 	public void testSerializationNonEmptySuite() throws IOException, ClassNotFoundException {
 		ByteArrayOutputStream baos = new ByteArrayOutputStream();
@@ -66,4 +85,38 @@ public class TestSerialization {
 		
 		Assert.assertEquals(chromosome.getTestChromosome(0).getFitness(), copy.getTestChromosome(0).getFitness(), 0.0);
 	}
+
+	@Test
+	public void testSaveAndLoadTests() throws IOException {
+		TestSuiteChromosome suite = new TestSuiteChromosome();
+		suite.addTest(createTest(1));
+		suite.addTest(createTest(3));
+		File target = new File(folder.getRoot(), "tests.ser");
+		Assert.assertTrue(TestSuiteSerialization.saveTests(suite, target));
+
+		List<TestChromosome> tests = TestSuiteSerialization.loadTests(target);
+		Assert.assertEquals(2, tests.size());
+		Assert.assertEquals(suite.getTestChromosome(0).getTestCase().toCode(), tests.get(0).getTestCase().toCode());
+		Assert.assertEquals(suite.getTestChromosome(1).getTestCase().toCode(), tests.get(1).getTestCase().toCode());
+	}
+
+	@Test
+	public void testLoadPlainSerializedTests() throws IOException {
+		TestChromosome test = createTest(2);
+		File target = new File(folder.getRoot(), "tests.ser");
+		try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(target))) {
+			out.writeObject(test);
+		}
+
+		List<TestChromosome> tests = TestSuiteSerialization.loadTests(target);
+		Assert.assertEquals(1, tests.size());
+		Assert.assertEquals(test.getTestCase().toCode(), tests.get(0).getTestCase().toCode());
+	}
+
+	@Test
+	public void testLoadUnknownVersion() throws IOException {
+		File target = new File(folder.getRoot(), "tests.ser");
+		Files.write(target.toPath(), new byte[] { 0x45, 0x56, 0x4F, 0x54, 0, 0, 0, 99 });
+		Assert.assertTrue(TestSuiteSerialization.loadTests(target).isEmpty());
+	}
 }
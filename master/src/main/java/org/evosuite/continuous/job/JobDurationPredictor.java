@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.continuous.job;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.evosuite.xsd.CUT;
+import org.evosuite.xsd.CUTUtil;
+import org.evosuite.xsd.Generation;
+import org.evosuite.xsd.Project;
+
+/**
+ * Predict how long a job will take to run.
+ * A job does not take exactly its search budget: there is the time
+ * to start the processes and analyze the CUT, and the minimization and
+ * assertion generation phases; on the other hand, the search can stop
+ * early if all the goals are covered.
+ * So, for each CUT, we look at how long its latest successful generation
+ * took compared to its budget, and use the average over all CUTs for CUTs
+ * with no history
+ */
+public class JobDurationPredictor {
+
+	/**
+	 * Ratio between the time the latest successful generation took and its
+	 * budget, indexed by CUT name
+	 */
+	private final Map<String, Double> ratios = new HashMap<>();
+
+	private final double defaultRatio;
+
+	/**
+	 * Predictor with no history, ie, each job takes its budget
+	 */
+	public JobDurationPredictor() {
+		defaultRatio = 1.0;
+	}
+
+	/**
+	 * @param history the data of the previous CTG executions
+	 */
+	public JobDurationPredictor(Project history) {
+		double sum = 0;
+		for (CUT cut : history.getCut()) {
+			Generation generation = CUTUtil.getLatestSuccessfulGeneration(cut);
+			if (generation == null || generation.getTimeBudgetInSeconds() == null
+					|| generation.getSuite().getTotalEffortInSeconds() == null) {
+				continue;
+			}
+			double budget = generation.getTimeBudgetInSeconds().doubleValue();
+			double effort = generation.getSuite().getTotalEffortInSeconds().doubleValue();
+			if (budget <= 0 || effort <= 0) {
+				continue;
+			}
+			ratios.put(cut.getFullNameOfTargetClass(), effort / budget);
+			sum += effort / budget;
+		}
+		defaultRatio = ratios.isEmpty() ? 1.0 : sum / ratios.size();
+	}
+
+	public long getPredictedDurationInMs(JobDefinition job) {
+		double ratio = ratios.getOrDefault(job.cut, defaultRatio);
+		return (long) (job.seconds * 1000 * ratio);
+	}
+}
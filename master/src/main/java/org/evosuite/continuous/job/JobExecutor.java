@@ -21,6 +21,8 @@ package org.evosuite.continuous.job;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -87,6 +89,15 @@ public class JobExecutor {
 	 */
 	private Map<String,JobDefinition> finishedJobs; 
 
+	/**
+	 * Memory of the jobs that were submitted and are not finished yet
+	 */
+	private int reservedMemoryInMB;
+
+	private final Object memoryLock = new Object();
+
+	private JobDurationPredictor predictor;
+
 	protected final CtgConfiguration configuration;
 	
 	private String projectClassPath;
@@ -118,8 +129,11 @@ public class JobExecutor {
 	
 	/**
 	 * Do a separate search with EvoSuite for all jobs in the given list.
-	 * The executor tries a best effort to execute the jobs in the given order,
-	 * although no guarantee is provided (eg, there might be dependencies among jobs).
+	 * The executor tries a best effort to execute first the jobs that are predicted
+	 * to take longest, so that no core stays idle at the end while the last long
+	 * jobs are still running. Jobs predicted to take the same time are executed in
+	 * the given order. No guarantee is provided (eg, there might be dependencies among jobs).
+	 * Jobs are only started if the memory of all the running jobs fits in the total memory.
 	 * 
 	 * @param jobs
 	 * @throws IllegalStateException if we are already executing some jobs
@@ -200,14 +214,60 @@ public class JobExecutor {
 		 */
 		jobQueue = new ArrayBlockingQueue<>(1);
 		finishedJobs = new ConcurrentHashMap<>();
+		reservedMemoryInMB = 0;
+
+		try {
+			predictor = new JobDurationPredictor(StorageManager.getDatabaseProject());
+		} catch (RuntimeException e) {
+			logger.warn("Failed to read the data of the previous executions: " + e.getMessage());
+			predictor = new JobDurationPredictor();
+		}
+	}
+
+	/**
+	 * Longest predicted jobs first. The sort is stable, so jobs predicted to take
+	 * the same time keep the order of the schedule
+	 */
+	protected List<JobDefinition> sortByPredictedDuration(List<JobDefinition> jobs) {
+		List<JobDefinition> sorted = new ArrayList<>(jobs);
+		sorted.sort(Comparator.comparingLong((JobDefinition job) -> predictor.getPredictedDurationInMs(job)).reversed());
+		return sorted;
+	}
+
+	/**
+	 * Wait until the job fits in the memory left by the submitted jobs that are
+	 * not finished yet, and reserve its memory.
+	 * A job that does not fit in the total memory is run alone
+	 *
+	 * @return {@code false} if the job still did not fit after the timeout
+	 */
+	private boolean reserveMemory(JobDefinition job, long timeoutInMs) throws InterruptedException {
+		long end = System.currentTimeMillis() + timeoutInMs;
+		synchronized (memoryLock) {
+			while (reservedMemoryInMB > 0 && reservedMemoryInMB + job.memoryInMB > configuration.totalMemoryInMB) {
+				long toWait = end - System.currentTimeMillis();
+				if (toWait <= 0) {
+					return false;
+				}
+				memoryLock.wait(toWait);
+			}
+			reservedMemoryInMB += job.memoryInMB;
+			return true;
+		}
+	}
+
+	private void releaseMemory(JobDefinition job) {
+		synchronized (memoryLock) {
+			reservedMemoryInMB -= job.memoryInMB;
+			memoryLock.notifyAll();
+		}
 	}
 
 	protected long execute(List<JobDefinition> jobs){
 		
 		long longestJob = -1L;
 		
-		//TODO handle memory
-		Queue<JobDefinition> toExecute = new LinkedList<>(jobs);
+		Queue<JobDefinition> toExecute = new LinkedList<>(sortByPredictedDuration(jobs));
 		
 		List<JobDefinition> postponed = new LinkedList<>();
 		
@@ -279,7 +339,13 @@ public class JobExecutor {
 			longestJob = Math.max(longestJob, chosenJob.seconds * 1000);
 			
 			try {
-				jobQueue.offer(chosenJob, remaining, TimeUnit.MILLISECONDS); 
+				if(!reserveMemory(chosenJob, remaining)){
+					break mainLoop;
+				}
+				if(!jobQueue.offer(chosenJob, getRemainingTimeInMs(), TimeUnit.MILLISECONDS)){
+					releaseMemory(chosenJob);
+					break mainLoop;
+				}
 			} catch (InterruptedException e) {
 				Thread.currentThread().interrupt(); //important for check later
 				break mainLoop;
@@ -297,6 +363,7 @@ public class JobExecutor {
 	}
 	
 	public void doneWithJob(JobDefinition job){
+		releaseMemory(job);
 		finishedJobs.put(job.cut, job);
 		latch.countDown();
 		LoggingUtils.getEvoLogger().info("Completed job. Left: "+latch.getCount());
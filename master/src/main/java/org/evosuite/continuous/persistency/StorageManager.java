@@ -44,7 +44,6 @@ import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.time.DateFormatUtils;
 import org.evosuite.Properties;
 import org.evosuite.continuous.project.ProjectStaticData;
-import org.evosuite.utils.ArrayUtil;
 import org.evosuite.utils.FileIOUtils;
 import org.evosuite.utils.LoggingUtils;
 import org.evosuite.xsd.CUT;
@@ -53,7 +52,6 @@ import org.evosuite.xsd.Coverage;
 import org.evosuite.xsd.Generation;
 import org.evosuite.xsd.GenerationUtil;
 import org.evosuite.xsd.Project;
-import org.evosuite.xsd.ProjectUtil;
 import org.evosuite.xsd.TestSuite;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -287,6 +285,13 @@ public class StorageManager {
 		List<TestsOnDisk> suites = gatherGeneratedTestsOnDisk();
 		info += "\nNew test suites: " + suites.size();
 
+		Map<String, TestsOnDisk> suitesByCUT = new HashMap<>();
+		for (TestsOnDisk suite : suites) {
+			suitesByCUT.putIfAbsent(suite.cut, suite);
+		}
+
+		MergeIndex index = new MergeIndex(db);
+
 		// identify for which CUTs we failed to generate tests
 		Set<String> missingCUTs = new LinkedHashSet<>();
 
@@ -298,13 +303,13 @@ public class StorageManager {
 		        continue ;
 		    }
 
-		    TestsOnDisk suite = suites.parallelStream().filter(s -> s.cut.equals(cut)).findFirst().orElse(null);
+		    TestsOnDisk suite = suitesByCUT.get(cut);
 		    if (suite == null && current.getClassInfo(cut).isToTest()) {
                 missingCUTs.add(cut);
             }
 
 		    LoggingUtils.getEvoLogger().info("* Updating database to " + cut);
-		    updateDatabase(cut, suite, db, current);
+		    updateDatabase(cut, suite, db, index, current);
 		}
 
 		/*
@@ -383,7 +388,7 @@ public class StorageManager {
 			String testName = extractClassName(tmpTests,test);
 			
 			String cut = "";
-			for(String className : reports.keySet()){
+			for(int length = testName.length(); length > 0; length--){
 				/*
 				 * This is tricky. We cannot be 100% what is going to be appended to the
 				 * class name to form the test name, although the class name should still
@@ -391,9 +396,14 @@ public class StorageManager {
 				 * 
 				 * org.Foo
 				 * org.Foo2
+				 *
+				 * Looking up the prefixes of the test name, rather than scanning all the
+				 * CSV files for each test, avoids O(n^2) complexity
 				 */
-				if(testName.startsWith(className) && className.length() > cut.length()){
-					cut = className;
+				String prefix = testName.substring(0, length);
+				if(reports.containsKey(prefix)){
+					cut = prefix;
+					break;
 				}
 			}
 			//String cut = testName.substring(0, testName.indexOf(junitSuffix)); //This does not work, eg cases like _N_suffix
@@ -485,13 +495,14 @@ public class StorageManager {
 	 * @param ondisk
 	 * @param db
 	 */
-	private void updateDatabase(String targetClass, TestsOnDisk ondisk, Project db, ProjectStaticData current) {
+	private void updateDatabase(String targetClass, TestsOnDisk ondisk, Project db, MergeIndex index,
+			ProjectStaticData current) {
 
   	    String testName = targetClass + Properties.JUNIT_SUFFIX; //extractClassName(tmpTests, ondisk.testSuite);
 
 		// CUT data
 
-		CUT cut = ProjectUtil.getCUT(db, targetClass);
+		CUT cut = index.cuts.get(targetClass);
 		if (cut == null) {
 		    // first generation
 			cut = new CUT();
@@ -499,6 +510,7 @@ public class StorageManager {
 			cut.setFullNameOfTestSuite(testName);
 
 			db.getCut().add(cut);
+			index.cuts.put(targetClass, cut);
 		}
 
 		// Generation data
@@ -558,7 +570,7 @@ public class StorageManager {
         assert ondisk.isValid();
         CsvJUnitData csv = ondisk.csvData;
 
-		if (!isBetterThanAnyExistingTestSuite(db, current, ondisk)) {
+		if (!isBetterThanAnyExistingTestSuite(index, current, ondisk)) {
 		    // if the new test suite is not better than any other
 		    // test suite (manually written or generated), we don't
 		    // accept the new test suite and we just keep information
@@ -651,6 +663,71 @@ public class StorageManager {
 		}
 	}
 
+	/**
+	 * Data that is looked up for each CUT when merging the results of a CTG run.
+	 * It is indexed once per merge, instead of being searched (or even read from
+	 * disk) again for each CUT
+	 */
+	private static class MergeIndex {
+
+		/**
+		 * Key -> name of CUT
+		 * Value -> its data in the database
+		 */
+		private final Map<String, CUT> cuts = new HashMap<>();
+
+		private boolean statisticsRead = false;
+
+		private boolean statisticsFailed = false;
+
+		/**
+		 * Column names of evosuite-report/statistics.csv
+		 */
+		private String[] statisticsHeader;
+
+		/**
+		 * Key -> a value in evosuite-report/statistics.csv (eg, the name of a CUT)
+		 * Value -> the first row containing it.
+		 * <code>null</code> if there is no such file
+		 */
+		private Map<String, String[]> statisticsRows;
+
+		private MergeIndex(Project db) {
+			for (CUT cut : db.getCut()) {
+				cuts.putIfAbsent(cut.getFullNameOfTargetClass(), cut);
+			}
+		}
+	}
+
+	private void readExistingStatistics(MergeIndex index) {
+		index.statisticsRead = true;
+
+		String statistics = Properties.REPORT_DIR + File.separator + "statistics.csv";
+		File statistics_file = new File(statistics);
+		if (!statistics_file.exists()) {
+			return;
+		}
+
+		List<String[]> rows = null;
+		try {
+			CSVReader reader = new CSVReader(new FileReader(statistics_file));
+			rows = reader.readAll();
+			reader.close();
+		} catch (IOException | CsvException e) {
+			logger.error(e.getMessage());
+			index.statisticsFailed = true;
+			return;
+		}
+
+		index.statisticsHeader = rows.get(0);
+		index.statisticsRows = new HashMap<>();
+		for (String[] row : rows) {
+			for (String value : row) {
+				index.statisticsRows.putIfAbsent(value, row);
+			}
+		}
+	}
+
 	/**
 	 * Before accepting a new generated test suite, this function
 	 * checks if it improves coverage of any existing test suite.
@@ -671,7 +748,7 @@ public class StorageManager {
 	 * @return true is the generated test suite is better (in terms of
 	 * coverage) than any existing test suite, false otherwise
 	 */
-	private boolean isBetterThanAnyExistingTestSuite(Project db, ProjectStaticData current, TestsOnDisk suite) {
+	private boolean isBetterThanAnyExistingTestSuite(MergeIndex index, ProjectStaticData current, TestsOnDisk suite) {
 
 		if (suite.csvData == null) {
 			// no data available
@@ -689,34 +766,26 @@ public class StorageManager {
 		// load evosuite-report/statistics.csv which contains
 		// the coverage of each existing test suite
 
-		String statistics = Properties.REPORT_DIR + File.separator + "statistics.csv";
-		File statistics_file = new File(statistics);
-		if (!statistics_file.exists()) {
+		if (!index.statisticsRead) {
+			readExistingStatistics(index);
+		}
+		if (index.statisticsFailed) {
+			return true;
+		}
+		if (index.statisticsRows == null) {
 			// this could happen if file was manually removed
 			// or if is a project without test cases. before giving
 		    // up, let's check if it's better than any previous generated
 		    // test suite
-		    return isBetterThanPreviousGeneration(db, current, suite);
-		}
-
-		List<String[]> rows = null;
-		try {
-			CSVReader reader = new CSVReader(new FileReader(statistics_file));
-			rows = reader.readAll();
-			reader.close();
-		} catch (IOException | CsvException e) {
-			logger.error(e.getMessage());
-			return true;
+		    return isBetterThanPreviousGeneration(index, current, suite);
 		}
 
         // select the row of the Class Under Test
         List<String[]> rowCUT = new ArrayList<>();
-        rowCUT.add(rows.get(0)); // add header (i.e., column names)
-        for (String[] row : rows) {
-        	if (ArrayUtil.contains(row, suite.cut)) {
-        		rowCUT.add(row);
-        		break ;
-        	}
+        rowCUT.add(index.statisticsHeader); // add header (i.e., column names)
+        String[] row = index.statisticsRows.get(suite.cut);
+        if (row != null) {
+        	rowCUT.add(row);
         }
 
         if (rowCUT.size() == 1) {
@@ -724,7 +793,7 @@ public class StorageManager {
         	// Test was manually removed, or if during the execution
         	// of measureCoverage option something wrong happened.
             // if so, try to compare with a previous generated one
-            return isBetterThanPreviousGeneration(db, current, suite);
+            return isBetterThanPreviousGeneration(index, current, suite);
         }
 
         // is the OverallCoverage higher?
@@ -793,7 +862,7 @@ public class StorageManager {
 	 * @return true if the generated test suite is better (in terms of
 	 * coverage) than a previous generated test suite, false otherwise
 	 */
-	private boolean isBetterThanPreviousGeneration(Project db, ProjectStaticData current, TestsOnDisk suite) {
+	private boolean isBetterThanPreviousGeneration(MergeIndex index, ProjectStaticData current, TestsOnDisk suite) {
 
   	    if (suite.csvData == null) {
           // no data available
@@ -809,7 +878,7 @@ public class StorageManager {
             return true;
         }
 
-        CUT cut = ProjectUtil.getCUT(db, suite.cut);
+        CUT cut = index.cuts.get(suite.cut);
         Generation latestSuccessfulGeneration = CUTUtil.getLatestSuccessfulGeneration(cut);
         if (latestSuccessfulGeneration == null) {
             return true;
@@ -174,6 +174,13 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
 		SearchStatistics.getInstance(clientRmiIdentifier).setOutputVariable(variable, value);
 	}
 
+	@Override
+	public void evosuite_collectStatistics(String clientRmiIdentifier, Map<RuntimeVariable, Object> values)
+	        throws RemoteException {
+		SearchStatistics statistics = SearchStatistics.getInstance(clientRmiIdentifier);
+		values.forEach(statistics::setOutputVariable);
+	}
+
 	@Override
 	public void evosuite_collectTestGenerationResult(
 			String clientRmiIdentifier, List<TestGenerationResult> results)
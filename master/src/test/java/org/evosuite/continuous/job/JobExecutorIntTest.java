@@ -208,4 +208,61 @@ public class JobExecutorIntTest {
 
 		storage.clean();
 	}
+
+	@Test
+	public void testLongestJobsFirst() throws InterruptedException{
+
+		boolean storageOK = storage.isStorageOk();
+		assertTrue(storageOK);
+		storageOK = storage.createNewTmpFolders();
+		assertTrue(storageOK);
+
+		String classpath = System.getProperty("java.class.path");
+
+		int cores = 2;
+		int memory = 2000;
+		int minutes = 10000;
+
+		CtgConfiguration conf = new CtgConfiguration(memory, cores, minutes, 1, false, AvailableSchedule.SIMPLE);
+		final JobExecutor exe = new JobExecutor(storage, classpath, conf);
+
+		JobDefinition simple = new JobDefinition(30, memory / cores,
+				Simple.class.getName(), 0, null, null);
+
+		JobDefinition trivial = new JobDefinition(90, memory / cores,
+				Trivial.class.getName(), 0, null, null);
+
+		JobDefinition ust = new JobDefinition(60, memory / cores,
+				UsingSimpleAndTrivial.class.getName(), 0, null, null);
+
+		final List<JobDefinition> jobs = Arrays.asList(simple,ust,trivial);
+
+		exe.initExecution(jobs);
+
+		Thread t = new Thread(){
+			@Override
+			public void run(){
+				exe.execute(jobs);
+			}
+		};
+		try{
+			t.start();
+
+			JobDefinition first = exe.pollJob();
+			JobDefinition second = exe.pollJob();
+			Assert.assertEquals(trivial.cut, first.cut);
+			Assert.assertEquals(ust.cut, second.cut);
+
+			exe.doneWithJob(first);
+			JobDefinition last = exe.pollJob();
+			Assert.assertEquals(simple.cut, last.cut);
+			exe.doneWithJob(second);
+			exe.doneWithJob(last);
+		}
+		finally{
+			t.interrupt();
+		}
+
+		storage.clean();
+	}
 }
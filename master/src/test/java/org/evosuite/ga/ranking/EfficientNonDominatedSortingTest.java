@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.ranking;
+
+import org.evosuite.ga.FitnessFunction;
+import org.evosuite.ga.operators.ranking.EfficientNonDominatedSorting;
+import org.evosuite.ga.operators.ranking.FastNonDominatedSorting;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EfficientNonDominatedSortingTest {
+
+    @Test
+    public void testComputeRankingAssignment() {
+        FitnessFunction<TestChromosome> f1 = Mockito.mock(TestFitnessFunction.class);
+        FitnessFunction<TestChromosome> f2 = Mockito.mock(TestFitnessFunction.class);
+        Set<FitnessFunction<TestChromosome>> ff = new LinkedHashSet<>();
+        ff.add(f1);
+        ff.add(f2);
+
+        TestChromosome tch1 = new TestChromosome();
+        tch1.setFitness(f1, 1);
+        tch1.setFitness(f2, 0.5);
+        TestChromosome tch2 = new TestChromosome();
+        tch2.setFitness(f1, 1);
+        tch2.setFitness(f2, 2);
+        TestChromosome tch3 = new TestChromosome();
+        tch3.setFitness(f1, 0.5);
+        tch3.setFitness(f2, 1);
+
+        List<TestChromosome> front = new LinkedList<>();
+        front.add(tch1);
+        front.add(tch2);
+        front.add(tch3);
+
+        EfficientNonDominatedSorting<TestChromosome> sorting = new EfficientNonDominatedSorting<>();
+        sorting.computeRankingAssignment(front, ff);
+
+        assertEquals(2, sorting.getNumberOfSubfronts());
+
+        assertEquals(2, sorting.getSubfront(0).size());
+        assertSame(front.get(0), sorting.getSubfront(0).get(0));
+        assertSame(front.get(2), sorting.getSubfront(0).get(1));
+        assertEquals(1, front.get(0).getRank());
+
+        assertEquals(1, sorting.getSubfront(1).size());
+        assertSame(front.get(1), sorting.getSubfront(1).get(0));
+        assertEquals(2, front.get(1).getRank());
+    }
+
+    @Test
+    public void testEmptyPopulation() {
+        EfficientNonDominatedSorting<TestChromosome> sorting = new EfficientNonDominatedSorting<>();
+        sorting.computeRankingAssignment(new ArrayList<>(), new LinkedHashSet<FitnessFunction<TestChromosome>>());
+        assertEquals(0, sorting.getNumberOfSubfronts());
+    }
+
+    @Test
+    public void testSameFrontsAsFastNonDominatedSorting() {
+        Random random = new Random(42);
+        for (int run = 0; run < 20; run++) {
+            Set<FitnessFunction<TestChromosome>> goals = new LinkedHashSet<>();
+            int numberOfGoals = 1 + random.nextInt(6);
+            for (int i = 0; i < numberOfGoals; i++) {
+                goals.add(Mockito.mock(TestFitnessFunction.class));
+            }
+
+            List<TestChromosome> population = new LinkedList<>();
+            for (int i = 0; i < 50; i++) {
+                TestChromosome tch = new TestChromosome();
+                for (FitnessFunction<TestChromosome> goal : goals) {
+                    // few distinct values, to get duplicates and ties
+                    tch.setFitness(goal, random.nextInt(5) / 4.0);
+                }
+                population.add(tch);
+            }
+
+            FastNonDominatedSorting<TestChromosome> expected = new FastNonDominatedSorting<>();
+            expected.computeRankingAssignment(population, goals);
+            EfficientNonDominatedSorting<TestChromosome> actual = new EfficientNonDominatedSorting<>();
+            actual.computeRankingAssignment(population, goals);
+
+            assertEquals(expected.getNumberOfSubfronts(), actual.getNumberOfSubfronts());
+            for (int i = 0; i < expected.getNumberOfSubfronts(); i++) {
+                List<TestChromosome> expectedFront = expected.getSubfront(i);
+                List<TestChromosome> actualFront = actual.getSubfront(i);
+                assertEquals(expectedFront.size(), actualFront.size());
+                for (TestChromosome tch : expectedFront) {
+                    assertTrue(actualFront.stream().anyMatch(t -> t == tch));
+                }
+            }
+        }
+    }
+}
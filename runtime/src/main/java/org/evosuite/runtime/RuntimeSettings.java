@@ -59,6 +59,12 @@ public class RuntimeSettings {
      */
     public static boolean useVFS = false;
 
+    /**
+     * How many bytes can the files of the virtual file system hold in total?
+     * A negative value means no limit.
+     */
+    public static long maxVirtualFileSystemSize = 64L * 1024 * 1024;
+
     /**
      * Shall the test cases use a virtual network?
      */
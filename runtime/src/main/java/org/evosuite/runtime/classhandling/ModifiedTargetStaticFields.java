@@ -27,7 +27,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * This class represents the singleton containing those static fields whose
- * <code>final</code> modifier was removed during our instrumentation
+ * <code>final</code> modifier was removed during our instrumentation. Classes
+ * may be instrumented concurrently, so access is synchronized.
  * 
  * @author galeotti
  *
@@ -41,7 +42,7 @@ public class ModifiedTargetStaticFields {
 	 * 
 	 * @return
 	 */
-	public static ModifiedTargetStaticFields getInstance() {
+	public static synchronized ModifiedTargetStaticFields getInstance() {
 		if (instance == null) {
 			instance = new ModifiedTargetStaticFields();
 		}
@@ -51,7 +52,7 @@ public class ModifiedTargetStaticFields {
 	/**
 	 * Resets the singleton.
 	 */
-	public static void resetSingleton() {
+	public static synchronized void resetSingleton() {
 		instance = null;
 	}
 
@@ -69,7 +70,7 @@ public class ModifiedTargetStaticFields {
 	 * 
 	 * @param newFinalFields
 	 */
-	public void addFinalFields(Collection<String> newFinalFields) {
+	public synchronized void addFinalFields(Collection<String> newFinalFields) {
 		for (String finalField : newFinalFields) {
 			if (!finalFields.contains(finalField)) {
 				// logger.debug("Adding new field to ModifiedTargetStaticFields:" + newFinalFields);
@@ -84,7 +85,7 @@ public class ModifiedTargetStaticFields {
 	 * @param name
 	 * @return
 	 */
-	public boolean containsField(String name) {
+	public synchronized boolean containsField(String name) {
 		// logger.debug("Checking if a static field was modified or not:" + name);
 		return finalFields.contains(name);
 	}
@@ -22,6 +22,7 @@ package org.evosuite.runtime.instrumentation;
 import java.io.ObjectStreamClass;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -189,6 +190,16 @@ public class CreateClassResetClassAdapter extends ClassVisitor {
 	 */
 	private final ArrayList<String> modifiedStaticFields = new ArrayList<>();
 
+	/**
+	 * Returns the static fields whose <code>final</code> modifier was removed.
+	 * The list is complete once the class has been visited.
+	 *
+	 * @return an unmodifiable view of the modified fields
+	 */
+	public List<String> getModifiedStaticFields() {
+		return Collections.unmodifiableList(modifiedStaticFields);
+	}
+
 	/**
 	 * During the visit of each field, static fields are collected. If the
 	 * <code>removeFinalModifierOnStaticFields</code> is active, final static
@@ -60,6 +60,27 @@ public class NativeMockedIO {
 		return b; 
 	}
 
+	/**
+	 * Read up to {@code len} bytes from the current position, and move the
+	 * position after them
+	 * 
+	 * @return the number of bytes read, or -1 at the end of the file
+	 */
+	public static int read(String path, AtomicInteger position, byte[] b, int off, int len) throws IOException{
+		VFile vf = NativeMockedIO.getFileForReading(path);
+		if(vf==null){
+			throw new MockIOException();
+		}
+		
+		VirtualFileSystem.getInstance().throwSimuledIOExceptionIfNeeded(path);
+		
+		int read = vf.read(position.get(), b, off, len);
+		if(read > 0){
+			position.addAndGet(read);
+		}
+		return read; 
+	}
+
 	
 	public static VFile getFileForWriting(String path){
 		FSObject target = VirtualFileSystem.getInstance().findFSObject(path);
@@ -115,7 +136,9 @@ public class NativeMockedIO {
 		
 		VirtualFileSystem.getInstance().throwSimuledIOExceptionIfNeeded(path);
 		
-		vf.setLength((int)newLength);
+		if(!vf.setLength((int)newLength)){
+			throw new MockIOException("No space left on virtual file system");
+		}
 		
 		if(position.get() > newLength){
 			position.set((int)newLength);
@@ -42,6 +42,12 @@ public abstract class FSObject {
 	 */
 	protected volatile String path;
 
+	/**
+	 * The last element of {@link #path}, by which the parent folder finds
+	 * this object
+	 */
+	private volatile String name;
+
 	/**
 	 * The direct parent folder
 	 */
@@ -70,6 +76,7 @@ public abstract class FSObject {
 		} else {
 			this.path = normalizePath(path);
 		}
+		this.name = computeName();
 	}
 
 	protected long getCurrentTimeMillis(){
@@ -91,7 +98,12 @@ public abstract class FSObject {
 			return false;
 		}
 
+		String oldName = name;
 		path = newPath;
+		name = computeName();
+		if(parent != null){
+			parent.renameChild(oldName, this);
+		}
 
 		return true; 
 	}
@@ -107,6 +119,10 @@ public abstract class FSObject {
 	}
 
 	public String getName(){
+		return name;
+	}
+
+	private String computeName(){
 		if(path==null){
 			return null;
 		}
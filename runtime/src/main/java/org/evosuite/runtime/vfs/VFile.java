@@ -19,8 +19,7 @@
  */
 package org.evosuite.runtime.vfs;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Representation of a virtual file
@@ -30,46 +29,78 @@ import java.util.List;
  */
 public class VFile extends FSObject{
 
+	private static final byte[] EMPTY = new byte[0];
+
+	private static final int MIN_CAPACITY = 1024;
+
+	/**
+	 * the actual data contained in file, in its first {@link #size} bytes
+	 */
+	private byte[] data;
+
+	private int size;
+
 	/**
-	 * the actual data contained in file as a list of bytes
+	 * the generation of the virtual file system this file was created in
 	 */
-	private final List<Byte> data;
+	private final int generation;
 
 	public VFile(String path, VFolder parent) {
 		super(path, parent);
 
+		generation = VirtualFileSystem.getInstance().getGeneration();
+
 		//TODO might need a better type of data structure supporting multi-threading
-		data = new ArrayList<>(1024);
+		data = EMPTY;
+		size = 0;
 	}
 
-	public void eraseData(){
-		data.clear();
+	public synchronized void eraseData(){
+		resize(0);
 	}
 
 	public synchronized int getDataSize(){
-		return data.size();
+		return size;
 	}
 
-
-	public synchronized void setLength(int newLength){
-
-		/*
-		 * Note: this implementation is not particularly efficient...
-		 * but setLength is rarely called
-		 */
-
-		while(newLength > data.size()){
-			data.add((byte)0);
+	/**
+	 * Change the size of the file, padding it with zeros
+	 *
+	 * @return {@code false} if the virtual file system has no space left for
+	 *         the new size
+	 */
+	private boolean resize(int newSize){
+		if(newSize > size){
+			if(!VirtualFileSystem.getInstance().reserveSpace(newSize - size, generation)){
+				return false;
+			}
+			if(newSize > data.length){
+				int capacity = Math.max(newSize, Math.max(MIN_CAPACITY, data.length * 2));
+				if(capacity < 0){
+					//overflow
+					capacity = newSize;
+				}
+				data = Arrays.copyOf(data, capacity);
+			} else {
+				//the bytes after a truncation might be dirty
+				Arrays.fill(data, size, newSize, (byte)0);
+			}
+		} else if(newSize < size){
+			VirtualFileSystem.getInstance().releaseSpace(size - newSize, generation);
+			if(newSize == 0){
+				data = EMPTY;
+			}
 		}
+		size = newSize;
+		return true;
+	}
 
-		if(newLength==0){
-			data.clear();
-			return;
-		}
-		
-		while(data.size() > newLength){
-			data.remove(data.size()-1);
-		}
+	/**
+	 * @return {@code false} if the virtual file system has no space left for
+	 *         the new length
+	 */
+	public synchronized boolean setLength(int newLength){
+		return resize(newLength);
 	}
 
     /**
@@ -82,15 +113,40 @@ public class VFile extends FSObject{
 			throw new IllegalArgumentException("Position in the file cannot be negative");
 		}
 
-		if(position >= data.size()){
+		if(position >= size){
 			return -1; //this represent the end of the stream
 		}
 
-		return data.get(position) & 0xFF;
+		return data[position] & 0xFF;
+	}
+
+	/**
+	 * Read up to {@code len} bytes starting at {@code position} into
+	 * {@code b}
+	 *
+	 * @return the number of bytes read, or -1 if {@code position} is at the end
+	 *         of the file
+	 */
+	public synchronized int read(int position, byte[] b, int off, int len) throws IllegalArgumentException{
+		if(position<0){
+			throw new IllegalArgumentException("Position in the file cannot be negative");
+		}
+
+		if(len == 0){
+			return 0;
+		}
+
+		if(position >= size){
+			return -1; //this represent the end of the stream
+		}
+
+		int read = Math.min(len, size - position);
+		System.arraycopy(data, position, b, off, read);
+		return read;
 	}
 
 	public synchronized int writeBytes(byte[] b, int off, int len){
-		return writeBytes(data.size(),b,off,len);
+		return writeBytes(size,b,off,len);
 	}
 
 	
@@ -104,27 +160,28 @@ public class VFile extends FSObject{
 			return 0;
 		}
 
-		if(position >= data.size()){
-			setLength(position);
+		int toWrite = Math.min(len, b.length - off);
+		if(toWrite <= 0){
+			return 0;
 		}
 
-		int written = 0;
-		for(int i=off; i<b.length & (i-off)<len; i++){
-			if(position < data.size()){
-				data.set(position,(b[i]));
-			} else {
-				data.add(b[i]);
-			}
-			position++;
-			written++;
+		int end = position + toWrite;
+		if(end < 0){
+			//larger than what the VFS can handle
+			return 0;
+		}
+		if(end > size && !resize(end)){
+			//no space left
+			return 0;
 		}
 
+		System.arraycopy(b, off, data, position, toWrite);
+
 		setLastModified(getCurrentTimeMillis());
 
-		return written;
+		return toWrite;
 	}
 
-
 	@Override
 	public synchronized boolean delete(){
 		eraseData();
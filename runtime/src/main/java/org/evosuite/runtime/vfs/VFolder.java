@@ -22,6 +22,8 @@ package org.evosuite.runtime.vfs;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
@@ -33,11 +35,18 @@ import java.util.concurrent.CopyOnWriteArrayList;
 public class VFolder extends FSObject{
 
 	private final List<FSObject> children;
+
+	/**
+	 * The children by name, so that resolving a path does not scan the
+	 * folders on it
+	 */
+	private final Map<String, FSObject> childrenByName;
 		
 	public VFolder(String path, VFolder parent) {
 		super(path, parent);
 		
 		children = new CopyOnWriteArrayList<>();
+		childrenByName = new ConcurrentHashMap<>();
 	}
 	
 	@Override
@@ -53,8 +62,23 @@ public class VFolder extends FSObject{
 		return parent == null && path==null;
 	}
 	
+	/**
+	 * Add a child, unless there is already a child with the same name
+	 */
 	public void addChild(FSObject child){
-		children.add(child);
+		if(childrenByName.putIfAbsent(child.getName(), child) == null){
+			children.add(child);
+		}
+	}
+
+	/**
+	 * Update the name of a child that was renamed
+	 */
+	void renameChild(String oldName, FSObject child){
+		if(oldName != null){
+			childrenByName.remove(oldName, child);
+		}
+		childrenByName.put(child.getName(), child);
 	}
 	
 	public boolean removeChild(String name) throws IllegalArgumentException{
@@ -63,13 +87,8 @@ public class VFolder extends FSObject{
 			throw new IllegalArgumentException("Empty name");
 		}
 		
-		for(FSObject element : children){
-			if(name.equals(element.getName())){
-				return children.remove(element);				 
-			}
-		}
-		
-		return false;
+		FSObject element = childrenByName.remove(name);
+		return element != null && children.remove(element);
 	}
 	
 	public boolean hasChild(String name){
@@ -89,12 +108,6 @@ public class VFolder extends FSObject{
 			throw new IllegalArgumentException("Empty name");
 		}
 
-		for (final FSObject current : children) {
-			if (name.equals(current.getName())) {
-				return current;
-			}
-		}
-		
-		return null;
+		return childrenByName.get(name);
 	}
 }
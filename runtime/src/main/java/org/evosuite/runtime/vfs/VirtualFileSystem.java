@@ -23,13 +23,17 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.evosuite.runtime.testdata.EvoSuiteFile;
 import org.evosuite.runtime.LeakingResource;
+import org.evosuite.runtime.RuntimeSettings;
 import org.evosuite.runtime.sandbox.MSecurityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,6 +63,24 @@ public final class VirtualFileSystem {
 	 */
 	private static final VirtualFileSystem singleton = new VirtualFileSystem();
 
+	/**
+	 * Maximum number of parsed paths kept in {@link #parsedPaths}
+	 */
+	private static final int PARSED_PATHS_CACHE_SIZE = 1024;
+
+	/**
+	 * An absolute path, and its elements
+	 */
+	private static final class ParsedPath {
+		private final String absolutePath;
+		private final String[] tokens;
+
+		private ParsedPath(String absolutePath, String[] tokens) {
+			this.absolutePath = absolutePath;
+			this.tokens = tokens;
+		}
+	}
+
 	/**
 	 * The root of the VFS
 	 * 
@@ -72,6 +94,20 @@ public final class VirtualFileSystem {
 	 */
 	private final AtomicInteger tmpFileCounter;
 
+	/**
+	 * Number of bytes in all the files of the VFS, bounded by
+	 * {@link RuntimeSettings#maxVirtualFileSystemSize}
+	 */
+	private final AtomicLong usedSpace;
+
+	/**
+	 * Incremented on each reset. Files keep the generation they were created
+	 * in, as files of earlier tests can still be referenced (eg by static
+	 * fields of the SUT), but their data is no longer part of
+	 * {@link #usedSpace}
+	 */
+	private final AtomicInteger generation;
+
 	/**
 	 * Regular files that are accessed during the search. Tmp files are not
 	 * considered, as they are not interesting from a point of view of
@@ -100,6 +136,15 @@ public final class VirtualFileSystem {
 	 * 
 	 */
 	private final Set<LeakingResource> leakingResources;
+
+	/**
+	 * The SUT tends to access the same few paths over and over, so keep the
+	 * result of resolving and splitting them. Only the parsing is cached, not
+	 * the objects: these can be deleted or renamed at any time, and looking
+	 * them up from the root is cheap as each folder indexes its children by
+	 * name.
+	 */
+	private final Map<String, ParsedPath> parsedPaths;
 	
 	//--------------------------------------------------------------------------
 
@@ -108,9 +153,19 @@ public final class VirtualFileSystem {
 	 */
 	private VirtualFileSystem() {
 		tmpFileCounter = new AtomicInteger(0);
+		usedSpace = new AtomicLong(0);
+		generation = new AtomicInteger(0);
 		accessedFiles = new CopyOnWriteArraySet<>(); //we only add during test execution, and read after
 		leakingResources =  new CopyOnWriteArraySet<>();
 		classesThatShouldThrowIOException = new CopyOnWriteArraySet<>(); //should only contain very few values
+		parsedPaths = new LinkedHashMap<String, ParsedPath>(PARSED_PATHS_CACHE_SIZE, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ParsedPath> eldest) {
+				return size() > PARSED_PATHS_CACHE_SIZE;
+			}
+		};
 	}
 
 	/**
@@ -128,9 +183,14 @@ public final class VirtualFileSystem {
 	public void resetSingleton() {
 		root = null;
 		tmpFileCounter.set(0);
+		generation.incrementAndGet();
+		usedSpace.set(0);
 		accessedFiles.clear();
 		shouldAllThrowIOException = false;
 		classesThatShouldThrowIOException.clear();
+		synchronized (parsedPaths) {
+			parsedPaths.clear();
+		}
 		
 		synchronized(leakingResources){
 			for(LeakingResource resource : leakingResources){
@@ -144,6 +204,56 @@ public final class VirtualFileSystem {
 		}
 	}
 
+	/**
+	 * @return the generation that files created now belong to, see
+	 *         {@link #reserveSpace} and {@link #releaseSpace}
+	 */
+	protected int getGeneration() {
+		return generation.get();
+	}
+
+	/**
+	 * Reserve space for the data of a file
+	 * 
+	 * @param bytes
+	 * @param fileGeneration
+	 *            the generation the file was created in
+	 * @return {@code false} if the VFS would become larger than
+	 *         {@link RuntimeSettings#maxVirtualFileSystemSize}, as if the disk
+	 *         was full, or if the file was created before the last reset, as
+	 *         it is no longer part of the VFS
+	 */
+	protected boolean reserveSpace(long bytes, int fileGeneration) {
+		if (fileGeneration != generation.get()) {
+			return false;
+		}
+		long max = RuntimeSettings.maxVirtualFileSystemSize;
+		while (true) {
+			long used = usedSpace.get();
+			if (max >= 0 && used + bytes > max) {
+				return false;
+			}
+			if (usedSpace.compareAndSet(used, used + bytes)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Release space previously reserved for the data of a file
+	 * 
+	 * @param bytes
+	 * @param fileGeneration
+	 *            the generation the file was created in
+	 */
+	protected void releaseSpace(long bytes, int fileGeneration) {
+		if (fileGeneration != generation.get()) {
+			// the space of the file was already released by the reset
+			return;
+		}
+		usedSpace.updateAndGet(used -> Math.max(0, used - bytes));
+	}
+
 	/**
 	 * Add a leaking resource to this VFS.
 	 * This is mainly necessary for stream objects, even if they are virtual
@@ -298,10 +408,10 @@ public final class VirtualFileSystem {
 	 * @return {@code null} if the object does not exist in the VFS
 	 */
 	public FSObject findFSObject(String rawPath) {
-		String path = new File(rawPath).getAbsolutePath();
-		String[] tokens = tokenize(path);
+		ParsedPath parsed = parse(rawPath);
+		String[] tokens = parsed.tokens;
 
-		markAccessedFile(path);
+		markAccessedFile(parsed.absolutePath);
 
 		VFolder parent = root;
 		for (int i = 0; i < tokens.length; i++) {
@@ -385,7 +495,7 @@ public final class VirtualFileSystem {
 	}
 
 	public boolean createFolder(String rawPath) {
-		String[] tokens = tokenize(new File(rawPath).getAbsolutePath());
+		String[] tokens = parse(rawPath).tokens;
 
 		VFolder parent = root;
 		for (String name : tokens) {
@@ -406,6 +516,7 @@ public final class VirtualFileSystem {
 					path = name;
 				}
 				folder = new VFolder(path, parent);
+				parent.addChild(folder);
 			} else {
 				FSObject child = parent.getChild(name);
 				if (!child.isFolder()) {
@@ -414,7 +525,6 @@ public final class VirtualFileSystem {
 				folder = (VFolder) child;
 			}
 
-			parent.addChild(folder);
 			parent = folder;
 		}
 
@@ -423,6 +533,25 @@ public final class VirtualFileSystem {
 		return true;
 	}
 
+	private ParsedPath parse(String rawPath) {
+		synchronized (parsedPaths) {
+			ParsedPath parsed = parsedPaths.get(rawPath);
+			if (parsed != null) {
+				return parsed;
+			}
+		}
+		File file = new File(rawPath);
+		String path = file.getAbsolutePath();
+		ParsedPath parsed = new ParsedPath(path, tokenize(path));
+		if (file.isAbsolute()) {
+			// relative paths depend on the working directory, which can change
+			synchronized (parsedPaths) {
+				parsedPaths.put(rawPath, parsed);
+			}
+		}
+		return parsed;
+	}
+
 	private String[] tokenize(String path){
 		return tokenize(path,File.separatorChar);
 	}
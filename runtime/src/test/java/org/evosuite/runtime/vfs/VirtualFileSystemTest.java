@@ -24,6 +24,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Arrays;
 
+import org.evosuite.runtime.RuntimeSettings;
 import org.evosuite.runtime.mock.MockFramework;
 import org.evosuite.runtime.mock.java.io.MockFile;
 import org.evosuite.runtime.mock.java.io.MockFileInputStream;
@@ -46,6 +47,7 @@ public class VirtualFileSystemTest {
 	@After
 	public void tearDown(){
 		VirtualFileSystem.getInstance().resetSingleton();
+		RuntimeSettings.maxVirtualFileSystemSize = 64L * 1024 * 1024;
 	}
 	
 	
@@ -253,4 +255,122 @@ public class VirtualFileSystemTest {
 		Assert.assertFalse(folder.exists());		
 	}
 
+	@Test
+	public void testBulkWriteAndRead() throws IOException{
+		byte[] data = new byte[10_000];
+		for(int i=0; i<data.length; i++){
+			data[i] = (byte) i;
+		}
+
+		File file = new MockFile("bulk");
+		try(MockFileOutputStream out = new MockFileOutputStream(file)){
+			out.write(data, 0, 6_000);
+			out.write(data, 6_000, 4_000);
+		}
+		Assert.assertEquals(data.length, file.length());
+
+		byte[] copy = new byte[data.length + 10];
+		try(MockFileInputStream in = new MockFileInputStream(file)){
+			Assert.assertEquals(4_000, in.read(copy, 0, 4_000));
+			Assert.assertEquals(6_000, in.read(copy, 4_000, copy.length - 4_000));
+			Assert.assertEquals(-1, in.read(copy, 0, 1));
+		}
+		Assert.assertArrayEquals(data, Arrays.copyOf(copy, data.length));
+	}
+
+	@Test
+	public void testTruncatedDataIsNotVisible(){
+		String path = new MockFile("trunc").getAbsolutePath();
+		Assert.assertTrue(VirtualFileSystem.getInstance().createFile(path));
+		VFile file = (VFile) VirtualFileSystem.getInstance().findFSObject(path);
+		byte[] data = new byte[]{1, 2, 3, 4};
+		Assert.assertEquals(4, file.writeBytes(data, 0, data.length));
+
+		Assert.assertTrue(file.setLength(1));
+		Assert.assertTrue(file.setLength(3));
+		Assert.assertEquals(1, file.read(0));
+		Assert.assertEquals(0, file.read(1));
+		Assert.assertEquals(0, file.read(2));
+		Assert.assertEquals(-1, file.read(3));
+	}
+
+	@Test
+	public void testMaxSize() throws IOException{
+		RuntimeSettings.maxVirtualFileSystemSize = 100;
+
+		File first = new MockFile("first");
+		File second = new MockFile("second");
+		try(MockFileOutputStream out = new MockFileOutputStream(first)){
+			out.write(new byte[60]);
+		}
+
+		try(MockFileOutputStream out = new MockFileOutputStream(second)){
+			out.write(new byte[60]);
+			Assert.fail();
+		} catch(IOException e){
+			//expected, as the VFS is full
+		}
+		Assert.assertEquals(0, second.length());
+
+		//deleting a file frees its space
+		Assert.assertTrue(first.delete());
+		try(MockFileOutputStream out = new MockFileOutputStream(second)){
+			out.write(new byte[60]);
+		}
+		Assert.assertEquals(60, second.length());
+	}
+
+	@Test
+	public void testFilesOfEarlierTestsDoNotReleaseSpace() throws IOException{
+		RuntimeSettings.maxVirtualFileSystemSize = 100;
+		VirtualFileSystem vfs = VirtualFileSystem.getInstance();
+
+		String oldPath = new MockFile("old").getAbsolutePath();
+		Assert.assertTrue(vfs.createFile(oldPath));
+		VFile old = (VFile) vfs.findFSObject(oldPath);
+		Assert.assertEquals(60, old.writeBytes(new byte[60], 0, 60));
+
+		//next test
+		vfs.resetSingleton();
+		vfs.init();
+
+		File current = new MockFile("current");
+		try(MockFileOutputStream out = new MockFileOutputStream(current)){
+			out.write(new byte[60]);
+		}
+
+		//this must not free the space used by the current test
+		old.eraseData();
+		Assert.assertFalse(old.setLength(10));
+
+		try(MockFileOutputStream out = new MockFileOutputStream(new MockFile("other"))){
+			out.write(new byte[60]);
+			Assert.fail();
+		} catch(IOException e){
+			//expected, as the VFS is full
+		}
+		Assert.assertEquals(60, current.length());
+	}
+
+	@Test
+	public void testLookupAfterRenameAndDelete() throws IOException{
+		VirtualFileSystem vfs = VirtualFileSystem.getInstance();
+		String folder = new MockFile("lookup").getAbsolutePath();
+		String a = folder + File.separator + "a";
+		String b = folder + File.separator + "b";
+
+		Assert.assertTrue(vfs.createFile(a));
+		Assert.assertTrue(vfs.createFolder(folder));
+		Assert.assertEquals(Arrays.asList("a"), Arrays.asList(((VFolder) vfs.findFSObject(folder)).getChildrenNames()));
+
+		Assert.assertTrue(vfs.rename(a, b));
+		Assert.assertNull(vfs.findFSObject(a));
+		Assert.assertEquals(b, vfs.findFSObject(b).getPath());
+
+		Assert.assertTrue(vfs.deleteFSObject(b));
+		Assert.assertNull(vfs.findFSObject(b));
+		Assert.assertTrue(vfs.createFile(b));
+		Assert.assertFalse(vfs.findFSObject(b).isDeleted());
+		Assert.assertEquals(1, ((VFolder) vfs.findFSObject(folder)).getChildrenNames().length);
+	}
 }